@@ -0,0 +1,106 @@
+package com.wallet.crypto.trustapp;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.Intent;
+import android.os.Bundle;
+import android.os.SystemClock;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.rule.ActivityTestRule;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import com.wallet.crypto.trustapp.ui.SplashActivity;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Time from the launch of the splash screen to its first drawn frame. The first run is
+ * the closest to a cold start the instrumentation allows (process already up, graph not built),
+ * the rest are warm. The process start to first frame time recorded by the app is logged too.
+ * Results are printed to logcat with the "ColdStart" tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ColdStartBenchmark {
+
+    private static final String TAG = "ColdStart";
+    private static final int RUNS = 5;
+
+    @Rule
+    public ActivityTestRule<SplashActivity> activityRule
+            = new ActivityTestRule<>(SplashActivity.class, false, false);
+
+    @Test
+    public void timeToFirstFrame() throws Exception {
+        App app = (App) InstrumentationRegistry.getTargetContext().getApplicationContext();
+        long total = 0;
+        for (int i = 0; i < RUNS; i++) {
+            FirstDrawCallbacks callbacks = new FirstDrawCallbacks();
+            app.registerActivityLifecycleCallbacks(callbacks);
+            long start = SystemClock.elapsedRealtime();
+            activityRule.launchActivity(new Intent());
+            assertTrue(callbacks.drawn.await(10, TimeUnit.SECONDS));
+            long time = callbacks.drawnAt - start;
+            app.unregisterActivityLifecycleCallbacks(callbacks);
+            activityRule.finishActivity();
+            Log.i(TAG, "run " + i + ": " + time + " ms");
+            if (i > 0) {
+                total += time;
+            }
+        }
+        Log.i(TAG, "warm average: " + total / (RUNS - 1) + " ms");
+        Log.i(TAG, "process start to first frame: " + app.startupQueue.getTimeToFirstFrame() + " ms");
+    }
+
+    private static class FirstDrawCallbacks implements Application.ActivityLifecycleCallbacks {
+        final CountDownLatch drawn = new CountDownLatch(1);
+        volatile long drawnAt;
+
+        @Override
+        public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+            View decorView = activity.getWindow().getDecorView();
+            decorView.getViewTreeObserver().addOnDrawListener(new ViewTreeObserver.OnDrawListener() {
+                @Override
+                public void onDraw() {
+                    if (drawn.getCount() > 0) {
+                        drawnAt = SystemClock.elapsedRealtime();
+                        drawn.countDown();
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void onActivityStarted(Activity activity) {
+        }
+
+        @Override
+        public void onActivityResumed(Activity activity) {
+        }
+
+        @Override
+        public void onActivityPaused(Activity activity) {
+        }
+
+        @Override
+        public void onActivityStopped(Activity activity) {
+        }
+
+        @Override
+        public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+        }
+
+        @Override
+        public void onActivityDestroyed(Activity activity) {
+        }
+    }
+}
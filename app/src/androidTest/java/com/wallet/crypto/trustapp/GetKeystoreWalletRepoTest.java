@@ -7,6 +7,7 @@ import android.util.Log;
 
 import com.wallet.crypto.trustapp.entity.Wallet;
 import com.wallet.crypto.trustapp.service.AccountKeystoreService;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
 import com.wallet.crypto.trustapp.service.GethKeystoreAccountService;
 
 import org.json.JSONObject;
@@ -34,7 +35,7 @@ public class GetKeystoreWalletRepoTest {
 	@Before
 	public void setUp() {
 		Context context = InstrumentationRegistry.getTargetContext();
-		accountKeystoreService = new GethKeystoreAccountService(new File(context.getFilesDir(), "store"));
+		accountKeystoreService = new GethKeystoreAccountService(new File(context.getFilesDir(), "store"), new AppSchedulers());
 	}
 
 //	Single<byte[]> signTransaction(
@@ -0,0 +1,407 @@
+package com.wallet.crypto.trustapp;
+
+import android.support.test.runner.AndroidJUnit4;
+
+import com.wallet.crypto.trustapp.entity.NetworkInfo;
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.repository.entity.RealmToken;
+import com.wallet.crypto.trustapp.repository.entity.RealmTokenTicker;
+import com.wallet.crypto.trustapp.repository.entity.RealmTransaction;
+import com.wallet.crypto.trustapp.repository.entity.RealmTransactionDisplay;
+import com.wallet.crypto.trustapp.repository.entity.RealmTransactionOperation;
+import com.wallet.crypto.trustapp.service.RealmManager;
+import com.wallet.crypto.trustapp.util.CompactEncoding;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+
+import io.realm.DynamicRealm;
+import io.realm.DynamicRealmObject;
+import io.realm.FieldAttribute;
+import io.realm.Realm;
+import io.realm.RealmConfiguration;
+import io.realm.RealmObjectSchema;
+import io.realm.RealmSchema;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Builds fixture databases in older schema versions and opens them through {@link RealmManager}.
+ */
+@RunWith(AndroidJUnit4.class)
+public class RealmDatabaseMigrationTest {
+
+    private static final String HASH = "0x00000000000000000000000000000000000000000000000000000000000000aa";
+    private static final String TOKEN = "0x0000000000000000000000000000000000000003";
+    /** More than a long holds. */
+    private static final String OVERFLOW = "99999999999999999999";
+
+    private final NetworkInfo network = new NetworkInfo(
+            "migration", "ETH", "", "", "", 1, false);
+    private Wallet wallet;
+    private RealmConfiguration fixture;
+
+    @Before
+    public void setUp() {
+        wallet = new Wallet("0x" + Long.toHexString(System.nanoTime()));
+        fixture = new RealmConfiguration.Builder()
+                .name(wallet.address + "-" + network.name + "-db.realm")
+                .build();
+    }
+
+    @After
+    public void tearDown() {
+        Realm.deleteRealm(fixture);
+        Realm.deleteRealm(new RealmConfiguration.Builder().name(RealmManager.SHARED_NAME).build());
+    }
+
+    @Test
+    public void migratesBaselineVersion() {
+        DynamicRealm realm = DynamicRealm.getInstance(fixture);
+        realm.beginTransaction();
+        createBaselineSchema(realm.getSchema());
+        fillBaseline(realm);
+        realm.setVersion(4);
+        realm.commitTransaction();
+        realm.close();
+
+        assertMigrated();
+    }
+
+    @Test
+    public void migratesFromDisplayVersion() {
+        DynamicRealm realm = DynamicRealm.getInstance(fixture);
+        realm.beginTransaction();
+        createBaselineSchema(realm.getSchema());
+        createDisplaySchema(realm.getSchema());
+        fillBaseline(realm);
+        realm.createObject("RealmTransactionDisplay", HASH).setString("value", "+1 ETH");
+        realm.setVersion(5);
+        realm.commitTransaction();
+        realm.close();
+
+        assertMigrated();
+        Realm migrated = new RealmManager().getRealmInstance(network, wallet);
+        try {
+            RealmTransactionDisplay display = migrated.where(RealmTransactionDisplay.class).findFirst();
+            assertNotNull(display);
+            assertEquals("+1 ETH", display.getValue());
+        } finally {
+            migrated.close();
+        }
+    }
+
+    @Test
+    public void compactsFromIndexVersion() {
+        DynamicRealm realm = DynamicRealm.getInstance(fixture);
+        realm.beginTransaction();
+        createBaselineSchema(realm.getSchema());
+        createDisplaySchema(realm.getSchema());
+        createIndexSchema(realm.getSchema());
+        fillBaseline(realm);
+        DynamicRealmObject transaction = realm.where("RealmTransaction").findFirst();
+        transaction.setString("gas", OVERFLOW);
+        transaction.setString("gasUsed", null);
+        transaction.setString("gasPrice", OVERFLOW);
+        transaction.setString("input", "0xA9059cbb");
+        realm.setVersion(6);
+        realm.commitTransaction();
+        realm.close();
+
+        Realm migrated = new RealmManager().getRealmInstance(network, wallet);
+        try {
+            RealmTransaction compact = migrated.where(RealmTransaction.class).findFirst();
+            assertNotNull(compact);
+            assertEquals(RealmManager.key(network, wallet, HASH), compact.getKey());
+            assertEquals(4000000L, compact.getBlockNumber());
+            assertNull(compact.getBlockNumberText());
+            assertEquals(CompactEncoding.NO_NUMBER, compact.getGas());
+            assertEquals(OVERFLOW, CompactEncoding.fromLong(compact.getGas(), compact.getGasText()));
+            assertNull(CompactEncoding.fromLong(compact.getGasUsed(), compact.getGasUsedText()));
+            assertEquals(OVERFLOW, CompactEncoding.fromBytes(compact.getGasPrice()));
+            assertEquals("1000000000000000000", CompactEncoding.fromBytes(compact.getValue()));
+            assertEquals("0xA9059cbb", CompactEncoding.fromBytes(compact.getInput()));
+            assertEquals(1, migrated.where(RealmTransactionDisplay.class).count());
+        } finally {
+            migrated.close();
+        }
+    }
+
+    @Test
+    public void addsOverflowFieldsToScopedVersion() {
+        String scope = RealmManager.scope(network, wallet);
+        DynamicRealm realm = DynamicRealm.getInstance(fixture);
+        realm.beginTransaction();
+        createVersion8Schema(realm.getSchema());
+        DynamicRealmObject transaction = realm.createObject("RealmTransaction", scope + ":" + HASH);
+        transaction.setString("scope", scope);
+        transaction.setString("hash", HASH);
+        transaction.setLong("blockNumber", 4000000L);
+        transaction.setLong("gas", 21000L);
+        transaction.setBlob("value", CompactEncoding.toNumberBytes("1000000000000000000"));
+        transaction.setBlob("input", CompactEncoding.toHexBytes("0xa9059cbb"));
+        DynamicRealmObject token = realm.createObject("RealmToken", scope + ":" + TOKEN);
+        token.setString("scope", scope);
+        token.setString("address", TOKEN);
+        token.setString("symbol", "TKN");
+        token.setBoolean("isEnabled", true);
+        realm.setVersion(8);
+        realm.commitTransaction();
+        realm.close();
+
+        Realm migrated = new RealmManager().getRealmInstance(network, wallet);
+        try {
+            RealmTransaction migratedTransaction = RealmManager.where(migrated, RealmTransaction.class, network, wallet)
+                    .equalTo("hash", HASH)
+                    .findFirst();
+            assertNotNull(migratedTransaction);
+            assertEquals(4000000L, migratedTransaction.getBlockNumber());
+            assertNull(migratedTransaction.getBlockNumberText());
+            assertNull(migratedTransaction.getGasText());
+            assertNull(migratedTransaction.getGasUsedText());
+            assertEquals("21000", CompactEncoding.fromLong(migratedTransaction.getGas(), migratedTransaction.getGasText()));
+            assertEquals("0xa9059cbb", CompactEncoding.fromBytes(migratedTransaction.getInput()));
+            assertEquals(1, RealmManager.where(migrated, RealmToken.class, network, wallet).count());
+        } finally {
+            migrated.close();
+        }
+    }
+
+    @Test
+    public void reconcilesUnrecordedVersion() {
+        DynamicRealm realm = DynamicRealm.getInstance(fixture);
+        realm.beginTransaction();
+        createBaselineSchema(realm.getSchema());
+        // An older layout: no enabled flag, the balance as a number.
+        RealmObjectSchema token = realm.getSchema().get("RealmToken");
+        token.removeField("isEnabled");
+        token.removeField("balance");
+        token.addField("balance", long.class);
+        fillBaseline(realm);
+        realm.setVersion(2);
+        realm.commitTransaction();
+        realm.close();
+
+        Realm migrated = new RealmManager().getRealmInstance(network, wallet);
+        try {
+            RealmToken migratedToken = migrated.where(RealmToken.class).findFirst();
+            assertNotNull(migratedToken);
+            assertEquals("TKN", migratedToken.getSymbol());
+            assertFalse(migratedToken.getEnabled());
+            assertNull(migratedToken.getBalance());
+            assertEquals(1, migrated.where(RealmTransaction.class).count());
+        } finally {
+            migrated.close();
+        }
+    }
+
+    @Test
+    public void migrateRunsOncePerFile() {
+        DynamicRealm realm = DynamicRealm.getInstance(fixture);
+        realm.beginTransaction();
+        createBaselineSchema(realm.getSchema());
+        fillBaseline(realm);
+        realm.setVersion(4);
+        realm.commitTransaction();
+        realm.close();
+
+        RealmManager realmManager = new RealmManager();
+        assertTrue(realmManager.migrate().blockingLast().total >= 1);
+        assertEquals(0, realmManager.migrate().blockingLast().total);
+    }
+
+    @Test
+    public void movesWalletDatabasesToSharedLayout() {
+        DynamicRealm realm = DynamicRealm.getInstance(fixture);
+        realm.beginTransaction();
+        createBaselineSchema(realm.getSchema());
+        fillBaseline(realm);
+        realm.setVersion(4);
+        realm.commitTransaction();
+        realm.close();
+
+        RealmManager realmManager = new RealmManager(RealmManager.Layout.SHARED);
+        assertTrue(realmManager.migrate().blockingLast().isDone);
+        assertFalse(new File(fixture.getPath()).exists());
+        Realm shared = realmManager.getRealmInstance(network, wallet);
+        try {
+            RealmTransaction transaction = RealmManager.where(shared, RealmTransaction.class, network, wallet)
+                    .findFirst();
+            assertNotNull(transaction);
+            assertEquals(HASH, transaction.getHash());
+            assertEquals("TKN", transaction.getOperations().first().getContract().getSymbol());
+            assertEquals(1, RealmManager.where(shared, RealmToken.class, network, wallet).count());
+        } finally {
+            shared.close();
+        }
+    }
+
+    private void assertMigrated() {
+        Realm realm = new RealmManager().getRealmInstance(network, wallet);
+        try {
+            RealmTransaction transaction = realm.where(RealmTransaction.class).findFirst();
+            assertNotNull(transaction);
+            assertEquals(HASH, transaction.getHash());
+            assertEquals(RealmManager.key(network, wallet, HASH), transaction.getKey());
+            assertEquals(4000000L, transaction.getBlockNumber());
+            assertEquals(21000L, transaction.getGas());
+            assertEquals("1000000000000000000", CompactEncoding.fromBytes(transaction.getValue()));
+            assertEquals("0xa9059cbb", CompactEncoding.fromBytes(transaction.getInput()));
+            RealmTransactionOperation operation = transaction.getOperations().first();
+            assertEquals("TKN", operation.getContract().getSymbol());
+
+            RealmToken token = realm.where(RealmToken.class).findFirst();
+            assertNotNull(token);
+            assertEquals("10", token.getBalance());
+            assertEquals(RealmManager.scope(network, wallet), token.getScope());
+
+            RealmTokenTicker ticker = realm.where(RealmTokenTicker.class).findFirst();
+            assertNotNull(ticker);
+            assertEquals("1.5", ticker.getPrice());
+        } finally {
+            realm.close();
+        }
+    }
+
+    private static void createBaselineSchema(RealmSchema schema) {
+        RealmObjectSchema contract = schema.create("RealmTransactionContract")
+                .addField("address", String.class)
+                .addField("name", String.class)
+                .addField("totalSupply", String.class)
+                .addField("decimals", int.class)
+                .addField("symbol", String.class);
+        RealmObjectSchema operation = schema.create("RealmTransactionOperation")
+                .addField("transactionId", String.class)
+                .addField("viewType", String.class)
+                .addField("from", String.class)
+                .addField("to", String.class)
+                .addField("value", String.class)
+                .addRealmObjectField("contract", contract);
+        schema.create("RealmTransaction")
+                .addField("hash", String.class, FieldAttribute.PRIMARY_KEY)
+                .addField("blockNumber", String.class)
+                .addField("timeStamp", long.class)
+                .addField("nonce", int.class)
+                .addField("from", String.class)
+                .addField("to", String.class)
+                .addField("value", String.class)
+                .addField("gas", String.class)
+                .addField("gasPrice", String.class)
+                .addField("gasUsed", String.class)
+                .addField("input", String.class)
+                .addField("error", String.class)
+                .addRealmListField("operations", operation);
+        schema.create("RealmToken")
+                .addField("address", String.class, FieldAttribute.PRIMARY_KEY)
+                .addField("name", String.class)
+                .addField("symbol", String.class)
+                .addField("decimals", int.class)
+                .addField("addedTime", long.class)
+                .addField("updatedTime", long.class)
+                .addField("balance", String.class)
+                .addField("isEnabled", boolean.class);
+        schema.create("RealmTokenTicker")
+                .addField("contract", String.class, FieldAttribute.PRIMARY_KEY)
+                .addField("price", String.class)
+                .addField("percentChange24h", String.class)
+                .addField("createdTime", long.class)
+                .addField("id", String.class)
+                .addField("image", String.class)
+                .addField("updatedTime", long.class);
+    }
+
+    private static void createDisplaySchema(RealmSchema schema) {
+        schema.create("RealmTransactionDisplay")
+                .addField("hash", String.class, FieldAttribute.PRIMARY_KEY)
+                .addField("timeStamp", long.class)
+                .addField("isSent", boolean.class)
+                .addField("isError", boolean.class)
+                .addField("counterparty", String.class)
+                .addField("value", String.class);
+    }
+
+    private static void createIndexSchema(RealmSchema schema) {
+        schema.create("RealmTransactionIndex")
+                .addField("hash", String.class, FieldAttribute.PRIMARY_KEY)
+                .addField("counterparty", String.class, FieldAttribute.INDEXED)
+                .addField("contract", String.class, FieldAttribute.INDEXED)
+                .addField("symbol", String.class, FieldAttribute.INDEXED)
+                .addField("timeStamp", long.class, FieldAttribute.INDEXED)
+                .addField("amount", double.class);
+    }
+
+    /**
+     * Compact transactions and scoped keys, without the text fields for values a long can't hold.
+     */
+    private static void createVersion8Schema(RealmSchema schema) {
+        createBaselineSchema(schema);
+        createDisplaySchema(schema);
+        createIndexSchema(schema);
+        schema.get("RealmTransaction")
+                .removeField("blockNumber")
+                .removeField("gas")
+                .removeField("gasUsed")
+                .removeField("value")
+                .removeField("gasPrice")
+                .removeField("input")
+                .addField("blockNumber", long.class)
+                .addField("gas", long.class)
+                .addField("gasUsed", long.class)
+                .addField("value", byte[].class)
+                .addField("gasPrice", byte[].class)
+                .addField("input", byte[].class);
+        addScope(schema.get("RealmTransaction"), "hash", true);
+        addScope(schema.get("RealmTransactionDisplay"), "hash", true);
+        addScope(schema.get("RealmTransactionIndex"), "hash", false);
+        addScope(schema.get("RealmToken"), "address", true);
+        addScope(schema.get("RealmTokenTicker"), "contract", true);
+    }
+
+    private static void addScope(RealmObjectSchema objectSchema, String id, boolean isIdIndexed) {
+        objectSchema.removePrimaryKey();
+        if (isIdIndexed) {
+            objectSchema.addIndex(id);
+        }
+        objectSchema
+                .addField("key", String.class, FieldAttribute.PRIMARY_KEY)
+                .addField("scope", String.class, FieldAttribute.INDEXED);
+    }
+
+    private static void fillBaseline(DynamicRealm realm) {
+        DynamicRealmObject contract = realm.createObject("RealmTransactionContract");
+        contract.setString("address", TOKEN);
+        contract.setString("symbol", "TKN");
+        contract.setInt("decimals", 18);
+        DynamicRealmObject operation = realm.createObject("RealmTransactionOperation");
+        operation.setString("value", "5");
+        operation.setObject("contract", contract);
+
+        DynamicRealmObject transaction = realm.createObject("RealmTransaction", HASH);
+        transaction.setString("blockNumber", "4000000");
+        transaction.setLong("timeStamp", 1500000000L);
+        transaction.setString("value", "1000000000000000000");
+        transaction.setString("gas", "21000");
+        transaction.setString("gasPrice", "1000000000");
+        transaction.setString("gasUsed", "21000");
+        transaction.setString("input", "0xa9059cbb");
+        transaction.getList("operations").add(operation);
+
+        DynamicRealmObject token = realm.createObject("RealmToken", TOKEN);
+        token.setString("symbol", "TKN");
+        token.setInt("decimals", 18);
+        if (token.hasField("isEnabled")) {
+            token.setString("balance", "10");
+            token.setBoolean("isEnabled", true);
+        }
+
+        realm.createObject("RealmTokenTicker", TOKEN).setString("price", "1.5");
+    }
+}
@@ -0,0 +1,105 @@
+package com.wallet.crypto.trustapp;
+
+import android.os.SystemClock;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import com.wallet.crypto.trustapp.entity.NetworkInfo;
+import com.wallet.crypto.trustapp.entity.Transaction;
+import com.wallet.crypto.trustapp.entity.TransactionRow;
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.repository.TransactionsRealmCache;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
+import com.wallet.crypto.trustapp.service.RealmManager;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Locale;
+
+import io.realm.Realm;
+import io.realm.RealmConfiguration;
+
+import static junit.framework.Assert.assertEquals;
+
+/**
+ * Compares opening the wallet databases of several wallets and networks, as on startup,
+ * with a file per wallet and network against one shared file.
+ * Results are printed to logcat with the "RealmLayout" tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class RealmLayoutBenchmark {
+
+    private static final String TAG = "RealmLayout";
+    private static final int WALLETS = 10;
+    private static final int NETWORKS = 6;
+    private static final int HISTORY_SIZE = 100;
+    private static final int PAGE_SIZE = 20;
+
+    private final NetworkInfo[] networks = new NetworkInfo[NETWORKS];
+    private final Wallet[] wallets = new Wallet[WALLETS];
+
+    @Before
+    public void setUp() {
+        for (int i = 0; i < NETWORKS; i++) {
+            networks[i] = new NetworkInfo("layout" + i, "ETH", "", "", "", i + 1, false);
+        }
+        long seed = System.nanoTime();
+        for (int i = 0; i < WALLETS; i++) {
+            wallets[i] = new Wallet("0x" + Long.toHexString(seed + i));
+        }
+        fill(new RealmManager(RealmManager.Layout.PER_WALLET));
+        fill(new RealmManager(RealmManager.Layout.SHARED));
+    }
+
+    @After
+    public void tearDown() {
+        for (NetworkInfo network : networks) {
+            for (Wallet wallet : wallets) {
+                Realm.deleteRealm(new RealmConfiguration.Builder()
+                        .name(wallet.address + "-" + network.name + "-db.realm")
+                        .build());
+            }
+        }
+        Realm.deleteRealm(new RealmConfiguration.Builder().name(RealmManager.SHARED_NAME).build());
+    }
+
+    @Test
+    public void openAll() {
+        long perWallet = openAll(new RealmManager(RealmManager.Layout.PER_WALLET));
+        long shared = openAll(new RealmManager(RealmManager.Layout.SHARED));
+        Log.i(TAG, String.format(Locale.US,
+                "first page of %d wallets on %d networks: file per wallet %d ms, shared file %d ms",
+                WALLETS, NETWORKS, perWallet, shared));
+    }
+
+    /**
+     * A new manager each run, so every configuration and file is opened cold.
+     */
+    private long openAll(RealmManager realmManager) {
+        TransactionsRealmCache cache = new TransactionsRealmCache(realmManager, new AppSchedulers());
+        long start = SystemClock.elapsedRealtime();
+        for (NetworkInfo network : networks) {
+            for (Wallet wallet : wallets) {
+                TransactionRow[] rows = cache.fetchRows(network, wallet, 0, PAGE_SIZE).blockingGet();
+                assertEquals(PAGE_SIZE, rows.length);
+            }
+        }
+        return SystemClock.elapsedRealtime() - start;
+    }
+
+    private void fill(RealmManager realmManager) {
+        TransactionsRealmCache cache = new TransactionsRealmCache(realmManager, new AppSchedulers());
+        for (NetworkInfo network : networks) {
+            for (Wallet wallet : wallets) {
+                Transaction[] transactions = new Transaction[HISTORY_SIZE];
+                for (int i = 0; i < HISTORY_SIZE; i++) {
+                    transactions[i] = TransactionFixtures.transaction(i, wallet.address);
+                }
+                cache.putTransactions(network, wallet, transactions).blockingAwait();
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.wallet.crypto.trustapp;
+
+import android.support.test.runner.AndroidJUnit4;
+
+import com.wallet.crypto.trustapp.entity.NetworkInfo;
+import com.wallet.crypto.trustapp.entity.RealmMetrics;
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.service.RealmManager;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import io.reactivex.Observable;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.Schedulers;
+import io.realm.Realm;
+import io.realm.RealmConfiguration;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class RealmManagerTest {
+
+    private final NetworkInfo network = new NetworkInfo(
+            "handles", "ETH", "", "", "", 1, false);
+    private RealmManager realmManager;
+    private Wallet wallet;
+
+    @Before
+    public void setUp() {
+        realmManager = new RealmManager(RealmManager.Layout.PER_WALLET);
+        wallet = new Wallet("0x" + Long.toHexString(System.nanoTime()));
+    }
+
+    @After
+    public void tearDown() {
+        Realm.deleteRealm(new RealmConfiguration.Builder()
+                .name(wallet.address + "-" + network.name + "-db.realm")
+                .build());
+    }
+
+    @Test
+    public void reusesRealmOnThread() {
+        Realm first = realmManager.getRealmInstance(network, wallet);
+        Realm second = realmManager.getRealmInstance(network, wallet);
+        assertSame(first, second);
+        realmManager.close(second);
+        assertFalse(first.isClosed());
+        realmManager.close(first);
+        assertTrue(first.isClosed());
+
+        RealmMetrics metrics = realmManager.getMetrics();
+        assertEquals(1, metrics.opened);
+        assertEquals(1, metrics.reused);
+        assertEquals(0, metrics.open);
+    }
+
+    @Test
+    public void keepsRealmOpenUntilChainTerminates() {
+        Realm[] held = new Realm[1];
+        Observable.fromCallable(() -> {
+                    Realm realm = realmManager.getRealmInstance(network, wallet);
+                    held[0] = realm;
+                    realmManager.close(realm);
+                    return realm.isClosed();
+                })
+                .compose(realmManager.keepOpen(network, wallet))
+                .test()
+                .assertValue(false);
+        assertTrue(held[0].isClosed());
+        assertEquals(0, realmManager.getMetrics().open);
+    }
+
+    @Test
+    public void closesRealmOnOwnerThreadWhenDisposedElsewhere() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Realm[] held = new Realm[1];
+            TestObserver<Boolean> observer = Observable.fromCallable(() -> {
+                        Realm realm = realmManager.getRealmInstance(network, wallet);
+                        held[0] = realm;
+                        realmManager.close(realm);
+                        return realm.isClosed();
+                    })
+                    .concatWith(Observable.never())
+                    .compose(realmManager.keepOpen(network, wallet))
+                    .subscribeOn(Schedulers.from(executor))
+                    .test();
+            // Waits for the subscription on the executor thread to return.
+            executor.submit(() -> {}).get();
+
+            observer.assertValue(false);
+            assertTrue(executor.submit(() -> held[0].isClosed()).get());
+            // The chain never terminates, it is disposed from this thread as a screen would.
+            observer.dispose();
+            RealmMetrics metrics = realmManager.getMetrics();
+            assertEquals(0, metrics.open);
+            assertEquals(0, metrics.leaked);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
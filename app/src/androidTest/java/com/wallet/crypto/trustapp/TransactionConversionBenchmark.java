@@ -0,0 +1,73 @@
+package com.wallet.crypto.trustapp;
+
+import android.os.SystemClock;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import com.wallet.crypto.trustapp.entity.NetworkInfo;
+import com.wallet.crypto.trustapp.entity.Transaction;
+import com.wallet.crypto.trustapp.entity.TransactionRow;
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.repository.TransactionsRealmCache;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
+import com.wallet.crypto.trustapp.service.RealmManager;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Locale;
+
+import static junit.framework.Assert.assertEquals;
+
+/**
+ * Compares converting cached transactions into full {@link Transaction} graphs
+ * with the {@link TransactionRow} projection used by the lists.
+ * Results are printed to logcat with the "TransactionConversion" tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TransactionConversionBenchmark {
+
+    private static final String TAG = "TransactionConversion";
+    private static final int HISTORY_SIZE = 10_000;
+    private static final int BATCH_SIZE = 500;
+    private static final int RUNS = 3;
+
+    private final NetworkInfo network = new NetworkInfo(
+            "benchmark", "ETH", "", "", "", 1, false);
+    private TransactionsRealmCache cache;
+    private Wallet wallet;
+
+    @Before
+    public void setUp() {
+        cache = new TransactionsRealmCache(new RealmManager(), new AppSchedulers());
+        wallet = new Wallet("0x" + Long.toHexString(System.nanoTime()));
+        for (int i = 0; i < HISTORY_SIZE; i += BATCH_SIZE) {
+            Transaction[] batch = new Transaction[BATCH_SIZE];
+            for (int j = 0; j < BATCH_SIZE; j++) {
+                batch[j] = TransactionFixtures.transaction(i + j, wallet.address, 3);
+            }
+            cache.putTransactions(network, wallet, batch).blockingAwait();
+        }
+    }
+
+    @Test
+    public void convert() {
+        long full = Long.MAX_VALUE;
+        long rows = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = SystemClock.elapsedRealtime();
+            Transaction[] transactions = cache.fetchTransaction(network, wallet).blockingGet();
+            full = Math.min(full, SystemClock.elapsedRealtime() - start);
+            assertEquals(HISTORY_SIZE, transactions.length);
+
+            start = SystemClock.elapsedRealtime();
+            TransactionRow[] projections = cache.fetchRows(network, wallet, 0, HISTORY_SIZE).blockingGet();
+            rows = Math.min(rows, SystemClock.elapsedRealtime() - start);
+            assertEquals(HISTORY_SIZE, projections.length);
+        }
+        Log.i(TAG, String.format(Locale.US,
+                "per %d rows: full graph %d ms, row projection %d ms",
+                HISTORY_SIZE, full, rows));
+    }
+}
@@ -0,0 +1,124 @@
+package com.wallet.crypto.trustapp;
+
+import android.os.SystemClock;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import com.wallet.crypto.trustapp.entity.NetworkInfo;
+import com.wallet.crypto.trustapp.entity.Transaction;
+import com.wallet.crypto.trustapp.entity.TransactionFilter;
+import com.wallet.crypto.trustapp.entity.TransactionRow;
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.repository.TransactionsRealmCache;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
+import com.wallet.crypto.trustapp.service.RealmManager;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import static com.wallet.crypto.trustapp.TransactionFixtures.INTERVAL;
+import static com.wallet.crypto.trustapp.TransactionFixtures.START_TIME;
+import static com.wallet.crypto.trustapp.TransactionFixtures.TOKEN;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Times the filtered search over an indexed history of {@link #HISTORY_SIZE} transactions
+ * against one frame. Results are printed to logcat with the "TransactionSearch" tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TransactionSearchBenchmark {
+
+    private static final String TAG = "TransactionSearch";
+    private static final int HISTORY_SIZE = 50_000;
+    private static final int BATCH_SIZE = 1_000;
+    private static final int PAGE_SIZE = 50;
+    private static final int ROUNDS = 10;
+    private static final long FRAME_MS = 16;
+
+    private static final NetworkInfo network = new NetworkInfo(
+            "benchmark", "ETH", "", "", "", 1, false);
+    private static TransactionsRealmCache cache;
+    private static Wallet wallet;
+
+    @BeforeClass
+    public static void setUp() {
+        cache = new TransactionsRealmCache(new RealmManager(), new AppSchedulers());
+        wallet = new Wallet(String.format(Locale.US, "0x%040x", System.nanoTime()));
+        for (int i = 0; i < HISTORY_SIZE; i += BATCH_SIZE) {
+            Transaction[] batch = new Transaction[BATCH_SIZE];
+            for (int j = 0; j < BATCH_SIZE; j++) {
+                batch[j] = TransactionFixtures.transaction(i + j, wallet.address);
+            }
+            cache.putTransactions(network, wallet, batch).blockingAwait();
+        }
+    }
+
+    @Test
+    public void contract() {
+        TransactionFilter filter = new TransactionFilter();
+        filter.contract = TOKEN;
+        measure("contract", filter);
+    }
+
+    @Test
+    public void ether() {
+        TransactionFilter filter = new TransactionFilter();
+        filter.contract = "";
+        measure("ether", filter);
+    }
+
+    @Test
+    public void counterparty() {
+        TransactionFilter filter = new TransactionFilter();
+        // Matches 16 of the counterparties.
+        filter.counterparty = "0x000000000000000000000000000000000000001";
+        measure("counterparty", filter);
+    }
+
+    @Test
+    public void amount() {
+        TransactionFilter filter = new TransactionFilter();
+        filter.minAmount = 10d;
+        filter.maxAmount = 20d;
+        measure("amount", filter);
+    }
+
+    @Test
+    public void time() {
+        TransactionFilter filter = new TransactionFilter();
+        filter.fromTime = START_TIME + (HISTORY_SIZE - 1) * INTERVAL - 24 * 60 * 60;
+        measure("time", filter);
+    }
+
+    @Test
+    public void combined() {
+        TransactionFilter filter = new TransactionFilter();
+        filter.contract = TOKEN;
+        filter.counterparty = "0x000000000000000000000000000000000000001";
+        filter.fromTime = START_TIME + HISTORY_SIZE / 2 * INTERVAL;
+        measure("combined", filter);
+    }
+
+    private void measure(String name, TransactionFilter filter) {
+        // Warms up the Realm instance and the query, it is not part of the timing.
+        TransactionRow[] page = cache.search(network, wallet, filter, 0, PAGE_SIZE).blockingGet();
+        assertTrue(name + " found nothing", page.length > 0);
+
+        long[] times = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = SystemClock.elapsedRealtimeNanos();
+            cache.search(network, wallet, filter, 0, PAGE_SIZE).blockingGet();
+            times[i] = SystemClock.elapsedRealtimeNanos() - start;
+        }
+        Arrays.sort(times);
+        long median = times[ROUNDS / 2] / 1_000_000;
+        long max = times[ROUNDS - 1] / 1_000_000;
+        Log.i(TAG, String.format(Locale.US,
+                "%s: %d rows, first page median %d ms, max %d ms", name, HISTORY_SIZE, median, max));
+        assertTrue(name + " took " + median + " ms, target " + FRAME_MS + " ms", median <= FRAME_MS);
+    }
+}
@@ -0,0 +1,128 @@
+package com.wallet.crypto.trustapp;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import com.wallet.crypto.trustapp.entity.NetworkInfo;
+import com.wallet.crypto.trustapp.entity.Transaction;
+import com.wallet.crypto.trustapp.entity.TransactionContract;
+import com.wallet.crypto.trustapp.entity.TransactionOperation;
+import com.wallet.crypto.trustapp.entity.TransactionRow;
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.repository.TransactionLocalSource;
+import com.wallet.crypto.trustapp.repository.TransactionLogSource;
+import com.wallet.crypto.trustapp.repository.TransactionsRealmCache;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
+import com.wallet.crypto.trustapp.service.RealmManager;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.util.Locale;
+
+import static junit.framework.Assert.assertEquals;
+
+/**
+ * Compares Realm and the append-only log as {@link TransactionLocalSource}.
+ * Results are printed to logcat with the "TransactionStorage" tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TransactionStorageBenchmark {
+
+    private static final String TAG = "TransactionStorage";
+    private static final int HISTORY_SIZE = 10_000;
+    private static final int BATCH_SIZE = 500;
+    private static final int PAGE_SIZE = 50;
+    private static final int PAGES = 20;
+
+    private final NetworkInfo network = new NetworkInfo(
+            "benchmark", "ETH", "", "", "", 1, false);
+    private Context context;
+    private Wallet wallet;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getTargetContext();
+        wallet = new Wallet("0x" + Long.toHexString(System.nanoTime()));
+    }
+
+    @Test
+    public void realm() {
+        run("realm", () -> new TransactionsRealmCache(new RealmManager(), new AppSchedulers()));
+    }
+
+    @Test
+    public void log() {
+        File directory = new File(context.getCacheDir(), "benchmark-transactions");
+        run("log", () -> new TransactionLogSource(directory, new AppSchedulers()));
+    }
+
+    private void run(String name, SourceFactory factory) {
+        TransactionLocalSource source = factory.create();
+        long start = SystemClock.elapsedRealtime();
+        for (int i = 0; i < HISTORY_SIZE; i += BATCH_SIZE) {
+            Transaction[] batch = new Transaction[BATCH_SIZE];
+            for (int j = 0; j < BATCH_SIZE; j++) {
+                batch[j] = transaction(i + j);
+            }
+            source.putTransactions(network, wallet, batch).blockingAwait();
+        }
+        long insert = SystemClock.elapsedRealtime() - start;
+
+        start = SystemClock.elapsedRealtime();
+        source = factory.create();
+        TransactionRow[] first = source.fetchRows(network, wallet, 0, PAGE_SIZE).blockingGet();
+        long open = SystemClock.elapsedRealtime() - start;
+
+        start = SystemClock.elapsedRealtime();
+        for (int page = 1; page <= PAGES; page++) {
+            TransactionRow[] transactions = source
+                    .fetchRows(network, wallet, page * PAGE_SIZE, PAGE_SIZE)
+                    .blockingGet();
+            assertEquals(PAGE_SIZE, transactions.length);
+        }
+        long read = SystemClock.elapsedRealtime() - start;
+
+        assertEquals(PAGE_SIZE, first.length);
+        assertEquals(transaction(HISTORY_SIZE - 1).hash, first[0].hash);
+        Log.i(TAG, String.format(Locale.US,
+                "%s: insert %d tx/s, cold open + first page %d ms, %d pages %d ms",
+                name, HISTORY_SIZE * 1000L / Math.max(insert, 1), open, PAGES, read));
+    }
+
+    private static Transaction transaction(int index) {
+        TransactionOperation operation = new TransactionOperation();
+        operation.transactionId = "0x" + Integer.toHexString(index);
+        operation.from = "0x0000000000000000000000000000000000000001";
+        operation.to = "0x0000000000000000000000000000000000000002";
+        operation.value = String.valueOf(index * 1000L);
+        operation.contract = new TransactionContract();
+        operation.contract.address = "0x0000000000000000000000000000000000000003";
+        operation.contract.name = "Token";
+        operation.contract.symbol = "TKN";
+        operation.contract.decimals = 18;
+        return new Transaction(
+                String.format(Locale.US, "0x%064x", index),
+                null,
+                String.valueOf(index),
+                1500000000L + index,
+                index,
+                "0x0000000000000000000000000000000000000001",
+                "0x0000000000000000000000000000000000000002",
+                "0",
+                "21000",
+                "1000000000",
+                "0x",
+                "21000",
+                new TransactionOperation[] {operation});
+    }
+
+    private interface SourceFactory {
+        TransactionLocalSource create();
+    }
+}
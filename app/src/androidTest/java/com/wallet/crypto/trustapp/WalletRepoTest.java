@@ -13,6 +13,7 @@ import com.wallet.crypto.trustapp.repository.SharedPreferenceRepository;
 import com.wallet.crypto.trustapp.repository.WalletRepository;
 import com.wallet.crypto.trustapp.repository.WalletRepositoryType;
 import com.wallet.crypto.trustapp.service.AccountKeystoreService;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
 import com.wallet.crypto.trustapp.service.GethKeystoreAccountService;
 
 import org.json.JSONObject;
@@ -44,7 +45,7 @@ public class WalletRepoTest {
 	public void setUp() {
 		Context context = InstrumentationRegistry.getTargetContext();
 		PreferenceRepositoryType preferenceRepositoryType = new SharedPreferenceRepository(context);
-		AccountKeystoreService accountKeystoreService = new GethKeystoreAccountService(new File(context.getFilesDir(), "store"));
+		AccountKeystoreService accountKeystoreService = new GethKeystoreAccountService(new File(context.getFilesDir(), "store"), new AppSchedulers());
 		EthereumNetworkRepositoryType networkRepository = new EthereumNetworkRepository(preferenceRepositoryType);
 		accountRepository = new WalletRepository(preferenceRepositoryType, accountKeystoreService, networkRepository);
 	}
@@ -1,31 +1,74 @@
 package com.wallet.crypto.trustapp;
 
 import android.app.Activity;
+import android.app.Application;
+import android.app.Service;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.Bundle;
+import android.os.SystemClock;
 import android.support.multidex.MultiDexApplication;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
 
 import com.wallet.crypto.trustapp.di.DaggerAppComponent;
+import com.wallet.crypto.trustapp.repository.CachedPasswordStore;
+import com.wallet.crypto.trustapp.repository.WatchOnlyMonitor;
+import com.wallet.crypto.trustapp.service.StartupQueue;
+import com.wallet.crypto.trustapp.service.SyncJobService;
+import com.wallet.crypto.trustapp.util.Tracer;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
 
 import javax.inject.Inject;
 
+import dagger.Lazy;
 import dagger.android.AndroidInjector;
 import dagger.android.DispatchingAndroidInjector;
 import dagger.android.HasActivityInjector;
+import dagger.android.HasServiceInjector;
 import io.realm.Realm;
 
-public class App extends MultiDexApplication implements HasActivityInjector {
+public class App extends MultiDexApplication implements HasActivityInjector, HasServiceInjector {
 
 	@Inject
 	DispatchingAndroidInjector<Activity> dispatchingAndroidInjector;
+	@Inject
+	DispatchingAndroidInjector<Service> dispatchingServiceInjector;
+	@Inject
+	StartupQueue startupQueue;
+	@Inject
+	Lazy<WatchOnlyMonitor> watchOnlyMonitor;
+	@Inject
+	Lazy<CachedPasswordStore> cachedPasswordStore;
+
+	private static final int TRACE_CAPACITY = 4096;
+
+	private long startTime;
 
 	@Override
 	public void onCreate() {
+		startTime = SystemClock.elapsedRealtime();
 		super.onCreate();
+		if (BuildConfig.TRACING) {
+			Tracer.install(TRACE_CAPACITY);
+		}
         Realm.init(this);
         DaggerAppComponent
 				.builder()
 				.application(this)
 				.build()
 				.inject(this);
+		registerActivityLifecycleCallbacks(new FirstFrameCallbacks());
+		registerActivityLifecycleCallbacks(new ForegroundCallbacks());
+		registerReceiver(new ScreenOffReceiver(), new IntentFilter(Intent.ACTION_SCREEN_OFF));
+		startupQueue.enqueue(StartupQueue.PRIORITY_LOW, () -> SyncJobService.schedule(this));
 
 		// enable pin code for the application
 //		LockManager<CustomPinActivity> lockManager = LockManager.getInstance();
@@ -38,4 +81,133 @@ public class App extends MultiDexApplication implements HasActivityInjector {
 		return dispatchingAndroidInjector;
 	}
 
+	@Override
+	public AndroidInjector<Service> serviceInjector() {
+		return dispatchingServiceInjector;
+	}
+
+	@Override
+	public void onTrimMemory(int level) {
+		super.onTrimMemory(level);
+		if (Tracer.isEnabled() && level == TRIM_MEMORY_UI_HIDDEN) {
+			new Thread(this::exportTrace, "trace-export").start();
+		}
+	}
+
+	/**
+	 * Writes the recorded spans to Android/data/&lt;package&gt;/files/traces for chrome://tracing.
+	 */
+	private void exportTrace() {
+		File dir = getExternalFilesDir("traces");
+		if (dir == null) {
+			return;
+		}
+		File file = new File(dir, "trace-" + System.currentTimeMillis() + ".json");
+		try (Writer out = new FileWriter(file)) {
+			Tracer.export(out);
+		} catch (IOException ex) {
+			Log.w("Tracer", "Can't export the trace", ex);
+		}
+	}
+
+	public long getStartTime() {
+		return startTime;
+	}
+
+	/**
+	 * Releases the deferred startup work once the first activity has drawn.
+	 */
+	private class FirstFrameCallbacks implements Application.ActivityLifecycleCallbacks {
+
+		@Override
+		public void onActivityResumed(Activity activity) {
+			unregisterActivityLifecycleCallbacks(this);
+			View decorView = activity.getWindow().getDecorView();
+			decorView.getViewTreeObserver().addOnDrawListener(new ViewTreeObserver.OnDrawListener() {
+				@Override
+				public void onDraw() {
+					// Listeners can't be removed while the tree is dispatching onDraw.
+					decorView.post(() -> {
+						decorView.getViewTreeObserver().removeOnDrawListener(this);
+						startupQueue.onFirstFrame();
+					});
+				}
+			});
+		}
+
+		@Override
+		public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+		}
+
+		@Override
+		public void onActivityStarted(Activity activity) {
+		}
+
+		@Override
+		public void onActivityPaused(Activity activity) {
+		}
+
+		@Override
+		public void onActivityStopped(Activity activity) {
+		}
+
+		@Override
+		public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+		}
+
+		@Override
+		public void onActivityDestroyed(Activity activity) {
+		}
+	}
+
+	/**
+	 * Runs the watch-only monitor while any activity is started, forgets cached passwords when none is.
+	 */
+	private class ForegroundCallbacks implements Application.ActivityLifecycleCallbacks {
+
+		private int startedCount;
+
+		@Override
+		public void onActivityStarted(Activity activity) {
+			if (startedCount++ == 0) {
+				watchOnlyMonitor.get().start();
+			}
+		}
+
+		@Override
+		public void onActivityStopped(Activity activity) {
+			if (--startedCount == 0) {
+				watchOnlyMonitor.get().stop();
+				cachedPasswordStore.get().clear();
+			}
+		}
+
+		@Override
+		public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+		}
+
+		@Override
+		public void onActivityResumed(Activity activity) {
+		}
+
+		@Override
+		public void onActivityPaused(Activity activity) {
+		}
+
+		@Override
+		public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+		}
+
+		@Override
+		public void onActivityDestroyed(Activity activity) {
+		}
+	}
+
+	private class ScreenOffReceiver extends BroadcastReceiver {
+
+		@Override
+		public void onReceive(Context context, Intent intent) {
+			cachedPasswordStore.get().clear();
+		}
+	}
 }
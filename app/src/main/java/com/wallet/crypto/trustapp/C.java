@@ -47,17 +47,22 @@ public abstract class C {
     public static final long NETWORK_FEE_MAX = 90000000000000000L;
     public static final int ETHER_DECIMALS = 18;
 
+    /** How long a password read from the key store stays in memory, in milliseconds. */
+    public static final long PASSWORD_CACHE_TTL = 5 * 60 * 1000L;
+
     public interface ErrorCode {
 
         int UNKNOWN = 1;
         int CANT_GET_STORE_PASSWORD = 2;
         int ALREADY_ADDED = 3;
         int EMPTY_COLLECTION = 4;
+        int NOT_FOUND = 5;
     }
 
     public interface Key {
         String WALLET = "wallet";
         String TRANSACTION = "transaction";
+        String TRANSACTION_HASH = "transaction_hash";
         String SHOULD_SHOW_SECURITY_WARNING = "should_show_security_warning";
     }
 }
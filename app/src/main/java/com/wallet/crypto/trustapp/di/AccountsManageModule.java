@@ -4,9 +4,12 @@ import com.wallet.crypto.trustapp.interact.CreateWalletInteract;
 import com.wallet.crypto.trustapp.interact.DeleteWalletInteract;
 import com.wallet.crypto.trustapp.interact.ExportWalletInteract;
 import com.wallet.crypto.trustapp.interact.FetchWalletsInteract;
+import com.wallet.crypto.trustapp.interact.FetchPortfolioInteract;
 import com.wallet.crypto.trustapp.interact.FindDefaultWalletInteract;
 import com.wallet.crypto.trustapp.interact.SetDefaultWalletInteract;
+import com.wallet.crypto.trustapp.repository.AppStateStore;
 import com.wallet.crypto.trustapp.repository.PasswordStore;
+import com.wallet.crypto.trustapp.repository.PortfolioRepositoryType;
 import com.wallet.crypto.trustapp.repository.WalletRepositoryType;
 import com.wallet.crypto.trustapp.router.ImportWalletRouter;
 import com.wallet.crypto.trustapp.router.TransactionsRouter;
@@ -26,6 +29,7 @@ class AccountsManageModule {
 			FetchWalletsInteract fetchWalletsInteract,
 			FindDefaultWalletInteract findDefaultWalletInteract,
 			ExportWalletInteract exportWalletInteract,
+			FetchPortfolioInteract fetchPortfolioInteract,
 			ImportWalletRouter importWalletRouter,
             TransactionsRouter transactionsRouter) {
 		return new WalletsViewModelFactory(createWalletInteract,
@@ -34,6 +38,7 @@ class AccountsManageModule {
                 fetchWalletsInteract,
                 findDefaultWalletInteract,
                 exportWalletInteract,
+                fetchPortfolioInteract,
                 importWalletRouter,
                 transactionsRouter);
 	}
@@ -45,14 +50,15 @@ class AccountsManageModule {
 	}
 
 	@Provides
-    SetDefaultWalletInteract provideSetDefaultAccountInteract(WalletRepositoryType accountRepository) {
-		return new SetDefaultWalletInteract(accountRepository);
+    SetDefaultWalletInteract provideSetDefaultAccountInteract(
+            WalletRepositoryType accountRepository, AppStateStore stateStore) {
+		return new SetDefaultWalletInteract(accountRepository, stateStore);
 	}
 
 	@Provides
     DeleteWalletInteract provideDeleteAccountInteract(
-            WalletRepositoryType accountRepository, PasswordStore store) {
-		return new DeleteWalletInteract(accountRepository, store);
+            WalletRepositoryType accountRepository, PasswordStore store, AppStateStore stateStore) {
+		return new DeleteWalletInteract(accountRepository, store, stateStore);
 	}
 
 	@Provides
@@ -61,8 +67,8 @@ class AccountsManageModule {
 	}
 
 	@Provides
-    FindDefaultWalletInteract provideFindDefaultAccountInteract(WalletRepositoryType accountRepository) {
-		return new FindDefaultWalletInteract(accountRepository);
+    FindDefaultWalletInteract provideFindDefaultAccountInteract(AppStateStore stateStore) {
+		return new FindDefaultWalletInteract(stateStore);
 	}
 
 	@Provides
@@ -71,6 +77,11 @@ class AccountsManageModule {
 	    return new ExportWalletInteract(walletRepository, passwordStore);
     }
 
+	@Provides
+    FetchPortfolioInteract provideFetchPortfolioInteract(PortfolioRepositoryType portfolioRepository) {
+	    return new FetchPortfolioInteract(portfolioRepository);
+    }
+
 	@Provides
     ImportWalletRouter provideImportAccountRouter() {
 		return new ImportWalletRouter();
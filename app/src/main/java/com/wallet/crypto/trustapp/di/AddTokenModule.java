@@ -2,6 +2,7 @@ package com.wallet.crypto.trustapp.di;
 
 import com.wallet.crypto.trustapp.interact.AddTokenInteract;
 import com.wallet.crypto.trustapp.interact.FindDefaultWalletInteract;
+import com.wallet.crypto.trustapp.repository.AppStateStore;
 import com.wallet.crypto.trustapp.repository.TokenRepositoryType;
 import com.wallet.crypto.trustapp.repository.WalletRepositoryType;
 import com.wallet.crypto.trustapp.router.MyTokensRouter;
@@ -30,8 +31,8 @@ public class AddTokenModule {
     }
 
     @Provides
-    FindDefaultWalletInteract provideFindDefaultWalletInteract(WalletRepositoryType walletRepository) {
-        return new FindDefaultWalletInteract(walletRepository);
+    FindDefaultWalletInteract provideFindDefaultWalletInteract(AppStateStore stateStore) {
+        return new FindDefaultWalletInteract(stateStore);
     }
 
     @Provides
@@ -1,5 +1,6 @@
 package com.wallet.crypto.trustapp.di;
 
+import com.wallet.crypto.trustapp.service.SyncJobService;
 import com.wallet.crypto.trustapp.ui.AddTokenActivity;
 import com.wallet.crypto.trustapp.ui.ConfirmationActivity;
 import com.wallet.crypto.trustapp.ui.GasSettingsActivity;
@@ -9,6 +10,7 @@ import com.wallet.crypto.trustapp.ui.SendActivity;
 import com.wallet.crypto.trustapp.ui.SettingsActivity;
 import com.wallet.crypto.trustapp.ui.SplashActivity;
 import com.wallet.crypto.trustapp.ui.TokenChangeCollectionActivity;
+import com.wallet.crypto.trustapp.ui.TokenTransactionsActivity;
 import com.wallet.crypto.trustapp.ui.TokensActivity;
 import com.wallet.crypto.trustapp.ui.TransactionDetailActivity;
 import com.wallet.crypto.trustapp.ui.TransactionsActivity;
@@ -68,4 +70,11 @@ public abstract class BuildersModule {
 	@ActivityScope
     @ContributesAndroidInjector(modules = ChangeTokenModule.class)
 	abstract TokenChangeCollectionActivity bindChangeTokenCollectionActivity();
+
+	@ActivityScope
+	@ContributesAndroidInjector(modules = TokenTransactionsModule.class)
+	abstract TokenTransactionsActivity bindTokenTransactionsActivity();
+
+	@ContributesAndroidInjector
+	abstract SyncJobService bindSyncJobService();
 }
@@ -3,6 +3,7 @@ package com.wallet.crypto.trustapp.di;
 import com.wallet.crypto.trustapp.interact.ChangeTokenEnableInteract;
 import com.wallet.crypto.trustapp.interact.FetchAllTokenInfoInteract;
 import com.wallet.crypto.trustapp.repository.TokenRepositoryType;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
 import com.wallet.crypto.trustapp.viewmodel.TokenChangeCollectionViewModelFactory;
 
 import dagger.Module;
@@ -21,12 +22,14 @@ public class ChangeTokenModule {
     }
 
     @Provides
-    FetchAllTokenInfoInteract provideFetchAllTokenInfoInteract(TokenRepositoryType tokenRepository) {
-        return new FetchAllTokenInfoInteract(tokenRepository);
+    FetchAllTokenInfoInteract provideFetchAllTokenInfoInteract(
+            TokenRepositoryType tokenRepository, AppSchedulers schedulers) {
+        return new FetchAllTokenInfoInteract(tokenRepository, schedulers);
     }
 
     @Provides
-    ChangeTokenEnableInteract provideChangeTokenEnableInteract(TokenRepositoryType tokenRepository) {
-        return new ChangeTokenEnableInteract(tokenRepository);
+    ChangeTokenEnableInteract provideChangeTokenEnableInteract(
+            TokenRepositoryType tokenRepository, AppSchedulers schedulers) {
+        return new ChangeTokenEnableInteract(tokenRepository, schedulers);
     }
 }
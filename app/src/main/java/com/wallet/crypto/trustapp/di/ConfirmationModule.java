@@ -4,6 +4,7 @@ package com.wallet.crypto.trustapp.di;
 import com.wallet.crypto.trustapp.interact.CreateTransactionInteract;
 import com.wallet.crypto.trustapp.interact.FetchGasSettingsInteract;
 import com.wallet.crypto.trustapp.interact.FindDefaultWalletInteract;
+import com.wallet.crypto.trustapp.repository.AppStateStore;
 import com.wallet.crypto.trustapp.repository.GasSettingsRepositoryType;
 import com.wallet.crypto.trustapp.repository.PasswordStore;
 import com.wallet.crypto.trustapp.repository.TransactionRepositoryType;
@@ -27,8 +28,8 @@ public class ConfirmationModule {
     }
 
     @Provides
-    FindDefaultWalletInteract provideFindDefaultWalletInteract(WalletRepositoryType walletRepository) {
-        return new FindDefaultWalletInteract(walletRepository);
+    FindDefaultWalletInteract provideFindDefaultWalletInteract(AppStateStore stateStore) {
+        return new FindDefaultWalletInteract(stateStore);
     }
 
     @Provides
@@ -37,8 +38,11 @@ public class ConfirmationModule {
     }
 
     @Provides
-    CreateTransactionInteract provideCreateTransactionInteract(TransactionRepositoryType transactionRepository, PasswordStore passwordStore) {
-        return new CreateTransactionInteract(transactionRepository, passwordStore);
+    CreateTransactionInteract provideCreateTransactionInteract(
+            TransactionRepositoryType transactionRepository,
+            PasswordStore passwordStore,
+            WalletRepositoryType walletRepository) {
+        return new CreateTransactionInteract(transactionRepository, passwordStore, walletRepository);
     }
 
     @Provides
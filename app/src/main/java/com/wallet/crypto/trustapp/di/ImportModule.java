@@ -3,6 +3,7 @@ package com.wallet.crypto.trustapp.di;
 import com.wallet.crypto.trustapp.interact.ImportWalletInteract;
 import com.wallet.crypto.trustapp.repository.PasswordStore;
 import com.wallet.crypto.trustapp.repository.WalletRepositoryType;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
 import com.wallet.crypto.trustapp.viewmodel.ImportWalletViewModelFactory;
 
 import dagger.Module;
@@ -18,7 +19,7 @@ class ImportModule {
 
     @Provides
     ImportWalletInteract provideImportWalletInteract(
-            WalletRepositoryType walletRepository, PasswordStore passwordStore) {
-        return new ImportWalletInteract(walletRepository, passwordStore);
+            WalletRepositoryType walletRepository, PasswordStore passwordStore, AppSchedulers schedulers) {
+        return new ImportWalletInteract(walletRepository, passwordStore, schedulers);
     }
 }
@@ -3,26 +3,44 @@ package com.wallet.crypto.trustapp.di;
 import android.content.Context;
 
 import com.google.gson.Gson;
+import com.wallet.crypto.trustapp.BuildConfig;
+import com.wallet.crypto.trustapp.repository.AppStateStore;
 import com.wallet.crypto.trustapp.repository.EthereumNetworkRepository;
 import com.wallet.crypto.trustapp.repository.EthereumNetworkRepositoryType;
 import com.wallet.crypto.trustapp.repository.GasSettingsRepository;
 import com.wallet.crypto.trustapp.repository.GasSettingsRepositoryType;
+import com.wallet.crypto.trustapp.repository.PortfolioRepository;
+import com.wallet.crypto.trustapp.repository.PortfolioRepositoryType;
+import com.wallet.crypto.trustapp.repository.PortfolioSnapshotStore;
 import com.wallet.crypto.trustapp.repository.PreferenceRepositoryType;
 import com.wallet.crypto.trustapp.repository.SharedPreferenceRepository;
+import com.wallet.crypto.trustapp.repository.SyncEngine;
 import com.wallet.crypto.trustapp.repository.TokenLocalSource;
 import com.wallet.crypto.trustapp.repository.TokenRepository;
 import com.wallet.crypto.trustapp.repository.TokenRepositoryType;
 import com.wallet.crypto.trustapp.repository.TokensRealmSource;
+import com.wallet.crypto.trustapp.repository.TransactionDisplayRepository;
+import com.wallet.crypto.trustapp.repository.TransactionDisplayRepositoryType;
+import com.wallet.crypto.trustapp.repository.TransactionExportSource;
 import com.wallet.crypto.trustapp.repository.TransactionLocalSource;
+import com.wallet.crypto.trustapp.repository.TransactionLogSource;
+import com.wallet.crypto.trustapp.repository.TransactionMemoryCache;
 import com.wallet.crypto.trustapp.repository.TransactionRepository;
 import com.wallet.crypto.trustapp.repository.TransactionRepositoryType;
+import com.wallet.crypto.trustapp.repository.TransactionSearchSource;
 import com.wallet.crypto.trustapp.repository.TransactionsRealmCache;
 import com.wallet.crypto.trustapp.repository.WalletRepository;
 import com.wallet.crypto.trustapp.repository.WalletRepositoryType;
+import com.wallet.crypto.trustapp.repository.WatchOnlyMonitor;
+import com.wallet.crypto.trustapp.repository.WatchOnlyWalletSource;
 import com.wallet.crypto.trustapp.service.AccountKeystoreService;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
+import com.wallet.crypto.trustapp.service.BatchRpcClient;
 import com.wallet.crypto.trustapp.service.EthplorerTokenService;
 import com.wallet.crypto.trustapp.service.GethKeystoreAccountService;
+import com.wallet.crypto.trustapp.service.KdfCalibrator;
 import com.wallet.crypto.trustapp.service.RealmManager;
+import com.wallet.crypto.trustapp.service.StartupQueue;
 import com.wallet.crypto.trustapp.service.TickerService;
 import com.wallet.crypto.trustapp.service.TokenExplorerClientType;
 import com.wallet.crypto.trustapp.service.TransactionsNetworkClient;
@@ -33,6 +51,7 @@ import java.io.File;
 
 import javax.inject.Singleton;
 
+import dagger.Lazy;
 import dagger.Module;
 import dagger.Provides;
 import okhttp3.OkHttpClient;
@@ -47,15 +66,22 @@ public class RepositoriesModule {
 
 	@Singleton
 	@Provides
-	AccountKeystoreService provideAccountKeyStoreService(Context context) {
+	AccountKeystoreService provideAccountKeyStoreService(
+			Context context, KdfCalibrator kdfCalibrator, AppSchedulers schedulers) {
         File file = new File(context.getFilesDir(), "keystore/keystore");
-		return new GethKeystoreAccountService(file);
+		return new GethKeystoreAccountService(file, kdfCalibrator, schedulers);
+	}
+
+	@Singleton
+	@Provides
+	KdfCalibrator provideKdfCalibrator(Context context, StartupQueue startupQueue) {
+		return new KdfCalibrator(context, startupQueue);
 	}
 
 	@Singleton
     @Provides
-    TickerService provideTickerService(OkHttpClient httpClient, Gson gson) {
-	    return new TrustWalletTickerService(httpClient, gson);
+    TickerService provideTickerService(OkHttpClient httpClient, Gson gson, AppSchedulers schedulers) {
+	    return new TrustWalletTickerService(httpClient, gson, schedulers);
     }
 
 	@Singleton
@@ -72,9 +98,32 @@ public class RepositoriesModule {
             OkHttpClient okHttpClient,
 			PreferenceRepositoryType preferenceRepositoryType,
 			AccountKeystoreService accountKeystoreService,
-			EthereumNetworkRepositoryType networkRepository) {
+			WatchOnlyWalletSource watchOnlyWalletSource,
+			EthereumNetworkRepositoryType networkRepository,
+			AppSchedulers schedulers) {
 		return new WalletRepository(
-		        okHttpClient, preferenceRepositoryType, accountKeystoreService, networkRepository);
+		        okHttpClient, preferenceRepositoryType, accountKeystoreService, watchOnlyWalletSource,
+				networkRepository, schedulers);
+	}
+
+	@Singleton
+	@Provides
+	WatchOnlyWalletSource provideWatchOnlyWalletSource(Context context) {
+		return new WatchOnlyWalletSource(context);
+	}
+
+	@Singleton
+	@Provides
+	WatchOnlyMonitor provideWatchOnlyMonitor(
+			WatchOnlyWalletSource watchOnlyWalletSource,
+			EthereumNetworkRepositoryType networkRepository,
+			TransactionRepositoryType transactionRepository,
+			AppStateStore appStateStore,
+			BatchRpcClient rpcClient,
+			Gson gson,
+			AppSchedulers schedulers) {
+		return new WatchOnlyMonitor(watchOnlyWalletSource, networkRepository, transactionRepository,
+				appStateStore, rpcClient, gson, schedulers);
 	}
 
 	@Singleton
@@ -83,18 +132,61 @@ public class RepositoriesModule {
 			EthereumNetworkRepositoryType networkRepository,
 			AccountKeystoreService accountKeystoreService,
 			TransactionsNetworkClientType blockExplorerClient,
-            TransactionLocalSource inDiskCache) {
+            TransactionLocalSource inDiskCache,
+            TransactionSearchSource searchSource,
+            TransactionExportSource exportSource,
+            AppSchedulers schedulers) {
 		return new TransactionRepository(
 				networkRepository,
 				accountKeystoreService,
 				inDiskCache,
-				blockExplorerClient);
+				searchSource,
+				exportSource,
+				blockExplorerClient,
+				schedulers);
 	}
 
 	@Singleton
     @Provides
-    TransactionLocalSource provideTransactionInDiskCache(RealmManager realmManager) {
-        return new TransactionsRealmCache(realmManager);
+    TransactionsRealmCache provideTransactionsRealmCache(
+            RealmManager realmManager, AppSchedulers schedulers) {
+        return new TransactionsRealmCache(realmManager, schedulers);
+    }
+
+    @Singleton
+    @Provides
+    TransactionLogSource provideTransactionLogSource(Context context, AppSchedulers schedulers) {
+        return new TransactionLogSource(new File(context.getFilesDir(), "transactions"), schedulers);
+    }
+
+    @Singleton
+    @Provides
+    TransactionMemoryCache provideTransactionMemoryCache(
+            TransactionsRealmCache realmCache, Lazy<TransactionLogSource> logSource) {
+        return new TransactionMemoryCache(BuildConfig.TRANSACTION_LOG ? logSource.get() : realmCache);
+    }
+
+    @Provides
+    TransactionLocalSource provideTransactionInDiskCache(TransactionMemoryCache memoryCache) {
+        return memoryCache;
+    }
+
+    @Provides
+    TransactionSearchSource provideTransactionSearchSource(
+            TransactionsRealmCache realmCache, Lazy<TransactionLogSource> logSource) {
+        return BuildConfig.TRANSACTION_LOG ? logSource.get() : realmCache;
+    }
+
+    @Provides
+    TransactionExportSource provideTransactionExportSource(
+            TransactionsRealmCache realmCache, Lazy<TransactionLogSource> logSource) {
+        return BuildConfig.TRANSACTION_LOG ? logSource.get() : realmCache;
+    }
+
+	@Singleton
+    @Provides
+    TransactionDisplayRepositoryType provideTransactionDisplayRepository(RealmManager realmManager) {
+        return new TransactionDisplayRepository(realmManager);
     }
 
 	@Singleton
@@ -102,8 +194,9 @@ public class RepositoriesModule {
     TransactionsNetworkClientType provideBlockExplorerClient(
 			OkHttpClient httpClient,
 			Gson gson,
-			EthereumNetworkRepositoryType ethereumNetworkRepository) {
-		return new TransactionsNetworkClient(httpClient, gson, ethereumNetworkRepository);
+			EthereumNetworkRepositoryType ethereumNetworkRepository,
+			AppSchedulers schedulers) {
+		return new TransactionsNetworkClient(httpClient, gson, ethereumNetworkRepository, schedulers);
 	}
 
 	@Singleton
@@ -115,7 +208,8 @@ public class RepositoriesModule {
             TokenExplorerClientType tokenExplorerClientType,
             TokenLocalSource tokenLocalSource,
             TransactionLocalSource inDiskCache,
-            TickerService tickerService) {
+            TickerService tickerService,
+            AppSchedulers schedulers) {
 	    return new TokenRepository(
 	            okHttpClient,
 	            ethereumNetworkRepository,
@@ -123,13 +217,15 @@ public class RepositoriesModule {
 	            tokenExplorerClientType,
                 tokenLocalSource,
                 inDiskCache,
-                tickerService);
+                tickerService,
+                schedulers);
     }
 
 	@Singleton
     @Provides
-    TokenExplorerClientType provideTokenService(OkHttpClient okHttpClient, Gson gson) {
-	    return new EthplorerTokenService(okHttpClient, gson);
+    TokenExplorerClientType provideTokenService(
+            OkHttpClient okHttpClient, Gson gson, AppSchedulers schedulers) {
+	    return new EthplorerTokenService(okHttpClient, gson, schedulers);
     }
 
     @Singleton
@@ -138,9 +234,52 @@ public class RepositoriesModule {
 	    return new TokensRealmSource(realmManager);
     }
 
+    @Singleton
+    @Provides
+    AppStateStore provideAppStateStore(
+            WalletRepositoryType walletRepository,
+            EthereumNetworkRepositoryType networkRepository,
+            TokenRepositoryType tokenRepository,
+            AppSchedulers schedulers) {
+        return new AppStateStore(walletRepository, networkRepository, tokenRepository, schedulers);
+    }
+
+    @Singleton
+    @Provides
+    BatchRpcClient provideBatchRpcClient(OkHttpClient httpClient, Gson gson) {
+        return new BatchRpcClient(httpClient, gson);
+    }
+
+    @Singleton
+    @Provides
+    PortfolioRepositoryType providePortfolioRepository(
+            EthereumNetworkRepositoryType networkRepository,
+            TokenLocalSource tokenLocalSource,
+            TickerService tickerService,
+            BatchRpcClient rpcClient) {
+        return new PortfolioRepository(networkRepository, tokenLocalSource, tickerService, rpcClient);
+    }
+
+    @Singleton
+    @Provides
+    SyncEngine provideSyncEngine(
+            WalletRepositoryType walletRepository,
+            TransactionRepositoryType transactionRepository,
+            AppStateStore appStateStore,
+            AppSchedulers schedulers) {
+        return new SyncEngine(walletRepository, transactionRepository, appStateStore, schedulers);
+    }
+
+    @Singleton
+    @Provides
+    PortfolioSnapshotStore providePortfolioSnapshotStore(Context context) {
+        return new PortfolioSnapshotStore(new File(context.getFilesDir(), "portfolio.snapshot"));
+    }
+
     @Singleton
 	@Provides
-	GasSettingsRepositoryType provideGasSettingsRepository(EthereumNetworkRepositoryType ethereumNetworkRepository) {
-		return new GasSettingsRepository(ethereumNetworkRepository);
+	GasSettingsRepositoryType provideGasSettingsRepository(
+			EthereumNetworkRepositoryType ethereumNetworkRepository, StartupQueue startupQueue) {
+		return new GasSettingsRepository(ethereumNetworkRepository, startupQueue);
 	}
 }
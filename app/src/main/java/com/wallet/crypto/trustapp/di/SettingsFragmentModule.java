@@ -1,7 +1,7 @@
 package com.wallet.crypto.trustapp.di;
 
 import com.wallet.crypto.trustapp.interact.FindDefaultWalletInteract;
-import com.wallet.crypto.trustapp.repository.WalletRepositoryType;
+import com.wallet.crypto.trustapp.repository.AppStateStore;
 import com.wallet.crypto.trustapp.router.ManageWalletsRouter;
 
 import dagger.Module;
@@ -10,8 +10,8 @@ import dagger.Provides;
 @Module
 class SettingsFragmentModule {
     @Provides
-    FindDefaultWalletInteract provideFindDefaultWalletInteract(WalletRepositoryType walletRepository) {
-        return new FindDefaultWalletInteract(walletRepository);
+    FindDefaultWalletInteract provideFindDefaultWalletInteract(AppStateStore stateStore) {
+        return new FindDefaultWalletInteract(stateStore);
     }
 
     @Provides
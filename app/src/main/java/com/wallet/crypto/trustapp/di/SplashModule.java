@@ -1,7 +1,10 @@
 package com.wallet.crypto.trustapp.di;
 
 import com.wallet.crypto.trustapp.interact.FetchWalletsInteract;
+import com.wallet.crypto.trustapp.interact.MigrateDatabasesInteract;
 import com.wallet.crypto.trustapp.repository.WalletRepositoryType;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
+import com.wallet.crypto.trustapp.service.RealmManager;
 import com.wallet.crypto.trustapp.viewmodel.SplashViewModelFactory;
 
 import dagger.Module;
@@ -11,12 +14,20 @@ import dagger.Provides;
 public class SplashModule {
 
     @Provides
-    SplashViewModelFactory provideSplashViewModelFactory(FetchWalletsInteract fetchWalletsInteract) {
-        return new SplashViewModelFactory(fetchWalletsInteract);
+    SplashViewModelFactory provideSplashViewModelFactory(
+            FetchWalletsInteract fetchWalletsInteract,
+            MigrateDatabasesInteract migrateDatabasesInteract) {
+        return new SplashViewModelFactory(fetchWalletsInteract, migrateDatabasesInteract);
     }
 
     @Provides
     FetchWalletsInteract provideFetchWalletInteract(WalletRepositoryType walletRepository) {
         return new FetchWalletsInteract(walletRepository);
     }
+
+    @Provides
+    MigrateDatabasesInteract provideMigrateDatabasesInteract(
+            RealmManager realmManager, AppSchedulers schedulers) {
+        return new MigrateDatabasesInteract(realmManager, schedulers);
+    }
 }
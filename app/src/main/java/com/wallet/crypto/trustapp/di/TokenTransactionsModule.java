@@ -0,0 +1,54 @@
+package com.wallet.crypto.trustapp.di;
+
+import com.wallet.crypto.trustapp.interact.FindDefaultNetworkInteract;
+import com.wallet.crypto.trustapp.interact.FormatTransactionsInteract;
+import com.wallet.crypto.trustapp.interact.SearchTransactionsInteract;
+import com.wallet.crypto.trustapp.repository.EthereumNetworkRepositoryType;
+import com.wallet.crypto.trustapp.repository.TransactionDisplayRepositoryType;
+import com.wallet.crypto.trustapp.repository.TransactionRepositoryType;
+import com.wallet.crypto.trustapp.router.TransactionDetailRouter;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
+import com.wallet.crypto.trustapp.viewmodel.TokenTransactionsViewModelFactory;
+
+import dagger.Module;
+import dagger.Provides;
+
+@Module
+class TokenTransactionsModule {
+
+    @Provides
+    TokenTransactionsViewModelFactory provideTokenTransactionsViewModelFactory(
+            FindDefaultNetworkInteract findDefaultNetworkInteract,
+            SearchTransactionsInteract searchTransactionsInteract,
+            FormatTransactionsInteract formatTransactionsInteract,
+            TransactionDetailRouter transactionDetailRouter) {
+        return new TokenTransactionsViewModelFactory(
+                findDefaultNetworkInteract,
+                searchTransactionsInteract,
+                formatTransactionsInteract,
+                transactionDetailRouter);
+    }
+
+    @Provides
+    FindDefaultNetworkInteract provideFindDefaultNetworkInteract(
+            EthereumNetworkRepositoryType networkRepository) {
+        return new FindDefaultNetworkInteract(networkRepository);
+    }
+
+    @Provides
+    SearchTransactionsInteract provideSearchTransactionsInteract(
+            TransactionRepositoryType transactionRepository, AppSchedulers schedulers) {
+        return new SearchTransactionsInteract(transactionRepository, schedulers);
+    }
+
+    @Provides
+    FormatTransactionsInteract provideFormatTransactionsInteract(
+            TransactionDisplayRepositoryType transactionDisplayRepository, AppSchedulers schedulers) {
+        return new FormatTransactionsInteract(transactionDisplayRepository, schedulers);
+    }
+
+    @Provides
+    TransactionDetailRouter provideTransactionDetailRouter() {
+        return new TransactionDetailRouter();
+    }
+}
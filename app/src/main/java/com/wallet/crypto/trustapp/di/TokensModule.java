@@ -2,12 +2,16 @@ package com.wallet.crypto.trustapp.di;
 
 import com.wallet.crypto.trustapp.interact.FetchTokensInteract;
 import com.wallet.crypto.trustapp.interact.FindDefaultNetworkInteract;
+import com.wallet.crypto.trustapp.interact.PortfolioSnapshotInteract;
+import com.wallet.crypto.trustapp.repository.AppStateStore;
 import com.wallet.crypto.trustapp.repository.EthereumNetworkRepositoryType;
-import com.wallet.crypto.trustapp.repository.TokenRepositoryType;
+import com.wallet.crypto.trustapp.repository.PortfolioSnapshotStore;
 import com.wallet.crypto.trustapp.router.AddTokenRouter;
 import com.wallet.crypto.trustapp.router.ChangeTokenCollectionRouter;
 import com.wallet.crypto.trustapp.router.SendTokenRouter;
+import com.wallet.crypto.trustapp.router.TokenTransactionsRouter;
 import com.wallet.crypto.trustapp.router.TransactionsRouter;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
 import com.wallet.crypto.trustapp.viewmodel.TokensViewModelFactory;
 
 import dagger.Module;
@@ -19,16 +23,20 @@ class TokensModule {
     @Provides
     TokensViewModelFactory provideTokensViewModelFactory(
             FetchTokensInteract fetchTokensInteract,
+            PortfolioSnapshotInteract portfolioSnapshotInteract,
             AddTokenRouter addTokenRouter,
             SendTokenRouter sendTokenRouter,
             TransactionsRouter transactionsRouter,
-            ChangeTokenCollectionRouter changeTokenCollectionRouter) {
+            ChangeTokenCollectionRouter changeTokenCollectionRouter,
+            TokenTransactionsRouter tokenTransactionsRouter) {
         return new TokensViewModelFactory(
                 fetchTokensInteract,
+                portfolioSnapshotInteract,
                 addTokenRouter,
                 sendTokenRouter,
                 transactionsRouter,
-                changeTokenCollectionRouter);
+                changeTokenCollectionRouter,
+                tokenTransactionsRouter);
     }
 
     @Provides
@@ -38,8 +46,14 @@ class TokensModule {
     }
 
     @Provides
-    FetchTokensInteract provideFetchTokensInteract(TokenRepositoryType tokenRepository) {
-        return new FetchTokensInteract(tokenRepository);
+    FetchTokensInteract provideFetchTokensInteract(AppStateStore stateStore) {
+        return new FetchTokensInteract(stateStore);
+    }
+
+    @Provides
+    PortfolioSnapshotInteract providePortfolioSnapshotInteract(
+            PortfolioSnapshotStore snapshotStore, AppSchedulers schedulers) {
+        return new PortfolioSnapshotInteract(snapshotStore, schedulers);
     }
 
     @Provides
@@ -61,4 +75,9 @@ class TokensModule {
     ChangeTokenCollectionRouter provideChangeTokenCollectionRouter() {
         return new ChangeTokenCollectionRouter();
     }
+
+    @Provides
+    TokenTransactionsRouter provideTokenTransactionsRouter() {
+        return new TokenTransactionsRouter();
+    }
 }
@@ -4,9 +4,13 @@ import android.content.Context;
 
 import com.google.gson.Gson;
 import com.wallet.crypto.trustapp.App;
+import com.wallet.crypto.trustapp.C;
+import com.wallet.crypto.trustapp.repository.CachedPasswordStore;
 import com.wallet.crypto.trustapp.repository.PasswordStore;
 import com.wallet.crypto.trustapp.repository.TrustPasswordStore;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
 import com.wallet.crypto.trustapp.service.RealmManager;
+import com.wallet.crypto.trustapp.service.StartupQueue;
 import com.wallet.crypto.trustapp.util.LogInterceptor;
 
 import java.util.concurrent.TimeUnit;
@@ -43,8 +47,28 @@ class ToolsModule {
 
 	@Singleton
 	@Provides
-	PasswordStore passwordStore(Context context) {
-		return new TrustPasswordStore(context);
+	CachedPasswordStore provideCachedPasswordStore(
+			Context context, StartupQueue startupQueue, AppSchedulers schedulers) {
+		return new CachedPasswordStore(
+				new TrustPasswordStore(context, startupQueue), C.PASSWORD_CACHE_TTL, schedulers.interactive());
+	}
+
+	@Singleton
+	@Provides
+	PasswordStore passwordStore(CachedPasswordStore cachedPasswordStore) {
+		return cachedPasswordStore;
+	}
+
+	@Singleton
+	@Provides
+	StartupQueue provideStartupQueue(App application) {
+		return new StartupQueue(application.getStartTime());
+	}
+
+	@Singleton
+	@Provides
+	AppSchedulers provideAppSchedulers() {
+		return new AppSchedulers();
 	}
 
 	@Singleton
@@ -2,9 +2,12 @@ package com.wallet.crypto.trustapp.di;
 
 import com.wallet.crypto.trustapp.interact.FindDefaultNetworkInteract;
 import com.wallet.crypto.trustapp.interact.FindDefaultWalletInteract;
+import com.wallet.crypto.trustapp.interact.FindTransactionInteract;
+import com.wallet.crypto.trustapp.repository.AppStateStore;
 import com.wallet.crypto.trustapp.repository.EthereumNetworkRepositoryType;
-import com.wallet.crypto.trustapp.repository.WalletRepositoryType;
+import com.wallet.crypto.trustapp.repository.TransactionRepositoryType;
 import com.wallet.crypto.trustapp.router.ExternalBrowserRouter;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
 import com.wallet.crypto.trustapp.viewmodel.TransactionDetailViewModelFactory;
 
 import dagger.Module;
@@ -17,9 +20,13 @@ public class TransactionDetailModule {
     TransactionDetailViewModelFactory provideTransactionDetailViewModelFactory(
             FindDefaultNetworkInteract findDefaultNetworkInteract,
             FindDefaultWalletInteract findDefaultWalletInteract,
+            FindTransactionInteract findTransactionInteract,
             ExternalBrowserRouter externalBrowserRouter) {
         return new TransactionDetailViewModelFactory(
-                findDefaultNetworkInteract, findDefaultWalletInteract, externalBrowserRouter);
+                findDefaultNetworkInteract,
+                findDefaultWalletInteract,
+                findTransactionInteract,
+                externalBrowserRouter);
     }
 
     @Provides
@@ -34,7 +41,13 @@ public class TransactionDetailModule {
     }
 
     @Provides
-    FindDefaultWalletInteract findDefaultWalletInteract(WalletRepositoryType walletRepository) {
-        return new FindDefaultWalletInteract(walletRepository);
+    FindDefaultWalletInteract findDefaultWalletInteract(AppStateStore stateStore) {
+        return new FindDefaultWalletInteract(stateStore);
+    }
+
+    @Provides
+    FindTransactionInteract findTransactionInteract(
+            TransactionRepositoryType transactionRepository, AppSchedulers schedulers) {
+        return new FindTransactionInteract(transactionRepository, schedulers);
     }
 }
@@ -1,12 +1,17 @@
 package com.wallet.crypto.trustapp.di;
 
+import com.wallet.crypto.trustapp.interact.ExportTransactionsInteract;
 import com.wallet.crypto.trustapp.interact.FetchTransactionsInteract;
 import com.wallet.crypto.trustapp.interact.FindDefaultNetworkInteract;
 import com.wallet.crypto.trustapp.interact.FindDefaultWalletInteract;
+import com.wallet.crypto.trustapp.interact.FormatTransactionsInteract;
 import com.wallet.crypto.trustapp.interact.GetDefaultWalletBalance;
+import com.wallet.crypto.trustapp.interact.PortfolioSnapshotInteract;
+import com.wallet.crypto.trustapp.repository.AppStateStore;
 import com.wallet.crypto.trustapp.repository.EthereumNetworkRepositoryType;
+import com.wallet.crypto.trustapp.repository.PortfolioSnapshotStore;
+import com.wallet.crypto.trustapp.repository.TransactionDisplayRepositoryType;
 import com.wallet.crypto.trustapp.repository.TransactionRepositoryType;
-import com.wallet.crypto.trustapp.repository.WalletRepositoryType;
 import com.wallet.crypto.trustapp.router.ExternalBrowserRouter;
 import com.wallet.crypto.trustapp.router.ManageWalletsRouter;
 import com.wallet.crypto.trustapp.router.MyAddressRouter;
@@ -14,6 +19,7 @@ import com.wallet.crypto.trustapp.router.MyTokensRouter;
 import com.wallet.crypto.trustapp.router.SendRouter;
 import com.wallet.crypto.trustapp.router.SettingsRouter;
 import com.wallet.crypto.trustapp.router.TransactionDetailRouter;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
 import com.wallet.crypto.trustapp.viewmodel.TransactionsViewModelFactory;
 
 import dagger.Module;
@@ -26,7 +32,10 @@ class TransactionsModule {
             FindDefaultNetworkInteract findDefaultNetworkInteract,
             FindDefaultWalletInteract findDefaultWalletInteract,
             FetchTransactionsInteract fetchTransactionsInteract,
+            FormatTransactionsInteract formatTransactionsInteract,
+            ExportTransactionsInteract exportTransactionsInteract,
             GetDefaultWalletBalance getDefaultWalletBalance,
+            PortfolioSnapshotInteract portfolioSnapshotInteract,
             ManageWalletsRouter manageWalletsRouter,
             SettingsRouter settingsRouter,
             SendRouter sendRouter,
@@ -38,7 +47,10 @@ class TransactionsModule {
                 findDefaultNetworkInteract,
                 findDefaultWalletInteract,
                 fetchTransactionsInteract,
+                formatTransactionsInteract,
+                exportTransactionsInteract,
                 getDefaultWalletBalance,
+                portfolioSnapshotInteract,
                 manageWalletsRouter,
                 settingsRouter,
                 sendRouter,
@@ -55,19 +67,37 @@ class TransactionsModule {
     }
 
     @Provides
-    FindDefaultWalletInteract provideFindDefaultWalletInteract(WalletRepositoryType walletRepository) {
-        return new FindDefaultWalletInteract(walletRepository);
+    FindDefaultWalletInteract provideFindDefaultWalletInteract(AppStateStore stateStore) {
+        return new FindDefaultWalletInteract(stateStore);
     }
 
     @Provides
-    FetchTransactionsInteract provideFetchTransactionsInteract(TransactionRepositoryType transactionRepository) {
-        return new FetchTransactionsInteract(transactionRepository);
+    FetchTransactionsInteract provideFetchTransactionsInteract(
+            TransactionRepositoryType transactionRepository, AppSchedulers schedulers) {
+        return new FetchTransactionsInteract(transactionRepository, schedulers);
     }
 
     @Provides
-    GetDefaultWalletBalance provideGetDefaultWalletBalance(
-            WalletRepositoryType walletRepository, EthereumNetworkRepositoryType ethereumNetworkRepository) {
-        return new GetDefaultWalletBalance(walletRepository, ethereumNetworkRepository);
+    FormatTransactionsInteract provideFormatTransactionsInteract(
+            TransactionDisplayRepositoryType transactionDisplayRepository, AppSchedulers schedulers) {
+        return new FormatTransactionsInteract(transactionDisplayRepository, schedulers);
+    }
+
+    @Provides
+    ExportTransactionsInteract provideExportTransactionsInteract(
+            TransactionRepositoryType transactionRepository, AppSchedulers schedulers) {
+        return new ExportTransactionsInteract(transactionRepository, schedulers);
+    }
+
+    @Provides
+    GetDefaultWalletBalance provideGetDefaultWalletBalance(AppStateStore stateStore) {
+        return new GetDefaultWalletBalance(stateStore);
+    }
+
+    @Provides
+    PortfolioSnapshotInteract providePortfolioSnapshotInteract(
+            PortfolioSnapshotStore snapshotStore, AppSchedulers schedulers) {
+        return new PortfolioSnapshotInteract(snapshotStore, schedulers);
     }
 
     @Provides
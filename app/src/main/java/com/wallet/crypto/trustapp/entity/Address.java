@@ -1,7 +1,5 @@
 package com.wallet.crypto.trustapp.entity;
 
-import android.text.TextUtils;
-
 import java.util.regex.Pattern;
 
 public class Address {
@@ -17,7 +15,7 @@ public class Address {
     }
 
     public static boolean isAddress(String address) {
-        return !(TextUtils.isEmpty(address) || !ignoreCaseAddrPattern.matcher(address).find())
+        return !(address == null || !ignoreCaseAddrPattern.matcher(address).find())
                 && (lowerCaseAddrPattern.matcher(address).find() || upperCaseAddrPattern.matcher(address).find());
     }
 }
@@ -0,0 +1,20 @@
+package com.wallet.crypto.trustapp.entity;
+
+public class CacheStats {
+    public final long hits;
+    public final long misses;
+    public final long evictions;
+    public final long bytes;
+
+    public CacheStats(long hits, long misses, long evictions, long bytes) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.bytes = bytes;
+    }
+
+    public double hitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
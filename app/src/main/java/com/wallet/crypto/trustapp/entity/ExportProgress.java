@@ -0,0 +1,17 @@
+package com.wallet.crypto.trustapp.entity;
+
+import java.io.File;
+
+public class ExportProgress {
+    public final File file;
+    public final int written;
+    public final int total;
+    public final boolean isDone;
+
+    public ExportProgress(File file, int written, int total, boolean isDone) {
+        this.file = file;
+        this.written = written;
+        this.total = total;
+        this.isDone = isDone;
+    }
+}
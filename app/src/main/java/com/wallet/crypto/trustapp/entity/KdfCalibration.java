@@ -0,0 +1,24 @@
+package com.wallet.crypto.trustapp.entity;
+
+/**
+ * Scrypt parameters the keystore encrypts new keys with, and what they were measured to cost.
+ */
+public class KdfCalibration {
+    public final int scryptN;
+    public final int scryptP;
+    /** Measured time to derive a key with these parameters, -1 when not measured on this device. */
+    public final long unlockMillis;
+    /** Time the whole benchmark took, -1 when not measured on this device. */
+    public final long benchmarkMillis;
+
+    public KdfCalibration(int scryptN, int scryptP, long unlockMillis, long benchmarkMillis) {
+        this.scryptN = scryptN;
+        this.scryptP = scryptP;
+        this.unlockMillis = unlockMillis;
+        this.benchmarkMillis = benchmarkMillis;
+    }
+
+    public boolean isMeasured() {
+        return unlockMillis >= 0;
+    }
+}
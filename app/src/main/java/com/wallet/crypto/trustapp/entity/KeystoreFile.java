@@ -0,0 +1,14 @@
+package com.wallet.crypto.trustapp.entity;
+
+/**
+ * Keystore JSON read from a folder or an archive, named by its file.
+ */
+public class KeystoreFile {
+    public final String name;
+    public final String json;
+
+    public KeystoreFile(String name, String json) {
+        this.name = name;
+        this.json = json;
+    }
+}
@@ -0,0 +1,25 @@
+package com.wallet.crypto.trustapp.entity;
+
+public class KeystoreImportStatus {
+    public static final int IMPORTED = 1;
+    /** The account is in the keystore already or appears twice in the bundle. */
+    public static final int SKIPPED = 2;
+    public static final int FAILED = 3;
+
+    public final String file;
+    public final int status;
+    /** Account of the file, null if the file couldn't be read. */
+    public final Wallet wallet;
+    public final String error;
+    public final int done;
+    public final int total;
+
+    public KeystoreImportStatus(String file, int status, Wallet wallet, String error, int done, int total) {
+        this.file = file;
+        this.status = status;
+        this.wallet = wallet;
+        this.error = error;
+        this.done = done;
+        this.total = total;
+    }
+}
@@ -0,0 +1,17 @@
+package com.wallet.crypto.trustapp.entity;
+
+public class KeystoreMetrics {
+    public final KdfCalibration calibration;
+    /** Private keys and keystore files imported. */
+    public final long imports;
+    public final long averageImportMillis;
+    public final long lastImportMillis;
+
+    public KeystoreMetrics(
+            KdfCalibration calibration, long imports, long averageImportMillis, long lastImportMillis) {
+        this.calibration = calibration;
+        this.imports = imports;
+        this.averageImportMillis = averageImportMillis;
+        this.lastImportMillis = lastImportMillis;
+    }
+}
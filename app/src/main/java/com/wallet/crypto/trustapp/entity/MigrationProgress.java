@@ -0,0 +1,13 @@
+package com.wallet.crypto.trustapp.entity;
+
+public class MigrationProgress {
+    public final int migrated;
+    public final int total;
+    public final boolean isDone;
+
+    public MigrationProgress(int migrated, int total, boolean isDone) {
+        this.migrated = migrated;
+        this.total = total;
+        this.isDone = isDone;
+    }
+}
@@ -0,0 +1,24 @@
+package com.wallet.crypto.trustapp.entity;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * USD value of every wallet summed over all networks, as far as the networks have answered.
+ */
+public class Portfolio {
+    /** Value by lower case wallet address. */
+    public final Map<String, BigDecimal> walletValues;
+    public final BigDecimal total;
+    public final boolean isComplete;
+
+    public Portfolio(Map<String, BigDecimal> walletValues, BigDecimal total, boolean isComplete) {
+        this.walletValues = walletValues;
+        this.total = total;
+        this.isComplete = isComplete;
+    }
+
+    public BigDecimal valueOf(String wallet) {
+        return walletValues.get(wallet.toLowerCase());
+    }
+}
@@ -0,0 +1,38 @@
+package com.wallet.crypto.trustapp.entity;
+
+/**
+ * What the main screens showed after the last successful refresh, shown again on
+ * the next start until live data arrives.
+ */
+public class PortfolioSnapshot {
+    /** Default wallet and network the transactions and balance belong to. */
+    public final String wallet;
+    public final String network;
+    public final String symbol;
+    public final String balance;
+    /** Balance in USD, null when the ticker was not available. */
+    public final String fiatBalance;
+    public final TransactionDisplay[] transactions;
+    /** Wallet the tokens belong to. */
+    public final String tokensWallet;
+    public final Token[] tokens;
+
+    public PortfolioSnapshot(
+            String wallet,
+            String network,
+            String symbol,
+            String balance,
+            String fiatBalance,
+            TransactionDisplay[] transactions,
+            String tokensWallet,
+            Token[] tokens) {
+        this.wallet = wallet;
+        this.network = network;
+        this.symbol = symbol;
+        this.balance = balance;
+        this.fiatBalance = fiatBalance;
+        this.transactions = transactions;
+        this.tokensWallet = tokensWallet;
+        this.tokens = tokens;
+    }
+}
@@ -0,0 +1,18 @@
+package com.wallet.crypto.trustapp.entity;
+
+public class RealmMetrics {
+    /** Realm instances opened through Realm's global cache. */
+    public final long opened;
+    /** Requests served by an instance already held on the thread. */
+    public final long reused;
+    public final int open;
+    /** Instances still held by threads which are no longer alive. */
+    public final int leaked;
+
+    public RealmMetrics(long opened, long reused, int open, int leaked) {
+        this.opened = opened;
+        this.reused = reused;
+        this.open = open;
+        this.leaked = leaked;
+    }
+}
@@ -0,0 +1,25 @@
+package com.wallet.crypto.trustapp.entity;
+
+public class SchedulerMetrics {
+    public final String name;
+    public final int threads;
+    /** Tasks waiting for a thread right now. */
+    public final int queued;
+    public final int maxQueued;
+    public final long executed;
+    /** Time from scheduling to the start of the task. */
+    public final long averageWaitMillis;
+    public final long maxWaitMillis;
+
+    public SchedulerMetrics(
+            String name, int threads, int queued, int maxQueued,
+            long executed, long averageWaitMillis, long maxWaitMillis) {
+        this.name = name;
+        this.threads = threads;
+        this.queued = queued;
+        this.maxQueued = maxQueued;
+        this.executed = executed;
+        this.averageWaitMillis = averageWaitMillis;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+}
@@ -0,0 +1,53 @@
+package com.wallet.crypto.trustapp.entity;
+
+import android.text.TextUtils;
+
+/**
+ * Transaction row prepared for display: direction, counterparty and signed amount
+ * are resolved once, so binding a row only sets strings.
+ */
+public class TransactionDisplay {
+    public final String hash;
+    public final long timeStamp;
+    public final boolean isSent;
+    public final boolean isError;
+    public final String counterparty;
+    public final String value;
+
+    public TransactionDisplay(
+            String hash,
+            long timeStamp,
+            boolean isSent,
+            boolean isError,
+            String counterparty,
+            String value) {
+        this.hash = hash;
+        this.timeStamp = timeStamp;
+        this.isSent = isSent;
+        this.isError = isError;
+        this.counterparty = counterparty;
+        this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof TransactionDisplay)) {
+            return false;
+        }
+        TransactionDisplay display = (TransactionDisplay) other;
+        return timeStamp == display.timeStamp
+                && isSent == display.isSent
+                && isError == display.isError
+                && TextUtils.equals(hash, display.hash)
+                && TextUtils.equals(counterparty, display.counterparty)
+                && TextUtils.equals(value, display.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash == null ? 0 : hash.hashCode();
+    }
+}
@@ -0,0 +1,19 @@
+package com.wallet.crypto.trustapp.entity;
+
+/**
+ * Search over cached transactions. Unset fields do not restrict the result.
+ */
+public class TransactionFilter {
+    /** Exact token contract, empty string for plain ether transfers. */
+    public String contract;
+    /** Prefix of the other party address. */
+    public String counterparty;
+    /** Prefix of the token symbol. */
+    public String symbol;
+    /** Amount range in token units. */
+    public Double minAmount;
+    public Double maxAmount;
+    /** Time range in seconds, inclusive. */
+    public Long fromTime;
+    public Long toTime;
+}
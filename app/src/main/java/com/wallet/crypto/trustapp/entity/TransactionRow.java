@@ -0,0 +1,63 @@
+package com.wallet.crypto.trustapp.entity;
+
+import static com.wallet.crypto.trustapp.C.ETHER_DECIMALS;
+
+/**
+ * List projection of a transaction. Only the transfer shown in the row is kept:
+ * the first token operation if there is one, the ether transfer otherwise.
+ * The full operation graph is loaded by hash for the details.
+ */
+public class TransactionRow {
+    public final String hash;
+    public final long timeStamp;
+    public final String error;
+    public final String from;
+    public final String to;
+    public final String value;
+    /** Token contract, null for the network coin. */
+    public final String contract;
+    /** Token symbol, null for the network coin. */
+    public final String symbol;
+    public final int decimals;
+
+    public TransactionRow(
+            String hash,
+            long timeStamp,
+            String error,
+            String from,
+            String to,
+            String value,
+            String contract,
+            String symbol,
+            int decimals) {
+        this.hash = hash;
+        this.timeStamp = timeStamp;
+        this.error = error;
+        this.from = from;
+        this.to = to;
+        this.value = value;
+        this.contract = contract;
+        this.symbol = symbol;
+        this.decimals = decimals;
+    }
+
+    public static TransactionRow of(Transaction transaction) {
+        TransactionOperation operation = transaction.operations == null
+                || transaction.operations.length == 0 ? null : transaction.operations[0];
+        if (operation == null || operation.contract == null) {
+            return new TransactionRow(transaction.hash, transaction.timeStamp, transaction.error,
+                    transaction.from, transaction.to, transaction.value, null, null, ETHER_DECIMALS);
+        }
+        return new TransactionRow(transaction.hash, transaction.timeStamp, transaction.error,
+                operation.from, operation.to, operation.value,
+                operation.contract.address, operation.contract.symbol, operation.contract.decimals);
+    }
+
+    public static TransactionRow[] of(Transaction[] transactions) {
+        TransactionRow[] rows = new TransactionRow[transactions.length];
+        for (int i = 0; i < transactions.length; i++) {
+            rows[i] = of(transactions[i]);
+        }
+        return rows;
+    }
+}
@@ -5,13 +5,21 @@ import android.os.Parcelable;
 
 public class Wallet implements Parcelable {
     public final String address;
+    /** Only the address is known, there is no key to sign with. */
+    public final boolean isWatchOnly;
 
 	public Wallet(String address) {
+		this(address, false);
+	}
+
+	public Wallet(String address, boolean isWatchOnly) {
 		this.address = address;
+		this.isWatchOnly = isWatchOnly;
 	}
 
 	private Wallet(Parcel in) {
 		address = in.readString();
+		isWatchOnly = in.readByte() != 0;
 	}
 
 	public static final Creator<Wallet> CREATOR = new Creator<Wallet>() {
@@ -38,5 +46,6 @@ public class Wallet implements Parcelable {
 	@Override
 	public void writeToParcel(Parcel parcel, int i) {
 		parcel.writeString(address);
+		parcel.writeByte((byte) (isWatchOnly ? 1 : 0));
 	}
 }
@@ -0,0 +1,33 @@
+package com.wallet.crypto.trustapp.entity;
+
+import java.math.BigDecimal;
+
+/**
+ * Holdings of one wallet in one network.
+ */
+public class WalletPortfolio {
+    public final String wallet;
+    public final NetworkInfo network;
+    /** Native balance in {@link NetworkInfo#symbol}, null when the node didn't answer. */
+    public final BigDecimal balance;
+    /** Enabled tokens with balances in subunits. */
+    public final Token[] tokens;
+    /** Value of the balance and the priced tokens in USD. */
+    public final BigDecimal value;
+    public final long updateTime;
+
+    public WalletPortfolio(
+            String wallet,
+            NetworkInfo network,
+            BigDecimal balance,
+            Token[] tokens,
+            BigDecimal value,
+            long updateTime) {
+        this.wallet = wallet;
+        this.network = network;
+        this.balance = balance;
+        this.tokens = tokens;
+        this.value = value;
+        this.updateTime = updateTime;
+    }
+}
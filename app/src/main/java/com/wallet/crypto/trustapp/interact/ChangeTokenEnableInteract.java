@@ -3,21 +3,23 @@ package com.wallet.crypto.trustapp.interact;
 import com.wallet.crypto.trustapp.entity.Token;
 import com.wallet.crypto.trustapp.entity.Wallet;
 import com.wallet.crypto.trustapp.repository.TokenRepositoryType;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
 
 import io.reactivex.Completable;
 import io.reactivex.android.schedulers.AndroidSchedulers;
-import io.reactivex.schedulers.Schedulers;
 
 public class ChangeTokenEnableInteract {
     private final TokenRepositoryType tokenRepository;
+    private final AppSchedulers schedulers;
 
-    public ChangeTokenEnableInteract(TokenRepositoryType tokenRepository) {
+    public ChangeTokenEnableInteract(TokenRepositoryType tokenRepository, AppSchedulers schedulers) {
         this.tokenRepository = tokenRepository;
+        this.schedulers = schedulers;
     }
 
     public Completable setEnable(Wallet wallet, Token token) {
         return tokenRepository.setEnable(wallet, token, !token.tokenInfo.isEnabled)
-                .subscribeOn(Schedulers.io())
+                .subscribeOn(schedulers.disk())
                 .observeOn(AndroidSchedulers.mainThread());
     }
 }
@@ -5,6 +5,7 @@ import com.wallet.crypto.trustapp.entity.Wallet;
 import com.wallet.crypto.trustapp.repository.PasswordStore;
 import com.wallet.crypto.trustapp.repository.TokenRepository;
 import com.wallet.crypto.trustapp.repository.TransactionRepositoryType;
+import com.wallet.crypto.trustapp.repository.WalletRepositoryType;
 
 import java.math.BigInteger;
 
@@ -14,17 +15,27 @@ import io.reactivex.android.schedulers.AndroidSchedulers;
 public class CreateTransactionInteract {
     private final TransactionRepositoryType transactionRepository;
     private final PasswordStore passwordStore;
+    private final WalletRepositoryType walletRepository;
 
-    public CreateTransactionInteract(TransactionRepositoryType transactionRepository, PasswordStore passwordStore) {
+    public CreateTransactionInteract(
+            TransactionRepositoryType transactionRepository,
+            PasswordStore passwordStore,
+            WalletRepositoryType walletRepository) {
         this.transactionRepository = transactionRepository;
         this.passwordStore = passwordStore;
+        this.walletRepository = walletRepository;
     }
 
+    /**
+     * @param from only the address is used, the wallet is looked up to know whether it can sign.
+     */
     public Single<String> create(Wallet from, String to, BigInteger subunitAmount, BigInteger gasPrice, BigInteger gasLimit, byte[] data) {
-        return passwordStore.getPassword(from)
-                .flatMap(password ->
-                        transactionRepository.createTransaction(from, to, subunitAmount, gasPrice, gasLimit, data, password)
-                .observeOn(AndroidSchedulers.mainThread()));
+        return walletRepository.findWallet(from.address)
+                .flatMap(wallet -> (wallet.isWatchOnly ? Single.just("") : passwordStore.getPassword(wallet))
+                        // A watch-only wallet has no password, the repository refuses to sign for it.
+                        .flatMap(password -> transactionRepository
+                                .createTransaction(wallet, to, subunitAmount, gasPrice, gasLimit, data, password)))
+                .observeOn(AndroidSchedulers.mainThread());
     }
 
 }
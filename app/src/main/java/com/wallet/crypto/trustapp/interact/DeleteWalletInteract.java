@@ -1,6 +1,7 @@
 package com.wallet.crypto.trustapp.interact;
 
 import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.repository.AppStateStore;
 import com.wallet.crypto.trustapp.repository.PasswordStore;
 import com.wallet.crypto.trustapp.repository.WalletRepositoryType;
 
@@ -13,15 +14,19 @@ import io.reactivex.android.schedulers.AndroidSchedulers;
 public class DeleteWalletInteract {
 	private final WalletRepositoryType walletRepository;
 	private final PasswordStore passwordStore;
+	private final AppStateStore stateStore;
 
-	public DeleteWalletInteract(WalletRepositoryType walletRepository, PasswordStore passwordStore) {
+	public DeleteWalletInteract(
+			WalletRepositoryType walletRepository, PasswordStore passwordStore, AppStateStore stateStore) {
 		this.walletRepository = walletRepository;
 		this.passwordStore = passwordStore;
+		this.stateStore = stateStore;
 	}
 
 	public Single<Wallet[]> delete(Wallet wallet) {
-		return passwordStore.getPassword(wallet)
+		return (wallet.isWatchOnly ? Single.just("") : passwordStore.getPassword(wallet))
 				.flatMapCompletable(password -> walletRepository.deleteWallet(wallet.address, password))
+				.doOnComplete(stateStore::reloadWallet)
 				.andThen(walletRepository.fetchWallets())
 				.observeOn(AndroidSchedulers.mainThread());
 	}
@@ -0,0 +1,42 @@
+package com.wallet.crypto.trustapp.interact;
+
+import com.wallet.crypto.trustapp.entity.ExportProgress;
+import com.wallet.crypto.trustapp.entity.NetworkInfo;
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.repository.TransactionRepositoryType;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
+import com.wallet.crypto.trustapp.service.TransactionExporter;
+
+import java.io.File;
+
+import io.reactivex.Flowable;
+import io.reactivex.android.schedulers.AndroidSchedulers;
+
+public class ExportTransactionsInteract {
+
+    private final TransactionRepositoryType transactionRepository;
+    private final AppSchedulers schedulers;
+
+    public ExportTransactionsInteract(TransactionRepositoryType transactionRepository, AppSchedulers schedulers) {
+        this.transactionRepository = transactionRepository;
+        this.schedulers = schedulers;
+    }
+
+    /**
+     * Exports of the wallet in other networks have files of their own.
+     */
+    public Flowable<ExportProgress> export(
+            NetworkInfo network, Wallet wallet, TransactionExporter.Format format, File directory) {
+        String networkName = network.name.replaceAll("[^A-Za-z0-9]+", "-").toLowerCase();
+        File file = new File(directory,
+                "transactions-" + networkName + "-" + wallet.address + "." + format.extension);
+        return Flowable.defer(() -> {
+                    if (!directory.exists() && !directory.mkdirs()) {
+                        return Flowable.error(new IllegalStateException("Can't create " + directory));
+                    }
+                    return transactionRepository.exportTransactions(wallet, format, file);
+                })
+                .subscribeOn(schedulers.disk())
+                .observeOn(AndroidSchedulers.mainThread());
+    }
+}
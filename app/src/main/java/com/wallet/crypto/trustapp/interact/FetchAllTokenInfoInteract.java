@@ -3,21 +3,23 @@ package com.wallet.crypto.trustapp.interact;
 import com.wallet.crypto.trustapp.entity.Token;
 import com.wallet.crypto.trustapp.entity.Wallet;
 import com.wallet.crypto.trustapp.repository.TokenRepositoryType;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
 
 import io.reactivex.Observable;
 import io.reactivex.android.schedulers.AndroidSchedulers;
-import io.reactivex.schedulers.Schedulers;
 
 public class FetchAllTokenInfoInteract {
     private final TokenRepositoryType tokenRepository;
+    private final AppSchedulers schedulers;
 
-    public FetchAllTokenInfoInteract(TokenRepositoryType tokenRepository) {
+    public FetchAllTokenInfoInteract(TokenRepositoryType tokenRepository, AppSchedulers schedulers) {
         this.tokenRepository = tokenRepository;
+        this.schedulers = schedulers;
     }
 
     public Observable<Token[]> fetch(Wallet wallet) {
         return tokenRepository.fetchAll(wallet.address)
-                .subscribeOn(Schedulers.io())
+                .subscribeOn(schedulers.disk())
                 .observeOn(AndroidSchedulers.mainThread());
     }
 }
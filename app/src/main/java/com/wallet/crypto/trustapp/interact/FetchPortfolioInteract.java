@@ -0,0 +1,23 @@
+package com.wallet.crypto.trustapp.interact;
+
+import com.wallet.crypto.trustapp.entity.Portfolio;
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.repository.PortfolioRepositoryType;
+
+import io.reactivex.Observable;
+import io.reactivex.android.schedulers.AndroidSchedulers;
+
+public class FetchPortfolioInteract {
+
+    private final PortfolioRepositoryType portfolioRepository;
+
+    public FetchPortfolioInteract(PortfolioRepositoryType portfolioRepository) {
+        this.portfolioRepository = portfolioRepository;
+    }
+
+    public Observable<Portfolio> fetch(Wallet[] wallets) {
+        return portfolioRepository
+                .fetch(wallets)
+                .observeOn(AndroidSchedulers.mainThread());
+    }
+}
@@ -2,23 +2,42 @@ package com.wallet.crypto.trustapp.interact;
 
 import com.wallet.crypto.trustapp.entity.Token;
 import com.wallet.crypto.trustapp.entity.Wallet;
-import com.wallet.crypto.trustapp.repository.TokenRepositoryType;
+import com.wallet.crypto.trustapp.repository.AppStateStore;
+import com.wallet.crypto.trustapp.util.Tracer;
+
+import java.util.Collection;
 
 import io.reactivex.Observable;
 import io.reactivex.android.schedulers.AndroidSchedulers;
-import io.reactivex.schedulers.Schedulers;
 
 public class FetchTokensInteract {
 
-    private final TokenRepositoryType tokenRepository;
+    private final AppStateStore stateStore;
 
-    public FetchTokensInteract(TokenRepositoryType tokenRepository) {
-        this.tokenRepository = tokenRepository;
+    public FetchTokensInteract(AppStateStore stateStore) {
+        this.stateStore = stateStore;
     }
 
+    /**
+     * Refreshes the tokens, joining a refresh of the same wallet already running for another screen.
+     */
     public Observable<Token[]> fetch(Wallet wallet) {
-        return tokenRepository.fetchActive(wallet.address)
-                .subscribeOn(Schedulers.io())
-                .observeOn(AndroidSchedulers.mainThread());
+        return stateStore.tokens(wallet)
+                .observeOn(AndroidSchedulers.mainThread())
+                .compose(Tracer.observable("FetchTokensInteract.fetch"));
+    }
+
+    /**
+     * @return tokens of the last refresh, null when the wallet wasn't refreshed in this process.
+     */
+    public Token[] cached(Wallet wallet) {
+        return stateStore.cachedTokens(wallet);
+    }
+
+    /**
+     * Balances of the visible rows are refreshed first.
+     */
+    public void setVisible(Collection<String> addresses) {
+        stateStore.tokenPriority().setVisible(addresses);
     }
 }
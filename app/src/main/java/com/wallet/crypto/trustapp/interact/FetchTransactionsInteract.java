@@ -1,25 +1,47 @@
 package com.wallet.crypto.trustapp.interact;
 
 import com.wallet.crypto.trustapp.entity.Transaction;
+import com.wallet.crypto.trustapp.entity.TransactionRow;
 import com.wallet.crypto.trustapp.entity.Wallet;
 import com.wallet.crypto.trustapp.repository.TransactionRepositoryType;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
+import com.wallet.crypto.trustapp.util.Tracer;
 
 import io.reactivex.Observable;
+import io.reactivex.Single;
 import io.reactivex.android.schedulers.AndroidSchedulers;
-import io.reactivex.schedulers.Schedulers;
 
 public class FetchTransactionsInteract {
 
     private final TransactionRepositoryType transactionRepository;
+    private final AppSchedulers schedulers;
 
-    public FetchTransactionsInteract(TransactionRepositoryType transactionRepository) {
+    public FetchTransactionsInteract(TransactionRepositoryType transactionRepository, AppSchedulers schedulers) {
         this.transactionRepository = transactionRepository;
+        this.schedulers = schedulers;
     }
 
     public Observable<Transaction[]> fetch(Wallet wallet) {
         return transactionRepository
                 .fetchTransaction(wallet)
-                .subscribeOn(Schedulers.io())
-                .observeOn(AndroidSchedulers.mainThread());
+                .subscribeOn(schedulers.interactive())
+                .observeOn(AndroidSchedulers.mainThread())
+                .compose(Tracer.observable("FetchTransactionsInteract.fetch"));
+    }
+
+    public Observable<TransactionRow[]> fetch(Wallet wallet, int limit) {
+        return transactionRepository
+                .fetchTransaction(wallet, limit)
+                .subscribeOn(schedulers.interactive())
+                .observeOn(AndroidSchedulers.mainThread())
+                .compose(Tracer.observable("FetchTransactionsInteract.fetch"));
+    }
+
+    public Single<TransactionRow[]> fetchCached(Wallet wallet, int offset, int limit) {
+        return transactionRepository
+                .fetchCachedTransaction(wallet, offset, limit)
+                .subscribeOn(schedulers.disk())
+                .observeOn(AndroidSchedulers.mainThread())
+                .compose(Tracer.single("FetchTransactionsInteract.fetchCached"));
     }
 }
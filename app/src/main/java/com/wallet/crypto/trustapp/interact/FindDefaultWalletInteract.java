@@ -1,29 +1,22 @@
 package com.wallet.crypto.trustapp.interact;
 
 import com.wallet.crypto.trustapp.entity.Wallet;
-import com.wallet.crypto.trustapp.repository.WalletRepositoryType;
+import com.wallet.crypto.trustapp.repository.AppStateStore;
 
-import io.reactivex.Flowable;
 import io.reactivex.Single;
 import io.reactivex.android.schedulers.AndroidSchedulers;
 
 public class FindDefaultWalletInteract {
 
-	private final WalletRepositoryType walletRepository;
+	private final AppStateStore stateStore;
 
-	public FindDefaultWalletInteract(WalletRepositoryType walletRepository) {
-		this.walletRepository = walletRepository;
+	public FindDefaultWalletInteract(AppStateStore stateStore) {
+		this.stateStore = stateStore;
 	}
 
 	public Single<Wallet> find() {
-		return walletRepository
-				.getDefaultWallet()
-				.onErrorResumeNext(walletRepository
-						.fetchWallets()
-						.to(single -> Flowable.fromArray(single.blockingGet()))
-						.firstOrError()
-						.flatMapCompletable(walletRepository::setDefaultWallet)
-						.andThen(walletRepository.getDefaultWallet()))
+		return stateStore
+				.defaultWallet()
 				.observeOn(AndroidSchedulers.mainThread());
 	}
 }
@@ -0,0 +1,27 @@
+package com.wallet.crypto.trustapp.interact;
+
+import com.wallet.crypto.trustapp.entity.Transaction;
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.repository.TransactionRepositoryType;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
+
+import io.reactivex.Maybe;
+import io.reactivex.android.schedulers.AndroidSchedulers;
+
+public class FindTransactionInteract {
+
+    private final TransactionRepositoryType transactionRepository;
+    private final AppSchedulers schedulers;
+
+    public FindTransactionInteract(TransactionRepositoryType transactionRepository, AppSchedulers schedulers) {
+        this.transactionRepository = transactionRepository;
+        this.schedulers = schedulers;
+    }
+
+    public Maybe<Transaction> find(Wallet wallet, String hash) {
+        return transactionRepository
+                .findTransaction(wallet, hash)
+                .subscribeOn(schedulers.disk())
+                .observeOn(AndroidSchedulers.mainThread());
+    }
+}
@@ -0,0 +1,29 @@
+package com.wallet.crypto.trustapp.interact;
+
+import com.wallet.crypto.trustapp.entity.NetworkInfo;
+import com.wallet.crypto.trustapp.entity.TransactionDisplay;
+import com.wallet.crypto.trustapp.entity.TransactionRow;
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.repository.TransactionDisplayRepositoryType;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
+
+import io.reactivex.Single;
+import io.reactivex.android.schedulers.AndroidSchedulers;
+
+public class FormatTransactionsInteract {
+
+    private final TransactionDisplayRepositoryType transactionDisplayRepository;
+    private final AppSchedulers schedulers;
+
+    public FormatTransactionsInteract(TransactionDisplayRepositoryType transactionDisplayRepository, AppSchedulers schedulers) {
+        this.transactionDisplayRepository = transactionDisplayRepository;
+        this.schedulers = schedulers;
+    }
+
+    public Single<TransactionDisplay[]> format(NetworkInfo network, Wallet wallet, TransactionRow[] transactions) {
+        return transactionDisplayRepository
+                .format(network, wallet, transactions)
+                .subscribeOn(schedulers.disk())
+                .observeOn(AndroidSchedulers.mainThread());
+    }
+}
@@ -1,55 +1,25 @@
 package com.wallet.crypto.trustapp.interact;
 
-import com.wallet.crypto.trustapp.entity.Wallet;
-import com.wallet.crypto.trustapp.repository.EthereumNetworkRepositoryType;
-import com.wallet.crypto.trustapp.repository.WalletRepositoryType;
-import com.wallet.crypto.trustapp.util.BalanceUtils;
+import com.wallet.crypto.trustapp.repository.AppStateStore;
 
-import java.math.RoundingMode;
-import java.util.HashMap;
 import java.util.Map;
 
-import io.reactivex.Single;
+import io.reactivex.Observable;
 import io.reactivex.android.schedulers.AndroidSchedulers;
-import io.reactivex.schedulers.Schedulers;
-
-import static com.wallet.crypto.trustapp.C.USD_SYMBOL;
-import static com.wallet.crypto.trustapp.util.BalanceUtils.weiToEth;
 
 public class GetDefaultWalletBalance {
 
-    private final WalletRepositoryType walletRepository;
-    private final EthereumNetworkRepositoryType ethereumNetworkRepository;
+    private final AppStateStore stateStore;
 
-    public GetDefaultWalletBalance(
-            WalletRepositoryType walletRepository,
-            EthereumNetworkRepositoryType ethereumNetworkRepository) {
-        this.walletRepository = walletRepository;
-        this.ethereumNetworkRepository = ethereumNetworkRepository;
+    public GetDefaultWalletBalance(AppStateStore stateStore) {
+        this.stateStore = stateStore;
     }
 
-    public Single<Map<String, String>> get(Wallet wallet) {
-        return walletRepository.balanceInWei(wallet)
-                .flatMap(ethBalance -> {
-                    Map<String, String> balances = new HashMap<>();
-                    balances.put(
-                            ethereumNetworkRepository.getDefaultNetwork().symbol,
-                            weiToEth(ethBalance)
-                                    .setScale(4, RoundingMode.HALF_UP)
-                                .stripTrailingZeros().toPlainString());
-                    return Single.just(balances);
-                })
-                .flatMap(balances -> ethereumNetworkRepository
-                        .getTicker()
-                        .observeOn(Schedulers.io())
-                        .flatMap(ticker -> {
-                            String ethBallance = balances.get(ethereumNetworkRepository.getDefaultNetwork().symbol);
-                            balances.put(USD_SYMBOL, BalanceUtils.ethToUsd(ticker.price, ethBallance));
-                            return Single.just(balances);
-                        })
-                        .onErrorResumeNext(throwable -> Single.just(balances)))
+    /**
+     * Balance of the default wallet, refreshed while subscribed and shared with other screens.
+     */
+    public Observable<Map<String, String>> watch() {
+        return stateStore.balance()
                 .observeOn(AndroidSchedulers.mainThread());
     }
-
-
-}
\ No newline at end of file
+}
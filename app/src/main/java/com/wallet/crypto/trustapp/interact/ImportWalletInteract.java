@@ -1,10 +1,18 @@
 package com.wallet.crypto.trustapp.interact;
 
+import com.wallet.crypto.trustapp.entity.KeystoreImportStatus;
 import com.wallet.crypto.trustapp.entity.Wallet;
 import com.wallet.crypto.trustapp.interact.rx.operator.Operators;
 import com.wallet.crypto.trustapp.repository.PasswordStore;
 import com.wallet.crypto.trustapp.repository.WalletRepositoryType;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
+import com.wallet.crypto.trustapp.service.KeystoreFileReader;
 
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.reactivex.Flowable;
 import io.reactivex.Single;
 import io.reactivex.android.schedulers.AndroidSchedulers;
 
@@ -12,10 +20,13 @@ public class ImportWalletInteract {
 
     private final WalletRepositoryType walletRepository;
     private final PasswordStore passwordStore;
+    private final AppSchedulers schedulers;
 
-    public ImportWalletInteract(WalletRepositoryType walletRepository, PasswordStore passwordStore) {
+    public ImportWalletInteract(
+            WalletRepositoryType walletRepository, PasswordStore passwordStore, AppSchedulers schedulers) {
         this.walletRepository = walletRepository;
         this.passwordStore = passwordStore;
+        this.schedulers = schedulers;
     }
 
     public Single<Wallet> importKeystore(String keystore, String password) {
@@ -35,4 +46,48 @@ public class ImportWalletInteract {
                         .compose(Operators.savePassword(passwordStore, walletRepository, newPassword)))
                 .observeOn(AndroidSchedulers.mainThread());
     }
+
+    /**
+     * Imports every keystore of a folder or a ZIP archive.
+     *
+     * @param passwords keystore passwords by file name
+     * @param defaultPassword password of the files missing in {@code passwords}
+     */
+    public Flowable<KeystoreImportStatus> importKeystores(
+            File source, Map<String, String> passwords, String defaultPassword) {
+        Map<String, String> newPasswords = new ConcurrentHashMap<>();
+        return Flowable.fromCallable(() -> KeystoreFileReader.read(source))
+                .subscribeOn(schedulers.disk())
+                .flatMap(files -> walletRepository.importKeystoresToWallets(
+                        files, passwords, defaultPassword, address -> {
+                            String newPassword = passwordStore.generatePassword().blockingGet();
+                            newPasswords.put(address, newPassword);
+                            return newPassword;
+                        }))
+                .concatMapSingle(status -> status.status == KeystoreImportStatus.IMPORTED
+                        ? savePassword(status, newPasswords.remove(status.wallet.address))
+                        : Single.just(status))
+                .observeOn(AndroidSchedulers.mainThread());
+    }
+
+    /**
+     * An account whose password can't be saved is unusable, it is deleted and reported as failed.
+     */
+    private Single<KeystoreImportStatus> savePassword(KeystoreImportStatus status, String password) {
+        return passwordStore
+                .setPassword(status.wallet, password)
+                .toSingleDefault(status)
+                .onErrorResumeNext(throwable -> walletRepository
+                        .deleteWallet(status.wallet.address, password)
+                        .onErrorComplete()
+                        .toSingleDefault(new KeystoreImportStatus(
+                                status.file, KeystoreImportStatus.FAILED, status.wallet,
+                                throwable.getMessage(), status.done, status.total)));
+    }
+
+    public Single<Wallet> watchAddress(String address) {
+        return walletRepository
+                .addWatchOnlyWallet(address)
+                .observeOn(AndroidSchedulers.mainThread());
+    }
 }
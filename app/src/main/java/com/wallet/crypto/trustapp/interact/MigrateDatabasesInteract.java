@@ -0,0 +1,26 @@
+package com.wallet.crypto.trustapp.interact;
+
+import com.wallet.crypto.trustapp.entity.MigrationProgress;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
+import com.wallet.crypto.trustapp.service.RealmManager;
+
+import io.reactivex.Observable;
+import io.reactivex.android.schedulers.AndroidSchedulers;
+
+public class MigrateDatabasesInteract {
+
+    private final RealmManager realmManager;
+    private final AppSchedulers schedulers;
+
+    public MigrateDatabasesInteract(RealmManager realmManager, AppSchedulers schedulers) {
+        this.realmManager = realmManager;
+        this.schedulers = schedulers;
+    }
+
+    public Observable<MigrationProgress> migrate() {
+        return realmManager
+                .migrate()
+                .subscribeOn(schedulers.disk())
+                .observeOn(AndroidSchedulers.mainThread());
+    }
+}
@@ -0,0 +1,79 @@
+package com.wallet.crypto.trustapp.interact;
+
+import android.text.TextUtils;
+
+import com.wallet.crypto.trustapp.entity.NetworkInfo;
+import com.wallet.crypto.trustapp.entity.PortfolioSnapshot;
+import com.wallet.crypto.trustapp.entity.Token;
+import com.wallet.crypto.trustapp.entity.TransactionDisplay;
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.repository.PortfolioSnapshotStore;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import io.reactivex.Completable;
+import io.reactivex.android.schedulers.AndroidSchedulers;
+
+import static com.wallet.crypto.trustapp.C.USD_SYMBOL;
+
+public class PortfolioSnapshotInteract {
+
+    private static final int SNAPSHOT_ROWS = 20;
+
+    private final PortfolioSnapshotStore snapshotStore;
+    private final AppSchedulers schedulers;
+    private volatile String savedScope;
+    private volatile String savedBalance;
+    private volatile String savedUsdBalance;
+    private volatile TransactionDisplay[] savedTransactions;
+
+    public PortfolioSnapshotInteract(PortfolioSnapshotStore snapshotStore, AppSchedulers schedulers) {
+        this.snapshotStore = snapshotStore;
+        this.schedulers = schedulers;
+    }
+
+    /**
+     * Reads on the calling thread, the snapshot is small and mapped so the first frame can show it.
+     */
+    public PortfolioSnapshot find() {
+        return snapshotStore.read();
+    }
+
+    /**
+     * Skips the write when nothing shown differs from the last one, the balance is re-emitted
+     * every few seconds and most refreshes bring no new transactions.
+     */
+    public Completable saveTransactions(
+            NetworkInfo network, Wallet wallet, Map<String, String> balance, TransactionDisplay[] transactions) {
+        TransactionDisplay[] top = Arrays.copyOf(transactions, Math.min(transactions.length, SNAPSHOT_ROWS));
+        String scope = network.name + ":" + wallet.address;
+        String nativeBalance = balance.get(network.symbol);
+        String usdBalance = balance.get(USD_SYMBOL);
+        return Completable.defer(() -> {
+                    if (scope.equals(savedScope)
+                            && TextUtils.equals(nativeBalance, savedBalance)
+                            && TextUtils.equals(usdBalance, savedUsdBalance)
+                            && Arrays.equals(top, savedTransactions)) {
+                        return Completable.complete();
+                    }
+                    savedScope = scope;
+                    savedBalance = nativeBalance;
+                    savedUsdBalance = usdBalance;
+                    savedTransactions = top;
+                    return Completable.fromAction(() -> snapshotStore.saveTransactions(
+                                    wallet.address, network.name, network.symbol, nativeBalance, usdBalance, top))
+                            .doOnError(throwable -> savedScope = null)
+                            .subscribeOn(schedulers.disk());
+                })
+                .observeOn(AndroidSchedulers.mainThread());
+    }
+
+    public Completable saveTokens(Wallet wallet, Token[] tokens) {
+        Token[] top = Arrays.copyOf(tokens, Math.min(tokens.length, SNAPSHOT_ROWS));
+        return Completable.fromAction(() -> snapshotStore.saveTokens(wallet.address, top))
+                .subscribeOn(schedulers.disk())
+                .observeOn(AndroidSchedulers.mainThread());
+    }
+}
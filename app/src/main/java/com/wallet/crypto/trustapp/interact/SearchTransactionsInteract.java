@@ -0,0 +1,28 @@
+package com.wallet.crypto.trustapp.interact;
+
+import com.wallet.crypto.trustapp.entity.TransactionFilter;
+import com.wallet.crypto.trustapp.entity.TransactionRow;
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.repository.TransactionRepositoryType;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
+
+import io.reactivex.Single;
+import io.reactivex.android.schedulers.AndroidSchedulers;
+
+public class SearchTransactionsInteract {
+
+    private final TransactionRepositoryType transactionRepository;
+    private final AppSchedulers schedulers;
+
+    public SearchTransactionsInteract(TransactionRepositoryType transactionRepository, AppSchedulers schedulers) {
+        this.transactionRepository = transactionRepository;
+        this.schedulers = schedulers;
+    }
+
+    public Single<TransactionRow[]> search(Wallet wallet, TransactionFilter filter, int offset, int limit) {
+        return transactionRepository
+                .searchTransactions(wallet, filter, offset, limit)
+                .subscribeOn(schedulers.disk())
+                .observeOn(AndroidSchedulers.mainThread());
+    }
+}
@@ -1,6 +1,7 @@
 package com.wallet.crypto.trustapp.interact;
 
 import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.repository.AppStateStore;
 import com.wallet.crypto.trustapp.repository.WalletRepositoryType;
 
 import io.reactivex.Completable;
@@ -9,14 +10,17 @@ import io.reactivex.android.schedulers.AndroidSchedulers;
 public class SetDefaultWalletInteract {
 
 	private WalletRepositoryType accountRepository;
+	private final AppStateStore stateStore;
 
-	public SetDefaultWalletInteract(WalletRepositoryType walletRepositoryType) {
+	public SetDefaultWalletInteract(WalletRepositoryType walletRepositoryType, AppStateStore stateStore) {
 		this.accountRepository = walletRepositoryType;
+		this.stateStore = stateStore;
 	}
 
 	public Completable set(Wallet wallet) {
 		return accountRepository
 				.setDefaultWallet(wallet)
+				.doOnComplete(() -> stateStore.setWallet(wallet))
 				.observeOn(AndroidSchedulers.mainThread());
 	}
 }
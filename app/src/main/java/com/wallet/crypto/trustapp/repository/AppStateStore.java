@@ -0,0 +1,231 @@
+package com.wallet.crypto.trustapp.repository;
+
+import com.wallet.crypto.trustapp.entity.NetworkInfo;
+import com.wallet.crypto.trustapp.entity.Ticker;
+import com.wallet.crypto.trustapp.entity.Token;
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
+import com.wallet.crypto.trustapp.util.BalanceUtils;
+
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.subjects.BehaviorSubject;
+
+import static com.wallet.crypto.trustapp.C.USD_SYMBOL;
+import static com.wallet.crypto.trustapp.util.BalanceUtils.weiToEth;
+
+/**
+ * App-wide state shared by the screens: default wallet and network, native balance,
+ * ETH ticker and tokens of a wallet. Known values are replayed to new subscribers without I/O.
+ * Balance and ticker are polled while anybody is subscribed, a token refresh in flight is
+ * joined instead of started again.
+ */
+public class AppStateStore {
+
+    private static final long BALANCE_INTERVAL = 10;
+    private static final long TICKER_INTERVAL = 60;
+    private static final String NO_PRICE = "";
+
+    private final WalletRepositoryType walletRepository;
+    private final EthereumNetworkRepositoryType networkRepository;
+    private final TokenRepositoryType tokenRepository;
+    private final AppSchedulers schedulers;
+
+    private final BehaviorSubject<NetworkInfo> network;
+    private final BehaviorSubject<Wallet> wallet = BehaviorSubject.create();
+    private final Observable<Ticker> ticker;
+    private final Observable<Map<String, String>> balance;
+    private final TokenFetchPriority tokenPriority = new TokenFetchPriority();
+    private final Map<String, Observable<Token[]>> tokenFetches = new HashMap<>();
+    private final Map<String, Token[]> tokens = new HashMap<>();
+    private Single<Wallet> walletLoad;
+    private boolean isWalletStale;
+
+    public AppStateStore(
+            WalletRepositoryType walletRepository,
+            EthereumNetworkRepositoryType networkRepository,
+            TokenRepositoryType tokenRepository,
+            AppSchedulers schedulers) {
+        this.walletRepository = walletRepository;
+        this.networkRepository = networkRepository;
+        this.tokenRepository = tokenRepository;
+        this.schedulers = schedulers;
+
+        network = BehaviorSubject.createDefault(networkRepository.getDefaultNetwork());
+        networkRepository.addOnChangeDefaultNetwork(network::onNext);
+        ticker = network
+                .switchMap(networkInfo -> Observable.interval(0, TICKER_INTERVAL, TimeUnit.SECONDS)
+                        .concatMap(tick -> networkRepository.getTicker()
+                                .toObservable()
+                                .onErrorResumeNext(Observable.empty())))
+                .replay(1)
+                .refCount();
+        balance = network
+                .switchMap(networkInfo -> wallet()
+                        .switchMap(wallet -> Observable.combineLatest(
+                                pollBalance(wallet),
+                                ticker.map(ticker -> ticker.price).startWith(NO_PRICE),
+                                (ethBalance, price) -> {
+                                    Map<String, String> balances = new HashMap<>();
+                                    balances.put(networkInfo.symbol, ethBalance);
+                                    if (!NO_PRICE.equals(price)) {
+                                        balances.put(USD_SYMBOL, BalanceUtils.ethToUsd(price, ethBalance));
+                                    }
+                                    return balances;
+                                })))
+                .replay(1)
+                .refCount();
+    }
+
+    public Observable<NetworkInfo> network() {
+        return network.hide();
+    }
+
+    /**
+     * The default wallet, picking the first one when none is set yet. It is read once
+     * and then served from memory until {@link #setWallet} or {@link #reloadWallet}.
+     */
+    public synchronized Single<Wallet> defaultWallet() {
+        Wallet current = wallet.getValue();
+        if (current != null && !isWalletStale) {
+            return Single.just(current);
+        }
+        if (walletLoad == null) {
+            walletLoad = walletRepository
+                    .getDefaultWallet()
+                    .onErrorResumeNext(throwable -> walletRepository
+                            .fetchWallets()
+                            .flatMapObservable(Observable::fromArray)
+                            .firstOrError()
+                            .flatMapCompletable(walletRepository::setDefaultWallet)
+                            .andThen(walletRepository.getDefaultWallet()))
+                    .doOnSuccess(this::onWalletLoaded)
+                    .doOnError(throwable -> onWalletLoadFailed())
+                    .cache();
+        }
+        return walletLoad;
+    }
+
+    /**
+     * The default wallet and its later changes.
+     */
+    public Observable<Wallet> wallet() {
+        return defaultWallet()
+                .flatMapObservable(loaded -> wallet)
+                .distinctUntilChanged((first, second) -> first.sameAddress(second.address));
+    }
+
+    public void setWallet(Wallet wallet) {
+        synchronized (this) {
+            isWalletStale = false;
+            walletLoad = null;
+        }
+        this.wallet.onNext(wallet);
+    }
+
+    /**
+     * Drops the known default wallet, for example after it was deleted.
+     */
+    public synchronized void reloadWallet() {
+        isWalletStale = true;
+        walletLoad = null;
+    }
+
+    /**
+     * Balance of the default wallet in the default network's symbol and in USD when the ticker is known.
+     */
+    public Observable<Map<String, String>> balance() {
+        return balance;
+    }
+
+    public Observable<Ticker> ticker() {
+        return ticker;
+    }
+
+    /**
+     * Refreshes the enabled tokens of the wallet. Subscribers arriving while a refresh is
+     * running join it and get its latest value first.
+     */
+    public Observable<Token[]> tokens(Wallet wallet) {
+        return tokens(wallet, schedulers.interactive());
+    }
+
+    /**
+     * {@link #tokens(Wallet)} for background syncs: a refresh started here runs on the sync pool,
+     * one the screens already started is joined.
+     */
+    public Observable<Token[]> syncTokens(Wallet wallet) {
+        return tokens(wallet, schedulers.sync());
+    }
+
+    private synchronized Observable<Token[]> tokens(Wallet wallet, Scheduler scheduler) {
+        String key = tokensKey(wallet);
+        Observable<Token[]> fetch = tokenFetches.get(key);
+        if (fetch == null) {
+            fetch = tokenRepository
+                    .fetchActive(wallet.address, tokenPriority)
+                    .subscribeOn(scheduler)
+                    .doOnNext(items -> putTokens(key, items))
+                    .doFinally(() -> removeTokenFetch(key))
+                    .replay(1)
+                    .refCount();
+            tokenFetches.put(key, fetch);
+        }
+        return fetch;
+    }
+
+    /**
+     * @return the tokens of the last refresh of the wallet in the default network, null if none.
+     */
+    public synchronized Token[] cachedTokens(Wallet wallet) {
+        return tokens.get(tokensKey(wallet));
+    }
+
+    /**
+     * Rows visible on screen, their balances are refreshed first.
+     */
+    public TokenFetchPriority tokenPriority() {
+        return tokenPriority;
+    }
+
+    private Observable<String> pollBalance(Wallet wallet) {
+        return Observable.interval(0, BALANCE_INTERVAL, TimeUnit.SECONDS)
+                .concatMap(tick -> walletRepository
+                        .balanceInWei(wallet)
+                        .toObservable()
+                        .onErrorResumeNext(Observable.empty()))
+                .map(wei -> weiToEth(wei)
+                        .setScale(4, RoundingMode.HALF_UP)
+                        .stripTrailingZeros()
+                        .toPlainString());
+    }
+
+    private void onWalletLoaded(Wallet loaded) {
+        synchronized (this) {
+            isWalletStale = false;
+        }
+        wallet.onNext(loaded);
+    }
+
+    private synchronized void onWalletLoadFailed() {
+        walletLoad = null;
+    }
+
+    private synchronized void putTokens(String key, Token[] items) {
+        tokens.put(key, items);
+    }
+
+    private synchronized void removeTokenFetch(String key) {
+        tokenFetches.remove(key);
+    }
+
+    private String tokensKey(Wallet wallet) {
+        return networkRepository.getDefaultNetwork().name + ":" + wallet.address;
+    }
+}
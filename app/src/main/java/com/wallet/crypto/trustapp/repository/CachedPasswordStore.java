@@ -0,0 +1,130 @@
+package com.wallet.crypto.trustapp.repository;
+
+import com.wallet.crypto.trustapp.entity.CacheStats;
+import com.wallet.crypto.trustapp.entity.Wallet;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Completable;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+
+/**
+ * Keeps wallet passwords in memory for a while, so repeated sends skip the key store round trip.
+ * Passwords are held as char arrays and zeroed when they expire or the cache is cleared.
+ * The app clears the cache when it goes to the background and when the screen turns off.
+ */
+public class CachedPasswordStore implements PasswordStore {
+
+    private final PasswordStore passwordStore;
+    private final long ttlMillis;
+    private final Scheduler scheduler;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param scheduler tells the time and runs the expiry.
+     */
+    public CachedPasswordStore(PasswordStore passwordStore, long ttlMillis, Scheduler scheduler) {
+        this.passwordStore = passwordStore;
+        this.ttlMillis = ttlMillis;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Single<String> getPassword(Wallet wallet) {
+        return Single.defer(() -> {
+            String password = get(wallet.address);
+            return password == null
+                    ? passwordStore.getPassword(wallet).doOnSuccess(value -> put(wallet.address, value))
+                    : Single.just(password);
+        });
+    }
+
+    @Override
+    public Completable setPassword(Wallet wallet, String password) {
+        return passwordStore.setPassword(wallet, password)
+                .doOnComplete(() -> put(wallet.address, password));
+    }
+
+    @Override
+    public Single<String> generatePassword() {
+        return passwordStore.generatePassword();
+    }
+
+    /**
+     * Zeroes and drops every password.
+     */
+    public synchronized void clear() {
+        for (Entry entry : entries.values()) {
+            entry.zero();
+        }
+        evictions += entries.size();
+        entries.clear();
+    }
+
+    public synchronized CacheStats getStats() {
+        long bytes = 0;
+        for (Entry entry : entries.values()) {
+            bytes += entry.password.length * 2;
+        }
+        return new CacheStats(hits, misses, evictions, bytes);
+    }
+
+    private synchronized String get(String address) {
+        evictExpired();
+        Entry entry = entries.get(address.toLowerCase());
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return new String(entry.password);
+    }
+
+    private void put(String address, String password) {
+        synchronized (this) {
+            Entry old = entries.put(
+                    address.toLowerCase(),
+                    new Entry(password.toCharArray(), scheduler.now(TimeUnit.MILLISECONDS) + ttlMillis));
+            if (old != null) {
+                old.zero();
+            }
+        }
+        // Nothing may read the password again, don't leave it in memory until then.
+        scheduler.scheduleDirect(this::evictExpired, ttlMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void evictExpired() {
+        long now = scheduler.now(TimeUnit.MILLISECONDS);
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.expiresAt <= now) {
+                entry.zero();
+                iterator.remove();
+                evictions++;
+            }
+        }
+    }
+
+    private static class Entry {
+        final char[] password;
+        final long expiresAt;
+
+        Entry(char[] password, long expiresAt) {
+            this.password = password;
+            this.expiresAt = expiresAt;
+        }
+
+        void zero() {
+            Arrays.fill(password, '\0');
+        }
+    }
+}
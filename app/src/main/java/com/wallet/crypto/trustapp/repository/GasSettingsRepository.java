@@ -3,6 +3,7 @@ package com.wallet.crypto.trustapp.repository;
 
 import com.wallet.crypto.trustapp.C;
 import com.wallet.crypto.trustapp.entity.GasSettings;
+import com.wallet.crypto.trustapp.service.StartupQueue;
 
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.Web3jFactory;
@@ -24,10 +25,15 @@ public class GasSettingsRepository implements GasSettingsRepositoryType {
 
     private final static long FETCH_GAS_PRICE_INTERVAL = 60;
 
-    public GasSettingsRepository(EthereumNetworkRepositoryType networkRepository) {
+    public GasSettingsRepository(EthereumNetworkRepositoryType networkRepository, StartupQueue startupQueue) {
         this.networkRepository = networkRepository;
 
         cachedGasPrice = new BigInteger(C.DEFAULT_GAS_PRICE);
+        // The default price is good enough until the first screen is up.
+        startupQueue.enqueue(StartupQueue.PRIORITY_LOW, this::startPolling);
+    }
+
+    private void startPolling() {
         gasSettingsDisposable = Observable.interval(0, FETCH_GAS_PRICE_INTERVAL, TimeUnit.SECONDS)
                 .doOnNext(l ->
                         fetchGasSettings()
@@ -0,0 +1,276 @@
+package com.wallet.crypto.trustapp.repository;
+
+import android.text.TextUtils;
+import android.text.format.DateUtils;
+
+import com.wallet.crypto.trustapp.entity.NetworkInfo;
+import com.wallet.crypto.trustapp.entity.Portfolio;
+import com.wallet.crypto.trustapp.entity.Ticker;
+import com.wallet.crypto.trustapp.entity.Token;
+import com.wallet.crypto.trustapp.entity.TokenTicker;
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.entity.WalletPortfolio;
+import com.wallet.crypto.trustapp.service.BatchRpcClient;
+import com.wallet.crypto.trustapp.service.TickerService;
+import com.wallet.crypto.trustapp.util.BalanceUtils;
+import com.wallet.crypto.trustapp.util.Tracer;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Values every wallet in every network. Each network is read with one batched JSON-RPC request
+ * holding the native and token balances of all wallets, a few networks at a time.
+ * Results are kept per wallet and network for a minute, totals are updated as networks answer.
+ */
+public class PortfolioRepository implements PortfolioRepositoryType {
+
+    private static final int MAX_PARALLEL_NETWORKS = 3;
+    private static final long CACHE_TTL = DateUtils.MINUTE_IN_MILLIS;
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private final EthereumNetworkRepositoryType networkRepository;
+    private final TokenLocalSource tokenLocalSource;
+    private final TickerService tickerService;
+    private final BatchRpcClient rpcClient;
+    private final Scheduler loadScheduler;
+    private final Map<String, WalletPortfolio> cache = new ConcurrentHashMap<>();
+
+    public PortfolioRepository(
+            EthereumNetworkRepositoryType networkRepository,
+            TokenLocalSource tokenLocalSource,
+            TickerService tickerService,
+            BatchRpcClient rpcClient) {
+        this.networkRepository = networkRepository;
+        this.tokenLocalSource = tokenLocalSource;
+        this.tickerService = tickerService;
+        this.rpcClient = rpcClient;
+        // A load blocks on ticker and token reads which run on the app pools. Loading on one of
+        // those pools could take all its threads and wait for tasks queued behind itself.
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                MAX_PARALLEL_NETWORKS, MAX_PARALLEL_NETWORKS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> new Thread(runnable, "portfolio"));
+        executor.allowCoreThreadTimeOut(true);
+        loadScheduler = Schedulers.from(executor);
+    }
+
+    @Override
+    public Observable<Portfolio> fetch(Wallet[] wallets) {
+        NetworkInfo[] networks = networkRepository.getAvailableNetworkList();
+        return Observable.defer(() -> {
+            Totals totals = new Totals(networks.length);
+            return Observable.fromArray(networks)
+                    .flatMap(network -> fetchNetwork(network, wallets), MAX_PARALLEL_NETWORKS)
+                    .map(totals::add);
+        })
+        .compose(Tracer.observable("PortfolioRepository.fetch"));
+    }
+
+    private Observable<List<WalletPortfolio>> fetchNetwork(NetworkInfo network, Wallet[] wallets) {
+        List<WalletPortfolio> cached = fromCache(network, wallets, System.currentTimeMillis() - CACHE_TTL);
+        if (cached != null) {
+            return Observable.just(cached);
+        }
+        return Observable.fromCallable(() -> load(network, wallets))
+                .doOnNext(this::putCache)
+                .onErrorReturn(throwable -> {
+                    // The network is down, show what was known about it.
+                    List<WalletPortfolio> stale = fromCache(network, wallets, 0);
+                    return stale == null ? Collections.emptyList() : stale;
+                })
+                .subscribeOn(loadScheduler);
+    }
+
+    private List<WalletPortfolio> load(NetworkInfo network, Wallet[] wallets) throws Exception {
+        List<Token[]> holdings = new ArrayList<>(wallets.length);
+        List<BatchRpcClient.Call> calls = new ArrayList<>();
+        for (Wallet wallet : wallets) {
+            Token[] tokens = enabledTokens(network, wallet);
+            holdings.add(tokens);
+            calls.add(BatchRpcClient.getBalance(wallet.address));
+            for (Token token : tokens) {
+                calls.add(BatchRpcClient.balanceOf(token.tokenInfo.address, wallet.address));
+            }
+        }
+        attachMissingTickers(network, holdings);
+        BigDecimal price = nativePrice(network);
+        BigInteger[] results = rpcClient.send(network.rpcServerUrl, calls);
+
+        long now = System.currentTimeMillis();
+        List<WalletPortfolio> portfolios = new ArrayList<>(wallets.length);
+        int next = 0;
+        for (int i = 0; i < wallets.length; i++) {
+            BigInteger wei = results[next++];
+            BigDecimal balance = wei == null ? null : BalanceUtils.weiToEth(new BigDecimal(wei));
+            BigDecimal value = balance == null || price == null ? BigDecimal.ZERO : balance.multiply(price);
+            Token[] known = holdings.get(i);
+            Token[] tokens = new Token[known.length];
+            for (int j = 0; j < known.length; j++) {
+                BigInteger subunits = results[next++];
+                Token token = subunits == null
+                        ? known[j]
+                        : new Token(known[j].tokenInfo, new BigDecimal(subunits), now);
+                token.ticker = known[j].ticker;
+                tokens[j] = token;
+                value = value.add(valueOf(token));
+            }
+            portfolios.add(new WalletPortfolio(wallets[i].address, network, balance, tokens, value, now));
+        }
+        return portfolios;
+    }
+
+    private Token[] enabledTokens(NetworkInfo network, Wallet wallet) {
+        // Opening the storage of a wallet which was never used in the network would create it.
+        if (!tokenLocalSource.hasStorage(network, wallet)) {
+            return new Token[0];
+        }
+        try {
+            Token[] tokens = tokenLocalSource.fetchEnabledTokens(network, wallet).blockingGet();
+            TokenTicker[] tickers = tokenLocalSource.fetchTickers(network, wallet, tokens).blockingGet();
+            attachTickers(tokens, tickers);
+            return tokens;
+        } catch (Exception ex) {
+            // The tokens can't be read, the wallet is valued by its native balance only.
+            return new Token[0];
+        }
+    }
+
+    /**
+     * Asks the ticker service once per network for the tokens of all wallets which have no fresh cached price.
+     */
+    private void attachMissingTickers(NetworkInfo network, List<Token[]> holdings) {
+        if (!network.isMainNetwork) {
+            return;
+        }
+        List<Token> missing = new ArrayList<>();
+        for (Token[] tokens : holdings) {
+            for (Token token : tokens) {
+                if (token.ticker == null) {
+                    missing.add(token);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        try {
+            TokenTicker[] tickers = tickerService
+                    .fetchTockenTickers(missing.toArray(new Token[missing.size()]), "USD")
+                    .blockingGet();
+            for (Token[] tokens : holdings) {
+                attachTickers(tokens, tickers);
+            }
+        } catch (Exception ex) {
+            // Tokens without a price count as zero.
+        }
+    }
+
+    private BigDecimal nativePrice(NetworkInfo network) {
+        if (!network.isMainNetwork) {
+            return null;
+        }
+        try {
+            Ticker ticker = tickerService.fetchTickerPrice(network.symbol).blockingFirst();
+            return TextUtils.isEmpty(ticker.price) ? null : new BigDecimal(ticker.price);
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    private static void attachTickers(Token[] tokens, TokenTicker[] tickers) {
+        if (tickers == null || tickers.length == 0) {
+            return;
+        }
+        Map<String, TokenTicker> byContract = new HashMap<>(tickers.length);
+        for (TokenTicker ticker : tickers) {
+            if (ticker != null && ticker.contract != null) {
+                byContract.put(ticker.contract.toLowerCase(), ticker);
+            }
+        }
+        for (Token token : tokens) {
+            TokenTicker ticker = byContract.get(token.tokenInfo.address.toLowerCase());
+            if (ticker != null) {
+                token.ticker = ticker;
+            }
+        }
+    }
+
+    private static BigDecimal valueOf(Token token) {
+        if (token.balance == null || token.ticker == null || TextUtils.isEmpty(token.ticker.price)) {
+            return BigDecimal.ZERO;
+        }
+        try {
+            return token.balance
+                    .divide(BalanceUtils.decimalDivisor(token.tokenInfo.decimals))
+                    .multiply(new BigDecimal(token.ticker.price));
+        } catch (NumberFormatException ex) {
+            return BigDecimal.ZERO;
+        }
+    }
+
+    /**
+     * @return the cached portfolios of all wallets if none is older than {@code minUpdateTime}, otherwise null.
+     */
+    private List<WalletPortfolio> fromCache(NetworkInfo network, Wallet[] wallets, long minUpdateTime) {
+        List<WalletPortfolio> result = new ArrayList<>(wallets.length);
+        for (Wallet wallet : wallets) {
+            WalletPortfolio item = cache.get(keyOf(network, wallet.address));
+            if (item == null || item.updateTime < minUpdateTime) {
+                return null;
+            }
+            result.add(item);
+        }
+        return result;
+    }
+
+    private void putCache(List<WalletPortfolio> items) {
+        for (WalletPortfolio item : items) {
+            cache.put(keyOf(item.network, item.wallet), item);
+        }
+    }
+
+    private static String keyOf(NetworkInfo network, String wallet) {
+        return network.name + ":" + wallet.toLowerCase();
+    }
+
+    /**
+     * Running sums, a network's portfolios replace its earlier ones so only the difference is added.
+     */
+    static class Totals {
+        private final int networkCount;
+        private final Map<String, WalletPortfolio> parts = new HashMap<>();
+        private final Map<String, BigDecimal> walletValues = new HashMap<>();
+        private BigDecimal total = BigDecimal.ZERO;
+        private int doneCount;
+
+        Totals(int networkCount) {
+            this.networkCount = networkCount;
+        }
+
+        Portfolio add(List<WalletPortfolio> items) {
+            for (WalletPortfolio item : items) {
+                WalletPortfolio old = parts.put(keyOf(item.network, item.wallet), item);
+                BigDecimal delta = old == null ? item.value : item.value.subtract(old.value);
+                String wallet = item.wallet.toLowerCase();
+                BigDecimal walletValue = walletValues.get(wallet);
+                walletValues.put(wallet, walletValue == null ? delta : walletValue.add(delta));
+                total = total.add(delta);
+            }
+            doneCount++;
+            return new Portfolio(new HashMap<>(walletValues), total, doneCount >= networkCount);
+        }
+    }
+}
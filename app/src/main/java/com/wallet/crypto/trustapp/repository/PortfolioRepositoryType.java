@@ -0,0 +1,14 @@
+package com.wallet.crypto.trustapp.repository;
+
+import com.wallet.crypto.trustapp.entity.Portfolio;
+import com.wallet.crypto.trustapp.entity.Wallet;
+
+import io.reactivex.Observable;
+
+public interface PortfolioRepositoryType {
+
+    /**
+     * Values the wallets in every available network. Emits updated totals each time a network is done.
+     */
+    Observable<Portfolio> fetch(Wallet[] wallets);
+}
@@ -0,0 +1,189 @@
+package com.wallet.crypto.trustapp.repository;
+
+import com.wallet.crypto.trustapp.entity.PortfolioSnapshot;
+import com.wallet.crypto.trustapp.entity.Token;
+import com.wallet.crypto.trustapp.entity.TokenInfo;
+import com.wallet.crypto.trustapp.entity.TokenTicker;
+import com.wallet.crypto.trustapp.entity.TransactionDisplay;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/**
+ * Keeps the last {@link PortfolioSnapshot} in a small binary file which is memory-mapped
+ * on read, so it can be read on the main thread before the first frame. Layout:
+ * <pre>
+ * int magic | transactions section | tokens section
+ * </pre>
+ * Strings are stored as an int length (-1 for null) followed by UTF-8 bytes.
+ * The file is replaced atomically, a broken or unknown file reads as no snapshot.
+ */
+public class PortfolioSnapshotStore {
+
+    private static final int MAGIC = 0x50534e31; // PSN1
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final File file;
+
+    public PortfolioSnapshotStore(File file) {
+        this.file = file;
+    }
+
+    public PortfolioSnapshot read() {
+        if (!file.exists()) {
+            return null;
+        }
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            FileChannel channel = in.getChannel();
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 4 || buffer.getInt() != MAGIC) {
+                return null;
+            }
+            String wallet = readString(buffer);
+            String network = readString(buffer);
+            String symbol = readString(buffer);
+            String balance = readString(buffer);
+            String fiatBalance = readString(buffer);
+            TransactionDisplay[] transactions = new TransactionDisplay[buffer.getInt()];
+            for (int i = 0; i < transactions.length; i++) {
+                transactions[i] = readTransaction(buffer);
+            }
+            String tokensWallet = readString(buffer);
+            Token[] tokens = new Token[buffer.getInt()];
+            for (int i = 0; i < tokens.length; i++) {
+                tokens[i] = readToken(buffer);
+            }
+            return new PortfolioSnapshot(
+                    wallet, network, symbol, balance, fiatBalance, transactions, tokensWallet, tokens);
+        } catch (Exception ex) {
+            // Unreadable snapshot, the screens wait for live data.
+            return null;
+        }
+    }
+
+    public synchronized void saveTransactions(
+            String wallet, String network, String symbol, String balance, String fiatBalance,
+            TransactionDisplay[] transactions) throws IOException {
+        PortfolioSnapshot current = read();
+        write(new PortfolioSnapshot(wallet, network, symbol, balance, fiatBalance, transactions,
+                current == null ? null : current.tokensWallet,
+                current == null ? new Token[0] : current.tokens));
+    }
+
+    public synchronized void saveTokens(String wallet, Token[] tokens) throws IOException {
+        PortfolioSnapshot current = read();
+        write(current == null
+                ? new PortfolioSnapshot(null, null, null, null, null, new TransactionDisplay[0], wallet, tokens)
+                : new PortfolioSnapshot(current.wallet, current.network, current.symbol, current.balance,
+                        current.fiatBalance, current.transactions, wallet, tokens));
+    }
+
+    private void write(PortfolioSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        writeString(out, snapshot.wallet);
+        writeString(out, snapshot.network);
+        writeString(out, snapshot.symbol);
+        writeString(out, snapshot.balance);
+        writeString(out, snapshot.fiatBalance);
+        out.writeInt(snapshot.transactions.length);
+        for (TransactionDisplay transaction : snapshot.transactions) {
+            writeString(out, transaction.hash);
+            out.writeLong(transaction.timeStamp);
+            out.writeBoolean(transaction.isSent);
+            out.writeBoolean(transaction.isError);
+            writeString(out, transaction.counterparty);
+            writeString(out, transaction.value);
+        }
+        writeString(out, snapshot.tokensWallet);
+        out.writeInt(snapshot.tokens.length);
+        for (Token token : snapshot.tokens) {
+            writeString(out, token.tokenInfo.address);
+            writeString(out, token.tokenInfo.name);
+            writeString(out, token.tokenInfo.symbol);
+            out.writeInt(token.tokenInfo.decimals);
+            out.writeBoolean(token.tokenInfo.isEnabled);
+            writeString(out, token.balance == null ? null : token.balance.toPlainString());
+            out.writeLong(token.updateBlancaTime);
+            out.writeBoolean(token.ticker != null);
+            if (token.ticker != null) {
+                writeString(out, token.ticker.id);
+                writeString(out, token.ticker.contract);
+                writeString(out, token.ticker.price);
+                writeString(out, token.ticker.percentChange24h);
+                writeString(out, token.ticker.image);
+            }
+        }
+        out.flush();
+
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream stream = new FileOutputStream(temp)) {
+            bytes.writeTo(stream);
+            stream.getFD().sync();
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("Can't replace " + file);
+        }
+    }
+
+    private static TransactionDisplay readTransaction(ByteBuffer buffer) {
+        String hash = readString(buffer);
+        long timeStamp = buffer.getLong();
+        boolean isSent = buffer.get() != 0;
+        boolean isError = buffer.get() != 0;
+        String counterparty = readString(buffer);
+        String value = readString(buffer);
+        return new TransactionDisplay(hash, timeStamp, isSent, isError, counterparty, value);
+    }
+
+    private static Token readToken(ByteBuffer buffer) {
+        TokenInfo info = new TokenInfo(
+                readString(buffer),
+                readString(buffer),
+                readString(buffer),
+                buffer.getInt(),
+                buffer.get() != 0);
+        String balance = readString(buffer);
+        long updateTime = buffer.getLong();
+        Token token = new Token(info, balance == null ? null : new BigDecimal(balance), updateTime);
+        if (buffer.get() != 0) {
+            token.ticker = new TokenTicker(
+                    readString(buffer),
+                    readString(buffer),
+                    readString(buffer),
+                    readString(buffer),
+                    readString(buffer));
+        }
+        return token;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
@@ -0,0 +1,73 @@
+package com.wallet.crypto.trustapp.repository;
+
+import android.util.Log;
+
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Completable;
+import io.reactivex.Observable;
+import io.reactivex.Single;
+
+/**
+ * Brings the caches of every wallet in the default network up to date: new transactions,
+ * token balances and token tickers, so opening a screen mostly reads from disk.
+ * Wallets are synced one after another, a sync of a wallet which the screens are already
+ * running is joined instead of started again.
+ */
+public class SyncEngine {
+
+    private static final String TAG = "Sync";
+
+    private final WalletRepositoryType walletRepository;
+    private final TransactionRepositoryType transactionRepository;
+    private final AppStateStore appStateStore;
+    private final AppSchedulers schedulers;
+    private final AtomicBoolean isRunning = new AtomicBoolean();
+
+    public SyncEngine(
+            WalletRepositoryType walletRepository,
+            TransactionRepositoryType transactionRepository,
+            AppStateStore appStateStore,
+            AppSchedulers schedulers) {
+        this.walletRepository = walletRepository;
+        this.transactionRepository = transactionRepository;
+        this.appStateStore = appStateStore;
+        this.schedulers = schedulers;
+    }
+
+    /**
+     * Syncs all wallets. A wallet which fails doesn't stop the others.
+     *
+     * @return true when every wallet was synced, false if any failed and the sync should be retried.
+     * Calls made while a sync is running complete with true at once.
+     */
+    public Single<Boolean> syncAll() {
+        return Single.defer(() -> {
+            if (!isRunning.compareAndSet(false, true)) {
+                return Single.just(true);
+            }
+            AtomicInteger failed = new AtomicInteger();
+            return walletRepository
+                    .fetchWallets()
+                    .flatMapObservable(Observable::fromArray)
+                    .concatMapCompletable(wallet -> sync(wallet)
+                            .doOnError(throwable -> {
+                                failed.incrementAndGet();
+                                Log.w(TAG, "Can't sync " + wallet.address, throwable);
+                            })
+                            .onErrorComplete())
+                    .toSingle(() -> failed.get() == 0)
+                    .doFinally(() -> isRunning.set(false));
+        }).subscribeOn(schedulers.sync());
+    }
+
+    private Completable sync(Wallet wallet) {
+        return transactionRepository
+                .syncTransactions(wallet)
+                .andThen(appStateStore.syncTokens(wallet).ignoreElements());
+    }
+}
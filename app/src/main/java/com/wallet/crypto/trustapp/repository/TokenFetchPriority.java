@@ -0,0 +1,29 @@
+package com.wallet.crypto.trustapp.repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Contract addresses of the token rows currently on screen. Written from the UI thread
+ * while balances are being fetched, read by the balance loop before each request.
+ */
+public class TokenFetchPriority {
+
+    private volatile Set<String> visible = Collections.emptySet();
+
+    public void setVisible(Collection<String> addresses) {
+        Set<String> visible = new HashSet<>(addresses.size());
+        for (String address : addresses) {
+            if (address != null) {
+                visible.add(address.toLowerCase());
+            }
+        }
+        this.visible = Collections.unmodifiableSet(visible);
+    }
+
+    public boolean isVisible(String address) {
+        return address != null && visible.contains(address.toLowerCase());
+    }
+}
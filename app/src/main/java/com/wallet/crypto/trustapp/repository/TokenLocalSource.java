@@ -6,6 +6,7 @@ import com.wallet.crypto.trustapp.entity.TokenTicker;
 import com.wallet.crypto.trustapp.entity.Wallet;
 
 import io.reactivex.Completable;
+import io.reactivex.ObservableTransformer;
 import io.reactivex.Single;
 
 public interface TokenLocalSource {
@@ -13,9 +14,18 @@ public interface TokenLocalSource {
     void updateTokenBalance(NetworkInfo network, Wallet wallet, Token token);
     void setEnable(NetworkInfo network, Wallet wallet, Token token, boolean isEnabled);
 
+    /**
+     * @return false if nothing was ever stored for the wallet in the network.
+     */
+    boolean hasStorage(NetworkInfo networkInfo, Wallet wallet);
     Single<Token[]> fetchEnabledTokens(NetworkInfo networkInfo, Wallet wallet);
     Single<Token[]> fetchAllTokens(NetworkInfo networkInfo, Wallet wallet);
 
     Completable saveTickers(NetworkInfo network, Wallet wallet, TokenTicker[] tokenTickers);
     Single<TokenTicker[]> fetchTickers(NetworkInfo network, Wallet wallet, Token[] tokens);
+
+    /**
+     * Keeps the storage of the wallet open on the subscribing thread while the chain is subscribed.
+     */
+    <T> ObservableTransformer<T, T> keepOpen(NetworkInfo network, Wallet wallet);
 }
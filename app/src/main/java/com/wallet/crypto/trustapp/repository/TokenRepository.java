@@ -10,8 +10,10 @@ import com.wallet.crypto.trustapp.entity.TokenTicker;
 import com.wallet.crypto.trustapp.entity.Transaction;
 import com.wallet.crypto.trustapp.entity.TransactionOperation;
 import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
 import com.wallet.crypto.trustapp.service.TickerService;
 import com.wallet.crypto.trustapp.service.TokenExplorerClientType;
+import com.wallet.crypto.trustapp.util.Tracer;
 
 import org.web3j.abi.FunctionEncoder;
 import org.web3j.abi.FunctionReturnDecoder;
@@ -33,15 +35,16 @@ import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import io.reactivex.Completable;
 import io.reactivex.Observable;
-import io.reactivex.ObservableTransformer;
+import io.reactivex.ObservableEmitter;
 import io.reactivex.Single;
-import io.reactivex.SingleTransformer;
 import okhttp3.OkHttpClient;
 
 import static org.web3j.protocol.core.methods.request.Transaction.createEthCallTransaction;
@@ -49,6 +52,7 @@ import static org.web3j.protocol.core.methods.request.Transaction.createEthCallT
 public class TokenRepository implements TokenRepositoryType {
 
     private static final long BALANCE_UPDATE_INTERVAL = DateUtils.MINUTE_IN_MILLIS;
+    private static final int OFFSCREEN_BATCH_SIZE = 5;
     private final TokenExplorerClientType tokenNetworkService;
     private final WalletRepositoryType walletRepository;
     private final TokenLocalSource localSource;
@@ -56,6 +60,7 @@ public class TokenRepository implements TokenRepositoryType {
     private final EthereumNetworkRepositoryType ethereumNetworkRepository;
     private final TransactionLocalSource transactionsLocalCache;
     private final TickerService tickerService;
+    private final AppSchedulers schedulers;
     private Web3j web3j;
 
     public TokenRepository(
@@ -65,7 +70,8 @@ public class TokenRepository implements TokenRepositoryType {
             TokenExplorerClientType tokenNetworkService,
             TokenLocalSource localSource,
             TransactionLocalSource transactionsLocalCache,
-            TickerService tickerService) {
+            TickerService tickerService,
+            AppSchedulers schedulers) {
         this.httpClient = okHttpClient;
         this.ethereumNetworkRepository = ethereumNetworkRepository;
         this.walletRepository = walletRepository;
@@ -73,23 +79,39 @@ public class TokenRepository implements TokenRepositoryType {
         this.localSource = localSource;
         this.transactionsLocalCache = transactionsLocalCache;
         this.tickerService = tickerService;
-        this.ethereumNetworkRepository.addOnChangeDefaultNetwork(this::buildWeb3jClient);
-        buildWeb3jClient(ethereumNetworkRepository.getDefaultNetwork());
+        this.schedulers = schedulers;
+        this.ethereumNetworkRepository.addOnChangeDefaultNetwork(this::onNetworkChanged);
     }
 
-    private void buildWeb3jClient(NetworkInfo defaultNetwork) {
-        web3j = Web3jFactory.build(new HttpService(defaultNetwork.rpcServerUrl, httpClient, false));
+    private synchronized void onNetworkChanged(NetworkInfo defaultNetwork) {
+        web3j = null;
+    }
+
+    /**
+     * Built on the first balance call instead of on injection, it is not needed for the first frame.
+     */
+    private synchronized Web3j getWeb3j() {
+        if (web3j == null) {
+            NetworkInfo defaultNetwork = ethereumNetworkRepository.getDefaultNetwork();
+            web3j = Web3jFactory.build(new HttpService(defaultNetwork.rpcServerUrl, httpClient, false));
+        }
+        return web3j;
     }
 
     @Override
     public Observable<Token[]> fetchActive(String walletAddress) {
+        return fetchActive(walletAddress, new TokenFetchPriority());
+    }
+
+    @Override
+    public Observable<Token[]> fetchActive(String walletAddress, TokenFetchPriority priority) {
         NetworkInfo network = ethereumNetworkRepository.getDefaultNetwork();
         Wallet wallet = new Wallet(walletAddress);
-        return Single.merge(
-                fetchCachedEnabledTokens(network, wallet), // Immediately show the cache.
+        return Observable.concat(
+                fetchCachedEnabledTokens(network, wallet, priority), // Immediately show the cache, visible balances first.
                 updateTokens(network, wallet) // Looking for new tokens
-                        .andThen(fetchCachedEnabledTokens(network, wallet))) // and showing the cach
-            .toObservable();
+                        .andThen(fetchCachedEnabledTokens(network, wallet, priority))) // and showing the cache
+                .compose(Tracer.observable("TokenRepository.fetchActive"));
     }
 
 
@@ -101,32 +123,20 @@ public class TokenRepository implements TokenRepositoryType {
         return localSource.fetchAllTokens(network, wallet).toObservable();
     }
 
-    private SingleTransformer<Token[], Token[]> attachTicker(NetworkInfo network, Wallet wallet) {
-        return upstream -> upstream.flatMap(tokens ->
-                Single.zip(
-                        Single.just(tokens),
-                        getTickers(network, wallet, tokens),
-                        (data, tokenTickers) -> {
-                            for (Token token : data) {
-                                for (TokenTicker ticker : tokenTickers) {
-                                    if (token.tokenInfo.address.equals(ticker.contract)) {
-                                        token.ticker = ticker;
-                                    }
-                                }
-                            }
-                            return data;
-                        }));
-    }
-
     private Single<TokenTicker[]> getTickers(NetworkInfo network, Wallet wallet, Token[] tokens) {
         return localSource.fetchTickers(network, wallet, tokens)
+                .subscribeOn(schedulers.disk())
                 .onErrorResumeNext(throwable -> tickerService
                         .fetchTockenTickers(tokens, "USD")
                         .onErrorResumeNext(thr -> Single.just(new TokenTicker[0])))
-                .flatMapCompletable(tokenTickers -> localSource.saveTickers(network, wallet, tokenTickers))
+                .flatMapCompletable(tokenTickers -> localSource
+                        .saveTickers(network, wallet, tokenTickers)
+                        .subscribeOn(schedulers.disk()))
                 .andThen(localSource
                         .fetchTickers(network, wallet, tokens)
-                        .onErrorResumeNext(thr -> Single.just(new TokenTicker[0])));
+                        .subscribeOn(schedulers.disk())
+                        .onErrorResumeNext(thr -> Single.just(new TokenTicker[0])))
+                .compose(Tracer.single("TokenRepository.getTickers"));
     }
 
     @Override
@@ -150,21 +160,20 @@ public class TokenRepository implements TokenRepositoryType {
     }
 
     private Single<Token[]> fetchFromNetworkSource(@NonNull NetworkInfo network, @NonNull Wallet wallet) {
-        return Single.fromCallable(() -> {
-            try {
-                return network.isMainNetwork
-                        ? tokenNetworkService.fetch(wallet.address).blockingFirst()
-                        : new TokenInfo[0];
-            } catch (Throwable th) {
+        if (!network.isMainNetwork) {
+            return Single.just(new Token[0]);
+        }
+        return tokenNetworkService.fetch(wallet.address)
+                .first(new TokenInfo[0])
                 // Ignore all errors, it's not important source.
-                return new TokenInfo[0];
-            }
-        })
-        .map(this::mapToTokens);
+                .onErrorReturnItem(new TokenInfo[0])
+                .map(this::mapToTokens)
+        .compose(Tracer.single("TokenRepository.fetchFromNetworkSource"));
     }
 
     private Single<Token[]> extractFromTransactions(NetworkInfo network, Wallet wallet) {
         return transactionsLocalCache.fetchTransaction(network, wallet)
+                .subscribeOn(schedulers.disk())
                 .flatMap(transactions -> {
                     List<Token> result = new ArrayList<>();
                     for (Transaction transaction : transactions) {
@@ -187,7 +196,7 @@ public class TokenRepository implements TokenRepositoryType {
         return Single.zip(
                 fetchFromNetworkSource(network, wallet),
                 extractFromTransactions(network, wallet),
-                localSource.fetchAllTokens(network, wallet),
+                localSource.fetchAllTokens(network, wallet).subscribeOn(schedulers.disk()),
                 (fromNetTokens, fromTrxTokens, cachedTokens) -> {
                     final Set<String> oldTokensIndex = new HashSet<>();
                     final List<Token> zip = new ArrayList<>();
@@ -204,45 +213,87 @@ public class TokenRepository implements TokenRepositoryType {
                     }
                     return newTokens.toArray(new Token[newTokens.size()]);
                 })
-                .flatMapCompletable(tokens -> localSource.saveTokens(network, wallet, tokens));
+                .flatMapCompletable(tokens -> localSource
+                        .saveTokens(network, wallet, tokens)
+                        .subscribeOn(schedulers.disk()))
+                .compose(Tracer.completable("TokenRepository.updateTokens"));
     }
 
-    private ObservableTransformer<Token, Token> updateBalance(NetworkInfo network, Wallet wallet) {
-        return upstream -> upstream.map(token -> {
-            long now = System.currentTimeMillis();
-            long minUpdateBalanceTime = now - BALANCE_UPDATE_INTERVAL;
+    private Token updateBalance(NetworkInfo network, Wallet wallet, Token token) {
+        Tracer.Span span = Tracer.begin("TokenRepository.updateBalance");
+        try {
+            Token updated = new Token(
+                    token.tokenInfo,
+                    getBalance(wallet, token.tokenInfo), System.currentTimeMillis());
+            localSource.updateTokenBalance(network, wallet, updated);
+            return updated;
+        } catch (Throwable th) {
+            /* Quietly */
+        } finally {
+            span.end();
+        }
+        return token;
+    }
+
+    /**
+     * Refreshes outdated balances one by one. Rows reported visible by {@code priority} are
+     * taken first and emitted as soon as they are done, the rest follow in small batches.
+     * The priority is re-read before every request, so scrolling reorders the remaining work.
+     */
+    private void updateBalances(
+            NetworkInfo network, Wallet wallet, TokensSnapshot snapshot,
+            TokenFetchPriority priority, ObservableEmitter<Token[]> emitter) {
+        long minUpdateBalanceTime = System.currentTimeMillis() - BALANCE_UPDATE_INTERVAL;
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < snapshot.tokens.length; i++) {
+            Token token = snapshot.tokens[i];
             if (token.balance == null || token.updateBlancaTime < minUpdateBalanceTime) {
-                try {
-                    token = new Token(
-                            token.tokenInfo,
-                            getBalance(wallet, token.tokenInfo), now);
-                    localSource.updateTokenBalance(network, wallet, token);
-                } catch (Throwable th) { /* Quietly */ }
+                pending.add(i);
+            }
+        }
+        int updatedSinceEmit = 0;
+        while (!pending.isEmpty() && !emitter.isDisposed()) {
+            int next = nextVisible(snapshot.tokens, pending, priority);
+            boolean isVisible = next >= 0;
+            int index = pending.remove(isVisible ? next : 0);
+            snapshot.tokens[index] = updateBalance(network, wallet, snapshot.tokens[index]);
+            updatedSinceEmit++;
+            if ((isVisible && nextVisible(snapshot.tokens, pending, priority) < 0)
+                    || updatedSinceEmit >= OFFSCREEN_BATCH_SIZE) {
+                emitter.onNext(snapshot.toArray());
+                updatedSinceEmit = 0;
             }
-            return token;
-        });
+        }
+        if (updatedSinceEmit > 0 && !emitter.isDisposed()) {
+            emitter.onNext(snapshot.toArray());
+        }
     }
 
-    private SingleTransformer<Token[], Token[]> attachEthereum(NetworkInfo network, Wallet wallet) {
-        return upstream -> Single.zip(
-                upstream, attachEth(network, wallet),
-                (tokens, ethToken) -> {
-                    List<Token> result = new ArrayList<>();
-                    result.add(ethToken);
-                    result.addAll(Arrays.asList(tokens));
-                    return result.toArray(new Token[result.size()]);
-                });
+    private static int nextVisible(Token[] tokens, List<Integer> pending, TokenFetchPriority priority) {
+        for (int i = 0; i < pending.size(); i++) {
+            if (priority.isVisible(tokens[pending.get(i)].tokenInfo.address)) {
+                return i;
+            }
+        }
+        return -1;
     }
 
-    private Single<Token[]> fetchCachedEnabledTokens(NetworkInfo network, Wallet wallet) {
+    private Observable<Token[]> fetchCachedEnabledTokens(
+            NetworkInfo network, Wallet wallet, TokenFetchPriority priority) {
         return localSource
                 .fetchEnabledTokens(network, wallet)
-                .flatMapObservable(Observable::fromArray)
-                .compose(updateBalance(network, wallet))
-                .toList()
-                .map(list -> list.toArray(new Token[list.size()]))
-                .compose(attachTicker(network, wallet))
-                .compose(attachEthereum(network, wallet));
+                .subscribeOn(schedulers.disk())
+                .flatMap(tokens -> Single.zip(
+                        attachEth(network, wallet),
+                        getTickers(network, wallet, tokens),
+                        (ethToken, tickers) -> new TokensSnapshot(ethToken, tokens, tickers)))
+                .flatMapObservable(snapshot -> Observable.<Token[]>create(emitter -> {
+                    emitter.onNext(snapshot.toArray());
+                    updateBalances(network, wallet, snapshot, priority, emitter);
+                    emitter.onComplete();
+                })
+                .compose(localSource.keepOpen(network, wallet)) // One storage handle for all balance writes
+                .subscribeOn(schedulers.interactive())); // Blocking balance calls, off the emitting pool
     }
 
     private Single<Token> attachEth(NetworkInfo network, Wallet wallet) {
@@ -255,7 +306,8 @@ public class TokenRepository implements TokenRepositoryType {
                         .map(ticker -> {
                             token.ticker = new TokenTicker("", "", ticker.price, ticker.percentChange24h, null);
                             return token;
-                        }).onErrorResumeNext(throwable -> Single.just(token)));
+                        }).onErrorResumeNext(throwable -> Single.just(token)))
+                .compose(Tracer.single("TokenRepository.attachEth"));
     }
 
     private BigDecimal getBalance(Wallet wallet, TokenInfo tokenInfo) throws Exception {
@@ -282,7 +334,7 @@ public class TokenRepository implements TokenRepositoryType {
         String encodedFunction = FunctionEncoder.encode(function);
         org.web3j.protocol.core.methods.request.Transaction transaction
                 = createEthCallTransaction(wallet.address, contractAddress, encodedFunction);
-        EthCall response = web3j.ethCall(transaction, DefaultBlockParameterName.LATEST).send();
+        EthCall response = getWeb3j().ethCall(transaction, DefaultBlockParameterName.LATEST).send();
 
         return response.getValue();
     }
@@ -303,4 +355,33 @@ public class TokenRepository implements TokenRepositoryType {
         }
         return tokens;
     }
+
+    private static class TokensSnapshot {
+        final Token ethToken;
+        final Token[] tokens;
+        final Map<String, TokenTicker> tickers;
+
+        TokensSnapshot(Token ethToken, Token[] tokens, TokenTicker[] tokenTickers) {
+            this.ethToken = ethToken;
+            this.tokens = tokens;
+            this.tickers = new HashMap<>(tokenTickers.length);
+            for (TokenTicker ticker : tokenTickers) {
+                tickers.put(ticker.contract, ticker);
+            }
+        }
+
+        Token[] toArray() {
+            Token[] result = new Token[tokens.length + 1];
+            result[0] = ethToken;
+            for (int i = 0; i < tokens.length; i++) {
+                Token token = tokens[i];
+                TokenTicker ticker = tickers.get(token.tokenInfo.address);
+                if (ticker != null) {
+                    token.ticker = ticker;
+                }
+                result[i + 1] = token;
+            }
+            return result;
+        }
+    }
 }
@@ -10,6 +10,8 @@ public interface TokenRepositoryType {
 
     Observable<Token[]> fetchActive(String walletAddress);
 
+    Observable<Token[]> fetchActive(String walletAddress, TokenFetchPriority priority);
+
     Observable<Token[]> fetchAll(String walletAddress);
 
     Completable addToken(Wallet wallet, String address, String symbol, int decimals);
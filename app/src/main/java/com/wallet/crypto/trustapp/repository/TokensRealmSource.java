@@ -11,12 +11,14 @@ import com.wallet.crypto.trustapp.entity.Wallet;
 import com.wallet.crypto.trustapp.repository.entity.RealmToken;
 import com.wallet.crypto.trustapp.repository.entity.RealmTokenTicker;
 import com.wallet.crypto.trustapp.service.RealmManager;
+import com.wallet.crypto.trustapp.util.Tracer;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Date;
 
 import io.reactivex.Completable;
+import io.reactivex.ObservableTransformer;
 import io.reactivex.Single;
 import io.realm.Realm;
 import io.realm.RealmResults;
@@ -41,7 +43,13 @@ public class TokensRealmSource implements TokenLocalSource {
             for (Token token : items) {
                 saveToken(networkInfo, wallet, token, now);
             }
-        });
+        })
+        .compose(Tracer.completable("TokensRealmSource.saveTokens"));
+    }
+
+    @Override
+    public boolean hasStorage(NetworkInfo networkInfo, Wallet wallet) {
+        return realmManager.exists(networkInfo, wallet);
     }
 
     @Override
@@ -50,17 +58,18 @@ public class TokensRealmSource implements TokenLocalSource {
             Realm realm = null;
             try {
                 realm = realmManager.getRealmInstance(networkInfo, wallet);
-                RealmResults<RealmToken> realmItems = realm.where(RealmToken.class)
+                RealmResults<RealmToken> realmItems = RealmManager.where(realm, RealmToken.class, networkInfo, wallet)
                         .sort("addedTime", Sort.ASCENDING)
                         .equalTo("isEnabled", true)
                         .findAll();
                 return convert(realmItems, System.currentTimeMillis());
             } finally {
                 if (realm != null) {
-                    realm.close();
+                    realmManager.close(realm);
                 }
             }
-        });
+        })
+        .compose(Tracer.single("TokensRealmSource.fetchEnabledTokens"));
     }
 
     @Override
@@ -69,17 +78,18 @@ public class TokensRealmSource implements TokenLocalSource {
             Realm realm = null;
             try {
                 realm = realmManager.getRealmInstance(networkInfo, wallet);
-                RealmResults<RealmToken> realmItems = realm.where(RealmToken.class)
+                RealmResults<RealmToken> realmItems = RealmManager.where(realm, RealmToken.class, networkInfo, wallet)
                         .sort("addedTime", Sort.ASCENDING)
                         .findAll();
 
                 return convert(realmItems, System.currentTimeMillis());
             } finally {
                 if (realm != null) {
-                    realm.close();
+                    realmManager.close(realm);
                 }
             }
-        });
+        })
+        .compose(Tracer.single("TokensRealmSource.fetchAllTokens"));
     }
 
     @Override
@@ -91,11 +101,14 @@ public class TokensRealmSource implements TokenLocalSource {
                 realm.beginTransaction();
                 long now = System.currentTimeMillis();
                 for (TokenTicker tokenTicker : tokenTickers) {
-                    RealmTokenTicker realmItem = realm.where(RealmTokenTicker.class)
+                    RealmTokenTicker realmItem = RealmManager.where(realm, RealmTokenTicker.class, network, wallet)
                             .equalTo("contract", tokenTicker.contract)
                             .findFirst();
                     if (realmItem == null) {
-                        realmItem = realm.createObject(RealmTokenTicker.class, tokenTicker.contract);
+                        realmItem = realm.createObject(RealmTokenTicker.class,
+                                RealmManager.key(network, wallet, tokenTicker.contract));
+                        realmItem.setScope(RealmManager.scope(network, wallet));
+                        realmItem.setContract(tokenTicker.contract);
                         realmItem.setCreatedTime(now);
                     }
                     realmItem.setId(tokenTicker.id);
@@ -113,10 +126,11 @@ public class TokensRealmSource implements TokenLocalSource {
                 }
             } finally {
                 if (realm != null) {
-                    realm.close();
+                    realmManager.close(realm);
                 }
             }
-        });
+        })
+        .compose(Tracer.completable("TokensRealmSource.saveTickers"));
     }
 
     @Override
@@ -128,7 +142,7 @@ public class TokensRealmSource implements TokenLocalSource {
                 realm = realmManager.getRealmInstance(network, wallet);
                 realm.beginTransaction();
                 long minCreatedTime = System.currentTimeMillis() - ACTUAL_TOKEN_TICKER_INTERVAL;
-                RealmResults<RealmTokenTicker> rawItems = realm.where(RealmTokenTicker.class)
+                RealmResults<RealmTokenTicker> rawItems = RealmManager.where(realm, RealmTokenTicker.class, network, wallet)
                         .greaterThan("updatedTime", minCreatedTime)
                         .findAll();
                 int len = rawItems.size();
@@ -146,13 +160,14 @@ public class TokensRealmSource implements TokenLocalSource {
                 realm.commitTransaction();
             } finally {
                 if (realm != null) {
-                    realm.close();
+                    realmManager.close(realm);
                 }
             }
             return tokenTickers.size() == 0
                     ? null
                     : tokenTickers.toArray(new TokenTicker[tokenTickers.size()]);
-        });
+        })
+        .compose(Tracer.single("TokensRealmSource.fetchTickers"));
     }
 
     @Override
@@ -160,7 +175,7 @@ public class TokensRealmSource implements TokenLocalSource {
         Realm realm = null;
         try {
             realm = realmManager.getRealmInstance(network, wallet);
-            RealmToken realmToken = realm.where(RealmToken.class)
+            RealmToken realmToken = RealmManager.where(realm, RealmToken.class, network, wallet)
                     .equalTo("address", token.tokenInfo.address)
                     .findFirst();
             realm.beginTransaction();
@@ -174,7 +189,7 @@ public class TokensRealmSource implements TokenLocalSource {
             }
         } finally {
             if (realm != null) {
-                realm.close();
+                realmManager.close(realm);
             }
         }
     }
@@ -185,7 +200,7 @@ public class TokensRealmSource implements TokenLocalSource {
         Realm realm = null;
         try {
             realm = realmManager.getRealmInstance(network, wallet);
-            RealmToken realmToken = realm.where(RealmToken.class)
+            RealmToken realmToken = RealmManager.where(realm, RealmToken.class, network, wallet)
                     .equalTo("address", token.tokenInfo.address)
                     .findFirst();
             realm.beginTransaction();
@@ -199,21 +214,29 @@ public class TokensRealmSource implements TokenLocalSource {
             }
         } finally {
             if (realm != null) {
-                realm.close();
+                realmManager.close(realm);
             }
         }
     }
 
+    @Override
+    public <T> ObservableTransformer<T, T> keepOpen(NetworkInfo network, Wallet wallet) {
+        return realmManager.keepOpen(network, wallet);
+    }
+
     private void saveToken(NetworkInfo networkInfo, Wallet wallet, Token token, Date currentTime) {
         Realm realm = null;
         try {
             realm = realmManager.getRealmInstance(networkInfo, wallet);
-            RealmToken realmToken = realm.where(RealmToken.class)
+            RealmToken realmToken = RealmManager.where(realm, RealmToken.class, networkInfo, wallet)
                     .equalTo("address", token.tokenInfo.address)
                     .findFirst();
             realm.beginTransaction();
             if (realmToken == null) {
-                realmToken = realm.createObject(RealmToken.class, token.tokenInfo.address);
+                realmToken = realm.createObject(RealmToken.class,
+                        RealmManager.key(networkInfo, wallet, token.tokenInfo.address));
+                realmToken.setScope(RealmManager.scope(networkInfo, wallet));
+                realmToken.setAddress(token.tokenInfo.address);
                 realmToken.setName(token.tokenInfo.name);
                 realmToken.setSymbol(token.tokenInfo.symbol);
                 realmToken.setDecimals(token.tokenInfo.decimals);
@@ -228,7 +251,7 @@ public class TokensRealmSource implements TokenLocalSource {
             }
         } finally {
             if (realm != null) {
-                realm.close();
+                realmManager.close(realm);
             }
         }
     }
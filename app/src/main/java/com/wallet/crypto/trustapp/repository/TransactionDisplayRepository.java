@@ -0,0 +1,185 @@
+package com.wallet.crypto.trustapp.repository;
+
+import android.text.TextUtils;
+import android.util.LruCache;
+
+import com.wallet.crypto.trustapp.entity.NetworkInfo;
+import com.wallet.crypto.trustapp.entity.TransactionDisplay;
+import com.wallet.crypto.trustapp.entity.TransactionRow;
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.repository.entity.RealmTransactionDisplay;
+import com.wallet.crypto.trustapp.service.RealmManager;
+import com.wallet.crypto.trustapp.util.BalanceUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.reactivex.Single;
+import io.realm.Realm;
+import io.realm.RealmResults;
+
+/**
+ * Formats transactions into display rows once per (hash, wallet, network). Rows are kept
+ * in a bounded memory cache and stored next to the transactions in the wallet Realm.
+ */
+public class TransactionDisplayRepository implements TransactionDisplayRepositoryType {
+
+    private static final int MEMORY_CACHE_SIZE = 1000;
+    private static final int VALUE_SCALE = 4;
+
+    private final RealmManager realmManager;
+    private final LruCache<String, TransactionDisplay> memoryCache = new LruCache<>(MEMORY_CACHE_SIZE);
+
+    public TransactionDisplayRepository(RealmManager realmManager) {
+        this.realmManager = realmManager;
+    }
+
+    @Override
+    public Single<TransactionDisplay[]> format(NetworkInfo network, Wallet wallet, TransactionRow[] transactions) {
+        return Single.fromCallable(() -> {
+            TransactionDisplay[] result = new TransactionDisplay[transactions.length];
+            List<Integer> misses = new ArrayList<>();
+            for (int i = 0; i < transactions.length; i++) {
+                TransactionDisplay display = memoryCache.get(createKey(network, wallet, transactions[i]));
+                if (display != null) {
+                    result[i] = display;
+                } else {
+                    misses.add(i);
+                }
+            }
+            if (!misses.isEmpty()) {
+                loadOrFormat(network, wallet, transactions, misses, result);
+            }
+            return result;
+        });
+    }
+
+    private void loadOrFormat(
+            NetworkInfo network, Wallet wallet, TransactionRow[] transactions,
+            List<Integer> misses, TransactionDisplay[] result) {
+        String[] hashes = new String[misses.size()];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = transactions[misses.get(i)].hash;
+        }
+        Realm realm = null;
+        try {
+            realm = realmManager.getRealmInstance(network, wallet);
+            RealmResults<RealmTransactionDisplay> rawItems = RealmManager.where(realm, RealmTransactionDisplay.class, network, wallet)
+                    .in("hash", hashes)
+                    .findAll();
+            Map<String, RealmTransactionDisplay> stored = new HashMap<>(rawItems.size());
+            for (RealmTransactionDisplay rawItem : rawItems) {
+                stored.put(rawItem.getHash(), rawItem);
+            }
+            List<RealmTransactionDisplay> formatted = new ArrayList<>();
+            for (int index : misses) {
+                TransactionRow transaction = transactions[index];
+                int source = sourceOf(transaction);
+                RealmTransactionDisplay rawItem = stored.get(transaction.hash);
+                TransactionDisplay display;
+                if (rawItem != null && rawItem.getSource() == source) {
+                    display = convert(rawItem);
+                } else {
+                    display = format(network, wallet, transaction);
+                    formatted.add(convert(network, wallet, display, source));
+                }
+                memoryCache.put(createKey(network, wallet, transaction), display);
+                result[index] = display;
+            }
+            if (!formatted.isEmpty()) {
+                save(realm, formatted);
+            }
+        } finally {
+            if (realm != null) {
+                realmManager.close(realm);
+            }
+        }
+    }
+
+    private void save(Realm realm, List<RealmTransactionDisplay> items) {
+        try {
+            realm.beginTransaction();
+            realm.insertOrUpdate(items);
+            realm.commitTransaction();
+        } catch (Exception ex) {
+            // Rows are formatted again next time.
+            if (realm.isInTransaction()) {
+                realm.cancelTransaction();
+            }
+        }
+    }
+
+    /**
+     * Fingerprint of every transaction field a display row is formatted from, a stored row is
+     * reused only while it matches. The network and wallet are part of the keys already.
+     */
+    private static int sourceOf(TransactionRow transaction) {
+        return Arrays.hashCode(new Object[] {
+                transaction.timeStamp,
+                TextUtils.isEmpty(transaction.error),
+                transaction.from,
+                transaction.to,
+                transaction.value,
+                transaction.symbol,
+                transaction.decimals
+        });
+    }
+
+    /**
+     * A transaction which changed gets a new key, its outdated row drops out of the cache.
+     */
+    private static String createKey(NetworkInfo network, Wallet wallet, TransactionRow transaction) {
+        return network.name + "-" + wallet.address + "-" + transaction.hash + "-" + sourceOf(transaction);
+    }
+
+    private static TransactionDisplay format(NetworkInfo network, Wallet wallet, TransactionRow transaction) {
+        // Token transfers are shown with the token symbol, ether transactions with the network one
+        String symbol = transaction.symbol == null ? network.symbol : transaction.symbol;
+        boolean isSent = transaction.from != null && transaction.from.equalsIgnoreCase(wallet.address);
+        String amount = "0".equals(transaction.value)
+                ? "0 " + symbol
+                : (isSent ? "-" : "+") + getScaledValue(transaction.value, transaction.decimals) + " " + symbol;
+        return new TransactionDisplay(
+                transaction.hash,
+                transaction.timeStamp,
+                isSent,
+                !TextUtils.isEmpty(transaction.error),
+                isSent ? transaction.to : transaction.from,
+                amount);
+    }
+
+    private static String getScaledValue(String valueStr, int decimals) {
+        BigDecimal value = new BigDecimal(valueStr).divide(BalanceUtils.decimalDivisor(decimals));
+        return value.setScale(VALUE_SCALE, RoundingMode.HALF_UP).stripTrailingZeros().toPlainString();
+    }
+
+    private static TransactionDisplay convert(RealmTransactionDisplay rawItem) {
+        return new TransactionDisplay(
+                rawItem.getHash(),
+                rawItem.getTimeStamp(),
+                rawItem.isSent(),
+                rawItem.isError(),
+                rawItem.getCounterparty(),
+                rawItem.getValue());
+    }
+
+    private static RealmTransactionDisplay convert(
+            NetworkInfo network, Wallet wallet, TransactionDisplay display, int source) {
+        RealmTransactionDisplay rawItem = new RealmTransactionDisplay();
+        rawItem.setKey(RealmManager.key(network, wallet, display.hash));
+        rawItem.setScope(RealmManager.scope(network, wallet));
+        rawItem.setHash(display.hash);
+        rawItem.setTimeStamp(display.timeStamp);
+        rawItem.setSent(display.isSent);
+        rawItem.setError(display.isError);
+        rawItem.setCounterparty(display.counterparty);
+        rawItem.setValue(display.value);
+        rawItem.setSource(source);
+        return rawItem;
+    }
+}
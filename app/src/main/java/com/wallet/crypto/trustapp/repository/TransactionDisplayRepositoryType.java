@@ -0,0 +1,13 @@
+package com.wallet.crypto.trustapp.repository;
+
+import com.wallet.crypto.trustapp.entity.NetworkInfo;
+import com.wallet.crypto.trustapp.entity.TransactionDisplay;
+import com.wallet.crypto.trustapp.entity.TransactionRow;
+import com.wallet.crypto.trustapp.entity.Wallet;
+
+import io.reactivex.Single;
+
+public interface TransactionDisplayRepositoryType {
+
+    Single<TransactionDisplay[]> format(NetworkInfo network, Wallet wallet, TransactionRow[] transactions);
+}
@@ -0,0 +1,18 @@
+package com.wallet.crypto.trustapp.repository;
+
+import com.wallet.crypto.trustapp.entity.ExportProgress;
+import com.wallet.crypto.trustapp.entity.NetworkInfo;
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.service.TransactionExporter;
+
+import java.io.File;
+
+import io.reactivex.Flowable;
+
+public interface TransactionExportSource {
+    /**
+     * Streams the cached history of the wallet into the file. Cancelling the subscription
+     * stops the export and removes the partially written file.
+     */
+    Flowable<ExportProgress> export(NetworkInfo networkInfo, Wallet wallet, TransactionExporter.Format format, File file);
+}
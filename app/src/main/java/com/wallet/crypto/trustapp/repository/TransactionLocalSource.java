@@ -2,15 +2,27 @@ package com.wallet.crypto.trustapp.repository;
 
 import com.wallet.crypto.trustapp.entity.NetworkInfo;
 import com.wallet.crypto.trustapp.entity.Transaction;
+import com.wallet.crypto.trustapp.entity.TransactionRow;
 import com.wallet.crypto.trustapp.entity.Wallet;
 
 import io.reactivex.Completable;
+import io.reactivex.Maybe;
 import io.reactivex.Single;
 
 public interface TransactionLocalSource {
 	Single<Transaction[]> fetchTransaction(NetworkInfo networkInfo, Wallet wallet);
 
+	/**
+	 * @return list rows of up to {@code limit} transactions starting at {@code offset}, newest first.
+	 */
+	Single<TransactionRow[]> fetchRows(NetworkInfo networkInfo, Wallet wallet, int offset, int limit);
+
 	Completable putTransactions(NetworkInfo networkInfo, Wallet wallet, Transaction[] transactions);
 
     Single<Transaction> findLast(NetworkInfo networkInfo, Wallet wallet);
+
+	/**
+	 * @return the transaction with all operations and input data.
+	 */
+	Maybe<Transaction> findTransaction(NetworkInfo networkInfo, Wallet wallet, String hash);
 }
@@ -0,0 +1,569 @@
+package com.wallet.crypto.trustapp.repository;
+
+import com.wallet.crypto.trustapp.entity.Transaction;
+import com.wallet.crypto.trustapp.entity.TransactionContract;
+import com.wallet.crypto.trustapp.entity.TransactionOperation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transactions of one wallet in a file which is only ever appended to. Record layout:
+ * <pre>
+ * int length | long timeStamp | fields...
+ * </pre>
+ * Strings are stored with a varint length prefix, lower case hex strings ("0x...") as raw bytes.
+ * <p>
+ * A record supersedes the earlier records with the same hash, so a pending transaction which
+ * got mined or failed is written again instead of edited in place, and an older page of the
+ * history can arrive after the newer ones. The time order is kept in memory by two sorted
+ * key arrays over the live records, {@code timeStamp << 24 | record} and
+ * {@code fingerprint(hash) << 24 | record}, where {@code record} is the number of the record
+ * in the file. Both are rebuilt on open with one pass over the file and two sorts.
+ * <p>
+ * The file is mapped in regions of {@link #REGION_SIZE}, an append maps again only the last,
+ * partly filled one. Records are decoded only when read.
+ * Not thread safe, callers synchronize on the instance.
+ */
+class TransactionLog implements Closeable {
+
+    private static final int MAGIC = 0x54584c31; // TXL1
+    private static final int HEADER_SIZE = 8;
+    private static final long REGION_SIZE = 16 * 1024 * 1024;
+    private static final int RECORD_BITS = 24;
+    private static final int MAX_RECORDS = 1 << RECORD_BITS;
+    private static final long RECORD_MASK = MAX_RECORDS - 1;
+    // Keys stay positive: 39 bits of time stamp or fingerprint above the record number.
+    private static final long MAX_KEY = (1L << (63 - RECORD_BITS)) - 1;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final List<MappedByteBuffer> regions = new ArrayList<>();
+
+    private long[] recordOffsets = new long[64];
+    private int records;
+    private long[] timeKeys = new long[0];
+    private long[] hashKeys = new long[0];
+    private long end;
+
+    TransactionLog(File path) throws IOException {
+        file = new RandomAccessFile(path, "rw");
+        channel = file.getChannel();
+        if (channel.size() < HEADER_SIZE) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(0).flip();
+            channel.truncate(0);
+            channel.write(header, 0);
+        }
+        mapTo(channel.size());
+        if (slice(0, 4).getInt() != MAGIC) {
+            close();
+            throw new IOException("Not a transaction log: " + path);
+        }
+        buildIndex();
+    }
+
+    int size() {
+        return timeKeys.length;
+    }
+
+    /**
+     * Writes the transactions which are new or differ from the stored record with the same hash,
+     * in any time order. When the same hash is given twice the later transaction wins.
+     * @return number of written records.
+     */
+    int append(Transaction[] transactions) throws IOException {
+        Map<String, Transaction> latest = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            latest.put(transaction.hash, transaction);
+        }
+        RecordWriter writer = new RecordWriter();
+        List<Transaction> written = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        List<Integer> superseded = new ArrayList<>();
+        for (Transaction transaction : latest.values()) {
+            int existing = findRecord(transaction.hash);
+            byte[] record = writer.encode(transaction);
+            if (existing >= 0 && isStored(existing, record)) {
+                continue;
+            }
+            if (existing >= 0) {
+                superseded.add(existing);
+            }
+            writer.append(record);
+            written.add(transaction);
+            lengths.add(record.length);
+        }
+        if (written.isEmpty()) {
+            return 0;
+        }
+        if (records + written.size() > MAX_RECORDS) {
+            throw new IOException("Transaction log is full, " + records + " records");
+        }
+        byte[] data = writer.toByteArray();
+        channel.write(ByteBuffer.wrap(data), end);
+        channel.force(false);
+
+        long[] newTimeKeys = new long[written.size()];
+        long[] newHashKeys = new long[written.size()];
+        long offset = end;
+        for (int i = 0; i < newTimeKeys.length; i++) {
+            Transaction transaction = written.get(i);
+            int record = addRecord(offset);
+            newTimeKeys[i] = timeKey(transaction.timeStamp) | record;
+            newHashKeys[i] = hashKey(transaction.hash) | record;
+            offset += lengths.get(i);
+        }
+        end += data.length;
+        mapTo(end);
+        Arrays.sort(newTimeKeys);
+        Arrays.sort(newHashKeys);
+        int[] removed = new int[superseded.size()];
+        for (int i = 0; i < removed.length; i++) {
+            removed[i] = superseded.get(i);
+        }
+        Arrays.sort(removed);
+        timeKeys = merge(timeKeys, newTimeKeys, removed);
+        hashKeys = merge(hashKeys, newHashKeys, removed);
+        return written.size();
+    }
+
+    /**
+     * @return transaction at the position in time order, oldest first.
+     */
+    Transaction get(int position) {
+        return getRecord(record(timeKeys[position]));
+    }
+
+    /**
+     * @return records {@code [from, to)} in time order.
+     */
+    Transaction[] read(int from, int to) {
+        Transaction[] result = new Transaction[Math.max(to - from, 0)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = get(from + i);
+        }
+        return result;
+    }
+
+    /**
+     * @return the live transaction with the hash or null.
+     */
+    Transaction find(String hash) {
+        int record = findRecord(hash);
+        return record < 0 ? null : getRecord(record);
+    }
+
+    /**
+     * @return record numbers of the live transactions in time order. Records are never
+     * rewritten, so they can be read with {@link #getRecord(int)} after later appends.
+     */
+    int[] snapshot() {
+        int[] result = new int[timeKeys.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = record(timeKeys[i]);
+        }
+        return result;
+    }
+
+    Transaction getRecord(int record) {
+        long offset = recordOffsets[record];
+        return decode(slice(offset + 4, slice(offset, 4).getInt()));
+    }
+
+    @Override
+    public void close() throws IOException {
+        regions.clear();
+        channel.close();
+        file.close();
+    }
+
+    private int findRecord(String hash) {
+        long fingerprint = hashKey(hash);
+        for (int i = lowerBound(hashKeys, fingerprint);
+             i < hashKeys.length && (hashKeys[i] & ~RECORD_MASK) == fingerprint; i++) {
+            int record = record(hashKeys[i]);
+            if (equal(hash, hashOf(record))) {
+                return record;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isStored(int record, byte[] data) {
+        long offset = recordOffsets[record];
+        return 4 + slice(offset, 4).getInt() == data.length
+                && slice(offset, data.length).equals(ByteBuffer.wrap(data));
+    }
+
+    private String hashOf(int record) {
+        long offset = recordOffsets[record];
+        ByteBuffer in = slice(offset + 4, slice(offset, 4).getInt());
+        in.getLong();
+        return readString(in);
+    }
+
+    /**
+     * Maps the file up to {@code size}. Full regions stay mapped, the last one is mapped
+     * again when the file has grown past it.
+     */
+    private void mapTo(long size) throws IOException {
+        int last = regions.size() - 1;
+        if (last >= 0 && regions.get(last).capacity() < REGION_SIZE) {
+            regions.remove(last);
+        }
+        for (long start = regions.size() * REGION_SIZE; start < size; start += REGION_SIZE) {
+            regions.add(channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(REGION_SIZE, size - start)));
+        }
+    }
+
+    /**
+     * @return the bytes {@code [offset, offset + length)}, copied only when they cross two regions.
+     */
+    private ByteBuffer slice(long offset, int length) {
+        int region = (int) (offset / REGION_SIZE);
+        int start = (int) (offset % REGION_SIZE);
+        ByteBuffer mapped = regions.get(region).duplicate();
+        if (start + length <= mapped.capacity()) {
+            mapped.limit(start + length);
+            mapped.position(start);
+            return mapped;
+        }
+        ByteBuffer copy = ByteBuffer.allocate(length);
+        while (copy.hasRemaining()) {
+            ByteBuffer part = regions.get(region++).duplicate();
+            part.limit(Math.min(part.capacity(), start + copy.remaining()));
+            part.position(start);
+            copy.put(part);
+            start = 0;
+        }
+        copy.flip();
+        return copy;
+    }
+
+    private void buildIndex() throws IOException {
+        long size = channel.size();
+        long offset = HEADER_SIZE;
+        long[] allTimeKeys = new long[64];
+        long[] allHashKeys = new long[64];
+        while (offset + 4 + 8 <= size) {
+            int length = slice(offset, 4).getInt();
+            if (length < 8 || offset + 4 + length > size) {
+                break;
+            }
+            if (records == MAX_RECORDS) {
+                throw new IOException("Transaction log is too big, " + size + " bytes");
+            }
+            ByteBuffer in = slice(offset + 4, length);
+            long timeStamp = in.getLong();
+            String hash = readString(in);
+            int record = addRecord(offset);
+            if (record == allTimeKeys.length) {
+                allTimeKeys = Arrays.copyOf(allTimeKeys, record * 2);
+                allHashKeys = Arrays.copyOf(allHashKeys, record * 2);
+            }
+            allTimeKeys[record] = timeKey(timeStamp) | record;
+            allHashKeys[record] = hashKey(hash) | record;
+            offset += 4 + length;
+        }
+        end = offset;
+        if (end < size) {
+            // Tail of an interrupted append.
+            channel.truncate(end);
+            regions.clear();
+            mapTo(end);
+        }
+
+        // Later records with the same hash supersede the earlier ones.
+        allHashKeys = Arrays.copyOf(allHashKeys, records);
+        Arrays.sort(allHashKeys);
+        boolean[] isSuperseded = new boolean[records];
+        int live = records;
+        for (int first = 0, last; first < records; first = last) {
+            long fingerprint = allHashKeys[first] & ~RECORD_MASK;
+            last = first + 1;
+            while (last < records && (allHashKeys[last] & ~RECORD_MASK) == fingerprint) {
+                last++;
+            }
+            // Record numbers ascend within the run, compare each one with the later ones.
+            for (int i = first; i < last - 1; i++) {
+                int record = record(allHashKeys[i]);
+                String hash = hashOf(record);
+                for (int j = i + 1; j < last; j++) {
+                    if (equal(hash, hashOf(record(allHashKeys[j])))) {
+                        isSuperseded[record] = true;
+                        live--;
+                        break;
+                    }
+                }
+            }
+        }
+        timeKeys = new long[live];
+        hashKeys = new long[live];
+        for (int i = 0, t = 0, h = 0; i < records; i++) {
+            if (!isSuperseded[record(allTimeKeys[i])]) {
+                timeKeys[t++] = allTimeKeys[i];
+            }
+            if (!isSuperseded[record(allHashKeys[i])]) {
+                hashKeys[h++] = allHashKeys[i];
+            }
+        }
+        Arrays.sort(timeKeys);
+    }
+
+    private int addRecord(long offset) {
+        if (records == recordOffsets.length) {
+            recordOffsets = Arrays.copyOf(recordOffsets, records * 2);
+        }
+        recordOffsets[records] = offset;
+        return records++;
+    }
+
+    /**
+     * @return sorted keys of both arrays without the keys of the {@code removed} records.
+     */
+    private static long[] merge(long[] keys, long[] added, int[] removed) {
+        long[] result = new long[keys.length + added.length - removed.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < keys.length || j < added.length) {
+            if (j == added.length || (i < keys.length && keys[i] < added[j])) {
+                long key = keys[i++];
+                if (Arrays.binarySearch(removed, record(key)) < 0) {
+                    result[k++] = key;
+                }
+            } else {
+                result[k++] = added[j++];
+            }
+        }
+        return result;
+    }
+
+    private static int lowerBound(long[] keys, long key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int record(long key) {
+        return (int) (key & RECORD_MASK);
+    }
+
+    private static long timeKey(long timeStamp) {
+        return Math.max(0, Math.min(timeStamp, MAX_KEY)) << RECORD_BITS;
+    }
+
+    /**
+     * FNV-1a of the hash, cut to the key bits. Equal fingerprints are told apart by reading the hash.
+     */
+    private static long hashKey(String hash) {
+        long fingerprint = 0xcbf29ce484222325L;
+        if (hash != null) {
+            for (int i = 0; i < hash.length(); i++) {
+                fingerprint ^= hash.charAt(i);
+                fingerprint *= 0x100000001b3L;
+            }
+        }
+        return (fingerprint & MAX_KEY) << RECORD_BITS;
+    }
+
+    private static boolean equal(String left, String right) {
+        return left == null ? right == null : left.equals(right);
+    }
+
+    private static Transaction decode(ByteBuffer record) {
+        long timeStamp = record.getLong();
+        String hash = readString(record);
+        String error = readString(record);
+        String blockNumber = readString(record);
+        int nonce = (int) readVarLong(record);
+        String from = readString(record);
+        String to = readString(record);
+        String value = readString(record);
+        String gas = readString(record);
+        String gasPrice = readString(record);
+        String input = readString(record);
+        String gasUsed = readString(record);
+        TransactionOperation[] operations = new TransactionOperation[(int) readVarLong(record)];
+        for (int i = 0; i < operations.length; i++) {
+            TransactionOperation operation = new TransactionOperation();
+            operation.transactionId = readString(record);
+            operation.viewType = readString(record);
+            operation.from = readString(record);
+            operation.to = readString(record);
+            operation.value = readString(record);
+            if (record.get() != 0) {
+                operation.contract = new TransactionContract();
+                operation.contract.address = readString(record);
+                operation.contract.name = readString(record);
+                operation.contract.totalSupply = readString(record);
+                operation.contract.decimals = (int) readVarLong(record);
+                operation.contract.symbol = readString(record);
+            }
+            operations[i] = operation;
+        }
+        return new Transaction(hash, error, blockNumber, timeStamp, nonce,
+                from, to, value, gas, gasPrice, input, gasUsed, operations);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7f) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static String readString(ByteBuffer in) {
+        long header = readVarLong(in);
+        if (header == 0) {
+            return null;
+        }
+        int length = (int) ((header - 1) >>> 1);
+        if (((header - 1) & 1) == 0) {
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            return new String(bytes, UTF_8);
+        }
+        char[] chars = new char[2 + length * 2];
+        chars[0] = '0';
+        chars[1] = 'x';
+        for (int i = 0; i < length; i++) {
+            int b = in.get() & 0xff;
+            chars[2 + i * 2] = HEX[b >>> 4];
+            chars[3 + i * 2] = HEX[b & 0x0f];
+        }
+        return new String(chars);
+    }
+
+    private static final class RecordWriter {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        private final ByteArrayOutputStream record = new ByteArrayOutputStream(512);
+
+        /**
+         * @return the record with its length prefix.
+         */
+        byte[] encode(Transaction transaction) {
+            record.reset();
+            writeLong(transaction.timeStamp);
+            writeString(transaction.hash);
+            writeString(transaction.error);
+            writeString(transaction.blockNumber);
+            writeVarLong(transaction.nonce & 0xffffffffL);
+            writeString(transaction.from);
+            writeString(transaction.to);
+            writeString(transaction.value);
+            writeString(transaction.gas);
+            writeString(transaction.gasPrice);
+            writeString(transaction.input);
+            writeString(transaction.gasUsed);
+            TransactionOperation[] operations = transaction.operations == null
+                    ? new TransactionOperation[0] : transaction.operations;
+            writeVarLong(operations.length);
+            for (TransactionOperation operation : operations) {
+                operation = operation == null ? new TransactionOperation() : operation;
+                writeString(operation.transactionId);
+                writeString(operation.viewType);
+                writeString(operation.from);
+                writeString(operation.to);
+                writeString(operation.value);
+                record.write(operation.contract == null ? 0 : 1);
+                if (operation.contract != null) {
+                    writeString(operation.contract.address);
+                    writeString(operation.contract.name);
+                    writeString(operation.contract.totalSupply);
+                    writeVarLong(operation.contract.decimals & 0xffffffffL);
+                    writeString(operation.contract.symbol);
+                }
+            }
+            int length = record.size();
+            byte[] result = new byte[4 + length];
+            result[0] = (byte) (length >>> 24);
+            result[1] = (byte) (length >>> 16);
+            result[2] = (byte) (length >>> 8);
+            result[3] = (byte) length;
+            System.arraycopy(record.toByteArray(), 0, result, 4, length);
+            return result;
+        }
+
+        void append(byte[] data) {
+            out.write(data, 0, data.length);
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+
+        private void writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                record.write((int) (value >>> shift));
+            }
+        }
+
+        private void writeVarLong(long value) {
+            while ((value & ~0x7fL) != 0) {
+                record.write((int) ((value & 0x7f) | 0x80));
+                value >>>= 7;
+            }
+            record.write((int) value);
+        }
+
+        private void writeString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+            } else if (isLowerHex(value)) {
+                int length = (value.length() - 2) / 2;
+                writeVarLong(((long) length << 1 | 1) + 1);
+                for (int i = 2; i < value.length(); i += 2) {
+                    record.write(Character.digit(value.charAt(i), 16) << 4
+                            | Character.digit(value.charAt(i + 1), 16));
+                }
+            } else {
+                byte[] bytes = value.getBytes(UTF_8);
+                writeVarLong(((long) bytes.length << 1) + 1);
+                record.write(bytes, 0, bytes.length);
+            }
+        }
+
+        private static boolean isLowerHex(String value) {
+            int length = value.length();
+            if (length < 4 || length % 2 != 0 || value.charAt(0) != '0' || value.charAt(1) != 'x') {
+                return false;
+            }
+            for (int i = 2; i < length; i++) {
+                char c = value.charAt(i);
+                if (!(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'f')) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
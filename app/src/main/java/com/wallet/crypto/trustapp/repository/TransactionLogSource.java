@@ -0,0 +1,251 @@
+package com.wallet.crypto.trustapp.repository;
+
+import android.text.TextUtils;
+
+import com.wallet.crypto.trustapp.entity.ExportProgress;
+import com.wallet.crypto.trustapp.entity.NetworkInfo;
+import com.wallet.crypto.trustapp.entity.Transaction;
+import com.wallet.crypto.trustapp.entity.TransactionFilter;
+import com.wallet.crypto.trustapp.entity.TransactionRow;
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
+import com.wallet.crypto.trustapp.service.TransactionExporter;
+import com.wallet.crypto.trustapp.util.BalanceUtils;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+
+/**
+ * Keeps the transaction history of every wallet and network in its own {@link TransactionLog}
+ * file. Logs are opened on first use and kept open for the life of the process.
+ * The log has no secondary index, a search scans it from the newest record.
+ */
+public class TransactionLogSource
+        implements TransactionLocalSource, TransactionSearchSource, TransactionExportSource {
+
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
+    private final File directory;
+    private final Map<String, TransactionLog> logs = new HashMap<>();
+    private final AppSchedulers schedulers;
+
+    public TransactionLogSource(File directory, AppSchedulers schedulers) {
+        this.directory = directory;
+        this.schedulers = schedulers;
+    }
+
+    @Override
+    public Single<Transaction[]> fetchTransaction(NetworkInfo networkInfo, Wallet wallet) {
+        return Single.fromCallable(() -> {
+            TransactionLog log = getLog(networkInfo, wallet);
+            synchronized (log) {
+                return reverse(log.read(0, log.size()));
+            }
+        });
+    }
+
+    @Override
+    public Single<TransactionRow[]> fetchRows(NetworkInfo networkInfo, Wallet wallet, int offset, int limit) {
+        return Single.fromCallable(() -> {
+            TransactionLog log = getLog(networkInfo, wallet);
+            Transaction[] page;
+            synchronized (log) {
+                // The log is ordered oldest first, the page is counted from its tail.
+                int to = Math.max(log.size() - Math.max(offset, 0), 0);
+                int from = Math.max(to - limit, 0);
+                page = log.read(from, to);
+            }
+            return TransactionRow.of(reverse(page));
+        });
+    }
+
+    @Override
+    public Completable putTransactions(NetworkInfo networkInfo, Wallet wallet, Transaction[] transactions) {
+        return Completable.fromAction(() -> {
+            TransactionLog log = getLog(networkInfo, wallet);
+            synchronized (log) {
+                log.append(transactions);
+            }
+        })
+        .subscribeOn(schedulers.disk());
+    }
+
+    @Override
+    public Single<Transaction> findLast(NetworkInfo networkInfo, Wallet wallet) {
+        return Single.fromCallable(() -> {
+            TransactionLog log = getLog(networkInfo, wallet);
+            synchronized (log) {
+                if (log.size() == 0) {
+                    throw new NoSuchElementException();
+                }
+                return log.get(log.size() - 1);
+            }
+        });
+    }
+
+    @Override
+    public Maybe<Transaction> findTransaction(NetworkInfo networkInfo, Wallet wallet, String hash) {
+        return Maybe.fromCallable(() -> {
+            TransactionLog log = getLog(networkInfo, wallet);
+            synchronized (log) {
+                return log.find(hash);
+            }
+        });
+    }
+
+    @Override
+    public Single<TransactionRow[]> search(
+            NetworkInfo networkInfo, Wallet wallet, TransactionFilter filter, int offset, int limit) {
+        return Single.fromCallable(() -> {
+            TransactionLog log = getLog(networkInfo, wallet);
+            List<TransactionRow> found = new ArrayList<>(Math.max(limit, 0));
+            int skipped = 0;
+            synchronized (log) {
+                for (int i = log.size() - 1; i >= 0 && found.size() < limit; i--) {
+                    TransactionRow row = TransactionRow.of(log.get(i));
+                    if (!matches(networkInfo, wallet, filter, row)) {
+                        continue;
+                    }
+                    if (skipped < offset) {
+                        skipped++;
+                    } else {
+                        found.add(row);
+                    }
+                }
+            }
+            return found.toArray(new TransactionRow[found.size()]);
+        });
+    }
+
+    @Override
+    public Flowable<ExportProgress> export(
+            NetworkInfo networkInfo, Wallet wallet, TransactionExporter.Format format, File file) {
+        return Flowable.create(emitter -> {
+            boolean isCompleted = false;
+            int exported = 0;
+            try (Writer out = new BufferedWriter(
+                    new OutputStreamWriter(new FileOutputStream(file), "UTF-8"), EXPORT_BUFFER_SIZE)) {
+                TransactionLog log = getLog(networkInfo, wallet);
+                int[] records;
+                synchronized (log) {
+                    records = log.snapshot();
+                }
+                // Records are never rewritten, later appends don't change the ones taken here.
+                TransactionExporter.Cursor cursor = new TransactionExporter.Cursor() {
+                    @Override
+                    public int getCount() {
+                        return records.length;
+                    }
+
+                    @Override
+                    public Transaction get(int position) {
+                        synchronized (log) {
+                            return log.getRecord(records[records.length - 1 - position]);
+                        }
+                    }
+                };
+                isCompleted = new TransactionExporter(format).export(cursor, out, (written, total) -> {
+                    if (emitter.isCancelled()) {
+                        return false;
+                    }
+                    emitter.onNext(new ExportProgress(file, written, total, false));
+                    return true;
+                });
+                exported = records.length;
+            } catch (Exception ex) {
+                emitter.tryOnError(ex);
+            } finally {
+                if (!isCompleted) {
+                    file.delete();
+                }
+            }
+            if (isCompleted) {
+                emitter.onNext(new ExportProgress(file, exported, exported, true));
+                emitter.onComplete();
+            }
+        }, BackpressureStrategy.LATEST);
+    }
+
+    private synchronized TransactionLog getLog(NetworkInfo networkInfo, Wallet wallet) throws IOException {
+        String name = wallet.address.toLowerCase() + "-" + networkInfo.name + ".txlog";
+        TransactionLog log = logs.get(name);
+        if (log == null) {
+            if (!directory.exists() && !directory.mkdirs()) {
+                throw new IOException("Can't create " + directory);
+            }
+            log = new TransactionLog(new File(directory, name));
+            logs.put(name, log);
+        }
+        return log;
+    }
+
+    /**
+     * Same rules as the Realm search index: prefixes and the counterparty are compared in lower case,
+     * transfers without a contract are ether transfers.
+     */
+    private static boolean matches(
+            NetworkInfo networkInfo, Wallet wallet, TransactionFilter filter, TransactionRow row) {
+        if (filter.contract != null
+                && !filter.contract.equalsIgnoreCase(row.contract == null ? "" : row.contract)) {
+            return false;
+        }
+        if (!TextUtils.isEmpty(filter.counterparty)) {
+            String counterparty = row.from != null && row.from.equalsIgnoreCase(wallet.address) ? row.to : row.from;
+            if (counterparty == null || !counterparty.toLowerCase().startsWith(filter.counterparty.toLowerCase())) {
+                return false;
+            }
+        }
+        if (!TextUtils.isEmpty(filter.symbol)) {
+            String symbol = row.symbol == null ? networkInfo.symbol : row.symbol;
+            if (symbol == null || !symbol.toLowerCase().startsWith(filter.symbol.toLowerCase())) {
+                return false;
+            }
+        }
+        if (filter.fromTime != null && row.timeStamp < filter.fromTime) {
+            return false;
+        }
+        if (filter.toTime != null && row.timeStamp > filter.toTime) {
+            return false;
+        }
+        if (filter.minAmount != null || filter.maxAmount != null) {
+            double amount;
+            try {
+                amount = new BigDecimal(row.value)
+                        .divide(BalanceUtils.decimalDivisor(row.decimals))
+                        .doubleValue();
+            } catch (Exception ex) {
+                amount = 0;
+            }
+            if ((filter.minAmount != null && amount < filter.minAmount)
+                    || (filter.maxAmount != null && amount > filter.maxAmount)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Transaction[] reverse(Transaction[] transactions) {
+        for (int i = 0, j = transactions.length - 1; i < j; i++, j--) {
+            Transaction transaction = transactions[i];
+            transactions[i] = transactions[j];
+            transactions[j] = transaction;
+        }
+        return transactions;
+    }
+}
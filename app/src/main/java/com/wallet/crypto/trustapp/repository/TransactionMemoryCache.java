@@ -2,66 +2,215 @@ package com.wallet.crypto.trustapp.repository;
 
 import android.text.format.DateUtils;
 
+import com.wallet.crypto.trustapp.entity.CacheStats;
 import com.wallet.crypto.trustapp.entity.NetworkInfo;
 import com.wallet.crypto.trustapp.entity.Transaction;
+import com.wallet.crypto.trustapp.entity.TransactionRow;
 import com.wallet.crypto.trustapp.entity.Wallet;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import io.reactivex.Completable;
+import io.reactivex.Maybe;
 import io.reactivex.Single;
 
+/**
+ * Memory tier in front of a disk source. The newest rows of recently used wallets are kept
+ * in memory, bounded by their estimated size, the least recently used wallet is evicted first.
+ * Writes go to the disk source and are then merged into the kept rows.
+ * Full transactions are always read from the disk source.
+ */
 public class TransactionMemoryCache implements TransactionLocalSource {
 
-	private static final long MAX_TIME_OUT = DateUtils.MINUTE_IN_MILLIS;
-	private final Map<String, CacheUnit> cache = new java.util.concurrent.ConcurrentHashMap<>();
+	public static final long DEFAULT_MAX_BYTES = 2 * 1024 * 1024;
+	public static final long DEFAULT_TIME_TO_LIVE = 10 * DateUtils.MINUTE_IN_MILLIS;
+	/** Rows kept per wallet, deeper pages are read from the disk source. */
+	static final int MAX_ROWS = 500;
+	private static final int MIN_LOADED_ROWS = 50;
+
+	private final TransactionLocalSource diskSource;
+	private final long maxBytes;
+	private final long timeToLive;
+	private final LinkedHashMap<String, CacheUnit> cache = new LinkedHashMap<>(16, 0.75f, true);
+	private long bytes;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	public TransactionMemoryCache(TransactionLocalSource diskSource) {
+		this(diskSource, DEFAULT_MAX_BYTES, DEFAULT_TIME_TO_LIVE);
+	}
+
+	public TransactionMemoryCache(TransactionLocalSource diskSource, long maxBytes, long timeToLive) {
+		this.diskSource = diskSource;
+		this.maxBytes = maxBytes;
+		this.timeToLive = timeToLive;
+	}
 
 	@Override
 	public Single<Transaction[]> fetchTransaction(NetworkInfo networkInfo, Wallet wallet) {
-		return Single.fromCallable(() -> {
-			CacheUnit unit = cache.get(createKey(networkInfo, wallet));
-			Transaction[] transactions = null;
-			if (unit != null) {
-				if (System.currentTimeMillis() - unit.create > MAX_TIME_OUT) {
-					cache.remove(createKey(networkInfo, wallet));
-				} else {
-					transactions = unit.transactions;
-				}
+		return diskSource.fetchTransaction(networkInfo, wallet);
+	}
 
+	@Override
+	public Single<TransactionRow[]> fetchRows(NetworkInfo networkInfo, Wallet wallet, int offset, int limit) {
+		int end = Math.max(offset, 0) + limit;
+		if (end > MAX_ROWS) {
+			return diskSource.fetchRows(networkInfo, wallet, offset, limit);
+		}
+		return Single.defer(() -> {
+			TransactionRow[] rows = get(createKey(networkInfo, wallet), offset, limit);
+			if (rows != null) {
+				return Single.just(rows);
 			}
-			return transactions;
+			int load = Math.max(end, MIN_LOADED_ROWS);
+			return diskSource.fetchRows(networkInfo, wallet, 0, load)
+					.map(loaded -> {
+						put(createKey(networkInfo, wallet), loaded, loaded.length < load);
+						return slice(loaded, offset, limit);
+					});
 		});
 	}
 
-    private String createKey(NetworkInfo networkInfo, Wallet wallet) {
-        return networkInfo.name + wallet.address;
-    }
-
-    @Override
+	@Override
 	public Completable putTransactions(NetworkInfo networkInfo, Wallet wallet, Transaction[] transactions) {
-		return Completable.fromAction(() -> cache.put(createKey(networkInfo, wallet),
-                new CacheUnit(wallet.address, System.currentTimeMillis(), transactions)));
-	}
-
-    @Override
-    public Single<Transaction> findLast(NetworkInfo networkInfo, Wallet wallet) {
-	    return Single.fromCallable(() -> {
-            CacheUnit cacheUnit = cache.get(createKey(networkInfo, wallet));
-            return cacheUnit != null && cacheUnit.transactions != null && cacheUnit.transactions.length > 0
-                    ? cacheUnit.transactions[0]
-                    : null;
-        });
-    }
-
-    private static class CacheUnit {
-		final String accountAddress;
+		return diskSource.putTransactions(networkInfo, wallet, transactions)
+				.doOnComplete(() -> merge(createKey(networkInfo, wallet), TransactionRow.of(transactions)));
+	}
+
+	@Override
+	public Single<Transaction> findLast(NetworkInfo networkInfo, Wallet wallet) {
+		return diskSource.findLast(networkInfo, wallet);
+	}
+
+	@Override
+	public Maybe<Transaction> findTransaction(NetworkInfo networkInfo, Wallet wallet, String hash) {
+		return diskSource.findTransaction(networkInfo, wallet, hash);
+	}
+
+	public synchronized CacheStats getStats() {
+		return new CacheStats(hits, misses, evictions, bytes);
+	}
+
+	private synchronized TransactionRow[] get(String key, int offset, int limit) {
+		CacheUnit unit = cache.get(key);
+		if (unit != null && System.currentTimeMillis() - unit.create > timeToLive) {
+			remove(key);
+			unit = null;
+		}
+		if (unit == null || (!unit.isComplete && Math.max(offset, 0) + limit > unit.rows.length)) {
+			misses++;
+			return null;
+		}
+		hits++;
+		return slice(unit.rows, offset, limit);
+	}
+
+	private synchronized void put(String key, TransactionRow[] rows, boolean isComplete) {
+		remove(key);
+		long size = estimateBytes(rows);
+		if (size > maxBytes) {
+			return;
+		}
+		cache.put(key, new CacheUnit(System.currentTimeMillis(), rows, isComplete, size));
+		bytes += size;
+		trim();
+	}
+
+	/**
+	 * Adds written rows to the kept ones. Unless all rows of the wallet are kept, written rows
+	 * older than the kept ones are left to the disk source, rows between them may be missing.
+	 */
+	private synchronized void merge(String key, TransactionRow[] written) {
+		CacheUnit unit = cache.get(key);
+		if (unit == null) {
+			return;
+		}
+		Map<String, TransactionRow> byHash = new LinkedHashMap<>();
+		for (TransactionRow row : unit.rows) {
+			byHash.put(row.hash, row);
+		}
+		long oldest = unit.rows.length == 0 ? Long.MIN_VALUE : unit.rows[unit.rows.length - 1].timeStamp;
+		for (TransactionRow row : written) {
+			if (unit.isComplete || row.timeStamp >= oldest) {
+				byHash.put(row.hash, row);
+			}
+		}
+		List<TransactionRow> merged = new ArrayList<>(byHash.values());
+		Collections.sort(merged, (left, right) -> Long.compare(right.timeStamp, left.timeStamp));
+		boolean isComplete = unit.isComplete && merged.size() <= MAX_ROWS;
+		if (merged.size() > MAX_ROWS) {
+			merged = merged.subList(0, MAX_ROWS);
+		}
+		put(key, merged.toArray(new TransactionRow[merged.size()]), isComplete);
+	}
+
+	private void remove(String key) {
+		CacheUnit unit = cache.remove(key);
+		if (unit != null) {
+			bytes -= unit.bytes;
+		}
+	}
+
+	private void trim() {
+		Iterator<CacheUnit> iterator = cache.values().iterator();
+		while (bytes > maxBytes && iterator.hasNext()) {
+			bytes -= iterator.next().bytes;
+			iterator.remove();
+			evictions++;
+		}
+	}
+
+	private static TransactionRow[] slice(TransactionRow[] rows, int offset, int limit) {
+		int from = Math.min(Math.max(offset, 0), rows.length);
+		int to = Math.min(from + limit, rows.length);
+		return Arrays.copyOfRange(rows, from, to);
+	}
+
+	/**
+	 * Rough size of the rows on the heap: object headers and fields plus two bytes per char.
+	 */
+	static long estimateBytes(TransactionRow[] rows) {
+		long size = 16 + 4L * rows.length;
+		for (TransactionRow row : rows) {
+			size += 56
+					+ estimateBytes(row.hash)
+					+ estimateBytes(row.error)
+					+ estimateBytes(row.from)
+					+ estimateBytes(row.to)
+					+ estimateBytes(row.value)
+					+ estimateBytes(row.contract)
+					+ estimateBytes(row.symbol);
+		}
+		return size;
+	}
+
+	private static long estimateBytes(String value) {
+		return value == null ? 0 : 40 + 2L * value.length();
+	}
+
+	private static String createKey(NetworkInfo networkInfo, Wallet wallet) {
+		return networkInfo.name + "-" + wallet.address;
+	}
+
+	private static class CacheUnit {
 		final long create;
-		final Transaction[] transactions;
+		final TransactionRow[] rows;
+		/** All rows of the wallet are kept. */
+		final boolean isComplete;
+		final long bytes;
 
-		private CacheUnit(String accountAddress, long create, Transaction[] transactions) {
-			this.accountAddress = accountAddress;
+		private CacheUnit(long create, TransactionRow[] rows, boolean isComplete, long bytes) {
 			this.create = create;
-			this.transactions = transactions;
+			this.rows = rows;
+			this.isComplete = isComplete;
+			this.bytes = bytes;
 		}
 	}
 }
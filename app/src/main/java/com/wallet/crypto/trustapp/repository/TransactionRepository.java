@@ -1,10 +1,17 @@
 package com.wallet.crypto.trustapp.repository;
 
+import com.wallet.crypto.trustapp.entity.ExportProgress;
 import com.wallet.crypto.trustapp.entity.NetworkInfo;
+import com.wallet.crypto.trustapp.entity.ServiceException;
 import com.wallet.crypto.trustapp.entity.Transaction;
+import com.wallet.crypto.trustapp.entity.TransactionFilter;
+import com.wallet.crypto.trustapp.entity.TransactionRow;
 import com.wallet.crypto.trustapp.entity.Wallet;
 import com.wallet.crypto.trustapp.service.AccountKeystoreService;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
+import com.wallet.crypto.trustapp.service.TransactionExporter;
 import com.wallet.crypto.trustapp.service.TransactionsNetworkClientType;
+import com.wallet.crypto.trustapp.util.Tracer;
 
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.Web3jFactory;
@@ -14,12 +21,16 @@ import org.web3j.protocol.core.methods.response.EthSendTransaction;
 import org.web3j.protocol.http.HttpService;
 import org.web3j.utils.Numeric;
 
+import java.io.File;
 import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
 
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
 import io.reactivex.Maybe;
 import io.reactivex.Observable;
 import io.reactivex.Single;
-import io.reactivex.schedulers.Schedulers;
 
 public class TransactionRepository implements TransactionRepositoryType {
 
@@ -27,16 +38,26 @@ public class TransactionRepository implements TransactionRepositoryType {
 	private final AccountKeystoreService accountKeystoreService;
     private final TransactionLocalSource inDiskCache;
     private final TransactionsNetworkClientType blockExplorerClient;
+    private final TransactionSearchSource searchSource;
+    private final TransactionExportSource exportSource;
+    private final AppSchedulers schedulers;
+    private final Map<String, Completable> syncs = new HashMap<>();
 
     public TransactionRepository(
 			EthereumNetworkRepositoryType networkRepository,
 			AccountKeystoreService accountKeystoreService,
 			TransactionLocalSource inDiskCache,
-			TransactionsNetworkClientType blockExplorerClient) {
+			TransactionSearchSource searchSource,
+			TransactionExportSource exportSource,
+			TransactionsNetworkClientType blockExplorerClient,
+			AppSchedulers schedulers) {
 		this.networkRepository = networkRepository;
 		this.accountKeystoreService = accountKeystoreService;
 		this.blockExplorerClient = blockExplorerClient;
 		this.inDiskCache = inDiskCache;
+		this.searchSource = searchSource;
+		this.exportSource = exportSource;
+		this.schedulers = schedulers;
 	}
 
     @Override
@@ -45,25 +66,58 @@ public class TransactionRepository implements TransactionRepositoryType {
 	    return Single.merge(
 	            fetchFromCache(networkInfo, wallet),
 	            fetchAndCacheFromNetwork(networkInfo, wallet))
-                .toObservable();
+                .toObservable()
+                .compose(Tracer.observable("TransactionRepository.fetchTransaction"));
     }
 
 	@Override
+	public Observable<TransactionRow[]> fetchTransaction(Wallet wallet, int limit) {
+		NetworkInfo networkInfo = networkRepository.getDefaultNetwork();
+		return Single.concat(
+				inDiskCache.fetchRows(networkInfo, wallet, 0, limit),
+				syncFromNetwork(networkInfo, wallet)
+						.andThen(inDiskCache.fetchRows(networkInfo, wallet, 0, limit)))
+				.toObservable()
+				.compose(Tracer.observable("TransactionRepository.fetchTransaction"));
+	}
+
+	@Override
+	public Completable syncTransactions(Wallet wallet) {
+		return syncFromNetwork(networkRepository.getDefaultNetwork(), wallet);
+	}
+
+	@Override
+	public Single<TransactionRow[]> fetchCachedTransaction(Wallet wallet, int offset, int limit) {
+		return inDiskCache.fetchRows(networkRepository.getDefaultNetwork(), wallet, offset, limit);
+	}
+
+	@Override
+	public Single<TransactionRow[]> searchTransactions(Wallet wallet, TransactionFilter filter, int offset, int limit) {
+		return searchSource.search(networkRepository.getDefaultNetwork(), wallet, filter, offset, limit);
+	}
+
+	@Override
+	public Flowable<ExportProgress> exportTransactions(Wallet wallet, TransactionExporter.Format format, File file) {
+		return exportSource.export(networkRepository.getDefaultNetwork(), wallet, format, file);
+	}
+
+	/**
+	 * Reads the cache first. A hash which is not cached yet, e.g. of a transaction sent a moment
+	 * ago, is looked up again after a sync. Completes empty if the network doesn't know it either.
+	 */
+	@Override
 	public Maybe<Transaction> findTransaction(Wallet wallet, String transactionHash) {
-		return fetchTransaction(wallet)
-				.firstElement()
-                .flatMap(transactions -> {
-					for (Transaction transaction : transactions) {
-						if (transaction.hash.equals(transactionHash)) {
-							return Maybe.just(transaction);
-						}
-					}
-					return null;
-				});
+		NetworkInfo networkInfo = networkRepository.getDefaultNetwork();
+		return inDiskCache.findTransaction(networkInfo, wallet, transactionHash)
+				.switchIfEmpty(syncFromNetwork(networkInfo, wallet)
+						.andThen(inDiskCache.findTransaction(networkInfo, wallet, transactionHash)));
 	}
 
 	@Override
 	public Single<String> createTransaction(Wallet from, String toAddress, BigInteger subunitAmount, BigInteger gasPrice, BigInteger gasLimit, byte[] data, String password) {
+		if (from.isWatchOnly) {
+			return Single.error(new ServiceException("Watch-only wallet can't sign"));
+		}
 		final Web3j web3j = Web3jFactory.build(new HttpService(networkRepository.getDefaultNetwork().rpcServerUrl));
 
 		return Single.fromCallable(() -> {
@@ -81,7 +135,7 @@ public class TransactionRepository implements TransactionRepositoryType {
 			    throw new Exception(raw.getError().getMessage());
 			}
 			return raw.getTransactionHash();
-		})).subscribeOn(Schedulers.io());
+		})).subscribeOn(schedulers.interactive());
 	}
 
 	private Single<Transaction[]> fetchFromCache(NetworkInfo networkInfo, Wallet wallet) {
@@ -90,13 +144,38 @@ public class TransactionRepository implements TransactionRepositoryType {
     }
 
 	private Single<Transaction[]> fetchAndCacheFromNetwork(NetworkInfo networkInfo, Wallet wallet) {
-        return inDiskCache
-                .findLast(networkInfo, wallet)
-                .flatMap(lastTransaction -> Single.fromObservable(blockExplorerClient
-                        .fetchLastTransactions(wallet, lastTransaction)))
-                .onErrorResumeNext(throwable -> Single.fromObservable(blockExplorerClient
-                        .fetchLastTransactions(wallet, null)))
-                .flatMapCompletable(transactions -> inDiskCache.putTransactions(networkInfo, wallet, transactions))
+        return syncFromNetwork(networkInfo, wallet)
                 .andThen(inDiskCache.fetchTransaction(networkInfo, wallet));
     }
+
+	/**
+	 * Pulls the transactions newer than the last cached one. A sync of the same wallet and
+	 * network which is already running is joined instead of started again.
+	 */
+	private Completable syncFromNetwork(NetworkInfo networkInfo, Wallet wallet) {
+		return Completable.defer(() -> sharedSync(networkInfo, wallet));
+	}
+
+	private synchronized Completable sharedSync(NetworkInfo networkInfo, Wallet wallet) {
+		String key = networkInfo.name + ":" + wallet.address;
+		Completable sync = syncs.get(key);
+		if (sync == null) {
+			sync = inDiskCache
+					.findLast(networkInfo, wallet)
+					.flatMap(lastTransaction -> Single.fromObservable(blockExplorerClient
+							.fetchLastTransactions(wallet, lastTransaction)))
+					.onErrorResumeNext(throwable -> Single.fromObservable(blockExplorerClient
+							.fetchLastTransactions(wallet, null)))
+					.flatMapCompletable(transactions -> inDiskCache.putTransactions(networkInfo, wallet, transactions))
+					.compose(Tracer.completable("TransactionRepository.syncFromNetwork"))
+					.doFinally(() -> removeSync(key))
+					.cache();
+			syncs.put(key, sync);
+		}
+		return sync;
+	}
+
+	private synchronized void removeSync(String key) {
+		syncs.remove(key);
+	}
 }
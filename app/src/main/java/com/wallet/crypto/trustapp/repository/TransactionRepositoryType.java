@@ -1,16 +1,29 @@
 package com.wallet.crypto.trustapp.repository;
 
+import com.wallet.crypto.trustapp.entity.ExportProgress;
 import com.wallet.crypto.trustapp.entity.Transaction;
+import com.wallet.crypto.trustapp.entity.TransactionFilter;
+import com.wallet.crypto.trustapp.entity.TransactionRow;
 import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.service.TransactionExporter;
+
+import java.io.File;
 
 import java.math.BigInteger;
 
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
 import io.reactivex.Maybe;
 import io.reactivex.Observable;
 import io.reactivex.Single;
 
 public interface TransactionRepositoryType {
 	Observable<Transaction[]> fetchTransaction(Wallet wallet);
+	Observable<TransactionRow[]> fetchTransaction(Wallet wallet, int limit);
+	Completable syncTransactions(Wallet wallet);
+	Single<TransactionRow[]> fetchCachedTransaction(Wallet wallet, int offset, int limit);
+	Single<TransactionRow[]> searchTransactions(Wallet wallet, TransactionFilter filter, int offset, int limit);
+	Flowable<ExportProgress> exportTransactions(Wallet wallet, TransactionExporter.Format format, File file);
 	Maybe<Transaction> findTransaction(Wallet wallet, String transactionHash);
 	Single<String> createTransaction(Wallet from, String toAddress, BigInteger subunitAmount, BigInteger gasPrice, BigInteger gasLimit, byte[] data, String password);
 }
@@ -0,0 +1,15 @@
+package com.wallet.crypto.trustapp.repository;
+
+import com.wallet.crypto.trustapp.entity.NetworkInfo;
+import com.wallet.crypto.trustapp.entity.TransactionFilter;
+import com.wallet.crypto.trustapp.entity.TransactionRow;
+import com.wallet.crypto.trustapp.entity.Wallet;
+
+import io.reactivex.Single;
+
+public interface TransactionSearchSource {
+    /**
+     * @return list rows of up to {@code limit} matching transactions starting at {@code offset}, newest first.
+     */
+    Single<TransactionRow[]> search(NetworkInfo networkInfo, Wallet wallet, TransactionFilter filter, int offset, int limit);
+}
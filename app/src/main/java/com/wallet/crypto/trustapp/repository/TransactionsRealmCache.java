@@ -1,27 +1,63 @@
 package com.wallet.crypto.trustapp.repository;
 
+import android.text.TextUtils;
+
+import com.wallet.crypto.trustapp.entity.ExportProgress;
 import com.wallet.crypto.trustapp.entity.NetworkInfo;
 import com.wallet.crypto.trustapp.entity.Transaction;
 import com.wallet.crypto.trustapp.entity.TransactionContract;
+import com.wallet.crypto.trustapp.entity.TransactionFilter;
 import com.wallet.crypto.trustapp.entity.TransactionOperation;
+import com.wallet.crypto.trustapp.entity.TransactionRow;
 import com.wallet.crypto.trustapp.entity.Wallet;
 import com.wallet.crypto.trustapp.repository.entity.RealmTransaction;
 import com.wallet.crypto.trustapp.repository.entity.RealmTransactionContract;
+import com.wallet.crypto.trustapp.repository.entity.RealmTransactionIndex;
 import com.wallet.crypto.trustapp.repository.entity.RealmTransactionOperation;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
 import com.wallet.crypto.trustapp.service.RealmManager;
+import com.wallet.crypto.trustapp.service.TransactionExporter;
+import com.wallet.crypto.trustapp.util.BalanceUtils;
+import com.wallet.crypto.trustapp.util.CompactEncoding;
+import com.wallet.crypto.trustapp.util.Tracer;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import io.reactivex.BackpressureStrategy;
 import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
 import io.reactivex.Single;
-import io.reactivex.schedulers.Schedulers;
 import io.realm.Realm;
+import io.realm.RealmList;
+import io.realm.RealmQuery;
 import io.realm.RealmResults;
+import io.realm.Sort;
+
+import static com.wallet.crypto.trustapp.C.ETHER_DECIMALS;
 
-public class TransactionsRealmCache implements TransactionLocalSource {
+public class TransactionsRealmCache implements TransactionLocalSource, TransactionSearchSource, TransactionExportSource {
+
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+    private static final int ADDRESS_LENGTH = 42;
 
     private final RealmManager realmManager;
+    private final AppSchedulers schedulers;
+    // Scopes whose transactions cached before the search index have been indexed.
+    private final Set<String> indexedScopes = Collections.newSetFromMap(new ConcurrentHashMap<>());
 
-    public TransactionsRealmCache(RealmManager realmManager) {
+    public TransactionsRealmCache(RealmManager realmManager, AppSchedulers schedulers) {
         this.realmManager = realmManager;
+        this.schedulers = schedulers;
     }
 
 	@Override
@@ -30,13 +66,33 @@ public class TransactionsRealmCache implements TransactionLocalSource {
             Realm instance = null;
             try {
                 instance = realmManager.getRealmInstance(networkInfo, wallet);
-                return convert(instance.where(RealmTransaction.class).findAll());
+                return convert(RealmManager.where(instance, RealmTransaction.class, networkInfo, wallet).findAll());
             } finally {
                 if (instance != null) {
-                    instance.close();
+                    realmManager.close(instance);
                 }
             }
-        });
+        })
+        .compose(Tracer.single("TransactionsRealmCache.fetchTransaction"));
+	}
+
+	@Override
+	public Single<TransactionRow[]> fetchRows(NetworkInfo networkInfo, Wallet wallet, int offset, int limit) {
+        return Single.fromCallable(() -> {
+            Realm instance = null;
+            try {
+                instance = realmManager.getRealmInstance(networkInfo, wallet);
+                RealmResults<RealmTransaction> items = RealmManager.where(instance, RealmTransaction.class, networkInfo, wallet)
+                        .sort("timeStamp", Sort.DESCENDING)
+                        .findAll();
+                return rows(items, offset, limit);
+            } finally {
+                if (instance != null) {
+                    realmManager.close(instance);
+                }
+            }
+        })
+        .compose(Tracer.single("TransactionsRealmCache.fetchRows"));
 	}
 
     @Override
@@ -46,22 +102,35 @@ public class TransactionsRealmCache implements TransactionLocalSource {
             try {
                 instance = realmManager.getRealmInstance(networkInfo, wallet);
                 instance.beginTransaction();
+                String scope = RealmManager.scope(networkInfo, wallet);
+                boolean isBackfilled = !indexedScopes.contains(scope);
+                if (isBackfilled) {
+                    backfillIndex(instance, networkInfo, wallet);
+                }
                 for (Transaction transaction : transactions) {
-                    RealmTransaction item = instance.createObject(RealmTransaction.class, transaction.hash);
+                    RealmTransaction item = instance.createObject(RealmTransaction.class,
+                            RealmManager.key(networkInfo, wallet, transaction.hash));
+                    item.setScope(scope);
+                    item.setHash(transaction.hash);
                     fill(instance, item, transaction);
+                    instance.insertOrUpdate(index(networkInfo, wallet, TransactionRow.of(transaction)));
                 }
                 instance.commitTransaction();
+                if (isBackfilled) {
+                    indexedScopes.add(scope);
+                }
             } catch (Exception ex) {
                 if (instance != null) {
                     instance.cancelTransaction();
                 }
             } finally {
                 if (instance != null) {
-                    instance.close();
+                    realmManager.close(instance);
                 }
             }
         })
-        .subscribeOn(Schedulers.io());
+        .subscribeOn(schedulers.disk())
+        .compose(Tracer.completable("TransactionsRealmCache.putTransactions"));
 	}
 
     @Override
@@ -70,28 +139,208 @@ public class TransactionsRealmCache implements TransactionLocalSource {
             Realm realm = null;
             try {
                 realm = realmManager.getRealmInstance(networkInfo, wallet);
-                return convert(realm.where(RealmTransaction.class).findFirst());
+                return convert(RealmManager.where(realm, RealmTransaction.class, networkInfo, wallet).findFirst());
             } finally {
                 if (realm != null) {
-                    realm.close();
+                    realmManager.close(realm);
                 }
             }
         })
-        .observeOn(Schedulers.io());
+        .observeOn(schedulers.disk())
+        .compose(Tracer.single("TransactionsRealmCache.findLast"));
+    }
+
+    @Override
+    public Maybe<Transaction> findTransaction(NetworkInfo networkInfo, Wallet wallet, String hash) {
+        return Maybe.fromCallable(() -> {
+            Realm realm = null;
+            try {
+                realm = realmManager.getRealmInstance(networkInfo, wallet);
+                RealmTransaction rawItem = RealmManager.where(realm, RealmTransaction.class, networkInfo, wallet)
+                        .equalTo("hash", hash)
+                        .findFirst();
+                return rawItem == null ? null : convert(rawItem, true);
+            } finally {
+                if (realm != null) {
+                    realmManager.close(realm);
+                }
+            }
+        });
+    }
+
+    @Override
+    public Single<TransactionRow[]> search(
+            NetworkInfo networkInfo, Wallet wallet, TransactionFilter filter, int offset, int limit) {
+        return Single.fromCallable(() -> {
+            Realm realm = null;
+            try {
+                realm = realmManager.getRealmInstance(networkInfo, wallet);
+                RealmResults<RealmTransactionIndex> found = query(realm, networkInfo, wallet, filter)
+                        .sort("timeStamp", Sort.DESCENDING)
+                        .findAll();
+                int from = Math.min(Math.max(offset, 0), found.size());
+                int to = Math.min(from + limit, found.size());
+                String[] hashes = new String[to - from];
+                for (int i = from; i < to; i++) {
+                    hashes[i - from] = found.get(i).getHash();
+                }
+                if (hashes.length == 0) {
+                    return new TransactionRow[0];
+                }
+                RealmResults<RealmTransaction> rawItems = RealmManager.where(realm, RealmTransaction.class, networkInfo, wallet)
+                        .in("hash", hashes)
+                        .sort("timeStamp", Sort.DESCENDING)
+                        .findAll();
+                return rows(rawItems, 0, rawItems.size());
+            } finally {
+                if (realm != null) {
+                    realmManager.close(realm);
+                }
+            }
+        });
+    }
+
+    @Override
+    public Flowable<ExportProgress> export(
+            NetworkInfo networkInfo, Wallet wallet, TransactionExporter.Format format, File file) {
+        return Flowable.create(emitter -> {
+            Realm realm = null;
+            boolean isCompleted = false;
+            try (Writer out = new BufferedWriter(
+                    new OutputStreamWriter(new FileOutputStream(file), "UTF-8"), EXPORT_BUFFER_SIZE)) {
+                realm = realmManager.getRealmInstance(networkInfo, wallet);
+                RealmResults<RealmTransaction> items = RealmManager.where(realm, RealmTransaction.class, networkInfo, wallet)
+                        .sort("timeStamp", Sort.DESCENDING)
+                        .findAll();
+                // Rows are converted one by one from the lazy results, nothing is kept after writing.
+                TransactionExporter.Cursor cursor = new TransactionExporter.Cursor() {
+                    @Override
+                    public int getCount() {
+                        return items.size();
+                    }
+
+                    @Override
+                    public Transaction get(int position) {
+                        return convert(items.get(position), true);
+                    }
+                };
+                isCompleted = new TransactionExporter(format).export(cursor, out, (written, total) -> {
+                    if (emitter.isCancelled()) {
+                        return false;
+                    }
+                    emitter.onNext(new ExportProgress(file, written, total, false));
+                    return true;
+                });
+                if (isCompleted) {
+                    emitter.onNext(new ExportProgress(file, items.size(), items.size(), true));
+                }
+            } catch (Exception ex) {
+                emitter.tryOnError(ex);
+            } finally {
+                if (realm != null) {
+                    realmManager.close(realm);
+                }
+                if (!isCompleted) {
+                    file.delete();
+                }
+            }
+            if (isCompleted) {
+                emitter.onComplete();
+            }
+        }, BackpressureStrategy.LATEST);
+    }
+
+    /**
+     * Indexes transactions cached before the index existed, e.g. carried over by a migration.
+     * Runs once per scope inside the first write transaction, searches only read the index.
+     */
+    private void backfillIndex(Realm realm, NetworkInfo networkInfo, Wallet wallet) {
+        if (RealmManager.where(realm, RealmTransactionIndex.class, networkInfo, wallet).count()
+                >= RealmManager.where(realm, RealmTransaction.class, networkInfo, wallet).count()) {
+            return;
+        }
+        Set<String> indexed = new HashSet<>();
+        for (RealmTransactionIndex index : RealmManager.where(realm, RealmTransactionIndex.class, networkInfo, wallet).findAll()) {
+            indexed.add(index.getHash());
+        }
+        for (RealmTransaction rawItem : RealmManager.where(realm, RealmTransaction.class, networkInfo, wallet).findAll()) {
+            if (!indexed.contains(rawItem.getHash())) {
+                realm.insertOrUpdate(index(networkInfo, wallet, row(rawItem)));
+            }
+        }
+    }
+
+    /**
+     * Contract, time stamp and a complete counterparty address are served by the field indexes.
+     * Realm doesn't use an index for {@code beginsWith}, so a prefix of the counterparty or the symbol
+     * scans the index rows of the scope.
+     */
+    private static RealmQuery<RealmTransactionIndex> query(
+            Realm realm, NetworkInfo networkInfo, Wallet wallet, TransactionFilter filter) {
+        RealmQuery<RealmTransactionIndex> query = RealmManager.where(realm, RealmTransactionIndex.class, networkInfo, wallet);
+        if (filter.contract != null) {
+            query.equalTo("contract", filter.contract.toLowerCase());
+        }
+        if (!TextUtils.isEmpty(filter.counterparty)) {
+            if (filter.counterparty.length() == ADDRESS_LENGTH) {
+                query.equalTo("counterparty", filter.counterparty.toLowerCase());
+            } else {
+                query.beginsWith("counterparty", filter.counterparty.toLowerCase());
+            }
+        }
+        if (!TextUtils.isEmpty(filter.symbol)) {
+            query.beginsWith("symbol", filter.symbol.toLowerCase());
+        }
+        if (filter.minAmount != null) {
+            query.greaterThanOrEqualTo("amount", filter.minAmount);
+        }
+        if (filter.maxAmount != null) {
+            query.lessThanOrEqualTo("amount", filter.maxAmount);
+        }
+        if (filter.fromTime != null) {
+            query.greaterThanOrEqualTo("timeStamp", filter.fromTime);
+        }
+        if (filter.toTime != null) {
+            query.lessThanOrEqualTo("timeStamp", filter.toTime);
+        }
+        return query;
+    }
+
+    private static RealmTransactionIndex index(NetworkInfo networkInfo, Wallet wallet, TransactionRow row) {
+        String symbol = row.symbol == null ? networkInfo.symbol : row.symbol;
+        String counterparty = row.from != null && row.from.equalsIgnoreCase(wallet.address) ? row.to : row.from;
+
+        RealmTransactionIndex index = new RealmTransactionIndex();
+        index.setKey(RealmManager.key(networkInfo, wallet, row.hash));
+        index.setScope(RealmManager.scope(networkInfo, wallet));
+        index.setHash(row.hash);
+        index.setTimeStamp(row.timeStamp);
+        index.setCounterparty(counterparty == null ? "" : counterparty.toLowerCase());
+        index.setContract(row.contract == null ? "" : row.contract.toLowerCase());
+        index.setSymbol(symbol == null ? "" : symbol.toLowerCase());
+        try {
+            index.setAmount(new BigDecimal(row.value)
+                    .divide(BalanceUtils.decimalDivisor(row.decimals))
+                    .doubleValue());
+        } catch (Exception ex) { /* Quietly, amount is left 0 */ }
+        return index;
     }
 
     private void fill(Realm realm, RealmTransaction item, Transaction transaction) {
         item.setError(transaction.error);
-        item.setBlockNumber(transaction.blockNumber);
+        item.setBlockNumber(CompactEncoding.toLong(transaction.blockNumber));
+        item.setBlockNumberText(CompactEncoding.toLongOverflow(transaction.blockNumber));
         item.setTimeStamp(transaction.timeStamp);
         item.setNonce(transaction.nonce);
         item.setFrom(transaction.from);
         item.setTo(transaction.to);
-        item.setValue(transaction.value);
-        item.setGas(transaction.gas);
-        item.setGasPrice(transaction.gasPrice);
-        item.setInput(transaction.input);
-        item.setGasUsed(transaction.gasUsed);
+        item.setValue(CompactEncoding.toNumberBytes(transaction.value));
+        item.setGas(CompactEncoding.toLong(transaction.gas));
+        item.setGasText(CompactEncoding.toLongOverflow(transaction.gas));
+        item.setGasPrice(CompactEncoding.toNumberBytes(transaction.gasPrice));
+        item.setInput(CompactEncoding.toHexBytes(transaction.input));
+        item.setGasUsed(CompactEncoding.toLong(transaction.gasUsed));
+        item.setGasUsedText(CompactEncoding.toLongOverflow(transaction.gasUsed));
 
         for (TransactionOperation operation : transaction.operations) {
             RealmTransactionOperation realmOperation = realm.createObject(RealmTransactionOperation.class);
@@ -122,7 +371,55 @@ public class TransactionsRealmCache implements TransactionLocalSource {
         return result;
     }
 
+    private TransactionRow[] rows(RealmResults<RealmTransaction> items, int offset, int limit) {
+        int from = Math.min(Math.max(offset, 0), items.size());
+        int to = Math.min(from + limit, items.size());
+        TransactionRow[] result = new TransactionRow[to - from];
+        for (int i = from; i < to; i++) {
+            result[i - from] = row(items.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Reads only the first operation and its contract, rows don't need the rest of the graph.
+     */
+    private TransactionRow row(RealmTransaction rawItem) {
+        RealmList<RealmTransactionOperation> rawOperations = rawItem.getOperations();
+        RealmTransactionOperation rawOperation = rawOperations.isEmpty() ? null : rawOperations.first();
+        RealmTransactionContract rawContract = rawOperation == null ? null : rawOperation.getContract();
+        if (rawContract == null) {
+            return new TransactionRow(
+                    rawItem.getHash(),
+                    rawItem.getTimeStamp(),
+                    rawItem.getError(),
+                    rawItem.getFrom(),
+                    rawItem.getTo(),
+                    CompactEncoding.fromBytes(rawItem.getValue()),
+                    null,
+                    null,
+                    ETHER_DECIMALS);
+        }
+        return new TransactionRow(
+                rawItem.getHash(),
+                rawItem.getTimeStamp(),
+                rawItem.getError(),
+                rawOperation.getFrom(),
+                rawOperation.getTo(),
+                rawOperation.getValue(),
+                rawContract.getAddress(),
+                rawContract.getSymbol(),
+                rawContract.getDecimals());
+    }
+
+    /**
+     * Input is left null, {@link #findTransaction} loads the complete transaction.
+     */
     private Transaction convert(RealmTransaction rawItem) {
+        return convert(rawItem, false);
+    }
+
+    private Transaction convert(RealmTransaction rawItem, boolean withInput) {
         int len = rawItem.getOperations().size();
         TransactionOperation[] operations = new TransactionOperation[len];
         for (int i = 0; i < len; i++) {
@@ -147,16 +444,16 @@ public class TransactionsRealmCache implements TransactionLocalSource {
 	    return new Transaction(
 	            rawItem.getHash(),
                 rawItem.getError(),
-                rawItem.getBlockNumber(),
+                CompactEncoding.fromLong(rawItem.getBlockNumber(), rawItem.getBlockNumberText()),
                 rawItem.getTimeStamp(),
                 rawItem.getNonce(),
                 rawItem.getFrom(),
                 rawItem.getTo(),
-                rawItem.getValue(),
-                rawItem.getGas(),
-                rawItem.getGasPrice(),
-                rawItem.getInput(),
-                rawItem.getGasUsed(),
+                CompactEncoding.fromBytes(rawItem.getValue()),
+                CompactEncoding.fromLong(rawItem.getGas(), rawItem.getGasText()),
+                CompactEncoding.fromBytes(rawItem.getGasPrice()),
+                withInput ? CompactEncoding.fromBytes(rawItem.getInput()) : null,
+                CompactEncoding.fromLong(rawItem.getGasUsed(), rawItem.getGasUsedText()),
                 operations
                 );
     }
@@ -3,12 +3,15 @@ package com.wallet.crypto.trustapp.repository;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
 import android.preference.PreferenceManager;
 import android.widget.Toast;
 
 import com.crashlytics.android.Crashlytics;
 import com.wallet.crypto.trustapp.entity.ServiceErrorException;
 import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.service.StartupQueue;
 import com.wallet.crypto.trustapp.util.KS;
 import com.wallet.pwd.trustapp.PasswordManager;
 
@@ -21,14 +24,23 @@ import io.reactivex.Single;
 public class TrustPasswordStore implements PasswordStore {
 
 	private final Context context;
+	private boolean isMigrated;
 
-	public TrustPasswordStore(Context context) {
+	public TrustPasswordStore(Context context, StartupQueue startupQueue) {
 		this.context = context;
 
-		migrate();
+		startupQueue.enqueue(StartupQueue.PRIORITY_HIGH, this::migrate);
 	}
 
-    private void migrate() {
+    /**
+     * Runs once, either from the startup queue or from the first password access,
+     * whichever comes first.
+     */
+    private synchronized void migrate() {
+        if (isMigrated) {
+            return;
+        }
+        isMigrated = true;
         if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
             return;
         }
@@ -40,8 +52,9 @@ public class TrustPasswordStore implements PasswordStore {
                 try {
                     KS.put(context, address.toLowerCase(), PasswordManager.getPassword(address, context));
                 } catch (Exception ex) {
-                    Toast.makeText(context, "Could not process passwords.", Toast.LENGTH_LONG)
-                            .show();
+                    new Handler(Looper.getMainLooper()).post(() ->
+                            Toast.makeText(context, "Could not process passwords.", Toast.LENGTH_LONG)
+                                    .show());
                     ex.printStackTrace();
                 }
             }
@@ -51,6 +64,7 @@ public class TrustPasswordStore implements PasswordStore {
     @Override
 	public Single<String> getPassword(Wallet wallet) {
 		return Single.fromCallable(() -> {
+            migrate();
             if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
                 try {
                     return new String(KS.get(context, wallet.address));
@@ -76,6 +90,7 @@ public class TrustPasswordStore implements PasswordStore {
 	@Override
 	public Completable setPassword(Wallet wallet, String password) {
 		return Completable.fromAction(() -> {
+            migrate();
             if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
                 KS.put(context, wallet.address, password);
             } else {
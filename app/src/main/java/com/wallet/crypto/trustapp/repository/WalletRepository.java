@@ -1,40 +1,72 @@
 package com.wallet.crypto.trustapp.repository;
 
+import com.wallet.crypto.trustapp.C;
+import com.wallet.crypto.trustapp.entity.Address;
+import com.wallet.crypto.trustapp.entity.KeystoreFile;
+import com.wallet.crypto.trustapp.entity.KeystoreImportStatus;
+import com.wallet.crypto.trustapp.entity.ServiceErrorException;
+import com.wallet.crypto.trustapp.entity.ServiceException;
 import com.wallet.crypto.trustapp.entity.Wallet;
 import com.wallet.crypto.trustapp.service.AccountKeystoreService;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
 
 import org.web3j.protocol.Web3jFactory;
 import org.web3j.protocol.core.DefaultBlockParameterName;
 import org.web3j.protocol.http.HttpService;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 import io.reactivex.Completable;
+import io.reactivex.Flowable;
 import io.reactivex.Single;
-import io.reactivex.schedulers.Schedulers;
+import io.reactivex.functions.Function;
 import okhttp3.OkHttpClient;
 
 public class WalletRepository implements WalletRepositoryType {
 
 	private final PreferenceRepositoryType preferenceRepositoryType;
 	private final AccountKeystoreService accountKeystoreService;
+	private final WatchOnlyWalletSource watchOnlyWalletSource;
 	private final EthereumNetworkRepositoryType networkRepository;
     private final OkHttpClient httpClient;
+    private final AppSchedulers schedulers;
 
     public WalletRepository(
 	        OkHttpClient okHttpClient,
 			PreferenceRepositoryType preferenceRepositoryType,
 			AccountKeystoreService accountKeystoreService,
-			EthereumNetworkRepositoryType networkRepository) {
+			WatchOnlyWalletSource watchOnlyWalletSource,
+			EthereumNetworkRepositoryType networkRepository,
+			AppSchedulers schedulers) {
 	    this.httpClient = okHttpClient;
 		this.preferenceRepositoryType = preferenceRepositoryType;
 		this.accountKeystoreService = accountKeystoreService;
+		this.watchOnlyWalletSource = watchOnlyWalletSource;
 		this.networkRepository = networkRepository;
+		this.schedulers = schedulers;
 	}
 
 	@Override
 	public Single<Wallet[]> fetchWallets() {
-		return accountKeystoreService.fetchAccounts();
+		return accountKeystoreService
+				.fetchAccounts()
+				.map(accounts -> {
+					Wallet[] watched = watchOnlyWalletSource.fetch();
+					if (watched.length == 0) {
+						return accounts;
+					}
+					List<Wallet> wallets = new ArrayList<>(Arrays.asList(accounts));
+					for (Wallet wallet : watched) {
+						if (!accountKeystoreService.hasAccount(wallet.address)) {
+							wallets.add(wallet);
+						}
+					}
+					return wallets.toArray(new Wallet[wallets.size()]);
+				});
 	}
 
 	@Override
@@ -66,14 +98,44 @@ public class WalletRepository implements WalletRepositoryType {
         return accountKeystoreService.importPrivateKey(privateKey, newPassword);
     }
 
+    @Override
+    public Flowable<KeystoreImportStatus> importKeystoresToWallets(
+            List<KeystoreFile> files,
+            Map<String, String> passwords,
+            String defaultPassword,
+            Function<String, String> newPasswords) {
+        return accountKeystoreService.importKeystores(files, passwords, defaultPassword, newPasswords);
+    }
+
+    @Override
+    public Single<Wallet> addWatchOnlyWallet(String address) {
+        return Single.fromCallable(() -> {
+            if (!Address.isAddress(address)) {
+                throw new ServiceException("Invalid address");
+            }
+            String normalized = (address.startsWith("0x") ? address : "0x" + address).toLowerCase();
+            if (accountKeystoreService.hasAccount(normalized) || !watchOnlyWalletSource.add(normalized)) {
+                throw new ServiceErrorException(C.ErrorCode.ALREADY_ADDED, "Already added");
+            }
+            return new Wallet(normalized, true);
+        }).subscribeOn(schedulers.disk());
+    }
+
     @Override
 	public Single<String> exportWallet(Wallet wallet, String password, String newPassword) {
+		if (wallet.isWatchOnly) {
+			return Single.error(new ServiceException("Watch-only wallet has no key to export"));
+		}
 		return accountKeystoreService.exportAccount(wallet, password, newPassword);
 	}
 
 	@Override
 	public Completable deleteWallet(String address, String password) {
-		return accountKeystoreService.deleteAccount(address, password);
+		return Single.fromCallable(() -> watchOnlyWalletSource.contains(address))
+				.subscribeOn(schedulers.disk())
+				.flatMapCompletable(isWatchOnly -> isWatchOnly
+						? Completable.fromAction(() -> watchOnlyWalletSource.remove(address))
+						: accountKeystoreService.deleteAccount(address, password));
 	}
 
 	@Override
@@ -94,6 +156,6 @@ public class WalletRepository implements WalletRepositoryType {
 					.ethGetBalance(wallet.address, DefaultBlockParameterName.LATEST)
 					.send()
 					.getBalance()))
-                .subscribeOn(Schedulers.io());
+                .subscribeOn(schedulers.interactive());
 	}
 }
\ No newline at end of file
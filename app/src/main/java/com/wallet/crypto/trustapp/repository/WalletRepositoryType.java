@@ -1,11 +1,17 @@
 package com.wallet.crypto.trustapp.repository;
 
+import com.wallet.crypto.trustapp.entity.KeystoreFile;
+import com.wallet.crypto.trustapp.entity.KeystoreImportStatus;
 import com.wallet.crypto.trustapp.entity.Wallet;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 
 import io.reactivex.Completable;
+import io.reactivex.Flowable;
 import io.reactivex.Single;
+import io.reactivex.functions.Function;
 
 public interface WalletRepositoryType {
 	Single<Wallet[]> fetchWallets();
@@ -14,6 +20,12 @@ public interface WalletRepositoryType {
 	Single<Wallet> createWallet(String password);
 	Single<Wallet> importKeystoreToWallet(String store, String password, String newPassword);
     Single<Wallet> importPrivateKeyToWallet(String privateKey, String newPassword);
+    Flowable<KeystoreImportStatus> importKeystoresToWallets(
+            List<KeystoreFile> files,
+            Map<String, String> passwords,
+            String defaultPassword,
+            Function<String, String> newPasswords);
+    Single<Wallet> addWatchOnlyWallet(String address);
 	Single<String> exportWallet(Wallet wallet, String password, String newPassword);
 
 	Completable deleteWallet(String address, String password);
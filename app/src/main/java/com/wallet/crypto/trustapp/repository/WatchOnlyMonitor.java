@@ -0,0 +1,193 @@
+package com.wallet.crypto.trustapp.repository;
+
+import android.util.Log;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.wallet.crypto.trustapp.entity.NetworkInfo;
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
+import com.wallet.crypto.trustapp.service.BatchRpcClient;
+
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Completable;
+import io.reactivex.Observable;
+import io.reactivex.disposables.Disposable;
+
+/**
+ * Polls the watch-only wallets in the default network while the app is in the foreground.
+ * Each round is one batched request for the latest block and the balances of all watched
+ * addresses, plus one log filter for ERC20 transfers to any of them. Wallets whose balance
+ * changed or which received tokens get their transactions and tokens synced.
+ */
+public class WatchOnlyMonitor {
+
+    private static final String TAG = "WatchOnly";
+    private static final long POLL_INTERVAL = 30;
+    private static final BigInteger MAX_BLOCK_RANGE = BigInteger.valueOf(1000);
+    /** keccak256("Transfer(address,address,uint256)") */
+    private static final String TRANSFER_TOPIC =
+            "0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef";
+
+    private final WatchOnlyWalletSource watchOnlyWalletSource;
+    private final EthereumNetworkRepositoryType networkRepository;
+    private final TransactionRepositoryType transactionRepository;
+    private final AppStateStore appStateStore;
+    private final BatchRpcClient rpcClient;
+    private final Gson gson;
+    private final AppSchedulers schedulers;
+
+    private final Map<String, BigInteger> balances = new HashMap<>();
+    private String network;
+    private BigInteger lastBlock;
+    private Disposable polling;
+
+    public WatchOnlyMonitor(
+            WatchOnlyWalletSource watchOnlyWalletSource,
+            EthereumNetworkRepositoryType networkRepository,
+            TransactionRepositoryType transactionRepository,
+            AppStateStore appStateStore,
+            BatchRpcClient rpcClient,
+            Gson gson,
+            AppSchedulers schedulers) {
+        this.watchOnlyWalletSource = watchOnlyWalletSource;
+        this.networkRepository = networkRepository;
+        this.transactionRepository = transactionRepository;
+        this.appStateStore = appStateStore;
+        this.rpcClient = rpcClient;
+        this.gson = gson;
+        this.schedulers = schedulers;
+    }
+
+    public synchronized void start() {
+        if (polling != null) {
+            return;
+        }
+        polling = Observable.interval(0, POLL_INTERVAL, TimeUnit.SECONDS)
+                .concatMap(tick -> Observable
+                        .fromCallable(this::poll)
+                        .subscribeOn(schedulers.sync())
+                        .doOnError(throwable -> Log.w(TAG, "Poll failed", throwable))
+                        .onErrorReturnItem(Collections.emptyList()))
+                .concatMapCompletable(this::sync)
+                .subscribe(() -> {}, throwable -> Log.e(TAG, "Polling stopped", throwable));
+    }
+
+    public synchronized void stop() {
+        if (polling != null) {
+            polling.dispose();
+            polling = null;
+        }
+    }
+
+    private Completable sync(List<Wallet> wallets) {
+        return Observable.fromIterable(wallets)
+                .concatMapCompletable(wallet -> transactionRepository
+                        .syncTransactions(wallet)
+                        .andThen(appStateStore.syncTokens(wallet).ignoreElements())
+                        .onErrorComplete());
+    }
+
+    /**
+     * @return the watched wallets with news since the last round.
+     */
+    synchronized List<Wallet> poll() throws Exception {
+        Wallet[] wallets = watchOnlyWalletSource.fetch();
+        if (wallets.length == 0) {
+            return Collections.emptyList();
+        }
+        NetworkInfo networkInfo = networkRepository.getDefaultNetwork();
+        if (!networkInfo.name.equals(network)) {
+            network = networkInfo.name;
+            balances.clear();
+            lastBlock = null;
+        }
+
+        List<BatchRpcClient.Call> calls = new ArrayList<>(wallets.length + 1);
+        calls.add(BatchRpcClient.blockNumber());
+        for (Wallet wallet : wallets) {
+            calls.add(BatchRpcClient.getBalance(wallet.address));
+        }
+        BigInteger[] results = rpcClient.send(networkInfo.rpcServerUrl, calls);
+
+        Set<String> changed = new HashSet<>();
+        BigInteger latestBlock = results[0];
+        if (latestBlock != null) {
+            if (lastBlock != null && latestBlock.compareTo(lastBlock) > 0) {
+                BigInteger fromBlock = lastBlock.add(BigInteger.ONE).max(latestBlock.subtract(MAX_BLOCK_RANGE));
+                changed.addAll(findTransfers(networkInfo, wallets, fromBlock, latestBlock));
+            }
+            lastBlock = latestBlock;
+        }
+        for (int i = 0; i < wallets.length; i++) {
+            BigInteger balance = results[i + 1];
+            if (balance == null) {
+                continue;
+            }
+            BigInteger previous = balances.put(wallets[i].address, balance);
+            if (previous != null && !previous.equals(balance)) {
+                changed.add(wallets[i].address);
+            }
+        }
+
+        List<Wallet> result = new ArrayList<>(changed.size());
+        for (Wallet wallet : wallets) {
+            if (changed.contains(wallet.address)) {
+                result.add(wallet);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * One filter for all wallets: Transfer events whose indexed recipient is any of the watched addresses.
+     *
+     * @return lower case addresses which received tokens.
+     */
+    private Set<String> findTransfers(
+            NetworkInfo networkInfo, Wallet[] wallets, BigInteger fromBlock, BigInteger toBlock) throws Exception {
+        String[] recipients = new String[wallets.length];
+        for (int i = 0; i < wallets.length; i++) {
+            recipients[i] = toTopic(wallets[i].address);
+        }
+        JsonElement result = rpcClient.call(
+                networkInfo.rpcServerUrl,
+                BatchRpcClient.getLogs(fromBlock, toBlock, new Object[] {TRANSFER_TOPIC, null, recipients}));
+        Set<String> addresses = new HashSet<>();
+        TransferLog[] logs = gson.fromJson(result, TransferLog[].class);
+        if (logs == null) {
+            return addresses;
+        }
+        for (TransferLog log : logs) {
+            if (log.topics != null && log.topics.length > 2) {
+                String topic = Numeric.cleanHexPrefix(log.topics[2]);
+                addresses.add("0x" + topic.substring(topic.length() - 40).toLowerCase());
+            }
+        }
+        return addresses;
+    }
+
+    private static String toTopic(String address) {
+        StringBuilder topic = new StringBuilder("0x");
+        String value = Numeric.cleanHexPrefix(address).toLowerCase();
+        for (int i = value.length(); i < 64; i++) {
+            topic.append('0');
+        }
+        return topic.append(value).toString();
+    }
+
+    private static class TransferLog {
+        String[] topics;
+    }
+}
@@ -0,0 +1,74 @@
+package com.wallet.crypto.trustapp.repository;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.wallet.crypto.trustapp.entity.Wallet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Addresses watched without a key, kept apart from the keystore in their own preferences file.
+ * Addresses are stored in lower case.
+ */
+public class WatchOnlyWalletSource {
+
+    private static final String PREFERENCES_NAME = "watch_only_wallets";
+    private static final String ADDRESSES_KEY = "addresses";
+
+    private final SharedPreferences preferences;
+
+    public WatchOnlyWalletSource(Context context) {
+        this(context.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE));
+    }
+
+    WatchOnlyWalletSource(SharedPreferences preferences) {
+        this.preferences = preferences;
+    }
+
+    public synchronized Wallet[] fetch() {
+        List<String> addresses = new ArrayList<>(read());
+        Collections.sort(addresses);
+        Wallet[] wallets = new Wallet[addresses.size()];
+        for (int i = 0; i < wallets.length; i++) {
+            wallets[i] = new Wallet(addresses.get(i), true);
+        }
+        return wallets;
+    }
+
+    public synchronized boolean contains(String address) {
+        return read().contains(address.toLowerCase());
+    }
+
+    /**
+     * @return false if the address is watched already.
+     */
+    public synchronized boolean add(String address) {
+        Set<String> addresses = read();
+        if (!addresses.add(address.toLowerCase())) {
+            return false;
+        }
+        write(addresses);
+        return true;
+    }
+
+    public synchronized void remove(String address) {
+        Set<String> addresses = read();
+        if (addresses.remove(address.toLowerCase())) {
+            write(addresses);
+        }
+    }
+
+    private Set<String> read() {
+        // The returned set must not be modified.
+        return new HashSet<>(preferences.getStringSet(ADDRESSES_KEY, Collections.emptySet()));
+    }
+
+    private void write(Set<String> addresses) {
+        preferences.edit().putStringSet(ADDRESSES_KEY, addresses).apply();
+    }
+}
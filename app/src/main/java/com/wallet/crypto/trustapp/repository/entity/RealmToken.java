@@ -1,10 +1,15 @@
 package com.wallet.crypto.trustapp.repository.entity;
 
 import io.realm.RealmObject;
+import io.realm.annotations.Index;
 import io.realm.annotations.PrimaryKey;
 
 public class RealmToken extends RealmObject {
     @PrimaryKey
+    private String key;
+    @Index
+    private String scope;
+    @Index
     private String address;
     private String name;
     private String symbol;
@@ -77,4 +82,20 @@ public class RealmToken extends RealmObject {
     public void setEnabled(boolean isEnabled) {
         this.isEnabled = isEnabled;
     }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public void setScope(String scope) {
+        this.scope = scope;
+    }
 }
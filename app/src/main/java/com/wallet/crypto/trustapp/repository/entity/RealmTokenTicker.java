@@ -1,10 +1,15 @@
 package com.wallet.crypto.trustapp.repository.entity;
 
 import io.realm.RealmObject;
+import io.realm.annotations.Index;
 import io.realm.annotations.PrimaryKey;
 
 public class RealmTokenTicker extends RealmObject {
     @PrimaryKey
+    private String key;
+    @Index
+    private String scope;
+    @Index
     private String contract;
     private String price;
     private String percentChange24h;
@@ -68,4 +73,20 @@ public class RealmTokenTicker extends RealmObject {
     public void setUpdatedTime(long updatedTime) {
         this.updatedTime = updatedTime;
     }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public void setScope(String scope) {
+        this.scope = scope;
+    }
 }
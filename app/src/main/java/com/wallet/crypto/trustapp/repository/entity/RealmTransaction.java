@@ -2,21 +2,31 @@ package com.wallet.crypto.trustapp.repository.entity;
 
 import io.realm.RealmList;
 import io.realm.RealmObject;
+import io.realm.annotations.Index;
 import io.realm.annotations.PrimaryKey;
 
 public class RealmTransaction extends RealmObject {
     @PrimaryKey
+    private String key;
+    @Index
+    private String scope;
+    @Index
     private String hash;
-    private String blockNumber;
+    private long blockNumber;
     private long timeStamp;
     private int nonce;
     private String from;
     private String to;
-    private String value;
-    private String gas;
-    private String gasPrice;
-    private String gasUsed;
-    private String input;
+    // Numbers and hex are kept in the binary form of CompactEncoding.
+    private byte[] value;
+    private long gas;
+    private byte[] gasPrice;
+    private long gasUsed;
+    // What the long fields can't hold, see CompactEncoding.toLongOverflow. Mostly null.
+    private String blockNumberText;
+    private String gasText;
+    private String gasUsedText;
+    private byte[] input;
     private String error;
     private RealmList<RealmTransactionOperation> operations;
 
@@ -28,11 +38,11 @@ public class RealmTransaction extends RealmObject {
         this.hash = hash;
     }
 
-    public String getBlockNumber() {
+    public long getBlockNumber() {
         return blockNumber;
     }
 
-    public void setBlockNumber(String blockNumber) {
+    public void setBlockNumber(long blockNumber) {
         this.blockNumber = blockNumber;
     }
 
@@ -68,43 +78,67 @@ public class RealmTransaction extends RealmObject {
         this.to = to;
     }
 
-    public String getValue() {
+    public byte[] getValue() {
         return value;
     }
 
-    public void setValue(String value) {
+    public void setValue(byte[] value) {
         this.value = value;
     }
 
-    public String getGas() {
+    public long getGas() {
         return gas;
     }
 
-    public void setGas(String gas) {
+    public void setGas(long gas) {
         this.gas = gas;
     }
 
-    public String getGasPrice() {
+    public byte[] getGasPrice() {
         return gasPrice;
     }
 
-    public void setGasPrice(String gasPrice) {
+    public void setGasPrice(byte[] gasPrice) {
         this.gasPrice = gasPrice;
     }
 
-    public String getGasUsed() {
+    public long getGasUsed() {
         return gasUsed;
     }
 
-    public void setGasUsed(String gasUsed) {
+    public void setGasUsed(long gasUsed) {
         this.gasUsed = gasUsed;
     }
 
-    public String getInput() {
+    public String getBlockNumberText() {
+        return blockNumberText;
+    }
+
+    public void setBlockNumberText(String blockNumberText) {
+        this.blockNumberText = blockNumberText;
+    }
+
+    public String getGasText() {
+        return gasText;
+    }
+
+    public void setGasText(String gasText) {
+        this.gasText = gasText;
+    }
+
+    public String getGasUsedText() {
+        return gasUsedText;
+    }
+
+    public void setGasUsedText(String gasUsedText) {
+        this.gasUsedText = gasUsedText;
+    }
+
+    public byte[] getInput() {
         return input;
     }
 
-    public void setInput(String input) {
+    public void setInput(byte[] input) {
         this.input = input;
     }
 
@@ -119,4 +153,20 @@ public class RealmTransaction extends RealmObject {
     public RealmList<RealmTransactionOperation> getOperations() {
         return operations;
     }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public void setScope(String scope) {
+        this.scope = scope;
+    }
 }
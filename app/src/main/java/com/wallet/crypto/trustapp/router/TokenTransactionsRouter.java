@@ -0,0 +1,21 @@
+package com.wallet.crypto.trustapp.router;
+
+import android.content.Context;
+import android.content.Intent;
+
+import com.wallet.crypto.trustapp.C;
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.ui.TokenTransactionsActivity;
+
+import static com.wallet.crypto.trustapp.C.Key.WALLET;
+
+public class TokenTransactionsRouter {
+
+    public void open(Context context, Wallet wallet, String address, String symbol) {
+        Intent intent = new Intent(context, TokenTransactionsActivity.class);
+        intent.putExtra(WALLET, wallet);
+        intent.putExtra(C.EXTRA_CONTRACT_ADDRESS, address);
+        intent.putExtra(C.EXTRA_SYMBOL, symbol);
+        context.startActivity(intent);
+    }
+}
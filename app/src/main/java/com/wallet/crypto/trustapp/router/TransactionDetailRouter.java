@@ -3,16 +3,15 @@ package com.wallet.crypto.trustapp.router;
 import android.content.Context;
 import android.content.Intent;
 
-import com.wallet.crypto.trustapp.entity.Transaction;
 import com.wallet.crypto.trustapp.ui.TransactionDetailActivity;
 
-import static com.wallet.crypto.trustapp.C.Key.TRANSACTION;
+import static com.wallet.crypto.trustapp.C.Key.TRANSACTION_HASH;
 
 public class TransactionDetailRouter {
 
-    public void open(Context context, Transaction transaction) {
+    public void open(Context context, String transactionHash) {
         Intent intent = new Intent(context, TransactionDetailActivity.class);
-        intent.putExtra(TRANSACTION, transaction);
+        intent.putExtra(TRANSACTION_HASH, transactionHash);
         context.startActivity(intent);
     }
 }
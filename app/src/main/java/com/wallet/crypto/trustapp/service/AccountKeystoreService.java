@@ -1,11 +1,17 @@
 package com.wallet.crypto.trustapp.service;
 
+import com.wallet.crypto.trustapp.entity.KeystoreFile;
+import com.wallet.crypto.trustapp.entity.KeystoreImportStatus;
 import com.wallet.crypto.trustapp.entity.Wallet;
 
 import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
 
 import io.reactivex.Completable;
+import io.reactivex.Flowable;
 import io.reactivex.Single;
+import io.reactivex.functions.Function;
 
 public interface AccountKeystoreService {
 	/**
@@ -24,6 +30,21 @@ public interface AccountKeystoreService {
 	Single<Wallet> importKeystore(String store, String password, String newPassword);
     Single<Wallet> importPrivateKey(String privateKey, String newPassword);
 
+	/**
+	 * Include many existing keystores, decrypting as many at once as there are CPU cores.
+	 * Accounts which are in the keystore already are skipped without decrypting them.
+	 * @param files stores to include
+	 * @param passwords store passwords by file name
+	 * @param defaultPassword password of the files missing in {@code passwords}
+	 * @param newPasswords gives the password to store an account with, by its address
+	 * @return status of each file as it is done. Cancelling skips the files not started yet
+	 */
+	Flowable<KeystoreImportStatus> importKeystores(
+			List<KeystoreFile> files,
+			Map<String, String> passwords,
+			String defaultPassword,
+			Function<String, String> newPasswords);
+
 	/**
 	 * Export wallet to keystore
 	 * @param wallet wallet to export
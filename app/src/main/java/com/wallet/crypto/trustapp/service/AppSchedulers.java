@@ -0,0 +1,146 @@
+package com.wallet.crypto.trustapp.service;
+
+import com.wallet.crypto.trustapp.entity.SchedulerMetrics;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Bounded thread pools in place of the unbounded {@link Schedulers#io()}:
+ * <ul>
+ *     <li>{@link #interactive()} - network and keystore work the visible screen waits for;</li>
+ *     <li>{@link #sync()} - background refreshes: explorer, tickers, token lists;</li>
+ *     <li>{@link #disk()} - Realm and file access.</li>
+ * </ul>
+ * Waiting tasks are ordered by the pool of the thread that scheduled them, so a Realm read
+ * requested from the interactive pool runs before queued writes of a background sync.
+ */
+public class AppSchedulers {
+
+    public static final int PRIORITY_INTERACTIVE = 0;
+    public static final int PRIORITY_NORMAL = 1;
+    public static final int PRIORITY_BACKGROUND = 2;
+
+    private static final long KEEP_ALIVE_SECONDS = 30;
+    private static final ThreadLocal<Integer> currentPriority = new ThreadLocal<>();
+
+    private final Pool interactivePool;
+    private final Pool syncPool;
+    private final Pool diskPool;
+    private final Scheduler interactive;
+    private final Scheduler sync;
+    private final Scheduler disk;
+
+    public AppSchedulers() {
+        this(4, 2, 2);
+    }
+
+    public AppSchedulers(int interactiveThreads, int syncThreads, int diskThreads) {
+        interactivePool = new Pool("interactive", interactiveThreads, PRIORITY_INTERACTIVE);
+        syncPool = new Pool("sync", syncThreads, PRIORITY_BACKGROUND);
+        diskPool = new Pool("disk", diskThreads, PRIORITY_NORMAL);
+        interactive = Schedulers.from(interactivePool);
+        sync = Schedulers.from(syncPool);
+        disk = Schedulers.from(diskPool);
+    }
+
+    public Scheduler interactive() {
+        return interactive;
+    }
+
+    public Scheduler sync() {
+        return sync;
+    }
+
+    public Scheduler disk() {
+        return disk;
+    }
+
+    public SchedulerMetrics[] getMetrics() {
+        return new SchedulerMetrics[] {
+                interactivePool.getMetrics(), syncPool.getMetrics(), diskPool.getMetrics() };
+    }
+
+    private static int currentPriority() {
+        Integer priority = currentPriority.get();
+        return priority == null ? PRIORITY_NORMAL : priority;
+    }
+
+    private static final class Pool extends ThreadPoolExecutor {
+        private final String name;
+        private final AtomicLong sequence = new AtomicLong();
+        private final AtomicInteger maxQueued = new AtomicInteger();
+        private final AtomicLong executed = new AtomicLong();
+        private final AtomicLong totalWait = new AtomicLong();
+        private final AtomicLong maxWait = new AtomicLong();
+
+        Pool(String name, int threads, int priority) {
+            super(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new PriorityBlockingQueue<>());
+            this.name = name;
+            allowCoreThreadTimeOut(true);
+            AtomicInteger count = new AtomicInteger();
+            setThreadFactory(runnable -> {
+                Thread thread = new Thread(() -> {
+                    currentPriority.set(priority);
+                    runnable.run();
+                }, name + "-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            super.execute(new Task(command, currentPriority(), sequence.getAndIncrement()));
+            int queued = getQueue().size();
+            int max;
+            while (queued > (max = maxQueued.get()) && !maxQueued.compareAndSet(max, queued)) {
+                // Another thread raised it, read again.
+            }
+        }
+
+        SchedulerMetrics getMetrics() {
+            long count = executed.get();
+            return new SchedulerMetrics(name, getMaximumPoolSize(), getQueue().size(), maxQueued.get(),
+                    count, count == 0 ? 0 : totalWait.get() / count, maxWait.get());
+        }
+
+        private final class Task implements Runnable, Comparable<Task> {
+            private final Runnable runnable;
+            private final int priority;
+            private final long sequence;
+            private final long scheduledAt = System.nanoTime();
+
+            Task(Runnable runnable, int priority, long sequence) {
+                this.runnable = runnable;
+                this.priority = priority;
+                this.sequence = sequence;
+            }
+
+            @Override
+            public void run() {
+                long wait = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - scheduledAt);
+                executed.incrementAndGet();
+                totalWait.addAndGet(wait);
+                long max;
+                while (wait > (max = maxWait.get()) && !maxWait.compareAndSet(max, wait)) {
+                    // Another thread raised it, read again.
+                }
+                runnable.run();
+            }
+
+            @Override
+            public int compareTo(Task other) {
+                return priority != other.priority
+                        ? Integer.compare(priority, other.priority)
+                        : Long.compare(sequence, other.sequence);
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.wallet.crypto.trustapp.service;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.wallet.crypto.trustapp.entity.ServiceException;
+
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Sends many JSON-RPC calls to a node in one HTTP request, see the "Batch" section of the JSON-RPC 2.0 spec.
+ * Very large batches are split, nodes reject requests above a size limit.
+ */
+public class BatchRpcClient {
+
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+
+    private final OkHttpClient httpClient;
+    private final Gson gson;
+
+    public BatchRpcClient(OkHttpClient httpClient, Gson gson) {
+        this.httpClient = httpClient;
+        this.gson = gson;
+    }
+
+    public static Call getBalance(String address) {
+        return new Call("eth_getBalance", new Object[] {address, "latest"});
+    }
+
+    public static Call balanceOf(String contract, String owner) {
+        Function function = new Function(
+                "balanceOf",
+                Collections.singletonList(new Address(owner)),
+                Collections.emptyList());
+        Map<String, String> transaction = new HashMap<>();
+        transaction.put("to", contract);
+        transaction.put("data", FunctionEncoder.encode(function));
+        return new Call("eth_call", new Object[] {transaction, "latest"});
+    }
+
+    public static Call blockNumber() {
+        return new Call("eth_blockNumber", new Object[0]);
+    }
+
+    /**
+     * Logs of the blocks in the range matching the topics. A topic position holding an array
+     * matches any of its values, so one filter can cover many addresses.
+     */
+    public static Call getLogs(BigInteger fromBlock, BigInteger toBlock, Object[] topics) {
+        Map<String, Object> filter = new HashMap<>();
+        filter.put("fromBlock", Numeric.encodeQuantity(fromBlock));
+        filter.put("toBlock", Numeric.encodeQuantity(toBlock));
+        filter.put("topics", topics);
+        return new Call("eth_getLogs", new Object[] {filter});
+    }
+
+    /**
+     * Sends one call and blocks until it is answered.
+     *
+     * @return the raw result.
+     */
+    public JsonElement call(String rpcServerUrl, Call call) throws IOException, ServiceException {
+        RpcResponse[] answers = execute(rpcServerUrl, new RpcRequest[] {new RpcRequest(0, call.method, call.params)});
+        if (answers.length == 0 || answers[0].isError()) {
+            throw new ServiceException(call.method + " failed");
+        }
+        return answers[0].result;
+    }
+
+    /**
+     * Blocks until all calls are answered.
+     *
+     * @return the quantity each call returned, in the order of {@code calls}.
+     * Null for calls the node answered with an error or an empty value.
+     */
+    public BigInteger[] send(String rpcServerUrl, List<Call> calls) throws IOException, ServiceException {
+        BigInteger[] results = new BigInteger[calls.size()];
+        for (int from = 0; from < calls.size(); from += MAX_BATCH_SIZE) {
+            int to = Math.min(from + MAX_BATCH_SIZE, calls.size());
+            sendBatch(rpcServerUrl, calls, from, to, results);
+        }
+        return results;
+    }
+
+    private void sendBatch(
+            String rpcServerUrl, List<Call> calls, int from, int to, BigInteger[] results)
+            throws IOException, ServiceException {
+        RpcRequest[] batch = new RpcRequest[to - from];
+        for (int i = from; i < to; i++) {
+            Call call = calls.get(i);
+            batch[i - from] = new RpcRequest(i, call.method, call.params);
+        }
+        for (RpcResponse answer : execute(rpcServerUrl, batch)) {
+            if (answer.id >= from && answer.id < to && !answer.isError()) {
+                results[answer.id] = decode(answer.result);
+            }
+        }
+    }
+
+    private RpcResponse[] execute(String rpcServerUrl, RpcRequest[] batch) throws IOException, ServiceException {
+        Request request = new Request.Builder()
+                .url(rpcServerUrl)
+                .post(RequestBody.create(JSON, gson.toJson(batch)))
+                .build();
+        try (Response response = httpClient.newCall(request).execute()) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null) {
+                throw new ServiceException("Batch call failed with " + response.code());
+            }
+            return parse(body.string());
+        }
+    }
+
+    /**
+     * Nodes answer a batch they reject as a whole, e.g. one which is too large or over the rate
+     * limit, with a single error object instead of an array.
+     */
+    private RpcResponse[] parse(String body) throws ServiceException {
+        JsonElement answer;
+        try {
+            answer = new JsonParser().parse(body);
+        } catch (JsonParseException ex) {
+            throw new ServiceException("Malformed batch response");
+        }
+        if (answer.isJsonArray()) {
+            return gson.fromJson(answer, RpcResponse[].class);
+        }
+        if (!answer.isJsonObject()) {
+            throw new ServiceException("Empty batch response");
+        }
+        RpcResponse single = gson.fromJson(answer, RpcResponse.class);
+        if (single.isError()) {
+            throw new ServiceException("Batch call failed: " + messageOf(single.error));
+        }
+        return new RpcResponse[] {single};
+    }
+
+    private static String messageOf(JsonElement error) {
+        if (error.isJsonObject() && error.getAsJsonObject().has("message")) {
+            return error.getAsJsonObject().get("message").getAsString();
+        }
+        return error.toString();
+    }
+
+    private static BigInteger decode(JsonElement result) {
+        if (result == null || !result.isJsonPrimitive()) {
+            return null;
+        }
+        String value = result.getAsString();
+        if (Numeric.cleanHexPrefix(value).isEmpty()) {
+            return null;
+        }
+        return Numeric.toBigInt(value);
+    }
+
+    public static class Call {
+        final String method;
+        final Object[] params;
+
+        Call(String method, Object[] params) {
+            this.method = method;
+            this.params = params;
+        }
+    }
+
+    private static class RpcRequest {
+        final String jsonrpc = "2.0";
+        final int id;
+        final String method;
+        final Object[] params;
+
+        RpcRequest(int id, String method, Object[] params) {
+            this.id = id;
+            this.method = method;
+            this.params = params;
+        }
+    }
+
+    private static class RpcResponse {
+        int id;
+        JsonElement result;
+        JsonElement error;
+
+        boolean isError() {
+            return error != null && !error.isJsonNull();
+        }
+    }
+}
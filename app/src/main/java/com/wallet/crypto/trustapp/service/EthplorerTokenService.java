@@ -4,7 +4,6 @@ import com.google.gson.Gson;
 import com.wallet.crypto.trustapp.entity.TokenInfo;
 
 import io.reactivex.Observable;
-import io.reactivex.schedulers.Schedulers;
 import okhttp3.OkHttpClient;
 import retrofit2.Response;
 import retrofit2.Retrofit;
@@ -17,10 +16,13 @@ public class EthplorerTokenService implements TokenExplorerClientType {
     private static final String ETHPLORER_API_URL = "https://api.ethplorer.io";
 
     private EthplorerApiClient ethplorerApiClient;
+    private final AppSchedulers schedulers;
 
     public EthplorerTokenService(
             OkHttpClient httpClient,
-            Gson gson) {
+            Gson gson,
+            AppSchedulers schedulers) {
+        this.schedulers = schedulers;
         ethplorerApiClient = new Retrofit.Builder()
                 .baseUrl(ETHPLORER_API_URL)
                 .client(httpClient)
@@ -46,7 +48,7 @@ public class EthplorerTokenService implements TokenExplorerClientType {
                         return result;
                     }
                 })
-                .subscribeOn(Schedulers.io());
+                .subscribeOn(schedulers.sync());
     }
 
     public interface EthplorerApiClient {
@@ -1,7 +1,12 @@
 package com.wallet.crypto.trustapp.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import android.os.SystemClock;
+
 import com.wallet.crypto.trustapp.C;
+import com.wallet.crypto.trustapp.entity.KdfCalibration;
+import com.wallet.crypto.trustapp.entity.KeystoreFile;
+import com.wallet.crypto.trustapp.entity.KeystoreImportStatus;
+import com.wallet.crypto.trustapp.entity.KeystoreMetrics;
 import com.wallet.crypto.trustapp.entity.ServiceErrorException;
 import com.wallet.crypto.trustapp.entity.ServiceException;
 import com.wallet.crypto.trustapp.entity.Wallet;
@@ -16,43 +21,107 @@ import org.ethereum.geth.Transaction;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.web3j.crypto.ECKeyPair;
-import org.web3j.crypto.WalletFile;
+import org.web3j.crypto.Keys;
+import org.web3j.utils.Numeric;
 
 import java.io.File;
 import java.math.BigInteger;
 import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
 import io.reactivex.Single;
+import io.reactivex.functions.Function;
 import io.reactivex.schedulers.Schedulers;
 
-import static org.web3j.crypto.Wallet.create;
-
 public class GethKeystoreAccountService implements AccountKeystoreService {
     private static final int PRIVATE_KEY_RADIX = 16;
+    private static final int PRIVATE_KEY_SIZE = 32;
+
+    private final String keyStorePath;
+    private final KdfCalibrator kdfCalibrator;
+    private final AppSchedulers schedulers;
+    private final AtomicLong imports = new AtomicLong();
+    private final AtomicLong importMillis = new AtomicLong();
+    private final AtomicLong lastImportMillis = new AtomicLong();
+    private KeyStore keyStore;
+    private KdfCalibration keyStoreCalibration;
+
+    public GethKeystoreAccountService(File keyStoreFile, AppSchedulers schedulers) {
+        this(keyStoreFile, null, schedulers);
+    }
+
     /**
-     * CPU/Memory cost parameter. Must be larger than 1, a power of 2 and less than 2^(128 * r / 8).
+     * @param kdfCalibrator scrypt parameters for new keys, null for geth's light parameters.
      */
-    private static final int N = 1 << 9;
+    public GethKeystoreAccountService(File keyStoreFile, KdfCalibrator kdfCalibrator, AppSchedulers schedulers) {
+        keyStorePath = keyStoreFile.getAbsolutePath();
+        this.kdfCalibrator = kdfCalibrator;
+        this.schedulers = schedulers;
+    }
+
+    public GethKeystoreAccountService(KeyStore keyStore, AppSchedulers schedulers) {
+        keyStorePath = null;
+        kdfCalibrator = null;
+        this.keyStore = keyStore;
+        this.schedulers = schedulers;
+    }
+
     /**
-     * Parallelization parameter. Must be a positive integer less than or equal to Integer.MAX_VALUE / (128 * r * 8).
+     * The scrypt parameters are fixed when a geth key store is made, so the store is made again
+     * once the calibration finishes. Existing keys carry their own parameters and still unlock.
+     * The calibration runs once, so at most one store is replaced per process. The old store is
+     * only dropped: geth closes its account cache and directory watcher when the store is
+     * collected, and callers still holding it, like a signature in progress, finish on it.
      */
-    private static final int P = 1;
-
-    private final KeyStore keyStore;
+    private synchronized KeyStore keyStore() {
+        if (keyStorePath == null) {
+            return keyStore;
+        }
+        KdfCalibration calibration = kdfCalibrator == null
+                ? new KdfCalibration((int) Geth.LightScryptN, (int) Geth.LightScryptP, -1, -1)
+                : kdfCalibrator.get();
+        if (keyStore == null
+                || keyStoreCalibration.scryptN != calibration.scryptN
+                || keyStoreCalibration.scryptP != calibration.scryptP) {
+            keyStore = new KeyStore(keyStorePath, calibration.scryptN, calibration.scryptP);
+        }
+        keyStoreCalibration = calibration;
+        return keyStore;
+    }
 
-    public GethKeystoreAccountService(File keyStoreFile) {
-        keyStore = new KeyStore(keyStoreFile.getAbsolutePath(), Geth.LightScryptN, Geth.LightScryptP);
+    public KeystoreMetrics getMetrics() {
+        long count = imports.get();
+        KdfCalibration calibration;
+        synchronized (this) {
+            calibration = keyStoreCalibration;
+        }
+        return new KeystoreMetrics(
+                calibration, count, count == 0 ? 0 : importMillis.get() / count, lastImportMillis.get());
     }
 
-    public GethKeystoreAccountService(KeyStore keyStore) {
-        this.keyStore = keyStore;
+    private void onImported(long startTime) {
+        long millis = SystemClock.elapsedRealtime() - startTime;
+        imports.incrementAndGet();
+        importMillis.addAndGet(millis);
+        lastImportMillis.set(millis);
     }
 
     @Override
     public Single<Wallet> createAccount(String password) {
-        return Single.fromCallable(() -> new Wallet(keyStore.newAccount(password).getAddress().getHex().toLowerCase()))
-        .subscribeOn(Schedulers.io());
+        return Single.fromCallable(() -> new Wallet(keyStore().newAccount(password).getAddress().getHex().toLowerCase()))
+        .subscribeOn(schedulers.interactive());
     }
 
     @Override
@@ -62,17 +131,76 @@ public class GethKeystoreAccountService implements AccountKeystoreService {
             if (hasAccount(address)) {
                 throw new ServiceErrorException(C.ErrorCode.ALREADY_ADDED, "Already added");
             }
+            long startTime = SystemClock.elapsedRealtime();
             Account account;
             try {
-                account = keyStore
+                account = keyStore()
                         .importKey(store.getBytes(Charset.forName("UTF-8")), password, newPassword);
             } catch (Exception ex) {
                 // We need to make sure that we do not have a broken account
                 deleteAccount(address, newPassword).subscribe(() -> {}, t -> {});
                 throw ex;
             }
+            onImported(startTime);
             return new Wallet(account.getAddress().getHex().toLowerCase());
-        }).subscribeOn(Schedulers.io());
+        }).subscribeOn(schedulers.interactive());
+    }
+
+    @Override
+    public Flowable<KeystoreImportStatus> importKeystores(
+            List<KeystoreFile> files,
+            Map<String, String> passwords,
+            String defaultPassword,
+            Function<String, String> newPasswords) {
+        return Flowable.defer(() -> {
+            int workers = Runtime.getRuntime().availableProcessors();
+            ExecutorService pool = Executors.newFixedThreadPool(
+                    workers, runnable -> new Thread(runnable, "keystore-import"));
+            Scheduler scheduler = Schedulers.from(pool);
+            Set<String> seen = Collections.synchronizedSet(new HashSet<>());
+            AtomicInteger done = new AtomicInteger();
+            return Flowable.fromIterable(files)
+                    .flatMap(file -> Flowable
+                            .fromCallable(() -> importFile(file, passwords, defaultPassword, newPasswords, seen))
+                            .subscribeOn(scheduler), false, workers)
+                    .map(status -> new KeystoreImportStatus(status.file, status.status, status.wallet,
+                            status.error, done.incrementAndGet(), files.size()))
+                    .doFinally(pool::shutdown);
+        });
+    }
+
+    /**
+     * Checks the address before decrypting, the scrypt work is only paid for accounts which are new.
+     */
+    private KeystoreImportStatus importFile(
+            KeystoreFile file, Map<String, String> passwords, String defaultPassword,
+            Function<String, String> newPasswords, Set<String> seen) throws Exception {
+        String address;
+        try {
+            address = extractAddressFromStore(file.json).toLowerCase();
+        } catch (Exception ex) {
+            return new KeystoreImportStatus(file.name, KeystoreImportStatus.FAILED, null, ex.getMessage(), 0, 0);
+        }
+        Wallet wallet = new Wallet(address);
+        if (!seen.add(address) || hasAccount(address)) {
+            return new KeystoreImportStatus(file.name, KeystoreImportStatus.SKIPPED, wallet, null, 0, 0);
+        }
+        String password = passwords.containsKey(file.name) ? passwords.get(file.name) : defaultPassword;
+        String newPassword = newPasswords.apply(address);
+        long startTime = SystemClock.elapsedRealtime();
+        KeyStore keyStore = keyStore();
+        try {
+            Account account = keyStore.importKey(file.json.getBytes(Charset.forName("UTF-8")), password, newPassword);
+            onImported(startTime);
+            wallet = new Wallet(account.getAddress().getHex().toLowerCase());
+            return new KeystoreImportStatus(file.name, KeystoreImportStatus.IMPORTED, wallet, null, 0, 0);
+        } catch (Exception ex) {
+            // We need to make sure that we do not have a broken account
+            if (hasAccount(address)) {
+                keyStore.deleteAccount(findAccount(address), newPassword);
+            }
+            return new KeystoreImportStatus(file.name, KeystoreImportStatus.FAILED, wallet, ex.getMessage(), 0, 0);
+        }
     }
 
     private String extractAddressFromStore(String store) throws Exception {
@@ -86,12 +214,24 @@ public class GethKeystoreAccountService implements AccountKeystoreService {
 
     @Override
     public Single<Wallet> importPrivateKey(String privateKey, String newPassword) {
+        // Geth encrypts the raw key once, there is no intermediate keystore to decrypt again.
         return Single.fromCallable(() -> {
-            BigInteger key = new BigInteger(privateKey, PRIVATE_KEY_RADIX);
-            ECKeyPair keypair = ECKeyPair.create(key);
-            WalletFile walletFile = create(newPassword, keypair, N, P);
-            return new ObjectMapper().writeValueAsString(walletFile);
-        }).compose(upstream -> importKeystore(upstream.blockingGet(), newPassword, newPassword));
+            BigInteger privateKeyValue = new BigInteger(privateKey, PRIVATE_KEY_RADIX);
+            String address = "0x" + Keys.getAddress(ECKeyPair.create(privateKeyValue));
+            if (hasAccount(address)) {
+                throw new ServiceErrorException(C.ErrorCode.ALREADY_ADDED, "Already added");
+            }
+            byte[] key = Numeric.toBytesPadded(privateKeyValue, PRIVATE_KEY_SIZE);
+            long startTime = SystemClock.elapsedRealtime();
+            Account account;
+            try {
+                account = keyStore().importECDSAKey(key, newPassword);
+            } finally {
+                Arrays.fill(key, (byte) 0);
+            }
+            onImported(startTime);
+            return new Wallet(account.getAddress().getHex().toLowerCase());
+        }).subscribeOn(schedulers.interactive());
     }
 
     @Override
@@ -99,16 +239,16 @@ public class GethKeystoreAccountService implements AccountKeystoreService {
         return Single
                 .fromCallable(() -> findAccount(wallet.address))
                 .flatMap(account1 -> Single.fromCallable(()
-                        -> new String(keyStore.exportKey(account1, password, newPassword))))
-                .subscribeOn(Schedulers.io());
+                        -> new String(keyStore().exportKey(account1, password, newPassword))))
+                .subscribeOn(schedulers.interactive());
     }
 
     @Override
     public Completable deleteAccount(String address, String password) {
         return Single.fromCallable(() -> findAccount(address))
                 .flatMapCompletable(account -> Completable.fromAction(
-                        () -> keyStore.deleteAccount(account, password)))
-                .subscribeOn(Schedulers.io());
+                        () -> keyStore().deleteAccount(account, password)))
+                .subscribeOn(schedulers.interactive());
     }
 
     @Override
@@ -132,6 +272,7 @@ public class GethKeystoreAccountService implements AccountKeystoreService {
                     data);
 
             BigInt chain = new BigInt(chainId); // Chain identifier of the main net
+            KeyStore keyStore = keyStore();
             org.ethereum.geth.Account gethAccount = findAccount(signer.address);
             keyStore.unlock(gethAccount, signerPassword);
             Transaction signed = keyStore.signTx(gethAccount, tx, chain);
@@ -139,18 +280,18 @@ public class GethKeystoreAccountService implements AccountKeystoreService {
 
             return signed.encodeRLP();
         })
-        .subscribeOn(Schedulers.io());
+        .subscribeOn(schedulers.interactive());
     }
 
     @Override
     public boolean hasAccount(String address) {
-        return keyStore.hasAddress(new Address(address));
+        return keyStore().hasAddress(new Address(address));
     }
 
     @Override
     public Single<Wallet[]> fetchAccounts() {
         return Single.fromCallable(() -> {
-            Accounts accounts = keyStore.getAccounts();
+            Accounts accounts = keyStore().getAccounts();
             int len = (int) accounts.size();
             Wallet[] result = new Wallet[len];
 
@@ -160,11 +301,11 @@ public class GethKeystoreAccountService implements AccountKeystoreService {
             }
             return result;
         })
-        .subscribeOn(Schedulers.io());
+        .subscribeOn(schedulers.interactive());
     }
 
     private org.ethereum.geth.Account findAccount(String address) throws ServiceException {
-        Accounts accounts = keyStore.getAccounts();
+        Accounts accounts = keyStore().getAccounts();
         int len = (int) accounts.size();
         for (int i = 0; i < len; i++) {
             try {
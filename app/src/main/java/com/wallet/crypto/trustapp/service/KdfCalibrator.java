@@ -0,0 +1,149 @@
+package com.wallet.crypto.trustapp.service;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.wallet.crypto.trustapp.entity.KdfCalibration;
+
+import org.ethereum.geth.Geth;
+import org.ethereum.geth.KeyStore;
+
+import java.io.File;
+
+/**
+ * Picks the scrypt cost of new keys for this device. On first run geth's own key derivation
+ * is timed on the startup queue and the parameters are scaled to take about
+ * {@link #TARGET_UNLOCK_MILLIS} to unlock. Memory grows with N, so N stops at {@link #MAX_N}
+ * and the remaining cost goes to P. Never weaker than geth's light parameters.
+ * The result is kept in preferences, until then the light parameters are used.
+ */
+public class KdfCalibrator {
+
+    private static final String TAG = "Kdf";
+    private static final String PREFERENCES_NAME = "kdf_calibration";
+    private static final String N_KEY = "scrypt_n";
+    private static final String P_KEY = "scrypt_p";
+    private static final String UNLOCK_KEY = "unlock_millis";
+    private static final String BENCHMARK_KEY = "benchmark_millis";
+
+    private static final long TARGET_UNLOCK_MILLIS = 500;
+    private static final int MAX_N = 1 << 14;
+    private static final int MAX_P = 16;
+    private static final int PROBE_ROUNDS = 2;
+    private static final String PROBE_PASSWORD = "calibration";
+
+    private final SharedPreferences preferences;
+    private final File workDir;
+    private KdfCalibration calibration;
+
+    public KdfCalibrator(Context context, StartupQueue startupQueue) {
+        preferences = context.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
+        workDir = new File(context.getCacheDir(), "kdf_calibration");
+        calibration = read();
+        if (!calibration.isMeasured()) {
+            // A few hundred milliseconds of scrypt, nothing the first screen should wait for.
+            startupQueue.enqueue(StartupQueue.PRIORITY_LOW, this::calibrate);
+        }
+    }
+
+    public synchronized KdfCalibration get() {
+        return calibration;
+    }
+
+    /**
+     * Runs the benchmark unless it already ran on this device. Blocks for about twice the target time.
+     */
+    public KdfCalibration calibrate() {
+        synchronized (this) {
+            if (calibration.isMeasured()) {
+                return calibration;
+            }
+        }
+        KdfCalibration result;
+        try {
+            result = benchmark();
+        } catch (Exception ex) {
+            Log.w(TAG, "Calibration failed", ex);
+            return get();
+        } finally {
+            clear(workDir);
+        }
+        Log.i(TAG, "Scrypt N=" + result.scryptN + " P=" + result.scryptP + " unlocks in "
+                + result.unlockMillis + " ms, benchmark took " + result.benchmarkMillis + " ms");
+        preferences.edit()
+                .putInt(N_KEY, result.scryptN)
+                .putInt(P_KEY, result.scryptP)
+                .putLong(UNLOCK_KEY, result.unlockMillis)
+                .putLong(BENCHMARK_KEY, result.benchmarkMillis)
+                .apply();
+        synchronized (this) {
+            calibration = result;
+        }
+        return result;
+    }
+
+    private KdfCalibration benchmark() throws Exception {
+        long start = SystemClock.elapsedRealtime();
+        long probeMillis = Long.MAX_VALUE;
+        // The first round also pays for loading the library and warming up, keep the fastest.
+        for (int i = 0; i < PROBE_ROUNDS; i++) {
+            probeMillis = Math.min(probeMillis, measure((int) Geth.LightScryptN, 1));
+        }
+        KdfCalibration scaled = scale(probeMillis, (int) Geth.LightScryptN, (int) Geth.LightScryptP);
+        long unlockMillis = measure(scaled.scryptN, scaled.scryptP);
+        return new KdfCalibration(
+                scaled.scryptN, scaled.scryptP, unlockMillis, SystemClock.elapsedRealtime() - start);
+    }
+
+    /**
+     * Parameters costing about {@link #TARGET_UNLOCK_MILLIS}, not measured yet.
+     *
+     * @param probeMillis time one key derivation took with N = lightN and P = 1.
+     */
+    static KdfCalibration scale(long probeMillis, int lightN, int lightP) {
+        long budget = TARGET_UNLOCK_MILLIS / Math.max(probeMillis, 1);
+        int n = lightN;
+        while (n < MAX_N && budget >= 2L * n / lightN) {
+            n <<= 1;
+        }
+        int p = (int) Math.max(1, Math.min(MAX_P, budget / (n / lightN)));
+        if ((long) n * p < (long) lightN * lightP) {
+            n = lightN;
+            p = lightP;
+        }
+        return new KdfCalibration(n, p, -1, -1);
+    }
+
+    /**
+     * Encrypting a new key costs one key derivation, the same as unlocking it later.
+     */
+    private long measure(int n, int p) throws Exception {
+        clear(workDir);
+        KeyStore keyStore = new KeyStore(workDir.getAbsolutePath(), n, p);
+        long start = SystemClock.elapsedRealtime();
+        keyStore.newAccount(PROBE_PASSWORD);
+        return SystemClock.elapsedRealtime() - start;
+    }
+
+    private KdfCalibration read() {
+        return new KdfCalibration(
+                preferences.getInt(N_KEY, (int) Geth.LightScryptN),
+                preferences.getInt(P_KEY, (int) Geth.LightScryptP),
+                preferences.getLong(UNLOCK_KEY, -1),
+                preferences.getLong(BENCHMARK_KEY, -1));
+    }
+
+    private static void clear(File dir) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (!file.delete()) {
+                Log.w(TAG, "Cannot delete " + file.getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.wallet.crypto.trustapp.service;
+
+import com.wallet.crypto.trustapp.entity.KeystoreFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Reads the keystores of a bulk import: every regular file of a folder or of a ZIP archive,
+ * without descending into sub folders. Hidden files are skipped.
+ */
+public final class KeystoreFileReader {
+
+    /** Keystores are about 500 bytes, anything much larger is not one. */
+    private static final int MAX_FILE_SIZE = 64 * 1024;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private KeystoreFileReader() {
+    }
+
+    public static List<KeystoreFile> read(File source) throws IOException {
+        return source.isDirectory() ? readFolder(source) : readZip(source);
+    }
+
+    private static List<KeystoreFile> readFolder(File folder) throws IOException {
+        File[] files = folder.listFiles();
+        if (files == null) {
+            throw new IOException("Can't list " + folder);
+        }
+        Arrays.sort(files);
+        List<KeystoreFile> result = new ArrayList<>(files.length);
+        for (File file : files) {
+            if (!file.isFile() || file.getName().startsWith(".") || file.length() > MAX_FILE_SIZE) {
+                continue;
+            }
+            try (InputStream in = new FileInputStream(file)) {
+                String json = readText(in);
+                if (json != null) {
+                    result.add(new KeystoreFile(file.getName(), json));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static List<KeystoreFile> readZip(File archive) throws IOException {
+        List<KeystoreFile> result = new ArrayList<>();
+        try (ZipFile zip = new ZipFile(archive)) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                String name = entry.getName();
+                if (entry.isDirectory() || name.indexOf('/') >= 0 || name.startsWith(".")) {
+                    continue;
+                }
+                try (InputStream in = zip.getInputStream(entry)) {
+                    String json = readText(in);
+                    if (json != null) {
+                        result.add(new KeystoreFile(name, json));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the text, null if it is larger than {@link #MAX_FILE_SIZE}.
+     */
+    private static String readText(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) > 0) {
+            out.write(buffer, 0, read);
+            if (out.size() > MAX_FILE_SIZE) {
+                return null;
+            }
+        }
+        return new String(out.toByteArray(), UTF_8);
+    }
+}
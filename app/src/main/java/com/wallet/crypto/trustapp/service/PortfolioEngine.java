@@ -0,0 +1,146 @@
+package com.wallet.crypto.trustapp.service;
+
+import android.text.TextUtils;
+
+import com.wallet.crypto.trustapp.entity.Token;
+import com.wallet.crypto.trustapp.entity.TokenTicker;
+import com.wallet.crypto.trustapp.util.BalanceUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the scaled balance, price and fiat value of every token keyed by contract,
+ * so a new emission only recomputes the rows whose balance or price actually changed.
+ */
+public class PortfolioEngine {
+
+    private static final int TOTAL_SCALE = 2;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final List<String> order = new ArrayList<>();
+    private BigDecimal total = BigDecimal.ZERO;
+    private BigDecimal roundedTotal;
+
+    public synchronized Update update(Token[] tokens) {
+        List<String> newOrder = new ArrayList<>(tokens.length);
+        for (Token token : tokens) {
+            String key = keyOf(token);
+            newOrder.add(key);
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry();
+                entries.put(key, entry);
+            }
+            entry.apply(token);
+        }
+        if (!order.equals(newOrder)) {
+            Set<String> keys = new HashSet<>(newOrder);
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, Entry> item = iterator.next();
+                if (!keys.contains(item.getKey())) {
+                    total = total.subtract(item.getValue().value);
+                    iterator.remove();
+                }
+            }
+            order.clear();
+            order.addAll(newOrder);
+        }
+        BigDecimal newRoundedTotal = round(total);
+        boolean isTotalChanged = !same(roundedTotal, newRoundedTotal);
+        roundedTotal = newRoundedTotal;
+        return new Update(roundedTotal, isTotalChanged);
+    }
+
+    public synchronized BigDecimal getTotal() {
+        return roundedTotal;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        order.clear();
+        total = BigDecimal.ZERO;
+        roundedTotal = null;
+    }
+
+    private static String keyOf(Token token) {
+        return token.tokenInfo.address == null ? "" : token.tokenInfo.address.toLowerCase();
+    }
+
+    private static BigDecimal round(BigDecimal total) {
+        BigDecimal rounded = total.setScale(TOTAL_SCALE, RoundingMode.HALF_UP).stripTrailingZeros();
+        return rounded.compareTo(BigDecimal.ZERO) == 0 ? null : rounded;
+    }
+
+    private static boolean same(BigDecimal left, BigDecimal right) {
+        return left == null ? right == null : right != null && left.compareTo(right) == 0;
+    }
+
+    private final class Entry {
+        BigDecimal rawBalance;
+        int decimals = -1;
+        String rawPrice;
+        BigDecimal scaledBalance;
+        BigDecimal price;
+        BigDecimal value = BigDecimal.ZERO;
+
+        /**
+         * Recomputes the value of the token if its balance or price has changed.
+         */
+        void apply(Token token) {
+            TokenTicker ticker = token.ticker;
+            String newRawPrice = ticker == null ? null : ticker.price;
+            boolean isBalanceChanged = decimals != token.tokenInfo.decimals
+                    || !same(rawBalance, token.balance);
+            boolean isPriceChanged = !TextUtils.equals(rawPrice, newRawPrice);
+            if (!isBalanceChanged && !isPriceChanged) {
+                return;
+            }
+            if (isBalanceChanged) {
+                rawBalance = token.balance;
+                decimals = token.tokenInfo.decimals;
+                scaledBalance = rawBalance == null
+                        ? null
+                        : rawBalance.divide(BalanceUtils.decimalDivisor(decimals));
+            }
+            if (isPriceChanged) {
+                rawPrice = newRawPrice;
+                price = parsePrice(rawPrice);
+            }
+            BigDecimal newValue = scaledBalance == null || price == null
+                    ? BigDecimal.ZERO
+                    : scaledBalance.multiply(price);
+            total = total.add(newValue.subtract(value));
+            value = newValue;
+        }
+
+        private BigDecimal parsePrice(String rawPrice) {
+            if (TextUtils.isEmpty(rawPrice)) {
+                return null;
+            }
+            try {
+                return new BigDecimal(rawPrice);
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+    }
+
+    public static class Update {
+        public final BigDecimal total;
+        public final boolean isTotalChanged;
+
+        Update(BigDecimal total, boolean isTotalChanged) {
+            this.total = total;
+            this.isTotalChanged = isTotalChanged;
+        }
+    }
+}
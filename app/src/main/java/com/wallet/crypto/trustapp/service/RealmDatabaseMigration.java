@@ -0,0 +1,291 @@
+package com.wallet.crypto.trustapp.service;
+
+import android.util.Log;
+
+import com.crashlytics.android.Crashlytics;
+import com.wallet.crypto.trustapp.BuildConfig;
+import com.wallet.crypto.trustapp.util.CompactEncoding;
+
+import io.fabric.sdk.android.Fabric;
+import io.realm.DynamicRealm;
+import io.realm.FieldAttribute;
+import io.realm.RealmFieldType;
+import io.realm.RealmMigration;
+import io.realm.RealmObjectSchema;
+import io.realm.RealmSchema;
+import io.realm.exceptions.RealmMigrationNeededException;
+
+/**
+ * Upgrades wallet databases one schema version at a time, keeping the cached
+ * transactions, tokens and tickers.
+ * Layouts before {@link #BASELINE_VERSION} are not recorded, they are first reconciled
+ * with the baseline layout: matching fields keep their data, the rest is added or dropped.
+ */
+public class RealmDatabaseMigration implements RealmMigration {
+
+    static final long BASELINE_VERSION = 4;
+    private static final String TAG = "RealmMigration";
+
+    private final String scope;
+
+    /**
+     * @param scope network and wallet of the database, see {@link RealmManager#scope}.
+     *              Null for databases which never had a layout without scopes.
+     */
+    public RealmDatabaseMigration(String scope) {
+        this.scope = scope;
+    }
+
+    @Override
+    public void migrate(DynamicRealm realm, long oldVersion, long newVersion) {
+        try {
+            migrate(realm.getSchema(), oldVersion, scope);
+        } catch (RuntimeException ex) {
+            if (BuildConfig.DEBUG) {
+                // A broken migration step is a bug, don't hide it behind a clean database.
+                throw ex;
+            }
+            Log.e(TAG, "Can't migrate from schema version " + oldVersion, ex);
+            if (Fabric.isInitialized()) {
+                Crashlytics.logException(ex);
+            }
+            // Lets RealmManager fall back to a clean database.
+            throw new RealmMigrationNeededException(realm.getPath(),
+                    "Can't migrate from schema version " + oldVersion, ex);
+        }
+    }
+
+    private static void migrate(RealmSchema schema, long oldVersion, String scope) {
+        if (oldVersion < BASELINE_VERSION) {
+            migrateToBaseline(schema);
+            oldVersion = BASELINE_VERSION;
+        }
+        if (oldVersion == 4) {
+            schema.create("RealmTransactionDisplay")
+                    .addField("hash", String.class, FieldAttribute.PRIMARY_KEY)
+                    .addField("timeStamp", long.class)
+                    .addField("isSent", boolean.class)
+                    .addField("isError", boolean.class)
+                    .addField("counterparty", String.class)
+                    .addField("value", String.class);
+            oldVersion++;
+        }
+        if (oldVersion == 5) {
+            // Rows of the cached transactions are filled in by the first write, see TransactionsRealmCache.
+            schema.create("RealmTransactionIndex")
+                    .addField("hash", String.class, FieldAttribute.PRIMARY_KEY)
+                    .addField("counterparty", String.class, FieldAttribute.INDEXED)
+                    .addField("contract", String.class, FieldAttribute.INDEXED)
+                    .addField("symbol", String.class, FieldAttribute.INDEXED)
+                    .addField("timeStamp", long.class, FieldAttribute.INDEXED)
+                    .addField("amount", double.class);
+            oldVersion++;
+        }
+        if (oldVersion == 6) {
+            migrateCompactTransaction(schema.get("RealmTransaction"));
+            oldVersion++;
+        }
+        if (oldVersion == 7) {
+            if (scope == null) {
+                throw new IllegalStateException("No scope for the rows of a shared database");
+            }
+            migrateScope(schema.get("RealmTransaction"), "hash", true, scope);
+            migrateScope(schema.get("RealmTransactionDisplay"), "hash", true, scope);
+            migrateScope(schema.get("RealmTransactionIndex"), "hash", false, scope);
+            migrateScope(schema.get("RealmToken"), "address", true, scope);
+            migrateScope(schema.get("RealmTokenTicker"), "contract", true, scope);
+            oldVersion++;
+        }
+        if (oldVersion == 8) {
+            // Databases compacted from version 6 already have them.
+            addLongOverflowFields(schema.get("RealmTransaction"));
+            oldVersion++;
+        }
+        if (oldVersion == 9) {
+            // Stored rows have no fingerprint and are formatted again once.
+            schema.get("RealmTransactionDisplay").addField("source", int.class);
+            oldVersion++;
+        }
+    }
+
+    private static void migrateToBaseline(RealmSchema schema) {
+        RealmObjectSchema contract = reconcile(schema, "RealmTransactionContract", null,
+                "address", String.class,
+                "name", String.class,
+                "totalSupply", String.class,
+                "decimals", int.class,
+                "symbol", String.class);
+        RealmObjectSchema operation = reconcile(schema, "RealmTransactionOperation", null,
+                "transactionId", String.class,
+                "viewType", String.class,
+                "from", String.class,
+                "to", String.class,
+                "value", String.class);
+        reconcileLink(operation, "contract", RealmFieldType.OBJECT, contract);
+        RealmObjectSchema transaction = reconcile(schema, "RealmTransaction", "hash",
+                "hash", String.class,
+                "blockNumber", String.class,
+                "timeStamp", long.class,
+                "nonce", int.class,
+                "from", String.class,
+                "to", String.class,
+                "value", String.class,
+                "gas", String.class,
+                "gasPrice", String.class,
+                "gasUsed", String.class,
+                "input", String.class,
+                "error", String.class);
+        reconcileLink(transaction, "operations", RealmFieldType.LIST, operation);
+        reconcile(schema, "RealmToken", "address",
+                "address", String.class,
+                "name", String.class,
+                "symbol", String.class,
+                "decimals", int.class,
+                "addedTime", long.class,
+                "updatedTime", long.class,
+                "balance", String.class,
+                "isEnabled", boolean.class);
+        reconcile(schema, "RealmTokenTicker", "contract",
+                "contract", String.class,
+                "price", String.class,
+                "percentChange24h", String.class,
+                "createdTime", long.class,
+                "id", String.class,
+                "image", String.class,
+                "updatedTime", long.class);
+    }
+
+    /**
+     * @param fields pairs of field name and type
+     */
+    private static RealmObjectSchema reconcile(
+            RealmSchema schema, String className, String primaryKey, Object... fields) {
+        RealmObjectSchema objectSchema = schema.contains(className)
+                ? schema.get(className)
+                : schema.create(className);
+        for (int i = 0; i < fields.length; i += 2) {
+            String name = (String) fields[i];
+            Class<?> type = (Class<?>) fields[i + 1];
+            if (objectSchema.hasField(name) && objectSchema.getFieldType(name) != fieldType(type)) {
+                if (name.equals(objectSchema.getPrimaryKey())) {
+                    objectSchema.removePrimaryKey();
+                }
+                objectSchema.removeField(name);
+            }
+            if (!objectSchema.hasField(name)) {
+                objectSchema.addField(name, type);
+            }
+        }
+        if (primaryKey != null && !primaryKey.equals(objectSchema.getPrimaryKey())) {
+            if (objectSchema.hasPrimaryKey()) {
+                objectSchema.removePrimaryKey();
+            }
+            objectSchema.addPrimaryKey(primaryKey);
+        }
+        return objectSchema;
+    }
+
+    private static void reconcileLink(
+            RealmObjectSchema objectSchema, String name, RealmFieldType type, RealmObjectSchema target) {
+        if (objectSchema.hasField(name) && objectSchema.getFieldType(name) != type) {
+            objectSchema.removeField(name);
+        }
+        if (!objectSchema.hasField(name)) {
+            if (type == RealmFieldType.LIST) {
+                objectSchema.addRealmListField(name, target);
+            } else {
+                objectSchema.addRealmObjectField(name, target);
+            }
+        }
+    }
+
+    private static RealmFieldType fieldType(Class<?> type) {
+        if (type == String.class) {
+            return RealmFieldType.STRING;
+        } else if (type == boolean.class) {
+            return RealmFieldType.BOOLEAN;
+        } else if (type == byte[].class) {
+            return RealmFieldType.BINARY;
+        } else if (type == double.class) {
+            return RealmFieldType.DOUBLE;
+        }
+        return RealmFieldType.INTEGER;
+    }
+
+    private static void migrateCompactTransaction(RealmObjectSchema transaction) {
+        addLongOverflowFields(transaction);
+        transaction
+                .addField("blockNumberLong", long.class)
+                .addField("gasLong", long.class)
+                .addField("gasUsedLong", long.class)
+                .addField("valueBytes", byte[].class)
+                .addField("gasPriceBytes", byte[].class)
+                .addField("inputBytes", byte[].class)
+                .transform(obj -> {
+                    obj.setLong("blockNumberLong", CompactEncoding.toLong(obj.getString("blockNumber")));
+                    obj.setLong("gasLong", CompactEncoding.toLong(obj.getString("gas")));
+                    obj.setLong("gasUsedLong", CompactEncoding.toLong(obj.getString("gasUsed")));
+                    obj.setString("blockNumberText", CompactEncoding.toLongOverflow(obj.getString("blockNumber")));
+                    obj.setString("gasText", CompactEncoding.toLongOverflow(obj.getString("gas")));
+                    obj.setString("gasUsedText", CompactEncoding.toLongOverflow(obj.getString("gasUsed")));
+                    obj.setBlob("valueBytes", CompactEncoding.toNumberBytes(obj.getString("value")));
+                    obj.setBlob("gasPriceBytes", CompactEncoding.toNumberBytes(obj.getString("gasPrice")));
+                    obj.setBlob("inputBytes", CompactEncoding.toHexBytes(obj.getString("input")));
+                })
+                .removeField("blockNumber")
+                .removeField("gas")
+                .removeField("gasUsed")
+                .removeField("value")
+                .removeField("gasPrice")
+                .removeField("input")
+                .renameField("blockNumberLong", "blockNumber")
+                .renameField("gasLong", "gas")
+                .renameField("gasUsedLong", "gasUsed")
+                .renameField("valueBytes", "value")
+                .renameField("gasPriceBytes", "gasPrice")
+                .renameField("inputBytes", "input");
+    }
+
+    private static void addLongOverflowFields(RealmObjectSchema transaction) {
+        if (transaction.hasField("blockNumberText")) {
+            return;
+        }
+        transaction
+                .addField("blockNumberText", String.class)
+                .addField("gasText", String.class)
+                .addField("gasUsedText", String.class);
+    }
+
+    /**
+     * Moves the primary key from the id to the compound key of scope and id.
+     */
+    private static void migrateScope(
+            RealmObjectSchema objectSchema, String id, boolean isIdIndexed, String scope) {
+        // Removing the primary key drops the index of the field as well.
+        objectSchema.removePrimaryKey();
+        if (isIdIndexed) {
+            objectSchema.addIndex(id);
+        }
+        objectSchema
+                .addField("key", String.class)
+                .addField("scope", String.class, FieldAttribute.INDEXED)
+                .transform(obj -> {
+                    obj.setString("scope", scope);
+                    obj.setString("key", scope + ":" + obj.getString(id));
+                })
+                .addPrimaryKey("key");
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof RealmDatabaseMigration
+                && (scope == null
+                        ? ((RealmDatabaseMigration) obj).scope == null
+                        : scope.equals(((RealmDatabaseMigration) obj).scope));
+    }
+
+    @Override
+    public int hashCode() {
+        return scope == null ? RealmDatabaseMigration.class.hashCode() : scope.hashCode();
+    }
+}
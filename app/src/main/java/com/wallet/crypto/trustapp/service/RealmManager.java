@@ -1,34 +1,352 @@
 package com.wallet.crypto.trustapp.service;
 
+import android.util.Log;
+
 import com.wallet.crypto.trustapp.BuildConfig;
+import com.wallet.crypto.trustapp.entity.MigrationProgress;
 import com.wallet.crypto.trustapp.entity.NetworkInfo;
+import com.wallet.crypto.trustapp.entity.RealmMetrics;
 import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.repository.entity.RealmToken;
+import com.wallet.crypto.trustapp.repository.entity.RealmTokenTicker;
+import com.wallet.crypto.trustapp.repository.entity.RealmTransaction;
+import com.wallet.crypto.trustapp.repository.entity.RealmTransactionDisplay;
+import com.wallet.crypto.trustapp.repository.entity.RealmTransactionIndex;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+import io.reactivex.Observable;
+import io.reactivex.ObservableTransformer;
+import io.reactivex.Observer;
+import io.realm.DynamicRealm;
 import io.realm.Realm;
 import io.realm.RealmConfiguration;
+import io.realm.RealmModel;
+import io.realm.RealmQuery;
+import io.realm.RealmResults;
+import io.realm.exceptions.RealmMigrationNeededException;
 
+/**
+ * Opens the wallet databases. Rows of every stored class carry the scope of their
+ * network and wallet, so queries go through {@link #where} whatever the {@link Layout} is.
+ */
 public class RealmManager {
 
-    private final Map<String, RealmConfiguration> realmConfigurations = new HashMap<>();
+    public enum Layout {
+        /** A file per wallet and network. */
+        PER_WALLET,
+        /** One file for all wallets and networks. */
+        SHARED
+    }
+
+    public static final String SHARED_NAME = "wallets.realm";
+    private static final String TAG = "RealmManager";
+    private static final String DB_SUFFIX = "-db.realm";
+    private static final int MOVE_PAGE_SIZE = 1000;
+    private static final Class<?>[] SCOPED_CLASSES = {
+            RealmTransaction.class,
+            RealmTransactionDisplay.class,
+            RealmTransactionIndex.class,
+            RealmToken.class,
+            RealmTokenTicker.class
+    };
+
+    private final Layout layout;
+    private final ConcurrentHashMap<String, RealmConfiguration> realmConfigurations = new ConcurrentHashMap<>();
+    private final ThreadLocal<Map<String, RealmHandle>> handles = new ThreadLocal<Map<String, RealmHandle>>() {
+        @Override
+        protected Map<String, RealmHandle> initialValue() {
+            return new HashMap<>();
+        }
+    };
+    private final Set<RealmHandle> openHandles = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final AtomicLong opened = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+
+    public RealmManager() {
+        this(BuildConfig.SHARED_REALM ? Layout.SHARED : Layout.PER_WALLET);
+    }
 
+    public RealmManager(Layout layout) {
+        this.layout = layout;
+    }
+
+    /**
+     * Returns the Realm of the wallet and network. Instances are kept per thread and reference
+     * counted: a Realm already held on the calling thread is returned again instead of going
+     * through Realm's global cache. Every call must be paired with {@link #close(Realm)}.
+     */
     public Realm getRealmInstance(NetworkInfo networkInfo, Wallet wallet) {
+        return acquire(getName(networkInfo, wallet)).realm;
+    }
+
+    /**
+     * Releases a Realm returned by {@link #getRealmInstance}, the instance is closed
+     * once the last holder on the thread releases it.
+     */
+    public void close(Realm realm) {
+        String name = realm.getConfiguration().getRealmFileName();
+        RealmHandle handle = handles.get().get(name);
+        if (handle == null || handle.realm != realm) {
+            // Not handed out by the manager on this thread.
+            realm.close();
+            return;
+        }
+        release(handle);
+    }
+
+    /**
+     * Keeps the Realm of the wallet and network open on the subscribing thread while the chain
+     * is subscribed, so the sources which run synchronously during the subscription reuse it.
+     * The Realm is released on the same thread once the subscribe call returns, parts of the
+     * chain which run on other threads open their own.
+     */
+    public <T> ObservableTransformer<T, T> keepOpen(NetworkInfo networkInfo, Wallet wallet) {
         String name = getName(networkInfo, wallet);
+        return upstream -> new Observable<T>() {
+            @Override
+            protected void subscribeActual(Observer<? super T> observer) {
+                RealmHandle handle = acquire(name);
+                try {
+                    upstream.subscribe(observer);
+                } finally {
+                    release(handle);
+                }
+            }
+        };
+    }
+
+    /**
+     * Tells whether the database of the wallet and network was created, without opening it.
+     * {@link #getRealmInstance} creates a missing file.
+     */
+    public boolean exists(NetworkInfo networkInfo, Wallet wallet) {
+        File directory = getDirectory();
+        return directory != null && new File(directory, getName(networkInfo, wallet)).exists();
+    }
+
+    public RealmMetrics getMetrics() {
+        int open = 0;
+        int leaked = 0;
+        for (RealmHandle handle : openHandles) {
+            open++;
+            if (!handle.owner.isAlive()) {
+                leaked++;
+            }
+        }
+        return new RealmMetrics(opened.get(), reused.get(), open, leaked);
+    }
+
+    public static String scope(NetworkInfo networkInfo, Wallet wallet) {
+        return networkInfo.name + ":" + wallet.address;
+    }
+
+    public static String key(NetworkInfo networkInfo, Wallet wallet, String id) {
+        return scope(networkInfo, wallet) + ":" + id;
+    }
+
+    public static <E extends RealmModel> RealmQuery<E> where(
+            Realm realm, Class<E> clazz, NetworkInfo networkInfo, Wallet wallet) {
+        return realm.where(clazz).equalTo("scope", scope(networkInfo, wallet));
+    }
+
+    /**
+     * Migrates every wallet database which is behind {@link BuildConfig#DB_VERSION}, so the
+     * migration runs once per file up front instead of on the first query.
+     * With the {@link Layout#SHARED} layout the wallet databases are then moved into
+     * the shared one and deleted. A database which fails to move is kept and moved again
+     * on the next run, the stream ends with an error after the other databases are done.
+     */
+    public Observable<MigrationProgress> migrate() {
+        return Observable.create(emitter -> {
+            List<RealmConfiguration> pending = new ArrayList<>();
+            for (String name : listDatabases()) {
+                RealmConfiguration config = getConfiguration(name);
+                if (layout == Layout.SHARED || isMigrationNeeded(config)) {
+                    pending.add(config);
+                }
+            }
+            Exception failure = null;
+            int failed = 0;
+            for (int i = 0; i < pending.size() && !emitter.isDisposed(); i++) {
+                emitter.onNext(new MigrationProgress(i, pending.size(), false));
+                RealmConfiguration config = pending.get(i);
+                if (layout == Layout.SHARED) {
+                    try {
+                        moveToShared(config);
+                    } catch (Exception ex) {
+                        Log.e(TAG, "Moving " + config.getRealmFileName() + " failed", ex);
+                        failure = ex;
+                        failed++;
+                    }
+                } else {
+                    getRealmInstance(config).close();
+                }
+            }
+            emitter.onNext(new MigrationProgress(pending.size(), pending.size(), true));
+            if (failure != null) {
+                emitter.onError(new IllegalStateException(
+                        failed + " of " + pending.size() + " databases were not moved", failure));
+            } else {
+                emitter.onComplete();
+            }
+        });
+    }
+
+    private RealmConfiguration getConfiguration(String name) {
         RealmConfiguration config = realmConfigurations.get(name);
         if (config == null) {
             config = new RealmConfiguration.Builder()
                     .name(name)
                     .schemaVersion(BuildConfig.DB_VERSION)
-                    .deleteRealmIfMigrationNeeded()
+                    .migration(new RealmDatabaseMigration(getScope(name)))
                     .build();
-            realmConfigurations.put(name, config);
+            RealmConfiguration existing = realmConfigurations.putIfAbsent(name, config);
+            if (existing != null) {
+                config = existing;
+            }
         }
-        return Realm.getInstance(config);
+        return config;
+    }
+
+    private RealmHandle acquire(String name) {
+        Map<String, RealmHandle> threadHandles = handles.get();
+        RealmHandle handle = threadHandles.get(name);
+        if (handle == null || handle.realm.isClosed()) {
+            if (handle != null) {
+                openHandles.remove(handle);
+            }
+            handle = new RealmHandle(getRealmInstance(getConfiguration(name)));
+            threadHandles.put(name, handle);
+            openHandles.add(handle);
+            opened.incrementAndGet();
+        } else {
+            reused.incrementAndGet();
+        }
+        handle.count++;
+        return handle;
+    }
+
+    /**
+     * Handles are only released on the thread which acquired them, a Realm can't be closed elsewhere.
+     */
+    private void release(RealmHandle handle) {
+        if (--handle.count > 0) {
+            return;
+        }
+        Map<String, RealmHandle> threadHandles = handles.get();
+        String name = handle.realm.getConfiguration().getRealmFileName();
+        if (threadHandles.get(name) == handle) {
+            threadHandles.remove(name);
+        }
+        openHandles.remove(handle);
+        if (!handle.realm.isClosed()) {
+            handle.realm.close();
+        }
+    }
+
+    private Realm getRealmInstance(RealmConfiguration config) {
+        try {
+            return Realm.getInstance(config);
+        } catch (RealmMigrationNeededException ex) {
+            // The database is a cache of the network, it is refilled on the next fetch.
+            Log.w(TAG, "Deleting " + config.getRealmFileName(), ex);
+            Realm.deleteRealm(config);
+            return Realm.getInstance(config);
+        }
+    }
+
+    /**
+     * Copies the rows in pages of {@link #MOVE_PAGE_SIZE}, one write transaction each, so only
+     * a page is held in memory. Rows keep their primary keys, a move which is interrupted
+     * and run again overwrites the rows copied before. The source is deleted only once
+     * everything is copied.
+     */
+    @SuppressWarnings("unchecked")
+    private void moveToShared(RealmConfiguration config) {
+        Realm source = getRealmInstance(config);
+        Realm target = getRealmInstance(getConfiguration(SHARED_NAME));
+        try {
+            for (Class<?> clazz : SCOPED_CLASSES) {
+                RealmResults<RealmModel> rows = source.where((Class<RealmModel>) clazz).findAll();
+                for (int from = 0; from < rows.size(); from += MOVE_PAGE_SIZE) {
+                    int to = Math.min(from + MOVE_PAGE_SIZE, rows.size());
+                    target.beginTransaction();
+                    try {
+                        target.insertOrUpdate(source.copyFromRealm(rows.subList(from, to)));
+                        target.commitTransaction();
+                    } finally {
+                        if (target.isInTransaction()) {
+                            target.cancelTransaction();
+                        }
+                    }
+                }
+            }
+        } finally {
+            source.close();
+            target.close();
+        }
+        realmConfigurations.remove(config.getRealmFileName());
+        Realm.deleteRealm(config);
+    }
+
+    private static boolean isMigrationNeeded(RealmConfiguration config) {
+        // A dynamic instance opens the file as is, without running the migration.
+        DynamicRealm realm = DynamicRealm.getInstance(config);
+        try {
+            return realm.getVersion() < BuildConfig.DB_VERSION;
+        } finally {
+            realm.close();
+        }
+    }
+
+    private static String[] listDatabases() {
+        File directory = getDirectory();
+        String[] names = directory == null ? null : directory.list((dir, name) -> name.endsWith(DB_SUFFIX));
+        return names == null ? new String[0] : names;
+    }
+
+    private static File getDirectory() {
+        RealmConfiguration defaultConfig = Realm.getDefaultConfiguration();
+        return defaultConfig == null ? null : defaultConfig.getRealmDirectory();
     }
 
     private String getName(NetworkInfo networkInfo, Wallet wallet) {
-        return wallet.address + "-" + networkInfo.name + "-db.realm";
+        return layout == Layout.SHARED
+                ? SHARED_NAME
+                : wallet.address + "-" + networkInfo.name + DB_SUFFIX;
+    }
+
+    /**
+     * Restores the scope of a wallet database from its name, addresses and network names have no dashes.
+     * The shared database has no scope of its own.
+     */
+    private static String getScope(String name) {
+        if (!name.endsWith(DB_SUFFIX)) {
+            return null;
+        }
+        String base = name.substring(0, name.length() - DB_SUFFIX.length());
+        int separator = base.indexOf('-');
+        return separator < 0
+                ? null
+                : base.substring(separator + 1) + ":" + base.substring(0, separator);
+    }
+
+    private static class RealmHandle {
+        final Realm realm;
+        final Thread owner = Thread.currentThread();
+        int count;
+
+        RealmHandle(Realm realm) {
+            this.realm = realm;
+        }
     }
 }
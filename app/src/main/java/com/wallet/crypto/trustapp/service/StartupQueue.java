@@ -0,0 +1,85 @@
+package com.wallet.crypto.trustapp.service;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Work which is not needed to draw the first screen: migrations, pollers, network clients.
+ * Tasks wait until the first frame is drawn and then run one by one on a background thread,
+ * in priority order. Tasks enqueued after the first frame run right away.
+ */
+public class StartupQueue {
+
+    private static final String TAG = "Startup";
+
+    public static final int PRIORITY_HIGH = 0;
+    public static final int PRIORITY_NORMAL = 1;
+    public static final int PRIORITY_LOW = 2;
+
+    private final long startTime;
+    private final PriorityQueue<Task> pending = new PriorityQueue<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "startup"));
+    private long sequence;
+    private long timeToFirstFrame = -1;
+
+    /**
+     * @param startTime {@link SystemClock#elapsedRealtime()} when the process started
+     */
+    public StartupQueue(long startTime) {
+        this.startTime = startTime;
+    }
+
+    public synchronized void enqueue(int priority, Runnable task) {
+        if (timeToFirstFrame >= 0) {
+            executor.execute(task);
+        } else {
+            pending.add(new Task(priority, sequence++, task));
+        }
+    }
+
+    /**
+     * Called once the first activity has drawn its first frame, later calls are ignored.
+     */
+    public synchronized void onFirstFrame() {
+        if (timeToFirstFrame >= 0) {
+            return;
+        }
+        timeToFirstFrame = SystemClock.elapsedRealtime() - startTime;
+        Log.i(TAG, "First frame in " + timeToFirstFrame + " ms, " + pending.size() + " deferred tasks");
+        Task task;
+        while ((task = pending.poll()) != null) {
+            executor.execute(task.runnable);
+        }
+    }
+
+    /**
+     * @return milliseconds from the process start to the first frame, -1 until it is drawn.
+     */
+    public synchronized long getTimeToFirstFrame() {
+        return timeToFirstFrame;
+    }
+
+    private static class Task implements Comparable<Task> {
+        final int priority;
+        final long sequence;
+        final Runnable runnable;
+
+        Task(int priority, long sequence, Runnable runnable) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.runnable = runnable;
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            return priority != other.priority
+                    ? Integer.compare(priority, other.priority)
+                    : Long.compare(sequence, other.sequence);
+        }
+    }
+}
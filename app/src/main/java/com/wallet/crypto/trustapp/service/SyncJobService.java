@@ -0,0 +1,85 @@
+package com.wallet.crypto.trustapp.service;
+
+import android.annotation.TargetApi;
+import android.app.job.JobInfo;
+import android.app.job.JobParameters;
+import android.app.job.JobScheduler;
+import android.app.job.JobService;
+import android.content.ComponentName;
+import android.content.Context;
+import android.os.Build;
+
+import com.wallet.crypto.trustapp.repository.SyncEngine;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import dagger.android.AndroidInjection;
+import io.reactivex.disposables.Disposable;
+
+/**
+ * Runs {@link SyncEngine} while the device is idle, charging and on an unmetered network.
+ * The system batches the job with other work and holds it back in Doze; a failed sync
+ * is retried with exponential backoff.
+ */
+@TargetApi(Build.VERSION_CODES.LOLLIPOP)
+public class SyncJobService extends JobService {
+
+    private static final int JOB_ID = 1001;
+    private static final long SYNC_INTERVAL = TimeUnit.HOURS.toMillis(6);
+    private static final long BACKOFF = TimeUnit.MINUTES.toMillis(5);
+
+    @Inject
+    SyncEngine syncEngine;
+
+    private Disposable sync;
+
+    /**
+     * Schedules the periodic sync, replacing an earlier schedule. Nothing is scheduled
+     * before Lollipop, the screens refresh the caches when they are opened.
+     */
+    public static void schedule(Context context) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+            return;
+        }
+        JobScheduler jobScheduler = (JobScheduler) context.getSystemService(Context.JOB_SCHEDULER_SERVICE);
+        if (jobScheduler == null) {
+            return;
+        }
+        JobInfo job = new JobInfo.Builder(JOB_ID, new ComponentName(context, SyncJobService.class))
+                .setPeriodic(SYNC_INTERVAL)
+                .setRequiredNetworkType(JobInfo.NETWORK_TYPE_UNMETERED)
+                .setRequiresCharging(true)
+                .setRequiresDeviceIdle(true)
+                .setBackoffCriteria(BACKOFF, JobInfo.BACKOFF_POLICY_EXPONENTIAL)
+                .build();
+        jobScheduler.schedule(job);
+    }
+
+    @Override
+    public void onCreate() {
+        AndroidInjection.inject(this);
+        super.onCreate();
+    }
+
+    @Override
+    public boolean onStartJob(JobParameters params) {
+        sync = syncEngine
+                .syncAll()
+                .subscribe(
+                        isDone -> jobFinished(params, !isDone),
+                        throwable -> jobFinished(params, true));
+        return true;
+    }
+
+    @Override
+    public boolean onStopJob(JobParameters params) {
+        // Constraints are gone (device woke up, charger or Wi-Fi lost), try again later.
+        if (sync != null) {
+            sync.dispose();
+            sync = null;
+        }
+        return true;
+    }
+}
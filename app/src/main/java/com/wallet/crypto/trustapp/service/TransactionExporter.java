@@ -0,0 +1,191 @@
+package com.wallet.crypto.trustapp.service;
+
+import com.google.gson.stream.JsonWriter;
+import com.wallet.crypto.trustapp.entity.Transaction;
+import com.wallet.crypto.trustapp.entity.TransactionContract;
+import com.wallet.crypto.trustapp.entity.TransactionOperation;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes transaction history row by row. Rows are pulled from a {@link Cursor} one at a time,
+ * so memory use does not depend on the size of the history.
+ */
+public class TransactionExporter {
+
+    public static final int CHUNK_SIZE = 500;
+
+    private static final String[] CSV_HEADER = {
+            "hash", "timestamp", "block", "nonce", "from", "to", "value", "gas", "gas_price",
+            "gas_used", "error", "token_contract", "token_symbol", "token_decimals", "token_from",
+            "token_to", "token_value"
+    };
+
+    public enum Format {
+        CSV("csv", "text/csv"),
+        JSON("json", "application/json");
+
+        public final String extension;
+        public final String mimeType;
+
+        Format(String extension, String mimeType) {
+            this.extension = extension;
+            this.mimeType = mimeType;
+        }
+    }
+
+    public interface Cursor {
+        int getCount();
+
+        Transaction get(int position);
+    }
+
+    public interface Callback {
+        /**
+         * Called after every chunk.
+         * @return false to stop the export.
+         */
+        boolean onProgress(int written, int total);
+    }
+
+    private final Format format;
+
+    public TransactionExporter(Format format) {
+        this.format = format;
+    }
+
+    /**
+     * @return true when every row was written, false if the callback stopped the export.
+     */
+    public boolean export(Cursor cursor, Writer out, Callback callback) throws IOException {
+        int total = cursor.getCount();
+        JsonWriter json = null;
+        if (format == Format.JSON) {
+            json = new JsonWriter(out);
+            json.beginArray();
+        } else {
+            writeCsvRow(out, CSV_HEADER);
+        }
+        int written = 0;
+        while (written < total) {
+            int end = Math.min(written + CHUNK_SIZE, total);
+            for (int i = written; i < end; i++) {
+                Transaction transaction = cursor.get(i);
+                if (json == null) {
+                    writeCsv(out, transaction);
+                } else {
+                    writeJson(json, transaction);
+                }
+            }
+            written = end;
+            if (!callback.onProgress(written, total)) {
+                return false;
+            }
+        }
+        if (json != null) {
+            json.endArray();
+            json.flush();
+        } else {
+            out.flush();
+        }
+        return true;
+    }
+
+    private static void writeCsv(Writer out, Transaction transaction) throws IOException {
+        TransactionOperation operation = firstOperation(transaction);
+        TransactionContract contract = operation == null ? null : operation.contract;
+        writeCsvRow(out,
+                transaction.hash,
+                String.valueOf(transaction.timeStamp),
+                transaction.blockNumber,
+                String.valueOf(transaction.nonce),
+                transaction.from,
+                transaction.to,
+                transaction.value,
+                transaction.gas,
+                transaction.gasPrice,
+                transaction.gasUsed,
+                transaction.error,
+                contract == null ? null : contract.address,
+                contract == null ? null : contract.symbol,
+                contract == null ? null : String.valueOf(contract.decimals),
+                operation == null ? null : operation.from,
+                operation == null ? null : operation.to,
+                operation == null ? null : operation.value);
+    }
+
+    private static void writeCsvRow(Writer out, String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeCsvValue(out, values[i]);
+        }
+        out.write('\n');
+    }
+
+    private static void writeCsvValue(Writer out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean isQuoted = false;
+        for (int i = 0; i < value.length() && !isQuoted; i++) {
+            char c = value.charAt(i);
+            isQuoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!isQuoted) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    private static void writeJson(JsonWriter json, Transaction transaction) throws IOException {
+        json.beginObject();
+        json.name("hash").value(transaction.hash);
+        json.name("timestamp").value(transaction.timeStamp);
+        json.name("block").value(transaction.blockNumber);
+        json.name("nonce").value(transaction.nonce);
+        json.name("from").value(transaction.from);
+        json.name("to").value(transaction.to);
+        json.name("value").value(transaction.value);
+        json.name("gas").value(transaction.gas);
+        json.name("gas_price").value(transaction.gasPrice);
+        json.name("gas_used").value(transaction.gasUsed);
+        json.name("error").value(transaction.error);
+        json.name("operations").beginArray();
+        if (transaction.operations != null) {
+            for (TransactionOperation operation : transaction.operations) {
+                if (operation == null) {
+                    continue;
+                }
+                json.beginObject();
+                json.name("from").value(operation.from);
+                json.name("to").value(operation.to);
+                json.name("value").value(operation.value);
+                if (operation.contract != null) {
+                    json.name("contract").value(operation.contract.address);
+                    json.name("symbol").value(operation.contract.symbol);
+                    json.name("decimals").value(operation.contract.decimals);
+                }
+                json.endObject();
+            }
+        }
+        json.endArray();
+        json.endObject();
+    }
+
+    private static TransactionOperation firstOperation(Transaction transaction) {
+        return transaction.operations == null || transaction.operations.length == 0
+                ? null : transaction.operations[0];
+    }
+}
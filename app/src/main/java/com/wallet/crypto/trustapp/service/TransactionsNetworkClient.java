@@ -5,6 +5,7 @@ import com.wallet.crypto.trustapp.entity.NetworkInfo;
 import com.wallet.crypto.trustapp.entity.Transaction;
 import com.wallet.crypto.trustapp.entity.Wallet;
 import com.wallet.crypto.trustapp.repository.EthereumNetworkRepositoryType;
+import com.wallet.crypto.trustapp.util.Tracer;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -14,7 +15,6 @@ import io.reactivex.ObservableOperator;
 import io.reactivex.Observer;
 import io.reactivex.annotations.NonNull;
 import io.reactivex.observers.DisposableObserver;
-import io.reactivex.schedulers.Schedulers;
 import okhttp3.OkHttpClient;
 import retrofit2.Call;
 import retrofit2.Response;
@@ -31,37 +31,47 @@ public class TransactionsNetworkClient implements TransactionsNetworkClientType
     private final OkHttpClient httpClient;
 	private final Gson gson;
 
+    private String baseUrl;
     private ApiClient apiClient;
+    private final AppSchedulers schedulers;
 
 	public TransactionsNetworkClient(
 			OkHttpClient httpClient,
 			Gson gson,
-			EthereumNetworkRepositoryType networkRepository) {
+			EthereumNetworkRepositoryType networkRepository,
+			AppSchedulers schedulers) {
 		this.httpClient = httpClient;
 		this.gson = gson;
+		this.schedulers = schedulers;
 
 		networkRepository.addOnChangeDefaultNetwork(this::onNetworkChanged);
 		NetworkInfo networkInfo = networkRepository.getDefaultNetwork();
 		onNetworkChanged(networkInfo);
 	}
 
-	private void buildApiClient(String baseUrl) {
-		apiClient = new Retrofit.Builder()
-				.baseUrl(baseUrl)
-				.client(httpClient)
-				.addConverterFactory(GsonConverterFactory.create(gson))
-				.addCallAdapterFactory(RxJava2CallAdapterFactory.create())
-				.build()
-				.create(ApiClient.class);
+	/**
+	 * Retrofit is built on the first request instead of on injection, it is not needed for the first frame.
+	 */
+	private synchronized ApiClient getApiClient() {
+		if (apiClient == null) {
+			apiClient = new Retrofit.Builder()
+					.baseUrl(baseUrl)
+					.client(httpClient)
+					.addConverterFactory(GsonConverterFactory.create(gson))
+					.addCallAdapterFactory(RxJava2CallAdapterFactory.create())
+					.build()
+					.create(ApiClient.class);
+		}
+		return apiClient;
 	}
 
 	@Override
 	public Observable<Transaction[]> fetchTransactions(String address) {
-		return apiClient
-				.fetchTransactions(address)
+		return Observable.defer(() -> getApiClient()
+				.fetchTransactions(address))
 				.lift(apiError())
 				.map(r -> r.docs)
-				.subscribeOn(Schedulers.io());
+				.subscribeOn(schedulers.sync());
 	}
 
     @Override
@@ -75,7 +85,7 @@ public class TransactionsNetworkClient implements TransactionsNetworkClientType
             boolean hasMore = true;
 	        do {
                 page++;
-                Call<ApiClientResponse> call = apiClient.fetchTransactions(PAGE_LIMIT, page, wallet.address);
+                Call<ApiClientResponse> call = getApiClient().fetchTransactions(PAGE_LIMIT, page, wallet.address);
                 Response<ApiClientResponse> response = call.execute();
                 if (response.isSuccessful()) {
                     ApiClientResponse body = response.body();
@@ -93,11 +103,13 @@ public class TransactionsNetworkClient implements TransactionsNetworkClientType
             } while (page < pages && hasMore);
 	        return result.toArray(new Transaction[result.size()]);
         })
-        .subscribeOn(Schedulers.io());
+        .subscribeOn(schedulers.sync())
+        .compose(Tracer.observable("TransactionsNetworkClient.fetchLastTransactions"));
     }
 
-    private void onNetworkChanged(NetworkInfo networkInfo) {
-		buildApiClient(networkInfo.backendUrl);
+    private synchronized void onNetworkChanged(NetworkInfo networkInfo) {
+		baseUrl = networkInfo.backendUrl;
+		apiClient = null;
 	}
 
 	private static @NonNull <T> ApiErrorOperator<T> apiError() {
@@ -7,7 +7,6 @@ import com.wallet.crypto.trustapp.entity.TokenTicker;
 
 import io.reactivex.Observable;
 import io.reactivex.Single;
-import io.reactivex.schedulers.Schedulers;
 import okhttp3.OkHttpClient;
 import retrofit2.Response;
 import retrofit2.Retrofit;
@@ -26,12 +25,15 @@ public class TrustWalletTickerService implements TickerService {
     private final OkHttpClient httpClient;
     private final Gson gson;
     private ApiClient apiClient;
+    private final AppSchedulers schedulers;
 
     public TrustWalletTickerService(
             OkHttpClient httpClient,
-            Gson gson) {
+            Gson gson,
+            AppSchedulers schedulers) {
         this.httpClient = httpClient;
         this.gson = gson;
+        this.schedulers = schedulers;
         buildApiClient(TRUST_API_URL);
     }
 
@@ -60,7 +62,7 @@ public class TrustWalletTickerService implements TickerService {
                         throw new Exception("server error");
                     }
                 })
-                .subscribeOn(Schedulers.io());
+                .subscribeOn(schedulers.sync());
     }
 
     @Override
@@ -34,6 +34,7 @@ public class ImportWalletActivity extends BaseActivity {
 
     private static final int KEYSTORE_FORM_INDEX = 0;
     private static final int PRIVATE_KEY_FORM_INDEX = 1;
+    private static final int WATCH_ADDRESS_FORM_INDEX = 2;
 
     private final List<Pair<String, Fragment>> pages = new ArrayList<>();
 
@@ -53,6 +54,7 @@ public class ImportWalletActivity extends BaseActivity {
 
         pages.add(KEYSTORE_FORM_INDEX, new Pair<>(getString(R.string.tab_keystore), ImportKeystoreFragment.create()));
         pages.add(PRIVATE_KEY_FORM_INDEX, new Pair<>(getString(R.string.tab_private_key), ImportPrivateKeyFragment.create()));
+        pages.add(WATCH_ADDRESS_FORM_INDEX, new Pair<>(getString(R.string.tab_watch_address), ImportWatchAddressFragment.create()));
         ViewPager viewPager = findViewById(R.id.viewPager);
         viewPager.setAdapter(new TabPagerAdapter(getSupportFragmentManager(), pages));
         TabLayout tabLayout = findViewById(R.id.tabLayout);
@@ -73,6 +75,8 @@ public class ImportWalletActivity extends BaseActivity {
                 .setOnImportKeystoreListener(importWalletViewModel);
         ((ImportPrivateKeyFragment) pages.get(PRIVATE_KEY_FORM_INDEX).second)
                 .setOnImportPrivateKeyListener(importWalletViewModel);
+        ((ImportWatchAddressFragment) pages.get(WATCH_ADDRESS_FORM_INDEX).second)
+                .setOnWatchAddressListener(importWalletViewModel);
     }
 
     @Override
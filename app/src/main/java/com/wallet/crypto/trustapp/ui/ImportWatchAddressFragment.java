@@ -0,0 +1,58 @@
+package com.wallet.crypto.trustapp.ui;
+
+import android.os.Bundle;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.app.Fragment;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.EditText;
+
+import com.wallet.crypto.trustapp.R;
+import com.wallet.crypto.trustapp.entity.Address;
+import com.wallet.crypto.trustapp.ui.widget.OnWatchAddressListener;
+
+public class ImportWatchAddressFragment extends Fragment implements View.OnClickListener {
+
+    private static final OnWatchAddressListener dummyOnWatchAddressListener = address -> { };
+
+    private EditText address;
+    private OnWatchAddressListener onWatchAddressListener = dummyOnWatchAddressListener;
+
+    public static ImportWatchAddressFragment create() {
+        return new ImportWatchAddressFragment();
+    }
+
+    @Nullable
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container, @Nullable Bundle savedInstanceState) {
+        return LayoutInflater.from(getContext())
+                .inflate(R.layout.fragment_import_watch_address, container, false);
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+
+        address = view.findViewById(R.id.address);
+        view.findViewById(R.id.import_action).setOnClickListener(this);
+    }
+
+    @Override
+    public void onClick(View view) {
+        address.setError(null);
+        String value = address.getText().toString().trim();
+        if (!Address.isAddress(value)) {
+            address.setError(getString(R.string.error_invalid_address));
+        } else {
+            onWatchAddressListener.onWatchAddress(value);
+        }
+    }
+
+    public void setOnWatchAddressListener(OnWatchAddressListener onWatchAddressListener) {
+        this.onWatchAddressListener = onWatchAddressListener == null
+                ? dummyOnWatchAddressListener
+                : onWatchAddressListener;
+    }
+}
@@ -1,11 +1,14 @@
 package com.wallet.crypto.trustapp.ui;
 
+import android.app.AlertDialog;
 import android.arch.lifecycle.ViewModelProviders;
 import android.os.Bundle;
 
 import com.crashlytics.android.Crashlytics;
 import com.crashlytics.android.core.CrashlyticsCore;
 import com.wallet.crypto.trustapp.BuildConfig;
+import com.wallet.crypto.trustapp.R;
+import com.wallet.crypto.trustapp.entity.MigrationProgress;
 import com.wallet.crypto.trustapp.entity.Wallet;
 import com.wallet.crypto.trustapp.router.ManageWalletsRouter;
 import com.wallet.crypto.trustapp.router.TransactionsRouter;
@@ -22,7 +25,7 @@ public class SplashActivity extends BaseActivity {
     @Inject
     SplashViewModelFactory splashViewModelFactory;
     SplashViewModel splashViewModel;
-
+    private AlertDialog migrationDialog;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -34,6 +37,37 @@ public class SplashActivity extends BaseActivity {
         splashViewModel = ViewModelProviders.of(this, splashViewModelFactory)
                 .get(SplashViewModel.class);
         splashViewModel.wallets().observe(this, this::onWallets);
+        splashViewModel.migrationProgress().observe(this, this::onMigrationProgress);
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+
+        hideMigrationDialog();
+    }
+
+    private void onMigrationProgress(MigrationProgress progress) {
+        if (progress.isDone) {
+            hideMigrationDialog();
+            return;
+        }
+        String message = getString(R.string.message_migrating_databases, progress.migrated + 1, progress.total);
+        if (migrationDialog == null) {
+            migrationDialog = new AlertDialog.Builder(this)
+                    .setMessage(message)
+                    .setCancelable(false)
+                    .show();
+        } else {
+            migrationDialog.setMessage(message);
+        }
+    }
+
+    private void hideMigrationDialog() {
+        if (migrationDialog != null && migrationDialog.isShowing()) {
+            migrationDialog.dismiss();
+        }
+        migrationDialog = null;
     }
 
     private void onWallets(Wallet[] wallets) {
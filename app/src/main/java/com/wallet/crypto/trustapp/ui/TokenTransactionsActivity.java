@@ -0,0 +1,133 @@
+package com.wallet.crypto.trustapp.ui;
+
+import android.arch.lifecycle.ViewModelProviders;
+import android.os.Bundle;
+import android.support.annotation.Nullable;
+import android.support.v4.widget.SwipeRefreshLayout;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.support.v7.widget.SearchView;
+import android.view.Menu;
+import android.view.View;
+
+import com.wallet.crypto.trustapp.C;
+import com.wallet.crypto.trustapp.R;
+import com.wallet.crypto.trustapp.entity.ErrorEnvelope;
+import com.wallet.crypto.trustapp.entity.TransactionDisplay;
+import com.wallet.crypto.trustapp.ui.widget.adapter.TransactionsAdapter;
+import com.wallet.crypto.trustapp.viewmodel.TokenTransactionsViewModel;
+import com.wallet.crypto.trustapp.viewmodel.TokenTransactionsViewModelFactory;
+import com.wallet.crypto.trustapp.widget.SystemView;
+
+import javax.inject.Inject;
+
+import dagger.android.AndroidInjection;
+
+import static com.wallet.crypto.trustapp.C.ErrorCode.EMPTY_COLLECTION;
+import static com.wallet.crypto.trustapp.C.Key.WALLET;
+
+public class TokenTransactionsActivity extends BaseActivity implements View.OnClickListener {
+
+    private static final int LOAD_MORE_THRESHOLD = 10;
+
+    @Inject
+    TokenTransactionsViewModelFactory tokenTransactionsViewModelFactory;
+    private TokenTransactionsViewModel viewModel;
+
+    private SystemView systemView;
+    private TransactionsAdapter adapter;
+
+    @Override
+    protected void onCreate(@Nullable Bundle savedInstanceState) {
+        AndroidInjection.inject(this);
+
+        super.onCreate(savedInstanceState);
+
+        setContentView(R.layout.activity_tokens);
+
+        toolbar();
+        setSubtitle(getIntent().getStringExtra(C.EXTRA_SYMBOL));
+
+        adapter = new TransactionsAdapter(this::onTransactionClick);
+        SwipeRefreshLayout refreshLayout = findViewById(R.id.refresh_layout);
+        systemView = findViewById(R.id.system_view);
+
+        RecyclerView list = findViewById(R.id.list);
+
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        list.setLayoutManager(layoutManager);
+        list.setAdapter(adapter);
+        list.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0 && layoutManager.findLastVisibleItemPosition()
+                        >= adapter.getItemCount() - LOAD_MORE_THRESHOLD) {
+                    viewModel.loadMore();
+                }
+            }
+        });
+
+        systemView.attachRecyclerView(list);
+        systemView.attachSwipeRefreshLayout(refreshLayout);
+
+        viewModel = ViewModelProviders.of(this, tokenTransactionsViewModelFactory)
+                .get(TokenTransactionsViewModel.class);
+        viewModel.progress().observe(this, systemView::showProgress);
+        viewModel.error().observe(this, this::onError);
+        viewModel.transactions().observe(this, this::onTransactions);
+
+        refreshLayout.setOnRefreshListener(viewModel::refresh);
+
+        if (savedInstanceState == null) {
+            viewModel.prepare(
+                    getIntent().getParcelableExtra(WALLET),
+                    getIntent().getStringExtra(C.EXTRA_CONTRACT_ADDRESS));
+        }
+    }
+
+    @Override
+    public boolean onCreateOptionsMenu(Menu menu) {
+        getMenuInflater().inflate(R.menu.menu_search, menu);
+        SearchView searchView = (SearchView) menu.findItem(R.id.action_search).getActionView();
+        searchView.setQueryHint(getString(R.string.search_counterparty_hint));
+        searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
+            @Override
+            public boolean onQueryTextSubmit(String query) {
+                viewModel.search(query);
+                return true;
+            }
+
+            @Override
+            public boolean onQueryTextChange(String newText) {
+                viewModel.search(newText);
+                return true;
+            }
+        });
+        return super.onCreateOptionsMenu(menu);
+    }
+
+    private void onTransactionClick(View view, TransactionDisplay transaction) {
+        viewModel.showDetails(view.getContext(), transaction.hash);
+    }
+
+    private void onTransactions(TransactionDisplay[] transactions) {
+        adapter.setTransactions(transactions);
+    }
+
+    private void onError(ErrorEnvelope errorEnvelope) {
+        if (errorEnvelope.code == EMPTY_COLLECTION) {
+            systemView.showEmpty(getString(R.string.no_transactions_yet));
+        } else {
+            systemView.showError(getString(R.string.error_fail_load_transaction), this);
+        }
+    }
+
+    @Override
+    public void onClick(View view) {
+        switch (view.getId()) {
+            case R.id.try_again: {
+                viewModel.refresh();
+            } break;
+        }
+    }
+}
@@ -14,6 +14,7 @@ import android.view.View;
 import com.wallet.crypto.trustapp.R;
 import com.wallet.crypto.trustapp.entity.ErrorEnvelope;
 import com.wallet.crypto.trustapp.entity.Token;
+import com.wallet.crypto.trustapp.entity.Wallet;
 import com.wallet.crypto.trustapp.ui.widget.adapter.TokensAdapter;
 import com.wallet.crypto.trustapp.viewmodel.TokensViewModel;
 import com.wallet.crypto.trustapp.viewmodel.TokensViewModelFactory;
@@ -46,14 +47,23 @@ public class TokensActivity extends BaseActivity implements View.OnClickListener
 
         toolbar();
 
-        adapter = new TokensAdapter(this::onTokenClick);
+        adapter = new TokensAdapter(this::onTokenClick, this::onTokenLongClick);
         SwipeRefreshLayout refreshLayout = findViewById(R.id.refresh_layout);
         systemView = findViewById(R.id.system_view);
 
         RecyclerView list = findViewById(R.id.list);
 
-        list.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        list.setLayoutManager(layoutManager);
         list.setAdapter(adapter);
+        list.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                viewModel.setVisibleTokens(adapter.getTokenAddresses(
+                        layoutManager.findFirstVisibleItemPosition(),
+                        layoutManager.findLastVisibleItemPosition()));
+            }
+        });
 
         systemView.attachRecyclerView(list);
         systemView.attachSwipeRefreshLayout(refreshLayout);
@@ -65,6 +75,7 @@ public class TokensActivity extends BaseActivity implements View.OnClickListener
         viewModel.tokens().observe(this, this::onTokens);
         viewModel.total().observe(this, this::onTotal);
         viewModel.wallet().setValue(getIntent().getParcelableExtra(WALLET));
+        viewModel.showSnapshot();
 
         refreshLayout.setOnRefreshListener(viewModel::fetchTokens);
     }
@@ -104,7 +115,17 @@ public class TokensActivity extends BaseActivity implements View.OnClickListener
 
     private void onTokenClick(View view, Token token) {
         Context context = view.getContext();
-        viewModel.showSendToken(context, token.tokenInfo.address, token.tokenInfo.symbol, token.tokenInfo.decimals);
+        Wallet wallet = viewModel.wallet().getValue();
+        if (wallet != null && wallet.isWatchOnly) {
+            // Nothing can be sent from a watch-only wallet, its transfers of the token are shown instead.
+            viewModel.showTokenTransactions(context, token.tokenInfo.address, token.tokenInfo.symbol);
+        } else {
+            viewModel.showSendToken(context, token.tokenInfo.address, token.tokenInfo.symbol, token.tokenInfo.decimals);
+        }
+    }
+
+    private void onTokenLongClick(View view, Token token) {
+        viewModel.showTokenTransactions(view.getContext(), token.tokenInfo.address, token.tokenInfo.symbol);
     }
 
     @Override
@@ -10,8 +10,10 @@ import android.view.Menu;
 import android.view.MenuItem;
 import android.view.View;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import com.wallet.crypto.trustapp.R;
+import com.wallet.crypto.trustapp.entity.ErrorEnvelope;
 import com.wallet.crypto.trustapp.entity.NetworkInfo;
 import com.wallet.crypto.trustapp.entity.Transaction;
 import com.wallet.crypto.trustapp.entity.Wallet;
@@ -28,7 +30,8 @@ import javax.inject.Inject;
 
 import dagger.android.AndroidInjection;
 
-import static com.wallet.crypto.trustapp.C.Key.TRANSACTION;
+import static com.wallet.crypto.trustapp.C.ErrorCode.NOT_FOUND;
+import static com.wallet.crypto.trustapp.C.Key.TRANSACTION_HASH;
 
 public class TransactionDetailActivity extends BaseActivity implements View.OnClickListener {
 
@@ -36,6 +39,7 @@ public class TransactionDetailActivity extends BaseActivity implements View.OnCl
     TransactionDetailViewModelFactory transactionDetailViewModelFactory;
     private TransactionDetailViewModel viewModel;
 
+    private String transactionHash;
     private Transaction transaction;
     private TextView amount;
 
@@ -47,30 +51,55 @@ public class TransactionDetailActivity extends BaseActivity implements View.OnCl
 
         setContentView(R.layout.activity_transaction_detail);
 
-        transaction = getIntent().getParcelableExtra(TRANSACTION);
-        if (transaction == null) {
+        transactionHash = getIntent().getStringExtra(TRANSACTION_HASH);
+        if (transactionHash == null) {
             finish();
             return;
         }
         toolbar();
 
-        BigDecimal gasFee = new BigDecimal(transaction.gasUsed).multiply(new BigDecimal(transaction.gasPrice));
         amount = findViewById(R.id.amount);
-        ((TextView) findViewById(R.id.from)).setText(transaction.from);
-        ((TextView) findViewById(R.id.to)).setText(transaction.to);
-        ((TextView) findViewById(R.id.gas_fee)).setText(BalanceUtils.weiToEth(gasFee).toPlainString());
-        ((TextView) findViewById(R.id.txn_hash)).setText(transaction.hash);
-        ((TextView) findViewById(R.id.txn_time)).setText(getDate(transaction.timeStamp));
-        ((TextView) findViewById(R.id.block_number)).setText(transaction.blockNumber);
+        ((TextView) findViewById(R.id.txn_hash)).setText(transactionHash);
         findViewById(R.id.more_detail).setOnClickListener(this);
 
         viewModel = ViewModelProviders.of(this, transactionDetailViewModelFactory)
                 .get(TransactionDetailViewModel.class);
         viewModel.defaultNetwork().observe(this, this::onDefaultNetwork);
         viewModel.defaultWallet().observe(this, this::onDefaultWallet);
+        viewModel.transaction().observe(this, this::onTransaction);
+        viewModel.error().observe(this, this::onError);
+    }
+
+    private void onError(ErrorEnvelope errorEnvelope) {
+        Toast.makeText(this, errorEnvelope.code == NOT_FOUND
+                        ? R.string.error_transaction_not_found
+                        : R.string.error_fail_load_transaction_detail,
+                Toast.LENGTH_SHORT).show();
+        finish();
     }
 
     private void onDefaultWallet(Wallet wallet) {
+        viewModel.fetchTransaction(transactionHash);
+    }
+
+    private void onTransaction(Transaction transaction) {
+        this.transaction = transaction;
+        BigDecimal gasFee = transaction.gasUsed == null || transaction.gasPrice == null
+                ? BigDecimal.ZERO
+                : new BigDecimal(transaction.gasUsed).multiply(new BigDecimal(transaction.gasPrice));
+        ((TextView) findViewById(R.id.from)).setText(transaction.from);
+        ((TextView) findViewById(R.id.to)).setText(transaction.to);
+        ((TextView) findViewById(R.id.gas_fee)).setText(BalanceUtils.weiToEth(gasFee).toPlainString());
+        ((TextView) findViewById(R.id.txn_time)).setText(getDate(transaction.timeStamp));
+        ((TextView) findViewById(R.id.block_number)).setText(transaction.blockNumber);
+
+        boolean hasInput = !TextUtils.isEmpty(transaction.input) && !"0x".equals(transaction.input);
+        findViewById(R.id.input_title).setVisibility(hasInput ? View.VISIBLE : View.GONE);
+        TextView input = findViewById(R.id.input);
+        input.setVisibility(hasInput ? View.VISIBLE : View.GONE);
+        input.setText(transaction.input);
+
+        Wallet wallet = viewModel.defaultWallet().getValue();
         boolean isSent = transaction.from.toLowerCase().equals(wallet.address);
         String rawValue;
         String symbol;
@@ -116,7 +145,7 @@ public class TransactionDetailActivity extends BaseActivity implements View.OnCl
 
     @Override
     public boolean onOptionsItemSelected(MenuItem item) {
-        if (item.getItemId() == R.id.action_share) {
+        if (item.getItemId() == R.id.action_share && transaction != null) {
             viewModel.shareTransactionDetail(this, transaction);
         }
         return super.onOptionsItemSelected(item);
@@ -129,6 +158,8 @@ public class TransactionDetailActivity extends BaseActivity implements View.OnCl
 
     @Override
     public void onClick(View v) {
-        viewModel.showMoreDetails(v.getContext(), transaction);
+        if (transaction != null) {
+            viewModel.showMoreDetails(v.getContext(), transaction);
+        }
     }
 }
@@ -24,9 +24,13 @@ import android.widget.Toast;
 import com.wallet.crypto.trustapp.C;
 import com.wallet.crypto.trustapp.R;
 import com.wallet.crypto.trustapp.entity.ErrorEnvelope;
+import com.wallet.crypto.trustapp.entity.ExportProgress;
 import com.wallet.crypto.trustapp.entity.NetworkInfo;
-import com.wallet.crypto.trustapp.entity.Transaction;
+import com.wallet.crypto.trustapp.entity.PortfolioSnapshot;
+import com.wallet.crypto.trustapp.entity.TransactionDisplay;
+import com.wallet.crypto.trustapp.entity.TransactionRow;
 import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.service.TransactionExporter;
 import com.wallet.crypto.trustapp.ui.widget.adapter.TransactionsAdapter;
 import com.wallet.crypto.trustapp.util.RootUtil;
 import com.wallet.crypto.trustapp.viewmodel.BaseNavigationActivity;
@@ -47,6 +51,8 @@ import static com.wallet.crypto.trustapp.C.ErrorCode.EMPTY_COLLECTION;
 
 public class TransactionsActivity extends BaseNavigationActivity implements View.OnClickListener {
 
+    private static final int LOAD_MORE_THRESHOLD = 10;
+
     @Inject
     TransactionsViewModelFactory transactionsViewModelFactory;
     private TransactionsViewModel viewModel;
@@ -54,6 +60,7 @@ public class TransactionsActivity extends BaseNavigationActivity implements View
     private SystemView systemView;
     private TransactionsAdapter adapter;
     private Dialog dialog;
+    private AlertDialog exportDialog;
 
     @Override
     protected void onCreate(@Nullable Bundle savedInstanceState) {
@@ -74,7 +81,8 @@ public class TransactionsActivity extends BaseNavigationActivity implements View
 
         RecyclerView list = findViewById(R.id.list);
 
-        list.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        list.setLayoutManager(layoutManager);
         list.addItemDecoration(new RecyclerView.ItemDecoration() {
             @Override
             public void getItemOffsets(Rect outRect, View view, RecyclerView parent, RecyclerView.State state) {
@@ -85,6 +93,15 @@ public class TransactionsActivity extends BaseNavigationActivity implements View
             }
         });
         list.setAdapter(adapter);
+        list.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0 && layoutManager.findLastVisibleItemPosition()
+                        >= adapter.getItemCount() - LOAD_MORE_THRESHOLD) {
+                    viewModel.loadMore();
+                }
+            }
+        });
 
         systemView.attachRecyclerView(list);
         systemView.attachSwipeRefreshLayout(refreshLayout);
@@ -94,15 +111,17 @@ public class TransactionsActivity extends BaseNavigationActivity implements View
         viewModel.progress().observe(this, systemView::showProgress);
         viewModel.error().observe(this, this::onError);
         viewModel.defaultNetwork().observe(this, this::onDefaultNetwork);
-        viewModel.defaultWalletBalance().observe(this, this::onBalanceChanged);
         viewModel.defaultWallet().observe(this, this::onDefaultWallet);
+        viewModel.defaultWalletBalance().observe(this, this::onBalanceChanged);
         viewModel.transactions().observe(this, this::onTransactions);
+        viewModel.transactionDisplays().observe(this, this::onTransactionDisplays);
+        viewModel.exportProgress().observe(this, this::onExportProgress);
 
         refreshLayout.setOnRefreshListener(() -> viewModel.fetchTransactions(true));
     }
 
-    private void onTransactionClick(View view, Transaction transaction) {
-        viewModel.showDetails(view.getContext(), transaction);
+    private void onTransactionClick(View view, TransactionDisplay transaction) {
+        viewModel.showDetails(view.getContext(), transaction.hash);
     }
 
     @Override
@@ -112,6 +131,7 @@ public class TransactionsActivity extends BaseNavigationActivity implements View
         setTitle(getString(R.string.unknown_balance_without_symbol));
         setSubtitle("");
         adapter.clear();
+        showSnapshot();
         viewModel.prepare();
         checkRoot();
     }
@@ -123,11 +143,16 @@ public class TransactionsActivity extends BaseNavigationActivity implements View
         if (dialog != null && dialog.isShowing()) {
             dialog.dismiss();
         }
+        if (exportDialog != null && exportDialog.isShowing()) {
+            exportDialog.dismiss();
+        }
+        exportDialog = null;
     }
 
     @Override
     public boolean onCreateOptionsMenu(Menu menu) {
         getMenuInflater().inflate(R.menu.menu_settings, menu);
+        getMenuInflater().inflate(R.menu.menu_export, menu);
 
         NetworkInfo networkInfo = viewModel.defaultNetwork().getValue();
         if (networkInfo != null && networkInfo.name.equals(ETHEREUM_NETWORK_NAME)) {
@@ -145,6 +170,12 @@ public class TransactionsActivity extends BaseNavigationActivity implements View
             case R.id.action_deposit: {
                 openExchangeDialog();
             } break;
+            case R.id.action_export_csv: {
+                viewModel.exportTransactions(this, TransactionExporter.Format.CSV);
+            } break;
+            case R.id.action_export_json: {
+                viewModel.exportTransactions(this, TransactionExporter.Format.JSON);
+            } break;
         }
         return super.onOptionsItemSelected(item);
     }
@@ -180,34 +211,89 @@ public class TransactionsActivity extends BaseNavigationActivity implements View
         return false;
     }
 
+    /**
+     * Paints what was shown after the last refresh, live data replaces it when it arrives.
+     */
+    private void showSnapshot() {
+        PortfolioSnapshot snapshot = viewModel.snapshot();
+        if (snapshot == null || snapshot.wallet == null) {
+            return;
+        }
+        adapter.setTransactions(snapshot.transactions);
+        if (snapshot.balance != null) {
+            showBalance(snapshot.symbol, snapshot.balance, snapshot.fiatBalance);
+        }
+    }
+
     private void onBalanceChanged(Map<String, String> balance) {
-        ActionBar actionBar = getSupportActionBar();
         NetworkInfo networkInfo = viewModel.defaultNetwork().getValue();
         Wallet wallet = viewModel.defaultWallet().getValue();
-        if (actionBar == null || networkInfo == null || wallet == null) {
+        if (networkInfo == null || wallet == null) {
+            return;
+        }
+        showBalance(networkInfo.symbol, balance.get(networkInfo.symbol), balance.get(C.USD_SYMBOL));
+    }
+
+    private void showBalance(String symbol, String balance, String fiatBalance) {
+        ActionBar actionBar = getSupportActionBar();
+        if (actionBar == null) {
             return;
         }
-        if (TextUtils.isEmpty(balance.get(C.USD_SYMBOL))) {
-            actionBar.setTitle(balance.get(networkInfo.symbol) + " " + networkInfo.symbol);
+        if (TextUtils.isEmpty(fiatBalance)) {
+            actionBar.setTitle(balance + " " + symbol);
             actionBar.setSubtitle("");
         } else {
-            actionBar.setTitle("$" + balance.get(C.USD_SYMBOL));
-            actionBar.setSubtitle(balance.get(networkInfo.symbol) + " " + networkInfo.symbol);
+            actionBar.setTitle("$" + fiatBalance);
+            actionBar.setSubtitle(balance + " " + symbol);
         }
     }
 
-    private void onTransactions(Transaction[] transaction) {
-        adapter.addTransactions(transaction);
+    private void onTransactions(TransactionRow[] transaction) {
         invalidateOptionsMenu();
     }
 
-    private void onDefaultWallet(Wallet wallet) {
-        adapter.setDefaultWallet(wallet);
+    private void onTransactionDisplays(TransactionDisplay[] transactions) {
+        adapter.setTransactions(transactions);
+    }
+
+    private void onExportProgress(ExportProgress progress) {
+        if (progress == null || progress.isDone) {
+            if (exportDialog != null && exportDialog.isShowing()) {
+                exportDialog.dismiss();
+            }
+            exportDialog = null;
+            if (progress != null) {
+                viewModel.shareExport(this, progress);
+            }
+            return;
+        }
+        String message = getString(R.string.message_exporting_transactions, progress.written, progress.total);
+        if (exportDialog == null) {
+            exportDialog = new AlertDialog.Builder(this)
+                    .setMessage(message)
+                    .setCancelable(false)
+                    .setNegativeButton(android.R.string.cancel, (dialog, which) -> viewModel.cancelExport())
+                    .show();
+        } else {
+            exportDialog.setMessage(message);
+        }
     }
 
     private void onDefaultNetwork(NetworkInfo networkInfo) {
-        adapter.setDefaultNetwork(networkInfo);
+        showBottomMenu();
+    }
+
+    private void onDefaultWallet(Wallet wallet) {
+        showBottomMenu();
+    }
+
+    private void showBottomMenu() {
         setBottomMenu(R.menu.menu_main_network);
+        Wallet wallet = viewModel.defaultWallet().getValue();
+        if (wallet != null && wallet.isWatchOnly) {
+            // Nothing can be sent from a watch-only wallet.
+            removeBottomMenuItem(R.id.action_send);
+        }
     }
 
     private void onError(ErrorEnvelope errorEnvelope) {
@@ -20,6 +20,7 @@ import android.view.View;
 
 import com.wallet.crypto.trustapp.R;
 import com.wallet.crypto.trustapp.entity.ErrorEnvelope;
+import com.wallet.crypto.trustapp.entity.Portfolio;
 import com.wallet.crypto.trustapp.entity.Wallet;
 import com.wallet.crypto.trustapp.ui.widget.adapter.WalletsAdapter;
 import com.wallet.crypto.trustapp.util.KeyboardUtils;
@@ -30,6 +31,8 @@ import com.wallet.crypto.trustapp.widget.BackupView;
 import com.wallet.crypto.trustapp.widget.BackupWarningView;
 import com.wallet.crypto.trustapp.widget.SystemView;
 
+import java.math.RoundingMode;
+
 import javax.inject.Inject;
 
 import dagger.android.AndroidInjection;
@@ -90,6 +93,7 @@ public class WalletsActivity extends BaseActivity implements
         viewModel.exportedStore().observe(this, this::openShareDialog);
         viewModel.exportWalletError().observe(this, this::onExportWalletError);
         viewModel.deleteWalletError().observe(this, this::onDeleteWalletError);
+        viewModel.portfolio().observe(this, this::onPortfolio);
 
 		refreshLayout.setOnRefreshListener(viewModel::fetchWallets);
 	}
@@ -253,6 +257,12 @@ public class WalletsActivity extends BaseActivity implements
 		invalidateOptionsMenu();
 	}
 
+	private void onPortfolio(Portfolio portfolio) {
+		adapter.setPortfolio(portfolio);
+		setSubtitle(portfolio == null ? "" : getString(R.string.portfolio_total,
+				portfolio.total.setScale(2, RoundingMode.HALF_UP).stripTrailingZeros().toPlainString()));
+	}
+
 	private void onCreatedWallet(Wallet wallet) {
         hideToolbar();
         backupWarning.show(wallet);
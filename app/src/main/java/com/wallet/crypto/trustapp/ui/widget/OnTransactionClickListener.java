@@ -2,8 +2,8 @@ package com.wallet.crypto.trustapp.ui.widget;
 
 import android.view.View;
 
-import com.wallet.crypto.trustapp.entity.Transaction;
+import com.wallet.crypto.trustapp.entity.TransactionDisplay;
 
 public interface OnTransactionClickListener {
-    void onTransactionClick(View view, Transaction transaction);
+    void onTransactionClick(View view, TransactionDisplay transaction);
 }
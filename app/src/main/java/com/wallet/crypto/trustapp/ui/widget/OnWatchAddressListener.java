@@ -0,0 +1,6 @@
+package com.wallet.crypto.trustapp.ui.widget;
+
+public interface OnWatchAddressListener {
+
+    void onWatchAddress(String address);
+}
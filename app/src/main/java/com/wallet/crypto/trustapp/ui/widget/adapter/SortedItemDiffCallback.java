@@ -0,0 +1,45 @@
+package com.wallet.crypto.trustapp.ui.widget.adapter;
+
+import android.support.v7.util.DiffUtil;
+
+import com.wallet.crypto.trustapp.ui.widget.entity.SortedItem;
+
+import java.util.List;
+
+public class SortedItemDiffCallback extends DiffUtil.Callback {
+
+    private final List<SortedItem> oldItems;
+    private final List<SortedItem> newItems;
+
+    public SortedItemDiffCallback(List<SortedItem> oldItems, List<SortedItem> newItems) {
+        this.oldItems = oldItems;
+        this.newItems = newItems;
+    }
+
+    @Override
+    public int getOldListSize() {
+        return oldItems.size();
+    }
+
+    @Override
+    public int getNewListSize() {
+        return newItems.size();
+    }
+
+    @Override
+    public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+        SortedItem oldItem = oldItems.get(oldItemPosition);
+        SortedItem newItem = newItems.get(newItemPosition);
+        return oldItem.viewType == newItem.viewType && oldItem.areItemsTheSame(newItem);
+    }
+
+    @Override
+    public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+        return oldItems.get(oldItemPosition).areContentsTheSame(newItems.get(newItemPosition));
+    }
+
+    @Override
+    public Object getChangePayload(int oldItemPosition, int newItemPosition) {
+        return oldItems.get(oldItemPosition).getChangePayload(newItems.get(newItemPosition));
+    }
+}
@@ -1,6 +1,7 @@
 package com.wallet.crypto.trustapp.ui.widget.adapter;
 
-import android.support.v7.util.SortedList;
+import android.os.Bundle;
+import android.support.v7.util.DiffUtil;
 import android.support.v7.widget.RecyclerView;
 import android.view.ViewGroup;
 
@@ -15,50 +16,28 @@ import com.wallet.crypto.trustapp.ui.widget.holder.TokenHolder;
 import com.wallet.crypto.trustapp.ui.widget.holder.TotalBalanceHolder;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.reactivex.Single;
+import io.reactivex.android.schedulers.AndroidSchedulers;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
 
 public class TokensAdapter extends RecyclerView.Adapter<BinderViewHolder> {
 
-     private final OnTokenClickListener onTokenClickListener;
-     private final SortedList<SortedItem> items = new SortedList<>(SortedItem.class, new SortedList.Callback<SortedItem>() {
-         @Override
-         public int compare(SortedItem o1, SortedItem o2) {
-             return o1.compare(o2);
-         }
-
-         @Override
-         public void onChanged(int position, int count) {
-             notifyItemRangeChanged(position, count);
-         }
-
-         @Override
-         public boolean areContentsTheSame(SortedItem oldItem, SortedItem newItem) {
-             return oldItem.areContentsTheSame(newItem);
-         }
-
-         @Override
-         public boolean areItemsTheSame(SortedItem item1, SortedItem item2) {
-             return item1.areItemsTheSame(item2);
-         }
-
-         @Override
-         public void onInserted(int position, int count) {
-             notifyItemRangeInserted(position, count);
-         }
-
-         @Override
-         public void onRemoved(int position, int count) {
-             notifyItemRangeRemoved(position, count);
-         }
-
-         @Override
-         public void onMoved(int fromPosition, int toPosition) {
-             notifyItemMoved(fromPosition, toPosition);
-         }
-     });
+    private final OnTokenClickListener onTokenClickListener;
+    private final OnTokenClickListener onTokenLongClickListener;
+    private List<SortedItem> items = Collections.emptyList();
+    // Last submitted list, new changes are applied on top of it while a diff is in flight.
+    private List<SortedItem> pendingItems = items;
+    private Disposable diffDisposable;
     private TotalBalanceSortedItem total = new TotalBalanceSortedItem(null);
 
-    public TokensAdapter(OnTokenClickListener onTokenClickListener) {
+    public TokensAdapter(OnTokenClickListener onTokenClickListener, OnTokenClickListener onTokenLongClickListener) {
         this.onTokenClickListener = onTokenClickListener;
+        this.onTokenLongClickListener = onTokenLongClickListener;
     }
 
     @Override
@@ -68,6 +47,7 @@ public class TokensAdapter extends RecyclerView.Adapter<BinderViewHolder> {
             case TokenHolder.VIEW_TYPE: {
                 TokenHolder tokenHolder = new TokenHolder(R.layout.item_token, parent);
                 tokenHolder.setOnTokenClickListener(onTokenClickListener);
+                tokenHolder.setOnTokenLongClickListener(onTokenLongClickListener);
                 holder = tokenHolder;
             } break;
             case TotalBalanceHolder.VIEW_TYPE: {
@@ -83,6 +63,21 @@ public class TokensAdapter extends RecyclerView.Adapter<BinderViewHolder> {
         holder.bind(items.get(position).value);
     }
 
+    @Override
+    public void onBindViewHolder(BinderViewHolder holder, int position, List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        Bundle addition = new Bundle();
+        for (Object payload : payloads) {
+            if (payload instanceof Bundle) {
+                addition.putAll((Bundle) payload);
+            }
+        }
+        holder.bind(items.get(position).value, addition);
+    }
+
     @Override
     public int getItemViewType(int position) {
         return items.get(position).viewType;
@@ -94,21 +89,60 @@ public class TokensAdapter extends RecyclerView.Adapter<BinderViewHolder> {
     }
 
     public void setTokens(Token[] tokens) {
-        items.beginBatchedUpdates();
-        items.clear();
-        items.add(total);
+        List<SortedItem> newItems = new ArrayList<>(tokens.length + 1);
+        newItems.add(total);
         for (int i = 0; i < tokens.length; i++) {
-            items.add(new TokenSortedItem(tokens[i], 10 + i));
+            newItems.add(new TokenSortedItem(tokens[i], 10 + i));
         }
-        items.endBatchedUpdates();
+        submit(newItems);
+    }
+
+    public List<String> getTokenAddresses(int fromPosition, int toPosition) {
+        List<String> addresses = new ArrayList<>();
+        for (int i = Math.max(fromPosition, 0); i <= toPosition && i < items.size(); i++) {
+            SortedItem item = items.get(i);
+            if (item.viewType == TokenHolder.VIEW_TYPE) {
+                addresses.add(((Token) item.value).tokenInfo.address);
+            }
+        }
+        return addresses;
     }
 
     public void setTotal(BigDecimal totalInCurrency) {
         total = new TotalBalanceSortedItem(totalInCurrency);
-        items.add(total);
+        List<SortedItem> newItems = new ArrayList<>(pendingItems);
+        if (newItems.isEmpty() || newItems.get(0).viewType != TotalBalanceHolder.VIEW_TYPE) {
+            newItems.add(0, total);
+        } else {
+            newItems.set(0, total);
+        }
+        submit(newItems);
     }
 
     public void clear() {
-        items.clear();
+        cancelDiff();
+        items = Collections.emptyList();
+        pendingItems = items;
+        notifyDataSetChanged();
+    }
+
+    private void submit(List<SortedItem> newItems) {
+        cancelDiff();
+        List<SortedItem> oldItems = items;
+        pendingItems = newItems;
+        diffDisposable = Single.fromCallable(() -> DiffUtil.calculateDiff(
+                        new SortedItemDiffCallback(oldItems, newItems), false))
+                .subscribeOn(Schedulers.computation())
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(result -> {
+                    items = newItems;
+                    result.dispatchUpdatesTo(this);
+                });
+    }
+
+    private void cancelDiff() {
+        if (diffDisposable != null && !diffDisposable.isDisposed()) {
+            diffDisposable.dispose();
+        }
     }
 }
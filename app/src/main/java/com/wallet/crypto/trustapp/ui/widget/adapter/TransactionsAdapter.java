@@ -1,14 +1,12 @@
 package com.wallet.crypto.trustapp.ui.widget.adapter;
 
-import android.os.Bundle;
-import android.support.v7.util.SortedList;
+import android.support.v4.util.Pair;
+import android.support.v7.util.DiffUtil;
 import android.support.v7.widget.RecyclerView;
 import android.view.ViewGroup;
 
 import com.wallet.crypto.trustapp.R;
-import com.wallet.crypto.trustapp.entity.NetworkInfo;
-import com.wallet.crypto.trustapp.entity.Transaction;
-import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.entity.TransactionDisplay;
 import com.wallet.crypto.trustapp.ui.widget.OnTransactionClickListener;
 import com.wallet.crypto.trustapp.ui.widget.entity.DateSortedItem;
 import com.wallet.crypto.trustapp.ui.widget.entity.SortedItem;
@@ -18,49 +16,22 @@ import com.wallet.crypto.trustapp.ui.widget.holder.BinderViewHolder;
 import com.wallet.crypto.trustapp.ui.widget.holder.TransactionDateHolder;
 import com.wallet.crypto.trustapp.ui.widget.holder.TransactionHolder;
 
-public class TransactionsAdapter extends RecyclerView.Adapter<BinderViewHolder> {
-
-    private final SortedList<SortedItem> items = new SortedList<>(SortedItem.class, new SortedList.Callback<SortedItem>() {
-        @Override
-        public int compare(SortedItem left, SortedItem right) {
-            return left.compare(right);
-        }
-
-        @Override
-        public boolean areContentsTheSame(SortedItem oldItem, SortedItem newItem) {
-            return oldItem.areContentsTheSame(newItem);
-        }
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 
-        @Override
-        public boolean areItemsTheSame(SortedItem left, SortedItem right) {
-            return left.areItemsTheSame(right);
-        }
-
-        @Override
-        public void onChanged(int position, int count) {
-            notifyItemRangeChanged(position, count);
-        }
-
-        @Override
-        public void onInserted(int position, int count) {
-            notifyItemRangeInserted(position, count);
-        }
+import io.reactivex.Single;
+import io.reactivex.android.schedulers.AndroidSchedulers;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
 
-        @Override
-        public void onRemoved(int position, int count) {
-            notifyItemRangeRemoved(position, count);
-        }
+public class TransactionsAdapter extends RecyclerView.Adapter<BinderViewHolder> {
 
-        @Override
-        public void onMoved(int fromPosition, int toPosition) {
-            notifyItemMoved(fromPosition, toPosition);
-        }
-    });
+    private List<SortedItem> items = Collections.emptyList();
+    private Disposable diffDisposable;
     private final OnTransactionClickListener onTransactionClickListener;
 
-    private Wallet wallet;
-    private NetworkInfo network;
-
     public TransactionsAdapter(OnTransactionClickListener onTransactionClickListener) {
         this.onTransactionClickListener = onTransactionClickListener;
     }
@@ -84,10 +55,7 @@ public class TransactionsAdapter extends RecyclerView.Adapter<BinderViewHolder>
 
     @Override
     public void onBindViewHolder(BinderViewHolder holder, int position) {
-        Bundle addition = new Bundle();
-        addition.putString(TransactionHolder.DEFAULT_ADDRESS_ADDITIONAL, wallet.address);
-        addition.putString(TransactionHolder.DEFAULT_SYMBOL_ADDITIONAL, network.symbol);
-        holder.bind(items.get(position).value, addition);
+        holder.bind(items.get(position).value);
     }
 
     @Override
@@ -100,28 +68,55 @@ public class TransactionsAdapter extends RecyclerView.Adapter<BinderViewHolder>
         return items.get(position).viewType;
     }
 
-    public void setDefaultWallet(Wallet wallet) {
-        this.wallet = wallet;
-        notifyDataSetChanged();
+    /**
+     * Replaces the list with the given window of transactions. Date headers and the diff
+     * against the current rows are computed on a background thread.
+     */
+    public void setTransactions(TransactionDisplay[] transactions) {
+        cancelDiff();
+        List<SortedItem> oldItems = items;
+        diffDisposable = Single.fromCallable(() -> {
+                    List<SortedItem> newItems = buildItems(transactions);
+                    return new Pair<>(newItems, DiffUtil.calculateDiff(
+                            new SortedItemDiffCallback(oldItems, newItems), false));
+                })
+                .subscribeOn(Schedulers.computation())
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(result -> {
+                    items = result.first;
+                    result.second.dispatchUpdatesTo(this);
+                });
     }
 
-    public void setDefaultNetwork(NetworkInfo network) {
-        this.network = network;
+    public void clear() {
+        cancelDiff();
+        items = Collections.emptyList();
         notifyDataSetChanged();
     }
 
-    public void addTransactions(Transaction[] transactions) {
-        items.beginBatchedUpdates();
-        for (Transaction transaction : transactions) {
-            TransactionSortedItem sortedItem = new TransactionSortedItem(
-                    TransactionHolder.VIEW_TYPE, transaction, TimestampSortedItem.DESC);
-            items.add(sortedItem);
-            items.add(DateSortedItem.round(transaction.timeStamp));
+    private void cancelDiff() {
+        if (diffDisposable != null && !diffDisposable.isDisposed()) {
+            diffDisposable.dispose();
         }
-        items.endBatchedUpdates();
     }
 
-    public void clear() {
-        items.clear();
+    private static List<SortedItem> buildItems(TransactionDisplay[] transactions) {
+        List<SortedItem> sorted = new ArrayList<>(transactions.length);
+        for (TransactionDisplay transaction : transactions) {
+            sorted.add(new TransactionSortedItem(
+                    TransactionHolder.VIEW_TYPE, transaction, TimestampSortedItem.DESC));
+        }
+        Collections.sort(sorted, SortedItem::compare);
+        List<SortedItem> result = new ArrayList<>(sorted.size() + sorted.size() / 4 + 1);
+        long lastDay = Long.MIN_VALUE;
+        for (SortedItem item : sorted) {
+            long day = DateSortedItem.endOfDay(((TransactionDisplay) item.value).timeStamp);
+            if (day != lastDay) {
+                result.add(new DateSortedItem(new Date(day)));
+                lastDay = day;
+            }
+            result.add(item);
+        }
+        return result;
     }
 }
@@ -5,6 +5,7 @@ import android.support.v7.widget.RecyclerView;
 import android.view.ViewGroup;
 
 import com.wallet.crypto.trustapp.R;
+import com.wallet.crypto.trustapp.entity.Portfolio;
 import com.wallet.crypto.trustapp.entity.Wallet;
 import com.wallet.crypto.trustapp.ui.widget.holder.BinderViewHolder;
 import com.wallet.crypto.trustapp.ui.widget.holder.WalletHolder;
@@ -18,6 +19,7 @@ public class WalletsAdapter extends RecyclerView.Adapter<BinderViewHolder> {
     private Wallet[] wallets = new Wallet[0];
 
 	private Wallet defaultWallet = null;
+	private Portfolio portfolio = null;
 
 	public WalletsAdapter(
 			OnSetWalletDefaultListener onSetWalletDefaultListener,
@@ -53,6 +55,9 @@ public class WalletsAdapter extends RecyclerView.Adapter<BinderViewHolder> {
 						WalletHolder.IS_DEFAULT_ADDITION,
 						defaultWallet != null && defaultWallet.sameAddress(wallet.address));
 				bundle.putBoolean(WalletHolder.IS_LAST_ITEM, getItemCount() == 1);
+				if (portfolio != null) {
+					bundle.putSerializable(WalletHolder.VALUE_ADDITION, portfolio.valueOf(wallet.address));
+				}
 				holder.bind(wallet, bundle);
 			} break;
 		}
@@ -73,6 +78,11 @@ public class WalletsAdapter extends RecyclerView.Adapter<BinderViewHolder> {
 		notifyDataSetChanged();
 	}
 
+	public void setPortfolio(Portfolio portfolio) {
+		this.portfolio = portfolio;
+		notifyDataSetChanged();
+	}
+
 	public void setWallets(Wallet[] wallets) {
 		this.wallets = wallets == null ? new Wallet[0] : wallets;
 		notifyDataSetChanged();
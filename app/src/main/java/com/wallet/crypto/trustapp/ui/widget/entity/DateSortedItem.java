@@ -4,18 +4,11 @@ import android.text.format.DateUtils;
 
 import com.wallet.crypto.trustapp.ui.widget.holder.TransactionDateHolder;
 
-import java.util.Calendar;
 import java.util.Date;
-import java.util.TimeZone;
 
 public class DateSortedItem extends TimestampSortedItem<Date> {
     public DateSortedItem(Date value) {
-        super(TransactionDateHolder.VIEW_TYPE, value, 0, DESC);
-    }
-
-    @Override
-    public Date getTimestamp() {
-        return value;
+        super(TransactionDateHolder.VIEW_TYPE, value, 0, DESC, value.getTime());
     }
 
     @Override
@@ -25,16 +18,22 @@ public class DateSortedItem extends TimestampSortedItem<Date> {
 
     @Override
     public boolean areItemsTheSame(SortedItem other) {
-        return viewType == other.viewType;
+        return viewType == other.viewType && getTimestamp() == ((DateSortedItem) other).getTimestamp();
     }
 
     public static DateSortedItem round(long timeStampInSec) {
-        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
-        calendar.setTimeInMillis(timeStampInSec * DateUtils.SECOND_IN_MILLIS);
-        calendar.set(Calendar.MILLISECOND, 999);
-        calendar.set(Calendar.SECOND, 59);
-        calendar.set(Calendar.MINUTE, 59);
-        calendar.set(Calendar.HOUR_OF_DAY, 23);
-        return new DateSortedItem(calendar.getTime());
+        return new DateSortedItem(new Date(endOfDay(timeStampInSec)));
+    }
+
+    /**
+     * @return last millisecond of the UTC day containing {@code timeStampInSec}.
+     */
+    public static long endOfDay(long timeStampInSec) {
+        long millis = timeStampInSec * DateUtils.SECOND_IN_MILLIS;
+        long sinceStartOfDay = millis % DateUtils.DAY_IN_MILLIS;
+        if (sinceStartOfDay < 0) {
+            sinceStartOfDay += DateUtils.DAY_IN_MILLIS;
+        }
+        return millis - sinceStartOfDay + DateUtils.DAY_IN_MILLIS - 1;
     }
 }
@@ -21,4 +21,12 @@ public abstract class SortedItem<T> {
     public abstract boolean areContentsTheSame(SortedItem newItem);
 
     public abstract boolean areItemsTheSame(SortedItem other);
+
+    /**
+     * @return what changed between this item and {@code newItem}, passed to the holder
+     * as the bind addition. Null means the whole row is rebound.
+     */
+    public Object getChangePayload(SortedItem newItem) {
+        return null;
+    }
 }
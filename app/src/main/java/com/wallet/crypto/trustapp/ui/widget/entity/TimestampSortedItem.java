@@ -1,7 +1,5 @@
 package com.wallet.crypto.trustapp.ui.widget.entity;
 
-import java.util.Date;
-
 public abstract class TimestampSortedItem<T> extends SortedItem<T> {
 
     public static final int ADC = 1;
@@ -10,22 +8,25 @@ public abstract class TimestampSortedItem<T> extends SortedItem<T> {
     private static final int IS_TIMESTAMP_TAG = 1;
 
     private final int order;
+    // Sort key in millis, computed once so comparisons do not allocate.
+    private final long timestamp;
 
-
-    public TimestampSortedItem(int viewType, T value, int weight, int order) {
+    public TimestampSortedItem(int viewType, T value, int weight, int order, long timestamp) {
         super(viewType, value, weight);
         tags.add(IS_TIMESTAMP_TAG);
         this.order = order;
+        this.timestamp = timestamp;
     }
 
-    public abstract Date getTimestamp();
+    public long getTimestamp() {
+        return timestamp;
+    }
 
     @Override
     public int compare(SortedItem other) {
         if (other.tags.contains(IS_TIMESTAMP_TAG)) {
             TimestampSortedItem otherTimestamp = (TimestampSortedItem) other;
-            return order * (getTimestamp().compareTo(otherTimestamp.getTimestamp()));/*
-                    ? 1 : getTimestamp() == otherTimestamp.getTimestamp() ? 0 : -1);*/
+            return order * Long.compare(timestamp, otherTimestamp.timestamp);
         }
         return Integer.MIN_VALUE;
     }
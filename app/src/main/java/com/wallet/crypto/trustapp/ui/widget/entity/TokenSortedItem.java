@@ -1,8 +1,14 @@
 package com.wallet.crypto.trustapp.ui.widget.entity;
 
+import android.os.Bundle;
+import android.text.TextUtils;
+
 import com.wallet.crypto.trustapp.entity.Token;
+import com.wallet.crypto.trustapp.entity.TokenTicker;
 import com.wallet.crypto.trustapp.ui.widget.holder.TokenHolder;
 
+import java.math.BigDecimal;
+
 public class TokenSortedItem extends SortedItem<Token> {
 
     public TokenSortedItem(Token value, int weight) {
@@ -16,7 +22,15 @@ public class TokenSortedItem extends SortedItem<Token> {
 
     @Override
     public boolean areContentsTheSame(SortedItem newItem) {
-        return false;
+        if (newItem.viewType != viewType) {
+            return false;
+        }
+        Token newToken = ((TokenSortedItem) newItem).value;
+        return TextUtils.equals(value.tokenInfo.name, newToken.tokenInfo.name)
+                && TextUtils.equals(value.tokenInfo.symbol, newToken.tokenInfo.symbol)
+                && isSameBalance(value, newToken)
+                && isSamePrice(value.ticker, newToken.ticker)
+                && isSameImage(value.ticker, newToken.ticker);
     }
 
     @Override
@@ -24,4 +38,45 @@ public class TokenSortedItem extends SortedItem<Token> {
         return other.viewType == TokenHolder.VIEW_TYPE
                 && ((TokenSortedItem) other).value.tokenInfo.address.equalsIgnoreCase(value.tokenInfo.address);
     }
+
+    @Override
+    public Object getChangePayload(SortedItem newItem) {
+        Token newToken = ((TokenSortedItem) newItem).value;
+        if (!TextUtils.equals(value.tokenInfo.name, newToken.tokenInfo.name)
+                || !TextUtils.equals(value.tokenInfo.symbol, newToken.tokenInfo.symbol)) {
+            return null;
+        }
+        Bundle payload = new Bundle();
+        if (!isSameBalance(value, newToken)) {
+            payload.putBoolean(TokenHolder.PAYLOAD_BALANCE, true);
+        }
+        if (!isSamePrice(value.ticker, newToken.ticker)) {
+            payload.putBoolean(TokenHolder.PAYLOAD_PRICE, true);
+        }
+        if (!isSameImage(value.ticker, newToken.ticker)) {
+            payload.putBoolean(TokenHolder.PAYLOAD_ICON, true);
+        }
+        return payload;
+    }
+
+    private static boolean isSameBalance(Token token, Token newToken) {
+        BigDecimal balance = token.balance;
+        BigDecimal newBalance = newToken.balance;
+        return token.tokenInfo.decimals == newToken.tokenInfo.decimals
+                && (balance == null
+                    ? newBalance == null
+                    : newBalance != null && balance.compareTo(newBalance) == 0);
+    }
+
+    private static boolean isSamePrice(TokenTicker ticker, TokenTicker newTicker) {
+        return ticker == null
+                ? newTicker == null
+                : newTicker != null
+                    && TextUtils.equals(ticker.price, newTicker.price)
+                    && TextUtils.equals(ticker.percentChange24h, newTicker.percentChange24h);
+    }
+
+    private static boolean isSameImage(TokenTicker ticker, TokenTicker newTicker) {
+        return TextUtils.equals(ticker == null ? null : ticker.image, newTicker == null ? null : newTicker.image);
+    }
 }
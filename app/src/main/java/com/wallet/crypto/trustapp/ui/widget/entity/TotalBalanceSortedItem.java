@@ -17,10 +17,13 @@ public class TotalBalanceSortedItem extends SortedItem<BigDecimal> {
 
     @Override
     public boolean areContentsTheSame(SortedItem newItem) {
-        return newItem.viewType == viewType
-                || (((TotalBalanceSortedItem) newItem).value == null && value == null)
-                || (((TotalBalanceSortedItem) newItem).value != null && value != null
-                    && ((TotalBalanceSortedItem) newItem).value.compareTo(value) == 0);
+        if (newItem.viewType != viewType) {
+            return false;
+        }
+        BigDecimal newValue = ((TotalBalanceSortedItem) newItem).value;
+        return value == null
+                ? newValue == null
+                : newValue != null && newValue.compareTo(value) == 0;
     }
 
     @Override
@@ -19,13 +19,17 @@ import com.wallet.crypto.trustapp.R;
 import com.wallet.crypto.trustapp.entity.Token;
 import com.wallet.crypto.trustapp.entity.TokenTicker;
 import com.wallet.crypto.trustapp.ui.widget.OnTokenClickListener;
+import com.wallet.crypto.trustapp.util.BalanceUtils;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 
-public class TokenHolder extends BinderViewHolder<Token> implements View.OnClickListener {
+public class TokenHolder extends BinderViewHolder<Token> implements View.OnClickListener, View.OnLongClickListener {
 
     public static final int VIEW_TYPE = 1005;
+    public static final String PAYLOAD_BALANCE = "balance";
+    public static final String PAYLOAD_PRICE = "price";
+    public static final String PAYLOAD_ICON = "icon";
     private static final String EMPTY_BALANCE = "\u2014\u2014";
 
     private final TextView symbol;
@@ -35,6 +39,7 @@ public class TokenHolder extends BinderViewHolder<Token> implements View.OnClick
 
     private Token token;
     private OnTokenClickListener onTokenClickListener;
+    private OnTokenClickListener onTokenLongClickListener;
 
     public TokenHolder(int resId, ViewGroup parent) {
         super(resId, parent);
@@ -44,30 +49,41 @@ public class TokenHolder extends BinderViewHolder<Token> implements View.OnClick
         balanceEth = findViewById(R.id.balance_eth);
         balanceCurrency = findViewById(R.id.balance_currency);
         itemView.setOnClickListener(this);
+        itemView.setOnLongClickListener(this);
     }
 
     @Override
     public void bind(@Nullable Token data, @NonNull Bundle addition) {
         this.token = data;
         try {
-            // We handled NPE. Exception handling is expensive, but not impotent here
-            symbol.setText(TextUtils.isEmpty(token.tokenInfo.name)
-                        ? token.tokenInfo.symbol
-                        : getString(R.string.token_name, token.tokenInfo.name, token.tokenInfo.symbol));
+            if (addition.isEmpty()) {
+                // We handled NPE. Exception handling is expensive, but not impotent here
+                symbol.setText(TextUtils.isEmpty(token.tokenInfo.name)
+                            ? token.tokenInfo.symbol
+                            : getString(R.string.token_name, token.tokenInfo.name, token.tokenInfo.symbol));
+            }
+            boolean isBalanceChanged = addition.isEmpty() || addition.getBoolean(PAYLOAD_BALANCE);
+            boolean isPriceChanged = isBalanceChanged || addition.getBoolean(PAYLOAD_PRICE);
+            boolean isIconChanged = addition.isEmpty() || addition.getBoolean(PAYLOAD_ICON);
 
-            BigDecimal decimalDivisor = new BigDecimal(Math.pow(10, token.tokenInfo.decimals));
             BigDecimal ethBalance = token.tokenInfo.decimals > 0
-                    ? token.balance.divide(decimalDivisor) : token.balance;
+                    ? token.balance.divide(BalanceUtils.decimalDivisor(token.tokenInfo.decimals))
+                    : token.balance;
             ethBalance = ethBalance.setScale(4, RoundingMode.HALF_UP).stripTrailingZeros();
-            String value = ethBalance.compareTo(BigDecimal.ZERO) == 0 ? "0" : ethBalance.toPlainString();
-            this.balanceEth.setText(value);
+            if (isBalanceChanged) {
+                String value = ethBalance.compareTo(BigDecimal.ZERO) == 0 ? "0" : ethBalance.toPlainString();
+                this.balanceEth.setText(value);
+            }
             TokenTicker ticker = token.ticker;
-            if (ticker == null) {
-                this.balanceCurrency.setText(EMPTY_BALANCE);
-                fillIcon(null, R.mipmap.token_logo);
-            } else {
-                fillCurrency(ethBalance, ticker);
-                fillIcon(ticker.image, R.mipmap.token_logo);
+            if (isPriceChanged) {
+                if (ticker == null) {
+                    this.balanceCurrency.setText(EMPTY_BALANCE);
+                } else {
+                    fillCurrency(ethBalance, ticker);
+                }
+            }
+            if (isIconChanged) {
+                fillIcon(ticker == null ? null : ticker.image, R.mipmap.token_logo);
             }
         } catch (Exception ex) {
             fillEmpty();
@@ -123,7 +139,20 @@ public class TokenHolder extends BinderViewHolder<Token> implements View.OnClick
         }
     }
 
+    @Override
+    public boolean onLongClick(View v) {
+        if (onTokenLongClickListener != null) {
+            onTokenLongClickListener.onTokenClick(v, token);
+            return true;
+        }
+        return false;
+    }
+
     public void setOnTokenClickListener(OnTokenClickListener onTokenClickListener) {
         this.onTokenClickListener = onTokenClickListener;
     }
+
+    public void setOnTokenLongClickListener(OnTokenClickListener onTokenLongClickListener) {
+        this.onTokenLongClickListener = onTokenLongClickListener;
+    }
 }
@@ -5,38 +5,25 @@ import android.os.Bundle;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.v4.content.ContextCompat;
-import android.text.TextUtils;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
 import android.widget.TextView;
 
 import com.wallet.crypto.trustapp.R;
-import com.wallet.crypto.trustapp.entity.Transaction;
-import com.wallet.crypto.trustapp.entity.TransactionOperation;
+import com.wallet.crypto.trustapp.entity.TransactionDisplay;
 import com.wallet.crypto.trustapp.ui.widget.OnTransactionClickListener;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-
-import static com.wallet.crypto.trustapp.C.ETHER_DECIMALS;
-
-public class TransactionHolder extends BinderViewHolder<Transaction> implements View.OnClickListener {
+public class TransactionHolder extends BinderViewHolder<TransactionDisplay> implements View.OnClickListener {
 
     public static final int VIEW_TYPE = 1003;
 
-    private static final int SIGNIFICANT_FIGURES = 3;
-
-    public static final String DEFAULT_ADDRESS_ADDITIONAL = "default_address";
-    public static final String DEFAULT_SYMBOL_ADDITIONAL = "network_symbol";
-
     private final TextView type;
     private final TextView address;
     private final TextView value;
     private final ImageView typeIcon;
 
-    private Transaction transaction;
-    private String defaultAddress;
+    private TransactionDisplay transaction;
     private OnTransactionClickListener onTransactionClickListener;
 
     public TransactionHolder(int resId, ViewGroup parent) {
@@ -55,63 +42,23 @@ public class TransactionHolder extends BinderViewHolder<Transaction> implements
     }
 
     @Override
-    public void bind(@Nullable Transaction data, @NonNull Bundle addition) {
+    public void bind(@Nullable TransactionDisplay data, @NonNull Bundle addition) {
         transaction = data; // reset
         if (this.transaction == null) {
             return;
         }
-        defaultAddress = addition.getString(DEFAULT_ADDRESS_ADDITIONAL);
-
-        String networkSymbol = addition.getString(DEFAULT_SYMBOL_ADDITIONAL);
-        // If operations include token transfer, display token transfer instead
-        TransactionOperation operation = transaction.operations == null
-                || transaction.operations.length == 0 ? null : transaction.operations[0];
-
-        if (operation == null || operation.contract == null) {
-            // default to ether transaction
-            fill(transaction.error, transaction.from, transaction.to, networkSymbol, transaction.value,
-                    ETHER_DECIMALS, transaction.timeStamp);
-        } else {
-            fill(transaction.error, operation.from, operation.to, operation.contract.symbol, operation.value,
-                    operation.contract.decimals, transaction.timeStamp);
-        }
-    }
-
-    private void fill(
-            String error,
-            String from,
-            String to,
-            String symbol,
-            String valueStr,
-            long decimals,
-            long timestamp) {
-        boolean isSent = from.toLowerCase().equals(defaultAddress);
+        boolean isSent = transaction.isSent;
         type.setText(isSent ? getString(R.string.sent) : getString(R.string.received));
-        if (!TextUtils.isEmpty(error)) {
+        if (transaction.isError) {
             typeIcon.setImageResource(R.drawable.ic_error_outline_black_24dp);
         } else if (isSent) {
             typeIcon.setImageResource(R.drawable.ic_arrow_upward_black_24dp);
         } else {
             typeIcon.setImageResource(R.drawable.ic_arrow_downward_black_24dp);
         }
-        address.setText(isSent ? to : from);
+        address.setText(transaction.counterparty);
         value.setTextColor(ContextCompat.getColor(getContext(), isSent ? R.color.red : R.color.green));
-
-        if (valueStr.equals("0")) {
-            valueStr = "0 " + symbol;
-        } else {
-            valueStr = (isSent ? "-" : "+") + getScaledValue(valueStr, decimals) + " " + symbol;
-        }
-
-        this.value.setText(valueStr);
-    }
-
-    private String getScaledValue(String valueStr, long decimals) {
-        // Perform decimal conversion
-        BigDecimal value = new BigDecimal(valueStr);
-        value = value.divide(new BigDecimal(Math.pow(10, decimals)));
-        int scale = 4; //SIGNIFICANT_FIGURES - value.precision() + value.scale();
-        return value.setScale(scale, RoundingMode.HALF_UP).stripTrailingZeros().toPlainString();
+        value.setText(transaction.value);
     }
 
     @Override
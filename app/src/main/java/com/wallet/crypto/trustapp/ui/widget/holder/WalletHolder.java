@@ -13,15 +13,20 @@ import com.wallet.crypto.trustapp.R;
 import com.wallet.crypto.trustapp.entity.Wallet;
 import com.wallet.crypto.trustapp.ui.widget.adapter.WalletsAdapter;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
 public class WalletHolder extends BinderViewHolder<Wallet> implements View.OnClickListener {
 
 	public static final int VIEW_TYPE = 1001;
 	public final static String IS_DEFAULT_ADDITION = "is_default";
     public static final String IS_LAST_ITEM = "is_last";
+    public static final String VALUE_ADDITION = "value";
 
     private final RadioButton defaultAction;
 	private final ImageView deleteAction;
 	private final TextView address;
+	private final TextView value;
     private final ImageView exportAction;
     private WalletsAdapter.OnSetWalletDefaultListener onSetWalletDefaultListener;
 	private WalletsAdapter.OnWalletDeleteListener onWalletDeleteListener;
@@ -35,6 +40,7 @@ public class WalletHolder extends BinderViewHolder<Wallet> implements View.OnCli
 		deleteAction = findViewById(R.id.delete_action);
 		exportAction = findViewById(R.id.export_action);
 		address = findViewById(R.id.address);
+		value = findViewById(R.id.value);
 
 		address.setOnClickListener(this);
 		defaultAction.setOnClickListener(this);
@@ -46,14 +52,20 @@ public class WalletHolder extends BinderViewHolder<Wallet> implements View.OnCli
 	public void bind(@Nullable Wallet data, @NonNull Bundle addition) {
 		wallet = null;
 		address.setText(null);
+		value.setText(null);
 		defaultAction.setEnabled(false);
 		if (data == null) {
 			return;
 		}
 		this.wallet = data;
 		address.setText(wallet.address);
+		BigDecimal walletValue = (BigDecimal) addition.getSerializable(VALUE_ADDITION);
+		value.setText(walletValue == null
+				? null
+				: "$" + walletValue.setScale(2, RoundingMode.HALF_UP).stripTrailingZeros().toPlainString());
 		defaultAction.setChecked(addition.getBoolean(IS_DEFAULT_ADDITION, false));
 		defaultAction.setEnabled(true);
+		exportAction.setVisibility(wallet.isWatchOnly ? View.GONE : View.VISIBLE);
 		deleteAction.setVisibility(
 		        addition.getBoolean(IS_DEFAULT_ADDITION, false) && !addition.getBoolean(IS_LAST_ITEM, false)
                     ? View.GONE : View.VISIBLE);
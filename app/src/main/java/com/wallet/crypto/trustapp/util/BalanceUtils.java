@@ -8,6 +8,13 @@ import java.math.RoundingMode;
 
 public class BalanceUtils {
     private static String weiInEth  = "1000000000000000000";
+    private static final BigDecimal[] DECIMAL_DIVISORS = new BigDecimal[78];
+
+    static {
+        for (int i = 0; i < DECIMAL_DIVISORS.length; i++) {
+            DECIMAL_DIVISORS[i] = BigDecimal.TEN.pow(i);
+        }
+    }
 
     public static BigDecimal weiToEth(BigDecimal wei) {
         return Convert.fromWei(wei, Convert.Unit.ETHER);
@@ -36,6 +43,16 @@ public class BalanceUtils {
         return Convert.toWei(gwei, Convert.Unit.GWEI).toBigInteger();
     }
 
+    /**
+     * @param decimals - decimal places of a token
+     * @return exact 10^decimals, shared between callers for the usual token decimals
+     */
+    public static BigDecimal decimalDivisor(int decimals) {
+        return decimals >= 0 && decimals < DECIMAL_DIVISORS.length
+                ? DECIMAL_DIVISORS[decimals]
+                : BigDecimal.TEN.pow(decimals);
+    }
+
     /**
      * Base - taken to mean default unit for a currency e.g. ETH, DOLLARS
      * Subunit - taken to mean subdivision of base e.g. WEI, CENTS
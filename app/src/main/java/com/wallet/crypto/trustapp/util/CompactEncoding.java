@@ -0,0 +1,145 @@
+package com.wallet.crypto.trustapp.util;
+
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+
+/**
+ * Binary forms of the numeric and hex strings returned by the block explorer.
+ * Values which do not fit the compact form are kept as text: tagged UTF-8 in the byte forms,
+ * {@link #toLongOverflow} next to the long form. Together the encoding is lossless.
+ */
+public class CompactEncoding {
+
+    public static final long NO_NUMBER = -1;
+
+    private static final byte TAG_NUMBER = 0;
+    private static final byte TAG_HEX = 1;
+    private static final byte TAG_TEXT = 2;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * @return the decimal as long, {@link #NO_NUMBER} for null or not a non-negative decimal.
+     */
+    public static long toLong(String decimal) {
+        return decimal == null || decimal.length() > 18 || !isCanonicalDecimal(decimal)
+                ? NO_NUMBER
+                : Long.parseLong(decimal);
+    }
+
+    /**
+     * @return the value when {@link #toLong} can't hold it, null when it can.
+     */
+    public static String toLongOverflow(String decimal) {
+        return toLong(decimal) == NO_NUMBER ? decimal : null;
+    }
+
+    public static String fromLong(long value, String overflow) {
+        return value == NO_NUMBER ? overflow : Long.toString(value);
+    }
+
+    /**
+     * Non-negative decimals are stored as their unsigned big-endian magnitude.
+     */
+    public static byte[] toNumberBytes(String decimal) {
+        if (decimal == null) {
+            return null;
+        }
+        if (!isCanonicalDecimal(decimal)) {
+            return text(decimal);
+        }
+        byte[] magnitude = new BigInteger(decimal).toByteArray();
+        // toByteArray() adds a sign byte when the highest bit is set.
+        int skip = magnitude.length > 1 && magnitude[0] == 0 ? 1 : 0;
+        byte[] result = new byte[magnitude.length - skip + 1];
+        result[0] = TAG_NUMBER;
+        System.arraycopy(magnitude, skip, result, 1, magnitude.length - skip);
+        return result;
+    }
+
+    /**
+     * Lower case "0x" hex strings are stored as the bytes they encode.
+     */
+    public static byte[] toHexBytes(String hex) {
+        if (hex == null) {
+            return null;
+        }
+        if (!isLowerHex(hex)) {
+            return text(hex);
+        }
+        byte[] result = new byte[(hex.length() - 2) / 2 + 1];
+        result[0] = TAG_HEX;
+        for (int i = 2, j = 1; i < hex.length(); i += 2, j++) {
+            result[j] = (byte) (Character.digit(hex.charAt(i), 16) << 4
+                    | Character.digit(hex.charAt(i + 1), 16));
+        }
+        return result;
+    }
+
+    public static String fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        switch (bytes[0]) {
+            case TAG_NUMBER: {
+                if (bytes.length <= 8) {
+                    long value = 0;
+                    for (int i = 1; i < bytes.length; i++) {
+                        value = (value << 8) | (bytes[i] & 0xff);
+                    }
+                    return Long.toString(value);
+                }
+                byte[] magnitude = new byte[bytes.length - 1];
+                System.arraycopy(bytes, 1, magnitude, 0, magnitude.length);
+                return new BigInteger(1, magnitude).toString();
+            }
+            case TAG_HEX: {
+                char[] chars = new char[2 + (bytes.length - 1) * 2];
+                chars[0] = '0';
+                chars[1] = 'x';
+                for (int i = 1, j = 2; i < bytes.length; i++, j += 2) {
+                    chars[j] = HEX[(bytes[i] >> 4) & 0x0f];
+                    chars[j + 1] = HEX[bytes[i] & 0x0f];
+                }
+                return new String(chars);
+            }
+            default:
+                return new String(bytes, 1, bytes.length - 1, UTF_8);
+        }
+    }
+
+    private static byte[] text(String value) {
+        byte[] text = value.getBytes(UTF_8);
+        byte[] result = new byte[text.length + 1];
+        result[0] = TAG_TEXT;
+        System.arraycopy(text, 0, result, 1, text.length);
+        return result;
+    }
+
+    private static boolean isCanonicalDecimal(String value) {
+        if (value.isEmpty() || (value.length() > 1 && value.charAt(0) == '0')) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLowerHex(String value) {
+        int length = value.length();
+        if (length < 2 || length % 2 != 0 || value.charAt(0) != '0' || value.charAt(1) != 'x') {
+            return false;
+        }
+        for (int i = 2; i < length; i++) {
+            char c = value.charAt(i);
+            if (!(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
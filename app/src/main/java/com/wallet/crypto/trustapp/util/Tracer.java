@@ -0,0 +1,277 @@
+package com.wallet.crypto.trustapp.util;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.Completable;
+import io.reactivex.CompletableTransformer;
+import io.reactivex.Observable;
+import io.reactivex.ObservableTransformer;
+import io.reactivex.Single;
+import io.reactivex.SingleTransformer;
+import io.reactivex.functions.Function;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * Span timings of the refresh pipelines, kept in a ring buffer and exported
+ * in the Chrome trace event format (chrome://tracing, Perfetto).
+ * <p>
+ * The current span is kept per thread and carried over to the Rx schedulers through
+ * the {@link RxJavaPlugins} schedule hook, so spans begun on a worker nest under the
+ * span which subscribed. Spans of one refresh share the trace id of its root span.
+ * <p>
+ * Until {@link #install(int)} is called every call is a check of one static flag.
+ */
+public final class Tracer {
+
+    private static final Span NO_SPAN = new Span(null, null, 0, 0);
+    private static final ThreadLocal<Span> current = new ThreadLocal<>();
+    private static final AtomicLong traceIds = new AtomicLong();
+
+    private static volatile boolean enabled;
+    private static Function<? super Runnable, ? extends Runnable> previousHandler;
+    private static Event[] events;
+    private static int next;
+    private static int count;
+
+    private Tracer() {
+    }
+
+    public static synchronized void install(int capacity) {
+        events = new Event[capacity];
+        next = 0;
+        count = 0;
+        if (!enabled) {
+            Function<? super Runnable, ? extends Runnable> previous = RxJavaPlugins.getScheduleHandler();
+            RxJavaPlugins.setScheduleHandler(runnable -> wrap(previous == null ? runnable : previous.apply(runnable)));
+            previousHandler = previous;
+            enabled = true;
+        }
+    }
+
+    /**
+     * Turns tracing off and puts back the schedule handler {@link #install(int)} replaced.
+     */
+    static synchronized void uninstall() {
+        if (enabled) {
+            RxJavaPlugins.setScheduleHandler(previousHandler);
+            previousHandler = null;
+            enabled = false;
+        }
+        events = null;
+        next = 0;
+        count = 0;
+        current.remove();
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Begins a span under the current span of this thread, or a new trace when there is none.
+     * The span becomes the current one until it is ended or detached.
+     */
+    public static Span begin(String name) {
+        if (!enabled) {
+            return NO_SPAN;
+        }
+        Span parent = current.get();
+        Span span = parent == null
+                ? new Span(name, null, traceIds.incrementAndGet(), 0)
+                : new Span(name, parent, parent.traceId, parent.depth + 1);
+        current.set(span);
+        return span;
+    }
+
+    /**
+     * Spans the subscription of the stream up to its termination or disposal.
+     */
+    public static <T> ObservableTransformer<T, T> observable(String name) {
+        return upstream -> !enabled ? upstream : Observable.wrap(observer -> {
+            Span span = begin(name);
+            try {
+                upstream.doFinally(span::end).subscribe(observer);
+            } finally {
+                span.detach();
+            }
+        });
+    }
+
+    public static <T> SingleTransformer<T, T> single(String name) {
+        return upstream -> !enabled ? upstream : Single.wrap(observer -> {
+            Span span = begin(name);
+            try {
+                upstream.doFinally(span::end).subscribe(observer);
+            } finally {
+                span.detach();
+            }
+        });
+    }
+
+    public static CompletableTransformer completable(String name) {
+        return upstream -> !enabled ? upstream : Completable.wrap(observer -> {
+            Span span = begin(name);
+            try {
+                upstream.doFinally(span::end).subscribe(observer);
+            } finally {
+                span.detach();
+            }
+        });
+    }
+
+    /**
+     * Writes the recorded spans, oldest first, as a Chrome trace JSON object.
+     */
+    public static void export(Writer out) throws IOException {
+        Event[] snapshot;
+        synchronized (Tracer.class) {
+            if (events == null) {
+                snapshot = new Event[0];
+            } else {
+                snapshot = new Event[count];
+                int first = (next - count + events.length) % events.length;
+                for (int i = 0; i < count; i++) {
+                    snapshot[i] = events[(first + i) % events.length];
+                }
+            }
+        }
+        Map<Long, String> threads = new HashMap<>();
+        JsonWriter json = new JsonWriter(out);
+        json.beginObject();
+        json.name("traceEvents").beginArray();
+        for (Event event : snapshot) {
+            threads.put(event.threadId, event.threadName);
+            json.beginObject()
+                    .name("name").value(event.name)
+                    .name("cat").value("refresh")
+                    .name("ph").value("X")
+                    .name("ts").value(event.start / 1000)
+                    .name("dur").value(event.duration / 1000)
+                    .name("pid").value(0)
+                    .name("tid").value(event.threadId);
+            json.name("args").beginObject()
+                    .name("trace").value(event.traceId)
+                    .name("depth").value(event.depth)
+                    .name("parent").value(event.parent)
+                    .endObject();
+            json.endObject();
+        }
+        for (Map.Entry<Long, String> thread : threads.entrySet()) {
+            json.beginObject()
+                    .name("name").value("thread_name")
+                    .name("ph").value("M")
+                    .name("pid").value(0)
+                    .name("tid").value(thread.getKey());
+            json.name("args").beginObject().name("name").value(thread.getValue()).endObject();
+            json.endObject();
+        }
+        json.endArray();
+        json.name("displayTimeUnit").value("ms");
+        json.endObject();
+        json.flush();
+    }
+
+    private static Runnable wrap(Runnable runnable) {
+        if (!enabled) {
+            return runnable;
+        }
+        Span captured = current.get();
+        if (captured == null) {
+            return runnable;
+        }
+        return () -> {
+            Span previous = current.get();
+            current.set(captured);
+            try {
+                runnable.run();
+            } finally {
+                current.set(previous);
+            }
+        };
+    }
+
+    private static synchronized void record(Event event) {
+        if (events == null) {
+            return;
+        }
+        events[next] = event;
+        next = (next + 1) % events.length;
+        count = Math.min(count + 1, events.length);
+    }
+
+    public static final class Span {
+        private final String name;
+        private final Span parent;
+        private final long traceId;
+        private final int depth;
+        private final long start;
+        private final Thread thread;
+        private boolean isEnded;
+
+        private Span(String name, Span parent, long traceId, int depth) {
+            this.name = name;
+            this.parent = parent;
+            this.traceId = traceId;
+            this.depth = depth;
+            this.start = name == null ? 0 : System.nanoTime();
+            this.thread = Thread.currentThread();
+        }
+
+        /**
+         * Records the span, it can be ended on any thread but only the first end counts.
+         */
+        public void end() {
+            if (name == null) {
+                return;
+            }
+            long duration = System.nanoTime() - start;
+            synchronized (this) {
+                if (isEnded) {
+                    return;
+                }
+                isEnded = true;
+            }
+            detach();
+            record(new Event(name, parent == null ? null : parent.name,
+                    traceId, depth, start, duration, thread.getId(), thread.getName()));
+        }
+
+        /**
+         * Makes the parent current again on this thread, the span keeps running.
+         */
+        public void detach() {
+            if (name != null && current.get() == this) {
+                current.set(parent);
+            }
+        }
+    }
+
+    private static final class Event {
+        final String name;
+        final String parent;
+        final long traceId;
+        final int depth;
+        final long start;
+        final long duration;
+        final long threadId;
+        final String threadName;
+
+        Event(String name, String parent, long traceId, int depth,
+              long start, long duration, long threadId, String threadName) {
+            this.name = name;
+            this.parent = parent;
+            this.traceId = traceId;
+            this.depth = depth;
+            this.start = start;
+            this.duration = duration;
+            this.threadId = threadId;
+            this.threadName = threadName;
+        }
+    }
+}
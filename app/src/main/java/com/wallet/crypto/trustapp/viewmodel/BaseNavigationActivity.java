@@ -1,5 +1,6 @@
 package com.wallet.crypto.trustapp.viewmodel;
 
+import android.support.annotation.IdRes;
 import android.support.annotation.MenuRes;
 import android.support.annotation.NonNull;
 import android.support.design.widget.BottomNavigationView;
@@ -22,6 +23,13 @@ public class BaseNavigationActivity extends BaseActivity implements BottomNaviga
         navigation.inflateMenu(menuRes);
     }
 
+    /**
+     * The bottom navigation shows hidden items too, an action which isn't available is removed.
+     */
+    protected void removeBottomMenuItem(@IdRes int itemId) {
+        navigation.getMenu().removeItem(itemId);
+    }
+
     @Override
     public boolean onNavigationItemSelected(@NonNull MenuItem item) {
         return false;
@@ -10,8 +10,10 @@ import com.wallet.crypto.trustapp.entity.Wallet;
 import com.wallet.crypto.trustapp.interact.ImportWalletInteract;
 import com.wallet.crypto.trustapp.ui.widget.OnImportKeystoreListener;
 import com.wallet.crypto.trustapp.ui.widget.OnImportPrivateKeyListener;
+import com.wallet.crypto.trustapp.ui.widget.OnWatchAddressListener;
 
-public class ImportWalletViewModel extends BaseViewModel implements OnImportKeystoreListener, OnImportPrivateKeyListener {
+public class ImportWalletViewModel extends BaseViewModel implements OnImportKeystoreListener, OnImportPrivateKeyListener,
+        OnWatchAddressListener {
 
     private final ImportWalletInteract importWalletInteract;
     private final MutableLiveData<Wallet> wallet = new MutableLiveData<>();
@@ -36,6 +38,14 @@ public class ImportWalletViewModel extends BaseViewModel implements OnImportKeys
                 .subscribe(this::onWallet, this::onError);
     }
 
+    @Override
+    public void onWatchAddress(String address) {
+        progress.postValue(true);
+        importWalletInteract
+                .watchAddress(address)
+                .subscribe(this::onWallet, this::onError);
+    }
+
     public LiveData<Wallet> wallet() {
         return wallet;
     }
@@ -46,8 +56,9 @@ public class ImportWalletViewModel extends BaseViewModel implements OnImportKeys
     }
 
     public void onError(Throwable throwable) {
-        if (throwable.getCause() instanceof ServiceErrorException) {
-            if (((ServiceErrorException) throwable.getCause()).code == C.ErrorCode.ALREADY_ADDED){
+        Throwable cause = throwable instanceof ServiceErrorException ? throwable : throwable.getCause();
+        if (cause instanceof ServiceErrorException) {
+            if (((ServiceErrorException) cause).code == C.ErrorCode.ALREADY_ADDED){
                 error.postValue(new ErrorEnvelope(C.ErrorCode.ALREADY_ADDED, null));
             }
         } else {
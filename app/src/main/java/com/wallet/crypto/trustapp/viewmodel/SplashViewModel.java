@@ -3,20 +3,60 @@ package com.wallet.crypto.trustapp.viewmodel;
 import android.arch.lifecycle.LiveData;
 import android.arch.lifecycle.MutableLiveData;
 import android.arch.lifecycle.ViewModel;
+import android.util.Log;
 
+import com.crashlytics.android.Crashlytics;
+import com.wallet.crypto.trustapp.BuildConfig;
+import com.wallet.crypto.trustapp.entity.MigrationProgress;
 import com.wallet.crypto.trustapp.entity.Wallet;
 import com.wallet.crypto.trustapp.interact.FetchWalletsInteract;
+import com.wallet.crypto.trustapp.interact.MigrateDatabasesInteract;
+
+import io.fabric.sdk.android.Fabric;
+import io.reactivex.disposables.CompositeDisposable;
 
 public class SplashViewModel extends ViewModel {
+    private static final String TAG = "SplashViewModel";
+
     private final FetchWalletsInteract fetchWalletsInteract;
+    private final CompositeDisposable disposables = new CompositeDisposable();
     private MutableLiveData<Wallet[]> wallets = new MutableLiveData<>();
+    private MutableLiveData<MigrationProgress> migrationProgress = new MutableLiveData<>();
 
-    SplashViewModel(FetchWalletsInteract fetchWalletsInteract) {
+    SplashViewModel(
+            FetchWalletsInteract fetchWalletsInteract,
+            MigrateDatabasesInteract migrateDatabasesInteract) {
         this.fetchWalletsInteract = fetchWalletsInteract;
 
-        fetchWalletsInteract
+        disposables.add(migrateDatabasesInteract
+                .migrate()
+                .subscribe(migrationProgress::setValue, this::onMigrationError, this::fetchWallets));
+    }
+
+    @Override
+    protected void onCleared() {
+        disposables.dispose();
+    }
+
+    /**
+     * Databases which fail to migrate are recreated on first use, or moved again on the next start.
+     */
+    private void onMigrationError(Throwable throwable) {
+        if (BuildConfig.DEBUG) {
+            // A failing migration is a bug, don't carry on without the data.
+            throw new IllegalStateException("Database migration failed", throwable);
+        }
+        Log.e(TAG, "Database migration failed", throwable);
+        if (Fabric.isInitialized()) {
+            Crashlytics.logException(throwable);
+        }
+        fetchWallets();
+    }
+
+    private void fetchWallets() {
+        disposables.add(fetchWalletsInteract
                 .fetch()
-                .subscribe(wallets::postValue, this::onError);
+                .subscribe(wallets::postValue, this::onError));
     }
 
     private void onError(Throwable throwable) {
@@ -26,4 +66,8 @@ public class SplashViewModel extends ViewModel {
     public LiveData<Wallet[]> wallets() {
         return wallets;
     }
+
+    public LiveData<MigrationProgress> migrationProgress() {
+        return migrationProgress;
+    }
 }
@@ -5,17 +5,22 @@ import android.arch.lifecycle.ViewModelProvider;
 import android.support.annotation.NonNull;
 
 import com.wallet.crypto.trustapp.interact.FetchWalletsInteract;
+import com.wallet.crypto.trustapp.interact.MigrateDatabasesInteract;
 
 public class SplashViewModelFactory implements ViewModelProvider.Factory {
 
     private final FetchWalletsInteract fetchWalletsInteract;
+    private final MigrateDatabasesInteract migrateDatabasesInteract;
 
-    public SplashViewModelFactory(FetchWalletsInteract fetchWalletsInteract) {
+    public SplashViewModelFactory(
+            FetchWalletsInteract fetchWalletsInteract,
+            MigrateDatabasesInteract migrateDatabasesInteract) {
         this.fetchWalletsInteract = fetchWalletsInteract;
+        this.migrateDatabasesInteract = migrateDatabasesInteract;
     }
     @NonNull
     @Override
     public <T extends ViewModel> T create(@NonNull Class<T> modelClass) {
-        return (T) new SplashViewModel(fetchWalletsInteract);
+        return (T) new SplashViewModel(fetchWalletsInteract, migrateDatabasesInteract);
     }
 }
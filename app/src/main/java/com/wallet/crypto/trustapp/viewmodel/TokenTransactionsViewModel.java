@@ -0,0 +1,132 @@
+package com.wallet.crypto.trustapp.viewmodel;
+
+import android.arch.lifecycle.LiveData;
+import android.arch.lifecycle.MutableLiveData;
+import android.content.Context;
+import android.support.annotation.Nullable;
+
+import com.wallet.crypto.trustapp.C;
+import com.wallet.crypto.trustapp.entity.ErrorEnvelope;
+import com.wallet.crypto.trustapp.entity.NetworkInfo;
+import com.wallet.crypto.trustapp.entity.TransactionDisplay;
+import com.wallet.crypto.trustapp.entity.TransactionFilter;
+import com.wallet.crypto.trustapp.entity.TransactionRow;
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.interact.FindDefaultNetworkInteract;
+import com.wallet.crypto.trustapp.interact.FormatTransactionsInteract;
+import com.wallet.crypto.trustapp.interact.SearchTransactionsInteract;
+import com.wallet.crypto.trustapp.router.TransactionDetailRouter;
+
+import io.reactivex.disposables.Disposable;
+
+public class TokenTransactionsViewModel extends BaseViewModel {
+    private static final int PAGE_SIZE = 50;
+
+    private final MutableLiveData<TransactionDisplay[]> transactions = new MutableLiveData<>();
+
+    private final FindDefaultNetworkInteract findDefaultNetworkInteract;
+    private final SearchTransactionsInteract searchTransactionsInteract;
+    private final FormatTransactionsInteract formatTransactionsInteract;
+    private final TransactionDetailRouter transactionDetailRouter;
+
+    private final TransactionFilter filter = new TransactionFilter();
+    private Wallet wallet;
+    private NetworkInfo network;
+    private TransactionRow[] page;
+    private int pageLimit = PAGE_SIZE;
+    @Nullable
+    private Disposable formatDisposable;
+
+    TokenTransactionsViewModel(
+            FindDefaultNetworkInteract findDefaultNetworkInteract,
+            SearchTransactionsInteract searchTransactionsInteract,
+            FormatTransactionsInteract formatTransactionsInteract,
+            TransactionDetailRouter transactionDetailRouter) {
+        this.findDefaultNetworkInteract = findDefaultNetworkInteract;
+        this.searchTransactionsInteract = searchTransactionsInteract;
+        this.formatTransactionsInteract = formatTransactionsInteract;
+        this.transactionDetailRouter = transactionDetailRouter;
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+
+        if (formatDisposable != null) {
+            formatDisposable.dispose();
+        }
+    }
+
+    public LiveData<TransactionDisplay[]> transactions() {
+        return transactions;
+    }
+
+    /**
+     * @param contract token contract, the wallet address for the network coin
+     */
+    public void prepare(Wallet wallet, String contract) {
+        this.wallet = wallet;
+        filter.contract = contract == null || contract.equalsIgnoreCase(wallet.address) ? "" : contract;
+        progress.postValue(true);
+        disposable = findDefaultNetworkInteract
+                .find()
+                .subscribe(this::onDefaultNetwork, this::onError);
+    }
+
+    public void search(String counterparty) {
+        filter.counterparty = counterparty;
+        refresh();
+    }
+
+    public void refresh() {
+        pageLimit = PAGE_SIZE;
+        fetch();
+    }
+
+    public void loadMore() {
+        if (page == null || page.length < pageLimit) {
+            return;
+        }
+        pageLimit += PAGE_SIZE;
+        fetch();
+    }
+
+    public void showDetails(Context context, String hash) {
+        transactionDetailRouter.open(context, hash);
+    }
+
+    private void onDefaultNetwork(NetworkInfo network) {
+        this.network = network;
+        fetch();
+    }
+
+    private void fetch() {
+        if (network == null) {
+            return;
+        }
+        if (disposable != null && !disposable.isDisposed()) {
+            disposable.dispose();
+        }
+        disposable = searchTransactionsInteract
+                .search(wallet, filter, 0, pageLimit)
+                .subscribe(this::onTransactions, this::onError);
+    }
+
+    private void onTransactions(TransactionRow[] transactions) {
+        page = transactions;
+        if (formatDisposable != null && !formatDisposable.isDisposed()) {
+            formatDisposable.dispose();
+        }
+        formatDisposable = formatTransactionsInteract
+                .format(network, wallet, transactions)
+                .subscribe(this::onTransactionDisplays, this::onError);
+    }
+
+    private void onTransactionDisplays(TransactionDisplay[] transactions) {
+        progress.postValue(false);
+        this.transactions.setValue(transactions);
+        if (transactions.length == 0) {
+            error.postValue(new ErrorEnvelope(C.ErrorCode.EMPTY_COLLECTION, "empty collection"));
+        }
+    }
+}
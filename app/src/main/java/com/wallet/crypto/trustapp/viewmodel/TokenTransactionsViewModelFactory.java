@@ -0,0 +1,39 @@
+package com.wallet.crypto.trustapp.viewmodel;
+
+import android.arch.lifecycle.ViewModel;
+import android.arch.lifecycle.ViewModelProvider;
+import android.support.annotation.NonNull;
+
+import com.wallet.crypto.trustapp.interact.FindDefaultNetworkInteract;
+import com.wallet.crypto.trustapp.interact.FormatTransactionsInteract;
+import com.wallet.crypto.trustapp.interact.SearchTransactionsInteract;
+import com.wallet.crypto.trustapp.router.TransactionDetailRouter;
+
+public class TokenTransactionsViewModelFactory implements ViewModelProvider.Factory {
+
+    private final FindDefaultNetworkInteract findDefaultNetworkInteract;
+    private final SearchTransactionsInteract searchTransactionsInteract;
+    private final FormatTransactionsInteract formatTransactionsInteract;
+    private final TransactionDetailRouter transactionDetailRouter;
+
+    public TokenTransactionsViewModelFactory(
+            FindDefaultNetworkInteract findDefaultNetworkInteract,
+            SearchTransactionsInteract searchTransactionsInteract,
+            FormatTransactionsInteract formatTransactionsInteract,
+            TransactionDetailRouter transactionDetailRouter) {
+        this.findDefaultNetworkInteract = findDefaultNetworkInteract;
+        this.searchTransactionsInteract = searchTransactionsInteract;
+        this.formatTransactionsInteract = formatTransactionsInteract;
+        this.transactionDetailRouter = transactionDetailRouter;
+    }
+
+    @NonNull
+    @Override
+    public <T extends ViewModel> T create(@NonNull Class<T> modelClass) {
+        return (T) new TokenTransactionsViewModel(
+                findDefaultNetworkInteract,
+                searchTransactionsInteract,
+                formatTransactionsInteract,
+                transactionDetailRouter);
+    }
+}
@@ -5,15 +5,20 @@ import android.arch.lifecycle.MutableLiveData;
 import android.content.Context;
 
 import com.wallet.crypto.trustapp.entity.ErrorEnvelope;
+import com.wallet.crypto.trustapp.entity.PortfolioSnapshot;
 import com.wallet.crypto.trustapp.entity.Token;
 import com.wallet.crypto.trustapp.entity.Wallet;
 import com.wallet.crypto.trustapp.interact.FetchTokensInteract;
+import com.wallet.crypto.trustapp.interact.PortfolioSnapshotInteract;
 import com.wallet.crypto.trustapp.router.AddTokenRouter;
 import com.wallet.crypto.trustapp.router.ChangeTokenCollectionRouter;
 import com.wallet.crypto.trustapp.router.SendTokenRouter;
+import com.wallet.crypto.trustapp.router.TokenTransactionsRouter;
 import com.wallet.crypto.trustapp.router.TransactionsRouter;
+import com.wallet.crypto.trustapp.service.PortfolioEngine;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import static com.wallet.crypto.trustapp.C.ErrorCode.EMPTY_COLLECTION;
 
@@ -23,22 +28,29 @@ public class TokensViewModel extends BaseViewModel {
     private final MutableLiveData<BigDecimal> total = new MutableLiveData<>();
 
     private final FetchTokensInteract fetchTokensInteract;
+    private final PortfolioSnapshotInteract portfolioSnapshotInteract;
     private final AddTokenRouter addTokenRouter;
     private final SendTokenRouter sendTokenRouter;
     private final TransactionsRouter transactionsRouter;
     private final ChangeTokenCollectionRouter changeTokenCollectionRouter;
+    private final TokenTransactionsRouter tokenTransactionsRouter;
+    private final PortfolioEngine portfolioEngine = new PortfolioEngine();
 
     TokensViewModel(
             FetchTokensInteract fetchTokensInteract,
+            PortfolioSnapshotInteract portfolioSnapshotInteract,
             AddTokenRouter addTokenRouter,
             SendTokenRouter sendTokenRouter,
             TransactionsRouter transactionsRouter,
-            ChangeTokenCollectionRouter changeTokenCollectionRouter) {
+            ChangeTokenCollectionRouter changeTokenCollectionRouter,
+            TokenTransactionsRouter tokenTransactionsRouter) {
         this.fetchTokensInteract = fetchTokensInteract;
+        this.portfolioSnapshotInteract = portfolioSnapshotInteract;
         this.addTokenRouter = addTokenRouter;
         this.sendTokenRouter = sendTokenRouter;
         this.transactionsRouter = transactionsRouter;
         this.changeTokenCollectionRouter = changeTokenCollectionRouter;
+        this.tokenTransactionsRouter = tokenTransactionsRouter;
     }
 
     public MutableLiveData<Wallet> wallet() {
@@ -55,44 +67,57 @@ public class TokensViewModel extends BaseViewModel {
 
     public void fetchTokens() {
         progress.postValue(true);
-        fetchTokensInteract
+        if (disposable != null && !disposable.isDisposed()) {
+            disposable.dispose();
+        }
+        Token[] cached = fetchTokensInteract.cached(wallet.getValue());
+        if (cached != null && tokens.getValue() == null) {
+            onTokens(cached);
+        }
+        disposable = fetchTokensInteract
                 .fetch(wallet.getValue())
                 .subscribe(this::onTokens, this::onError, this::onFetchTokensCompletable);
     }
 
+    /**
+     * Shows the tokens saved after the last refresh of the wallet until live data arrives.
+     */
+    public void showSnapshot() {
+        Wallet wallet = this.wallet.getValue();
+        if (wallet == null || tokens.getValue() != null) {
+            return;
+        }
+        PortfolioSnapshot snapshot = portfolioSnapshotInteract.find();
+        if (snapshot != null && wallet.address.equals(snapshot.tokensWallet) && snapshot.tokens.length > 0) {
+            onTokens(snapshot.tokens);
+        }
+    }
+
+    public void setVisibleTokens(List<String> addresses) {
+        fetchTokensInteract.setVisible(addresses);
+    }
+
     private void onFetchTokensCompletable() {
         progress.postValue(false);
         Token[] tokens = tokens().getValue();
         if (tokens == null || tokens.length == 0) {
             error.postValue(new ErrorEnvelope(EMPTY_COLLECTION, "tokens not found"));
+        } else {
+            portfolioSnapshotInteract
+                    .saveTokens(wallet.getValue(), tokens)
+                    .subscribe(() -> {}, t -> {});
         }
     }
 
     private void onTokens(Token[] tokens) {
         this.tokens.setValue(tokens);
         if (tokens != null && tokens.length > 0) {
+            PortfolioEngine.Update update = portfolioEngine.update(tokens);
             progress.postValue(true);
-            showTotalBalance(tokens);
-        }
-    }
-
-    private void showTotalBalance(Token[] tokens) {
-        BigDecimal total = new BigDecimal("0");
-        for (Token token : tokens) {
-            if (token.balance != null && token.ticker != null
-                    && token.balance.compareTo(BigDecimal.ZERO) != 0) {
-                BigDecimal decimalDivisor = new BigDecimal(Math.pow(10, token.tokenInfo.decimals));
-                BigDecimal ethBalance = token.tokenInfo.decimals > 0
-                        ? token.balance.divide(decimalDivisor)
-                        : token.balance;
-                total = total.add(ethBalance.multiply(new BigDecimal(token.ticker.price)));
+            if (update.isTotalChanged) {
+                total.postValue(update.total);
             }
         }
-        total = total.setScale(2, BigDecimal.ROUND_HALF_UP).stripTrailingZeros();
-        if (total.compareTo(BigDecimal.ZERO) == 0) {
-            total = null;
-        }
-        this.total.postValue(total);
     }
 
     public void showAddToken(Context context) {
@@ -111,4 +136,8 @@ public class TokensViewModel extends BaseViewModel {
     public void showEditTokens(Context context) {
         changeTokenCollectionRouter.open(context, wallet.getValue());
     }
+
+    public void showTokenTransactions(Context context, String address, String symbol) {
+        tokenTransactionsRouter.open(context, wallet.getValue(), address, symbol);
+    }
 }
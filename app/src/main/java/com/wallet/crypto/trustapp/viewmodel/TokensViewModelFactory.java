@@ -5,30 +5,38 @@ import android.arch.lifecycle.ViewModelProvider;
 import android.support.annotation.NonNull;
 
 import com.wallet.crypto.trustapp.interact.FetchTokensInteract;
+import com.wallet.crypto.trustapp.interact.PortfolioSnapshotInteract;
 import com.wallet.crypto.trustapp.router.AddTokenRouter;
 import com.wallet.crypto.trustapp.router.ChangeTokenCollectionRouter;
 import com.wallet.crypto.trustapp.router.SendTokenRouter;
+import com.wallet.crypto.trustapp.router.TokenTransactionsRouter;
 import com.wallet.crypto.trustapp.router.TransactionsRouter;
 
 public class TokensViewModelFactory implements ViewModelProvider.Factory {
 
     private final FetchTokensInteract fetchTokensInteract;
+    private final PortfolioSnapshotInteract portfolioSnapshotInteract;
     private final AddTokenRouter addTokenRouter;
     private final SendTokenRouter sendTokenRouter;
     private final TransactionsRouter transactionsRouter;
     private final ChangeTokenCollectionRouter changeTokenCollectionRouter;
+    private final TokenTransactionsRouter tokenTransactionsRouter;
 
     public TokensViewModelFactory(
             FetchTokensInteract fetchTokensInteract,
+            PortfolioSnapshotInteract portfolioSnapshotInteract,
             AddTokenRouter addTokenRouter,
             SendTokenRouter sendTokenRouter,
             TransactionsRouter transactionsRouter,
-            ChangeTokenCollectionRouter changeTokenCollectionRouter) {
+            ChangeTokenCollectionRouter changeTokenCollectionRouter,
+            TokenTransactionsRouter tokenTransactionsRouter) {
         this.fetchTokensInteract = fetchTokensInteract;
+        this.portfolioSnapshotInteract = portfolioSnapshotInteract;
         this.addTokenRouter = addTokenRouter;
         this.sendTokenRouter = sendTokenRouter;
         this.transactionsRouter = transactionsRouter;
         this.changeTokenCollectionRouter = changeTokenCollectionRouter;
+        this.tokenTransactionsRouter = tokenTransactionsRouter;
     }
 
     @NonNull
@@ -36,9 +44,11 @@ public class TokensViewModelFactory implements ViewModelProvider.Factory {
     public <T extends ViewModel> T create(@NonNull Class<T> modelClass) {
         return (T) new TokensViewModel(
                 fetchTokensInteract,
+                portfolioSnapshotInteract,
                 addTokenRouter,
                 sendTokenRouter,
                 transactionsRouter,
-                changeTokenCollectionRouter);
+                changeTokenCollectionRouter,
+                tokenTransactionsRouter);
     }
 }
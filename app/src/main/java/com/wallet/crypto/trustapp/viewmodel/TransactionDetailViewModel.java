@@ -8,27 +8,34 @@ import android.net.Uri;
 import android.support.annotation.Nullable;
 import android.text.TextUtils;
 
+import com.wallet.crypto.trustapp.C;
 import com.wallet.crypto.trustapp.R;
+import com.wallet.crypto.trustapp.entity.ErrorEnvelope;
 import com.wallet.crypto.trustapp.entity.NetworkInfo;
 import com.wallet.crypto.trustapp.entity.Transaction;
 import com.wallet.crypto.trustapp.entity.Wallet;
 import com.wallet.crypto.trustapp.interact.FindDefaultNetworkInteract;
 import com.wallet.crypto.trustapp.interact.FindDefaultWalletInteract;
+import com.wallet.crypto.trustapp.interact.FindTransactionInteract;
 import com.wallet.crypto.trustapp.router.ExternalBrowserRouter;
 
 import io.reactivex.android.schedulers.AndroidSchedulers;
 
 public class TransactionDetailViewModel extends BaseViewModel {
 
+    private final FindTransactionInteract findTransactionInteract;
     private final ExternalBrowserRouter externalBrowserRouter;
 
     private final MutableLiveData<NetworkInfo> defaultNetwork = new MutableLiveData<>();
     private final MutableLiveData<Wallet> defaultWallet = new MutableLiveData<>();
+    private final MutableLiveData<Transaction> transaction = new MutableLiveData<>();
 
     TransactionDetailViewModel(
             FindDefaultNetworkInteract findDefaultNetworkInteract,
             FindDefaultWalletInteract findDefaultWalletInteract,
+            FindTransactionInteract findTransactionInteract,
             ExternalBrowserRouter externalBrowserRouter) {
+        this.findTransactionInteract = findTransactionInteract;
         this.externalBrowserRouter = externalBrowserRouter;
 
         findDefaultNetworkInteract
@@ -79,4 +86,25 @@ public class TransactionDetailViewModel extends BaseViewModel {
     public LiveData<Wallet> defaultWallet() {
         return defaultWallet;
     }
+
+    public LiveData<Transaction> transaction() {
+        return transaction;
+    }
+
+    /**
+     * Lists hold only row projections, the complete transaction, operations and input
+     * included, is loaded here by hash.
+     */
+    public void fetchTransaction(String hash) {
+        if (transaction.getValue() != null) {
+            return;
+        }
+        disposable = findTransactionInteract
+                .find(defaultWallet.getValue(), hash)
+                .subscribe(transaction::setValue, this::onError, this::onNotFound);
+    }
+
+    private void onNotFound() {
+        error.postValue(new ErrorEnvelope(C.ErrorCode.NOT_FOUND, null));
+    }
 }
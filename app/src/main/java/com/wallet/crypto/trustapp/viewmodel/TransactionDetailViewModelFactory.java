@@ -6,20 +6,24 @@ import android.support.annotation.NonNull;
 
 import com.wallet.crypto.trustapp.interact.FindDefaultNetworkInteract;
 import com.wallet.crypto.trustapp.interact.FindDefaultWalletInteract;
+import com.wallet.crypto.trustapp.interact.FindTransactionInteract;
 import com.wallet.crypto.trustapp.router.ExternalBrowserRouter;
 
 public class TransactionDetailViewModelFactory implements ViewModelProvider.Factory {
 
     private final FindDefaultNetworkInteract findDefaultNetworkInteract;
     private final FindDefaultWalletInteract findDefaultWalletInteract;
+    private final FindTransactionInteract findTransactionInteract;
     private final ExternalBrowserRouter externalBrowserRouter;
 
     public TransactionDetailViewModelFactory(
             FindDefaultNetworkInteract findDefaultNetworkInteract,
             FindDefaultWalletInteract findDefaultWalletInteract,
+            FindTransactionInteract findTransactionInteract,
             ExternalBrowserRouter externalBrowserRouter) {
         this.findDefaultNetworkInteract = findDefaultNetworkInteract;
         this.findDefaultWalletInteract = findDefaultWalletInteract;
+        this.findTransactionInteract = findTransactionInteract;
         this.externalBrowserRouter = externalBrowserRouter;
     }
 
@@ -29,6 +33,7 @@ public class TransactionDetailViewModelFactory implements ViewModelProvider.Fact
         return (T) new TransactionDetailViewModel(
                 findDefaultNetworkInteract,
                 findDefaultWalletInteract,
+                findTransactionInteract,
                 externalBrowserRouter);
     }
 }
@@ -3,20 +3,29 @@ package com.wallet.crypto.trustapp.viewmodel;
 import android.arch.lifecycle.LiveData;
 import android.arch.lifecycle.MutableLiveData;
 import android.content.Context;
+import android.content.Intent;
 import android.net.Uri;
 import android.os.Handler;
 import android.support.annotation.Nullable;
+import android.support.v4.content.FileProvider;
 import android.text.format.DateUtils;
 
+import com.wallet.crypto.trustapp.BuildConfig;
 import com.wallet.crypto.trustapp.C;
 import com.wallet.crypto.trustapp.entity.ErrorEnvelope;
+import com.wallet.crypto.trustapp.entity.ExportProgress;
 import com.wallet.crypto.trustapp.entity.NetworkInfo;
-import com.wallet.crypto.trustapp.entity.Transaction;
+import com.wallet.crypto.trustapp.entity.PortfolioSnapshot;
+import com.wallet.crypto.trustapp.entity.TransactionDisplay;
+import com.wallet.crypto.trustapp.entity.TransactionRow;
 import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.interact.ExportTransactionsInteract;
 import com.wallet.crypto.trustapp.interact.FetchTransactionsInteract;
 import com.wallet.crypto.trustapp.interact.FindDefaultNetworkInteract;
 import com.wallet.crypto.trustapp.interact.FindDefaultWalletInteract;
+import com.wallet.crypto.trustapp.interact.FormatTransactionsInteract;
 import com.wallet.crypto.trustapp.interact.GetDefaultWalletBalance;
+import com.wallet.crypto.trustapp.interact.PortfolioSnapshotInteract;
 import com.wallet.crypto.trustapp.router.ExternalBrowserRouter;
 import com.wallet.crypto.trustapp.router.ManageWalletsRouter;
 import com.wallet.crypto.trustapp.router.MyAddressRouter;
@@ -24,24 +33,34 @@ import com.wallet.crypto.trustapp.router.MyTokensRouter;
 import com.wallet.crypto.trustapp.router.SendRouter;
 import com.wallet.crypto.trustapp.router.SettingsRouter;
 import com.wallet.crypto.trustapp.router.TransactionDetailRouter;
+import com.wallet.crypto.trustapp.service.TransactionExporter;
 
+import java.io.File;
+import java.util.Arrays;
 import java.util.Map;
 
 import io.reactivex.Observable;
 import io.reactivex.disposables.Disposable;
 
 public class TransactionsViewModel extends BaseViewModel {
-    private static final long GET_BALANCE_INTERVAL = 10 * DateUtils.SECOND_IN_MILLIS;
     private static final long FETCH_TRANSACTIONS_INTERVAL = 12 * DateUtils.SECOND_IN_MILLIS;
+    private static final int PAGE_SIZE = 50;
+    private static final String EXPORT_DIR = "exports";
+    private static final String FILE_PROVIDER_AUTHORITY = BuildConfig.APPLICATION_ID + ".fileprovider";
     private final MutableLiveData<NetworkInfo> defaultNetwork = new MutableLiveData<>();
     private final MutableLiveData<Wallet> defaultWallet = new MutableLiveData<>();
-    private final MutableLiveData<Transaction[]> transactions = new MutableLiveData<>();
+    private final MutableLiveData<TransactionRow[]> transactions = new MutableLiveData<>();
+    private final MutableLiveData<TransactionDisplay[]> transactionDisplays = new MutableLiveData<>();
     private final MutableLiveData<Map<String, String>> defaultWalletBalance = new MutableLiveData<>();
+    private final MutableLiveData<ExportProgress> exportProgress = new MutableLiveData<>();
 
     private final FindDefaultNetworkInteract findDefaultNetworkInteract;
     private final FindDefaultWalletInteract findDefaultWalletInteract;
     private final GetDefaultWalletBalance getDefaultWalletBalance;
     private final FetchTransactionsInteract fetchTransactionsInteract;
+    private final FormatTransactionsInteract formatTransactionsInteract;
+    private final ExportTransactionsInteract exportTransactionsInteract;
+    private final PortfolioSnapshotInteract portfolioSnapshotInteract;
 
     private final ManageWalletsRouter manageWalletsRouter;
     private final SettingsRouter settingsRouter;
@@ -54,13 +73,25 @@ public class TransactionsViewModel extends BaseViewModel {
     private Disposable getBalanceDisposable;
     @Nullable
     private Disposable fetchTransactionDisposable;
+    @Nullable
+    private Disposable loadMoreDisposable;
+    @Nullable
+    private Disposable formatDisposable;
+    @Nullable
+    private Disposable exportDisposable;
     private Handler handler = new Handler();
+    private int pageLimit = PAGE_SIZE;
+    @Nullable
+    private PortfolioSnapshot shownSnapshot;
 
     TransactionsViewModel(
             FindDefaultNetworkInteract findDefaultNetworkInteract,
             FindDefaultWalletInteract findDefaultWalletInteract,
             FetchTransactionsInteract fetchTransactionsInteract,
+            FormatTransactionsInteract formatTransactionsInteract,
+            ExportTransactionsInteract exportTransactionsInteract,
             GetDefaultWalletBalance getDefaultWalletBalance,
+            PortfolioSnapshotInteract portfolioSnapshotInteract,
             ManageWalletsRouter manageWalletsRouter,
             SettingsRouter settingsRouter,
             SendRouter sendRouter,
@@ -72,6 +103,9 @@ public class TransactionsViewModel extends BaseViewModel {
         this.findDefaultWalletInteract = findDefaultWalletInteract;
         this.getDefaultWalletBalance = getDefaultWalletBalance;
         this.fetchTransactionsInteract = fetchTransactionsInteract;
+        this.formatTransactionsInteract = formatTransactionsInteract;
+        this.exportTransactionsInteract = exportTransactionsInteract;
+        this.portfolioSnapshotInteract = portfolioSnapshotInteract;
         this.manageWalletsRouter = manageWalletsRouter;
         this.settingsRouter = settingsRouter;
         this.sendRouter = sendRouter;
@@ -86,7 +120,19 @@ public class TransactionsViewModel extends BaseViewModel {
         super.onCleared();
 
         handler.removeCallbacks(startFetchTransactionsTask);
-        handler.removeCallbacks(startGetBalanceTask);
+        if (getBalanceDisposable != null) {
+            getBalanceDisposable.dispose();
+        }
+        if (fetchTransactionDisposable != null) {
+            fetchTransactionDisposable.dispose();
+        }
+        if (loadMoreDisposable != null) {
+            loadMoreDisposable.dispose();
+        }
+        if (formatDisposable != null) {
+            formatDisposable.dispose();
+        }
+        cancelExport();
     }
 
     public LiveData<NetworkInfo> defaultNetwork() {
@@ -97,14 +143,30 @@ public class TransactionsViewModel extends BaseViewModel {
         return defaultWallet;
     }
 
-    public LiveData<Transaction[]> transactions() {
+    public LiveData<TransactionRow[]> transactions() {
         return transactions;
     }
 
+    public LiveData<TransactionDisplay[]> transactionDisplays() {
+        return transactionDisplays;
+    }
+
     public LiveData<Map<String, String>> defaultWalletBalance() {
         return defaultWalletBalance;
     }
 
+    public LiveData<ExportProgress> exportProgress() {
+        return exportProgress;
+    }
+
+    /**
+     * @return what was shown after the last refresh, to paint before the default wallet is known.
+     */
+    public PortfolioSnapshot snapshot() {
+        shownSnapshot = portfolioSnapshotInteract.find();
+        return shownSnapshot;
+    }
+
     public void prepare() {
         progress.postValue(true);
         disposable = findDefaultNetworkInteract
@@ -116,45 +178,129 @@ public class TransactionsViewModel extends BaseViewModel {
         handler.removeCallbacks(startFetchTransactionsTask);
         progress.postValue(shouldShowProgress);
         /*For specific address use: new Wallet("0x60f7a1cbc59470b74b1df20b133700ec381f15d3")*/
-        Observable<Transaction[]> fetch = fetchTransactionsInteract.fetch(defaultWallet.getValue());
+        if (fetchTransactionDisposable != null && !fetchTransactionDisposable.isDisposed()) {
+            fetchTransactionDisposable.dispose();
+        }
+        Observable<TransactionRow[]> fetch = fetchTransactionsInteract.fetch(defaultWallet.getValue(), pageLimit);
         fetchTransactionDisposable = fetch
                 .subscribe(this::onTransactions, this::onError, this::onTransactionsFetchCompleted);
     }
 
+    /**
+     * Reads the next page of cached transactions and appends it to the list, only the new rows
+     * are read and formatted. Refreshes keep reading the whole window from the top.
+     */
+    public void loadMore() {
+        TransactionRow[] shown = this.transactions.getValue();
+        if (shown == null || shown.length < pageLimit
+                || (loadMoreDisposable != null && !loadMoreDisposable.isDisposed())) {
+            return;
+        }
+        pageLimit += PAGE_SIZE;
+        loadMoreDisposable = fetchTransactionsInteract
+                .fetchCached(defaultWallet.getValue(), shown.length, PAGE_SIZE)
+                .subscribe(page -> onMoreTransactions(shown, page), this::onError);
+    }
+
+    private void onMoreTransactions(TransactionRow[] shown, TransactionRow[] page) {
+        if (this.transactions.getValue() != shown || page.length == 0) {
+            // A refresh replaced the rows meanwhile, it reads the grown window.
+            return;
+        }
+        this.transactions.setValue(append(shown, page));
+        TransactionDisplay[] shownDisplays = transactionDisplays.getValue();
+        loadMoreDisposable = formatTransactionsInteract
+                .format(defaultNetwork.getValue(), defaultWallet.getValue(), page)
+                .subscribe(displays -> onMoreTransactionDisplays(shownDisplays, displays), this::onError);
+    }
+
+    private void onMoreTransactionDisplays(TransactionDisplay[] shownDisplays, TransactionDisplay[] displays) {
+        if (transactionDisplays.getValue() != shownDisplays || shownDisplays == null) {
+            // Formatting of a refresh got in between, format the current rows as a whole.
+            showTransactions(this.transactions.getValue());
+            return;
+        }
+        onTransactionDisplays(append(shownDisplays, displays));
+    }
+
+    private static <T> T[] append(T[] head, T[] tail) {
+        T[] result = Arrays.copyOf(head, head.length + tail.length);
+        System.arraycopy(tail, 0, result, head.length, tail.length);
+        return result;
+    }
+
+    /**
+     * Follows the shared balance of the default wallet, it keeps refreshing while this screen is alive.
+     */
     public void getBalance() {
+        if (getBalanceDisposable != null && !getBalanceDisposable.isDisposed()) {
+            return;
+        }
         getBalanceDisposable = getDefaultWalletBalance
-                .get(defaultWallet.getValue())
+                .watch()
                 .subscribe(values -> {
-                    defaultWalletBalance.postValue(values);
-                    handler.removeCallbacks(startGetBalanceTask);
-                    handler.postDelayed(startGetBalanceTask, GET_BALANCE_INTERVAL);
+                    defaultWalletBalance.setValue(values);
+                    saveSnapshot(values, transactionDisplays.getValue());
                 }, t -> {});
     }
 
     private void onDefaultNetwork(NetworkInfo networkInfo) {
-        defaultNetwork.postValue(networkInfo);
+        defaultNetwork.setValue(networkInfo);
         disposable = findDefaultWalletInteract
                 .find()
                 .subscribe(this::onDefaultWallet, this::onError);
     }
 
     private void onDefaultWallet(Wallet wallet) {
+        if (shownSnapshot != null && (!wallet.address.equals(shownSnapshot.wallet)
+                || !defaultNetwork.getValue().name.equals(shownSnapshot.network))) {
+            // The snapshot belongs to another wallet or network.
+            transactionDisplays.setValue(new TransactionDisplay[0]);
+        }
+        shownSnapshot = null;
         defaultWallet.setValue(wallet);
+        pageLimit = PAGE_SIZE;
         getBalance();
         fetchTransactions(true);
     }
 
-    private void onTransactions(Transaction[] transactions) {
-        this.transactions.setValue(transactions);
+    private void onTransactions(TransactionRow[] transactions) {
+        showTransactions(transactions);
         Boolean last = progress.getValue();
         if (transactions != null && transactions.length > 0 && last != null && last) {
             progress.postValue(true);
         }
     }
 
+    private void showTransactions(TransactionRow[] transactions) {
+        this.transactions.setValue(transactions);
+        if (formatDisposable != null && !formatDisposable.isDisposed()) {
+            formatDisposable.dispose();
+        }
+        formatDisposable = formatTransactionsInteract
+                .format(defaultNetwork.getValue(), defaultWallet.getValue(), transactions)
+                .subscribe(this::onTransactionDisplays, this::onError);
+    }
+
+    private void onTransactionDisplays(TransactionDisplay[] displays) {
+        transactionDisplays.setValue(displays);
+        saveSnapshot(defaultWalletBalance.getValue(), displays);
+    }
+
+    private void saveSnapshot(Map<String, String> balance, TransactionDisplay[] displays) {
+        NetworkInfo network = defaultNetwork.getValue();
+        Wallet wallet = defaultWallet.getValue();
+        if (network == null || wallet == null || balance == null || displays == null) {
+            return;
+        }
+        portfolioSnapshotInteract
+                .saveTransactions(network, wallet, balance, displays)
+                .subscribe(() -> {}, t -> {});
+    }
+
     private void onTransactionsFetchCompleted() {
         progress.postValue(false);
-        Transaction[] transactions = this.transactions.getValue();
+        TransactionRow[] transactions = this.transactions.getValue();
         if (transactions == null || transactions.length == 0) {
             error.postValue(new ErrorEnvelope(C.ErrorCode.EMPTY_COLLECTION, "empty collection"));
         }
@@ -173,8 +319,8 @@ public class TransactionsViewModel extends BaseViewModel {
 
     public void showSend(Context context) { sendRouter.open(context, defaultNetwork.getValue().symbol); }
 
-    public void showDetails(Context context, Transaction transaction) {
-        transactionDetailRouter.open(context, transaction);
+    public void showDetails(Context context, String hash) {
+        transactionDetailRouter.open(context, hash);
     }
 
     public void showMyAddress(Context context) {
@@ -189,7 +335,42 @@ public class TransactionsViewModel extends BaseViewModel {
         externalBrowserRouter.open(context, uri);
     }
 
-    private final Runnable startFetchTransactionsTask = () -> this.fetchTransactions(false);
+    public void exportTransactions(Context context, TransactionExporter.Format format) {
+        NetworkInfo network = defaultNetwork.getValue();
+        Wallet wallet = defaultWallet.getValue();
+        if (network == null || wallet == null
+                || (exportDisposable != null && !exportDisposable.isDisposed())) {
+            return;
+        }
+        File directory = new File(context.getCacheDir(), EXPORT_DIR);
+        exportDisposable = exportTransactionsInteract
+                .export(network, wallet, format, directory)
+                .subscribe(exportProgress::setValue, this::onExportError);
+    }
+
+    public void cancelExport() {
+        if (exportDisposable != null && !exportDisposable.isDisposed()) {
+            exportDisposable.dispose();
+        }
+        exportProgress.setValue(null);
+    }
+
+    public void shareExport(Context context, ExportProgress progress) {
+        exportProgress.setValue(null);
+        Uri uri = FileProvider.getUriForFile(context, FILE_PROVIDER_AUTHORITY, progress.file);
+        Intent sharingIntent = new Intent(Intent.ACTION_SEND);
+        sharingIntent.setType(progress.file.getName().endsWith(TransactionExporter.Format.JSON.extension)
+                ? TransactionExporter.Format.JSON.mimeType
+                : TransactionExporter.Format.CSV.mimeType);
+        sharingIntent.putExtra(Intent.EXTRA_STREAM, uri);
+        sharingIntent.addFlags(Intent.FLAG_GRANT_READ_URI_PERMISSION);
+        context.startActivity(Intent.createChooser(sharingIntent, "Share via"));
+    }
 
-    private final Runnable startGetBalanceTask = this::getBalance;
+    private void onExportError(Throwable throwable) {
+        exportProgress.setValue(null);
+        onError(throwable);
+    }
+
+    private final Runnable startFetchTransactionsTask = () -> this.fetchTransactions(false);
 }
@@ -4,10 +4,13 @@ import android.arch.lifecycle.ViewModel;
 import android.arch.lifecycle.ViewModelProvider;
 import android.support.annotation.NonNull;
 
+import com.wallet.crypto.trustapp.interact.ExportTransactionsInteract;
 import com.wallet.crypto.trustapp.interact.FetchTransactionsInteract;
 import com.wallet.crypto.trustapp.interact.FindDefaultNetworkInteract;
 import com.wallet.crypto.trustapp.interact.FindDefaultWalletInteract;
+import com.wallet.crypto.trustapp.interact.FormatTransactionsInteract;
 import com.wallet.crypto.trustapp.interact.GetDefaultWalletBalance;
+import com.wallet.crypto.trustapp.interact.PortfolioSnapshotInteract;
 import com.wallet.crypto.trustapp.router.ExternalBrowserRouter;
 import com.wallet.crypto.trustapp.router.ManageWalletsRouter;
 import com.wallet.crypto.trustapp.router.MyAddressRouter;
@@ -22,6 +25,9 @@ public class TransactionsViewModelFactory implements ViewModelProvider.Factory {
     private final FindDefaultWalletInteract findDefaultWalletInteract;
     private final GetDefaultWalletBalance getDefaultWalletBalance;
     private final FetchTransactionsInteract fetchTransactionsInteract;
+    private final FormatTransactionsInteract formatTransactionsInteract;
+    private final ExportTransactionsInteract exportTransactionsInteract;
+    private final PortfolioSnapshotInteract portfolioSnapshotInteract;
     private final ManageWalletsRouter manageWalletsRouter;
     private final SettingsRouter settingsRouter;
     private final SendRouter sendRouter;
@@ -34,7 +40,10 @@ public class TransactionsViewModelFactory implements ViewModelProvider.Factory {
             FindDefaultNetworkInteract findDefaultNetworkInteract,
             FindDefaultWalletInteract findDefaultWalletInteract,
             FetchTransactionsInteract fetchTransactionsInteract,
+            FormatTransactionsInteract formatTransactionsInteract,
+            ExportTransactionsInteract exportTransactionsInteract,
             GetDefaultWalletBalance getDefaultWalletBalance,
+            PortfolioSnapshotInteract portfolioSnapshotInteract,
             ManageWalletsRouter manageWalletsRouter,
             SettingsRouter settingsRouter,
             SendRouter sendRouter,
@@ -46,6 +55,9 @@ public class TransactionsViewModelFactory implements ViewModelProvider.Factory {
         this.findDefaultWalletInteract = findDefaultWalletInteract;
         this.getDefaultWalletBalance = getDefaultWalletBalance;
         this.fetchTransactionsInteract = fetchTransactionsInteract;
+        this.formatTransactionsInteract = formatTransactionsInteract;
+        this.exportTransactionsInteract = exportTransactionsInteract;
+        this.portfolioSnapshotInteract = portfolioSnapshotInteract;
         this.manageWalletsRouter = manageWalletsRouter;
         this.settingsRouter = settingsRouter;
         this.sendRouter = sendRouter;
@@ -62,7 +74,10 @@ public class TransactionsViewModelFactory implements ViewModelProvider.Factory {
                 findDefaultNetworkInteract,
                 findDefaultWalletInteract,
                 fetchTransactionsInteract,
+                formatTransactionsInteract,
+                exportTransactionsInteract,
                 getDefaultWalletBalance,
+                portfolioSnapshotInteract,
                 manageWalletsRouter,
                 settingsRouter,
                 sendRouter,
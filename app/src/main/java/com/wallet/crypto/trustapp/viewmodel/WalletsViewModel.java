@@ -9,16 +9,20 @@ import android.text.TextUtils;
 import com.crashlytics.android.Crashlytics;
 import com.wallet.crypto.trustapp.C;
 import com.wallet.crypto.trustapp.entity.ErrorEnvelope;
+import com.wallet.crypto.trustapp.entity.Portfolio;
 import com.wallet.crypto.trustapp.entity.Wallet;
 import com.wallet.crypto.trustapp.interact.CreateWalletInteract;
 import com.wallet.crypto.trustapp.interact.DeleteWalletInteract;
 import com.wallet.crypto.trustapp.interact.ExportWalletInteract;
 import com.wallet.crypto.trustapp.interact.FetchWalletsInteract;
+import com.wallet.crypto.trustapp.interact.FetchPortfolioInteract;
 import com.wallet.crypto.trustapp.interact.FindDefaultWalletInteract;
 import com.wallet.crypto.trustapp.interact.SetDefaultWalletInteract;
 import com.wallet.crypto.trustapp.router.ImportWalletRouter;
 import com.wallet.crypto.trustapp.router.TransactionsRouter;
 
+import io.reactivex.disposables.Disposable;
+
 import static com.wallet.crypto.trustapp.C.IMPORT_REQUEST_CODE;
 
 public class WalletsViewModel extends BaseViewModel {
@@ -29,6 +33,7 @@ public class WalletsViewModel extends BaseViewModel {
 	private final FetchWalletsInteract fetchWalletsInteract;
 	private final FindDefaultWalletInteract findDefaultWalletInteract;
     private final ExportWalletInteract exportWalletInteract;
+    private final FetchPortfolioInteract fetchPortfolioInteract;
 
 	private final ImportWalletRouter importWalletRouter;
     private final TransactionsRouter transactionsRouter;
@@ -40,6 +45,8 @@ public class WalletsViewModel extends BaseViewModel {
 	private final MutableLiveData<String> exportedStore = new MutableLiveData<>();
 	private final MutableLiveData<ErrorEnvelope> exportWalletError = new MutableLiveData<>();
 	private final MutableLiveData<ErrorEnvelope> deleteWalletError = new MutableLiveData<>();
+	private final MutableLiveData<Portfolio> portfolio = new MutableLiveData<>();
+	private Disposable portfolioDisposable;
 
     WalletsViewModel(
             CreateWalletInteract createWalletInteract,
@@ -48,6 +55,7 @@ public class WalletsViewModel extends BaseViewModel {
             FetchWalletsInteract fetchWalletsInteract,
             FindDefaultWalletInteract findDefaultWalletInteract,
             ExportWalletInteract exportWalletInteract,
+            FetchPortfolioInteract fetchPortfolioInteract,
             ImportWalletRouter importWalletRouter,
             TransactionsRouter transactionsRouter) {
 		this.createWalletInteract = createWalletInteract;
@@ -57,11 +65,20 @@ public class WalletsViewModel extends BaseViewModel {
 		this.findDefaultWalletInteract = findDefaultWalletInteract;
 		this.importWalletRouter = importWalletRouter;
 		this.exportWalletInteract = exportWalletInteract;
+		this.fetchPortfolioInteract = fetchPortfolioInteract;
 		this.transactionsRouter = transactionsRouter;
 
 		fetchWallets();
 	}
 
+	@Override
+	protected void onCleared() {
+		super.onCleared();
+		if (portfolioDisposable != null) {
+			portfolioDisposable.dispose();
+		}
+	}
+
 	public LiveData<Wallet[]> wallets() {
 		return wallets;
 	}
@@ -90,6 +107,10 @@ public class WalletsViewModel extends BaseViewModel {
         return deleteWalletError;
     }
 
+    public LiveData<Portfolio> portfolio() {
+        return portfolio;
+    }
+
 	public void setDefaultWallet(Wallet wallet) {
 		disposable = setDefaultWalletInteract
 				.set(wallet)
@@ -105,11 +126,21 @@ public class WalletsViewModel extends BaseViewModel {
 	private void onFetchWallets(Wallet[] items) {
 		progress.postValue(false);
 		wallets.postValue(items);
+		fetchPortfolio(items);
 		disposable = findDefaultWalletInteract
 				.find()
 				.subscribe(this::onDefaultWalletChanged, t -> {});
 	}
 
+	private void fetchPortfolio(Wallet[] items) {
+		if (portfolioDisposable != null) {
+			portfolioDisposable.dispose();
+		}
+		portfolioDisposable = fetchPortfolioInteract
+				.fetch(items)
+				.subscribe(portfolio::postValue, t -> {});
+	}
+
 	private void onDefaultWalletChanged(Wallet wallet) {
 		progress.postValue(false);
 		defaultWallet.postValue(wallet);
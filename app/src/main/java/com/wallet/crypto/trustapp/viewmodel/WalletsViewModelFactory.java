@@ -8,6 +8,7 @@ import com.wallet.crypto.trustapp.interact.CreateWalletInteract;
 import com.wallet.crypto.trustapp.interact.DeleteWalletInteract;
 import com.wallet.crypto.trustapp.interact.ExportWalletInteract;
 import com.wallet.crypto.trustapp.interact.FetchWalletsInteract;
+import com.wallet.crypto.trustapp.interact.FetchPortfolioInteract;
 import com.wallet.crypto.trustapp.interact.FindDefaultWalletInteract;
 import com.wallet.crypto.trustapp.interact.SetDefaultWalletInteract;
 import com.wallet.crypto.trustapp.router.ImportWalletRouter;
@@ -23,6 +24,7 @@ public class WalletsViewModelFactory implements ViewModelProvider.Factory {
 	private final FetchWalletsInteract fetchWalletsInteract;
 	private final FindDefaultWalletInteract findDefaultWalletInteract;
     private final ExportWalletInteract exportWalletInteract;
+    private final FetchPortfolioInteract fetchPortfolioInteract;
 
 	private final ImportWalletRouter importWalletRouter;
     private final TransactionsRouter transactionsRouter;
@@ -36,6 +38,7 @@ public class WalletsViewModelFactory implements ViewModelProvider.Factory {
             FetchWalletsInteract fetchWalletsInteract,
             FindDefaultWalletInteract findDefaultWalletInteract,
             ExportWalletInteract exportWalletInteract,
+            FetchPortfolioInteract fetchPortfolioInteract,
             ImportWalletRouter importWalletRouter,
             TransactionsRouter transactionsRouter) {
 		this.createWalletInteract = createWalletInteract;
@@ -44,6 +47,7 @@ public class WalletsViewModelFactory implements ViewModelProvider.Factory {
 		this.fetchWalletsInteract = fetchWalletsInteract;
 		this.findDefaultWalletInteract = findDefaultWalletInteract;
 		this.exportWalletInteract = exportWalletInteract;
+		this.fetchPortfolioInteract = fetchPortfolioInteract;
 		this.importWalletRouter = importWalletRouter;
 		this.transactionsRouter = transactionsRouter;
 	}
@@ -58,6 +62,7 @@ public class WalletsViewModelFactory implements ViewModelProvider.Factory {
                 fetchWalletsInteract,
                 findDefaultWalletInteract,
                 exportWalletInteract,
+                fetchPortfolioInteract,
                 importWalletRouter,
                 transactionsRouter);
 	}
@@ -0,0 +1,111 @@
+package com.wallet.crypto.trustapp;
+
+import com.wallet.crypto.trustapp.entity.Transaction;
+import com.wallet.crypto.trustapp.entity.TransactionContract;
+import com.wallet.crypto.trustapp.entity.TransactionOperation;
+
+import java.math.BigInteger;
+import java.util.Locale;
+
+/**
+ * Synthetic history shaped like a real one. Every third transaction is an ether transfer,
+ * the others are token transfers of {@link #TOKEN}. Inputs have the sizes real transactions
+ * have: none for plain transfers, 68 bytes of ERC20 transfer calldata for token transfers,
+ * 260 bytes for every fifth ether transaction, which calls a contract.
+ * Even transactions are sent by the wallet, odd ones received from one of
+ * {@link #COUNTERPARTIES} counterparties.
+ */
+public class TransactionFixtures {
+
+    public static final long START_TIME = 1500000000L;
+    public static final long INTERVAL = 60;
+    public static final int COUNTERPARTIES = 100;
+    public static final String TOKEN = "0x0000000000000000000000000000000000000003";
+
+    private static final String TRANSFER_SELECTOR = "a9059cbb";
+    private static final int CALL_WORDS = 8;
+
+    public static Transaction transaction(int index, String wallet) {
+        return transaction(index, wallet, 1);
+    }
+
+    /**
+     * @param operationCount operations of a token transfer, the first one is the transfer of {@link #TOKEN}.
+     */
+    public static Transaction transaction(int index, String wallet, int operationCount) {
+        String counterparty = address(index % COUNTERPARTIES);
+        boolean isOutgoing = index % 2 == 0;
+        String from = isOutgoing ? wallet : counterparty;
+        String to = isOutgoing ? counterparty : wallet;
+        // index / 1000 ether or tokens.
+        String value = index + "000000000000000";
+        if (index % 3 == 0) {
+            String input = index % 5 == 0 ? callInput(index) : "0x";
+            return transaction(index, from, to, value, input, new TransactionOperation[0]);
+        }
+        TransactionOperation[] operations = new TransactionOperation[operationCount];
+        for (int i = 0; i < operationCount; i++) {
+            TransactionOperation operation = new TransactionOperation();
+            operation.transactionId = hash(index) + "-" + i;
+            operation.from = from;
+            operation.to = to;
+            operation.value = value;
+            operation.contract = new TransactionContract();
+            operation.contract.address = i == 0 ? TOKEN : address(COUNTERPARTIES + i);
+            operation.contract.name = "Token";
+            operation.contract.symbol = "TKN";
+            operation.contract.decimals = 18;
+            operations[i] = operation;
+        }
+        return transaction(index, from, TOKEN, "0", transferInput(to, value), operations);
+    }
+
+    public static String hash(int index) {
+        return String.format(Locale.US, "0x%064x", index);
+    }
+
+    public static String address(int index) {
+        return String.format(Locale.US, "0x%040x", index);
+    }
+
+    private static Transaction transaction(
+            int index, String from, String to, String value, String input, TransactionOperation[] operations) {
+        return new Transaction(
+                hash(index),
+                null,
+                String.valueOf(4000000 + index),
+                START_TIME + index * INTERVAL,
+                index,
+                from,
+                to,
+                value,
+                "60000",
+                "20000000000",
+                input,
+                "52000",
+                operations);
+    }
+
+    /**
+     * transfer(address,uint256): the selector, the recipient and the amount, each argument in a 32 byte word.
+     */
+    private static String transferInput(String to, String value) {
+        return "0x" + TRANSFER_SELECTOR + word(to.substring(2)) + word(new BigInteger(value).toString(16));
+    }
+
+    private static String callInput(int index) {
+        StringBuilder input = new StringBuilder("0x").append(String.format(Locale.US, "%08x", index));
+        for (int i = 0; i < CALL_WORDS; i++) {
+            input.append(word(Integer.toHexString(index + i)));
+        }
+        return input.toString();
+    }
+
+    private static String word(String hex) {
+        StringBuilder word = new StringBuilder(64);
+        for (int i = hex.length(); i < 64; i++) {
+            word.append('0');
+        }
+        return word.append(hex).toString();
+    }
+}
@@ -0,0 +1,65 @@
+package com.wallet.crypto.trustapp;
+
+import com.wallet.crypto.trustapp.entity.SchedulerMetrics;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Completable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AppSchedulersTest {
+
+    @Test
+    public void runsInteractiveDiskWorkFirst() throws Exception {
+        AppSchedulers schedulers = new AppSchedulers(1, 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        // Keep the only disk thread busy while both pools queue their work.
+        schedulers.disk().scheduleDirect(() -> awaitQuietly(release));
+        Completable.fromAction(() -> schedulers.disk().scheduleDirect(() -> {
+                    order.add("sync");
+                    done.countDown();
+                }))
+                .subscribeOn(schedulers.sync())
+                .blockingAwait();
+        Completable.fromAction(() -> schedulers.disk().scheduleDirect(() -> {
+                    order.add("interactive");
+                    done.countDown();
+                }))
+                .subscribeOn(schedulers.interactive())
+                .blockingAwait();
+        schedulers.disk().scheduleDirect(() -> {
+            order.add("other");
+            done.countDown();
+        });
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("interactive", "other", "sync"), order);
+        SchedulerMetrics disk = schedulers.getMetrics()[2];
+        assertEquals("disk", disk.name);
+        assertEquals(4, disk.executed);
+        assertEquals(3, disk.maxQueued);
+        assertEquals(0, disk.queued);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.wallet.crypto.trustapp;
+
+import com.wallet.crypto.trustapp.entity.KeystoreFile;
+import com.wallet.crypto.trustapp.entity.KeystoreImportStatus;
+import com.wallet.crypto.trustapp.entity.NetworkInfo;
+import com.wallet.crypto.trustapp.entity.Ticker;
+import com.wallet.crypto.trustapp.entity.Token;
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.repository.AppStateStore;
+import com.wallet.crypto.trustapp.repository.EthereumNetworkRepositoryType;
+import com.wallet.crypto.trustapp.repository.OnNetworkChangeListener;
+import com.wallet.crypto.trustapp.repository.TokenFetchPriority;
+import com.wallet.crypto.trustapp.repository.TokenRepositoryType;
+import com.wallet.crypto.trustapp.repository.WalletRepositoryType;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Observable;
+import io.reactivex.Single;
+import io.reactivex.functions.Function;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class AppStateStoreTest {
+
+    private final NetworkInfo network = new NetworkInfo("state", "ETH", "", "", "", 1, false);
+    private final FakeWalletRepository walletRepository = new FakeWalletRepository();
+    private final FakeTokenRepository tokenRepository = new FakeTokenRepository();
+    private final AppStateStore store = new AppStateStore(
+            walletRepository, new FakeNetworkRepository(), tokenRepository, new AppSchedulers(1, 1, 1));
+
+    @Test
+    public void readsDefaultWalletOnce() {
+        assertEquals("0x1", store.defaultWallet().blockingGet().address);
+        assertEquals("0x1", store.defaultWallet().blockingGet().address);
+        assertEquals(1, walletRepository.reads.get());
+
+        store.setWallet(new Wallet("0x2"));
+        assertEquals("0x2", store.defaultWallet().blockingGet().address);
+        store.reloadWallet();
+        assertEquals("0x1", store.defaultWallet().blockingGet().address);
+        assertEquals(2, walletRepository.reads.get());
+    }
+
+    @Test
+    public void sharesTokenRefresh() throws Exception {
+        Wallet wallet = new Wallet("0x1");
+        TestObserver<Token[]> first = store.tokens(wallet).test();
+        TestObserver<Token[]> second = store.tokens(wallet).test();
+        Token[] tokens = new Token[0];
+        tokenRepository.awaitSubscribed();
+        tokenRepository.source.onNext(tokens);
+        tokenRepository.source.onComplete();
+
+        first.awaitTerminalEvent();
+        second.awaitTerminalEvent();
+        first.assertValue(tokens);
+        second.assertValue(tokens);
+        assertEquals(1, tokenRepository.fetches.get());
+        assertSame(tokens, store.cachedTokens(wallet));
+        assertNull(store.cachedTokens(new Wallet("0x2")));
+    }
+
+    private static class FakeWalletRepository implements WalletRepositoryType {
+        final AtomicInteger reads = new AtomicInteger();
+
+        @Override
+        public Single<Wallet[]> fetchWallets() {
+            return Single.just(new Wallet[] {new Wallet("0x1")});
+        }
+
+        @Override
+        public Single<Wallet> findWallet(String address) {
+            return Single.just(new Wallet(address));
+        }
+
+        @Override
+        public Single<Wallet> createWallet(String password) {
+            return Single.error(new UnsupportedOperationException());
+        }
+
+        @Override
+        public Single<Wallet> importKeystoreToWallet(String store, String password, String newPassword) {
+            return Single.error(new UnsupportedOperationException());
+        }
+
+        @Override
+        public Single<Wallet> importPrivateKeyToWallet(String privateKey, String newPassword) {
+            return Single.error(new UnsupportedOperationException());
+        }
+
+        @Override
+        public Flowable<KeystoreImportStatus> importKeystoresToWallets(
+                List<KeystoreFile> files,
+                Map<String, String> passwords,
+                String defaultPassword,
+                Function<String, String> newPasswords) {
+            return Flowable.error(new UnsupportedOperationException());
+        }
+
+        @Override
+        public Single<Wallet> addWatchOnlyWallet(String address) {
+            return Single.error(new UnsupportedOperationException());
+        }
+
+        @Override
+        public Single<String> exportWallet(Wallet wallet, String password, String newPassword) {
+            return Single.error(new UnsupportedOperationException());
+        }
+
+        @Override
+        public Completable deleteWallet(String address, String password) {
+            return Completable.complete();
+        }
+
+        @Override
+        public Completable setDefaultWallet(Wallet wallet) {
+            return Completable.complete();
+        }
+
+        @Override
+        public Single<Wallet> getDefaultWallet() {
+            return Single.fromCallable(() -> {
+                reads.incrementAndGet();
+                return new Wallet("0x1");
+            });
+        }
+
+        @Override
+        public Single<BigDecimal> balanceInWei(Wallet wallet) {
+            return Single.just(BigDecimal.ZERO);
+        }
+    }
+
+    private class FakeNetworkRepository implements EthereumNetworkRepositoryType {
+        @Override
+        public NetworkInfo getDefaultNetwork() {
+            return network;
+        }
+
+        @Override
+        public void setDefaultNetworkInfo(NetworkInfo networkInfo) {
+        }
+
+        @Override
+        public NetworkInfo[] getAvailableNetworkList() {
+            return new NetworkInfo[] {network};
+        }
+
+        @Override
+        public void addOnChangeDefaultNetwork(OnNetworkChangeListener onNetworkChanged) {
+        }
+
+        @Override
+        public Single<Ticker> getTicker() {
+            return Single.error(new UnsupportedOperationException());
+        }
+    }
+
+    private static class FakeTokenRepository implements TokenRepositoryType {
+        final AtomicInteger fetches = new AtomicInteger();
+        final PublishSubject<Token[]> source = PublishSubject.create();
+
+        void awaitSubscribed() throws InterruptedException {
+            while (!source.hasObservers()) {
+                Thread.sleep(10);
+            }
+        }
+
+        @Override
+        public Observable<Token[]> fetchActive(String walletAddress) {
+            return fetchActive(walletAddress, new TokenFetchPriority());
+        }
+
+        @Override
+        public Observable<Token[]> fetchActive(String walletAddress, TokenFetchPriority priority) {
+            return source.doOnSubscribe(disposable -> fetches.incrementAndGet());
+        }
+
+        @Override
+        public Observable<Token[]> fetchAll(String walletAddress) {
+            return Observable.empty();
+        }
+
+        @Override
+        public Completable addToken(Wallet wallet, String address, String symbol, int decimals) {
+            return Completable.complete();
+        }
+
+        @Override
+        public Completable setEnable(Wallet wallet, Token token, boolean isEnabled) {
+            return Completable.complete();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.wallet.crypto.trustapp;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.wallet.crypto.trustapp.entity.ServiceException;
+import com.wallet.crypto.trustapp.service.BatchRpcClient;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BatchRpcClientTest {
+
+    private static final String URL = "http://node.test/";
+
+    @Test
+    public void splitsLargeBatchesAndMatchesIds() throws Exception {
+        FakeNode node = new FakeNode();
+        BatchRpcClient client = client(node);
+        List<BatchRpcClient.Call> calls = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            calls.add(BatchRpcClient.getBalance(address(i)));
+        }
+
+        BigInteger[] results = client.send(URL, calls);
+
+        assertEquals(3, node.batchSizes.size());
+        assertEquals(500, (int) node.batchSizes.get(0));
+        assertEquals(500, (int) node.batchSizes.get(1));
+        assertEquals(200, (int) node.batchSizes.get(2));
+        for (int i = 0; i < results.length; i++) {
+            if (i % 7 == 0) {
+                assertNull(results[i]);
+            } else {
+                assertEquals(BigInteger.valueOf(i), results[i]);
+            }
+        }
+    }
+
+    @Test
+    public void reportsRejectedBatch() throws Exception {
+        BatchRpcClient client = client(chain -> answer(chain,
+                "{\"jsonrpc\":\"2.0\",\"id\":null,\"error\":{\"code\":-32600,\"message\":\"batch too large\"}}"));
+        List<BatchRpcClient.Call> calls = new ArrayList<>();
+        calls.add(BatchRpcClient.blockNumber());
+
+        try {
+            client.send(URL, calls);
+            fail();
+        } catch (ServiceException ex) {
+            assertTrue(ex.getMessage().contains("batch too large"));
+        }
+    }
+
+    @Test
+    public void acceptsSingleAnswerObject() throws Exception {
+        BatchRpcClient client = client(chain -> answer(chain, "{\"jsonrpc\":\"2.0\",\"id\":0,\"result\":\"0x10\"}"));
+
+        JsonElement result = client.call(URL, BatchRpcClient.blockNumber());
+
+        assertEquals("0x10", result.getAsString());
+    }
+
+    private static BatchRpcClient client(Interceptor node) {
+        return new BatchRpcClient(new OkHttpClient.Builder().addInterceptor(node).build(), new Gson());
+    }
+
+    private static String address(int index) {
+        return String.format(Locale.US, "0x%040x", index);
+    }
+
+    private static Response answer(Interceptor.Chain chain, String body) {
+        return new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(ResponseBody.create(MediaType.parse("application/json"), body))
+                .build();
+    }
+
+    /**
+     * Answers the balance of address n with n, in reverse order. Every seventh call fails.
+     */
+    private static class FakeNode implements Interceptor {
+        final List<Integer> batchSizes = new ArrayList<>();
+
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            Buffer body = new Buffer();
+            chain.request().body().writeTo(body);
+            JsonArray requests = new JsonParser().parse(body.readUtf8()).getAsJsonArray();
+            batchSizes.add(requests.size());
+            JsonArray answers = new JsonArray();
+            for (int i = requests.size() - 1; i >= 0; i--) {
+                JsonObject request = requests.get(i).getAsJsonObject();
+                int index = new BigInteger(request.getAsJsonArray("params").get(0).getAsString().substring(2), 16)
+                        .intValue();
+                JsonObject answer = new JsonObject();
+                answer.add("id", request.get("id"));
+                if (index % 7 == 0) {
+                    JsonObject error = new JsonObject();
+                    error.addProperty("code", -32000);
+                    error.addProperty("message", "header not found");
+                    answer.add("error", error);
+                } else {
+                    answer.addProperty("result", "0x" + Integer.toHexString(index));
+                }
+                answers.add(answer);
+            }
+            return answer(chain, answers.toString());
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.wallet.crypto.trustapp;
+
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.repository.CachedPasswordStore;
+import com.wallet.crypto.trustapp.repository.PasswordStore;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Completable;
+import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CachedPasswordStoreTest {
+
+    private static final long TTL = 60_000;
+
+    private final Wallet wallet = new Wallet("0xAbC");
+
+    @Test
+    public void servesRepeatReadsFromMemory() {
+        FakePasswordStore store = new FakePasswordStore();
+        store.passwords.put("0xabc", "secret");
+        CachedPasswordStore cache = new CachedPasswordStore(store, TTL, new TestScheduler());
+
+        assertEquals("secret", cache.getPassword(wallet).blockingGet());
+        assertEquals("secret", cache.getPassword(new Wallet("0xabc")).blockingGet());
+
+        assertEquals(1, store.reads);
+        assertEquals(1, cache.getStats().hits);
+        assertEquals(1, cache.getStats().misses);
+    }
+
+    @Test
+    public void expiresAfterTtl() {
+        FakePasswordStore store = new FakePasswordStore();
+        store.passwords.put("0xabc", "secret");
+        TestScheduler scheduler = new TestScheduler();
+        CachedPasswordStore cache = new CachedPasswordStore(store, TTL, scheduler);
+        cache.getPassword(wallet).blockingGet();
+
+        scheduler.advanceTimeBy(TTL, TimeUnit.MILLISECONDS);
+
+        assertEquals(1, cache.getStats().evictions);
+        assertEquals(0, cache.getStats().bytes);
+        cache.getPassword(wallet).blockingGet();
+        assertEquals(2, store.reads);
+    }
+
+    @Test
+    public void clearForgetsAllPasswords() {
+        FakePasswordStore store = new FakePasswordStore();
+        CachedPasswordStore cache = new CachedPasswordStore(store, TTL, new TestScheduler());
+        cache.setPassword(wallet, "secret").blockingAwait();
+        assertEquals("secret", cache.getPassword(wallet).blockingGet());
+        assertEquals(0, store.reads);
+
+        cache.clear();
+
+        assertEquals("secret", cache.getPassword(wallet).blockingGet());
+        assertEquals(1, store.reads);
+    }
+
+    @Test
+    public void zeroesExpiredAndClearedPasswords() throws Exception {
+        FakePasswordStore store = new FakePasswordStore();
+        store.passwords.put("0xabc", "secret");
+        TestScheduler scheduler = new TestScheduler();
+        CachedPasswordStore cache = new CachedPasswordStore(store, TTL, scheduler);
+        cache.getPassword(wallet).blockingGet();
+        List<char[]> expired = heldPasswords(cache);
+
+        scheduler.advanceTimeBy(TTL, TimeUnit.MILLISECONDS);
+        cache.setPassword(new Wallet("0xdef"), "other").blockingAwait();
+        List<char[]> replaced = heldPasswords(cache);
+        cache.setPassword(new Wallet("0xdef"), "replaced").blockingAwait();
+        List<char[]> cleared = heldPasswords(cache);
+        cache.clear();
+
+        assertEquals(1, expired.size());
+        assertEquals(1, replaced.size());
+        assertEquals(1, cleared.size());
+        assertZeroed(expired);
+        assertZeroed(replaced);
+        assertZeroed(cleared);
+        assertTrue(heldPasswords(cache).isEmpty());
+    }
+
+    @Test
+    public void doesNotCacheFailedWrites() {
+        FakePasswordStore store = new FakePasswordStore();
+        store.passwords.put("0xabc", "stored");
+        store.failWrites = true;
+        CachedPasswordStore cache = new CachedPasswordStore(store, TTL, new TestScheduler());
+
+        TestObserver<Void> write = cache.setPassword(wallet, "secret").test();
+
+        write.assertError(IllegalStateException.class);
+        assertEquals(0, cache.getStats().bytes);
+        assertEquals("stored", cache.getPassword(wallet).blockingGet());
+        assertEquals(1, store.reads);
+    }
+
+    /**
+     * The char arrays the cache holds right now, read directly so zeroing can be checked after they are dropped.
+     */
+    private static List<char[]> heldPasswords(CachedPasswordStore cache) throws Exception {
+        Field entriesField = CachedPasswordStore.class.getDeclaredField("entries");
+        entriesField.setAccessible(true);
+        List<char[]> passwords = new ArrayList<>();
+        for (Object entry : ((Map<?, ?>) entriesField.get(cache)).values()) {
+            Field passwordField = entry.getClass().getDeclaredField("password");
+            passwordField.setAccessible(true);
+            passwords.add((char[]) passwordField.get(entry));
+        }
+        return passwords;
+    }
+
+    private static void assertZeroed(List<char[]> passwords) {
+        for (char[] password : passwords) {
+            for (char c : password) {
+                assertEquals('\0', c);
+            }
+        }
+    }
+
+    private static class FakePasswordStore implements PasswordStore {
+        final Map<String, String> passwords = new HashMap<>();
+        int reads;
+        boolean failWrites;
+
+        @Override
+        public Single<String> getPassword(Wallet wallet) {
+            return Single.fromCallable(() -> {
+                reads++;
+                return passwords.get(wallet.address.toLowerCase());
+            });
+        }
+
+        @Override
+        public Completable setPassword(Wallet wallet, String password) {
+            return Completable.fromAction(() -> {
+                if (failWrites) {
+                    throw new IllegalStateException("Key store is locked");
+                }
+                passwords.put(wallet.address.toLowerCase(), password);
+            });
+        }
+
+        @Override
+        public Single<String> generatePassword() {
+            return Single.just("generated");
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.wallet.crypto.trustapp;
+
+import com.wallet.crypto.trustapp.util.CompactEncoding;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CompactEncodingTest {
+
+    private static final String[] INPUTS = {
+            "0", "21000", "4370000", "999999999999999999", "1000000000000000000",
+            "115792089237316195423570985008687907853269984665640564039457584007913129639935",
+            "", "007", "-1", "0x1a", "0xAB", "0x", "1e18", " 1", "привет"
+    };
+
+    @Test
+    public void longFormRoundTrips() {
+        for (String input : INPUTS) {
+            String decoded = CompactEncoding.fromLong(
+                    CompactEncoding.toLong(input), CompactEncoding.toLongOverflow(input));
+            assertEquals(input, decoded);
+        }
+        assertNull(CompactEncoding.fromLong(
+                CompactEncoding.toLong(null), CompactEncoding.toLongOverflow(null)));
+    }
+
+    @Test
+    public void overflowIsOnlyKeptWhenLongCantHoldIt() {
+        assertNull(CompactEncoding.toLongOverflow("4370000"));
+        assertNull(CompactEncoding.toLongOverflow("0"));
+        assertEquals("0x1a", CompactEncoding.toLongOverflow("0x1a"));
+        assertEquals("", CompactEncoding.toLongOverflow(""));
+    }
+
+    @Test
+    public void overflowDecimalsRoundTrip() {
+        String[] decimals = {
+                "999999999999999999", "1000000000000000000", "9223372036854775807",
+                "9223372036854775808", "18446744073709551616"
+        };
+        for (String decimal : decimals) {
+            long value = CompactEncoding.toLong(decimal);
+            String overflow = CompactEncoding.toLongOverflow(decimal);
+            assertEquals(decimal.length() > 18, value == CompactEncoding.NO_NUMBER);
+            assertEquals(decimal, CompactEncoding.fromLong(value, overflow));
+            byte[] bytes = CompactEncoding.toNumberBytes(decimal);
+            // Stored as the magnitude, not as text.
+            assertEquals(0, bytes[0]);
+            assertEquals(decimal, CompactEncoding.fromBytes(bytes));
+        }
+    }
+
+    @Test
+    public void mixedCaseHexRoundTrips() {
+        String[] inputs = {"0xA9059CBB", "0xa9059Cbb", "0XA9", "0xabc", "0xzz"};
+        for (String input : inputs) {
+            byte[] bytes = CompactEncoding.toHexBytes(input);
+            // Only lower case hex of whole bytes is packed, the rest is kept as text.
+            assertEquals(2, bytes[0]);
+            assertEquals(input, CompactEncoding.fromBytes(bytes));
+            assertEquals(input, CompactEncoding.fromBytes(CompactEncoding.toNumberBytes(input)));
+        }
+        assertArrayEquals(new byte[] {1, (byte) 0xa9, 0x05, (byte) 0x9c, (byte) 0xbb},
+                CompactEncoding.toHexBytes("0xa9059cbb"));
+    }
+
+    @Test
+    public void nullStaysNull() {
+        assertEquals(CompactEncoding.NO_NUMBER, CompactEncoding.toLong(null));
+        assertNull(CompactEncoding.toLongOverflow(null));
+        assertNull(CompactEncoding.fromLong(CompactEncoding.NO_NUMBER, null));
+        assertNull(CompactEncoding.toNumberBytes(null));
+        assertNull(CompactEncoding.toHexBytes(null));
+        assertNull(CompactEncoding.fromBytes(null));
+        assertNull(CompactEncoding.fromBytes(new byte[0]));
+    }
+
+    @Test
+    public void byteFormsRoundTrip() {
+        for (String input : INPUTS) {
+            assertEquals(input, CompactEncoding.fromBytes(CompactEncoding.toNumberBytes(input)));
+            assertEquals(input, CompactEncoding.fromBytes(CompactEncoding.toHexBytes(input)));
+        }
+        assertNull(CompactEncoding.fromBytes(CompactEncoding.toNumberBytes(null)));
+        assertNull(CompactEncoding.fromBytes(CompactEncoding.toHexBytes(null)));
+    }
+}
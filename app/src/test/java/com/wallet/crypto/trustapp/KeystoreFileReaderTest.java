@@ -0,0 +1,66 @@
+package com.wallet.crypto.trustapp;
+
+import com.wallet.crypto.trustapp.entity.KeystoreFile;
+import com.wallet.crypto.trustapp.service.KeystoreFileReader;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.assertEquals;
+
+public class KeystoreFileReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readsFolder() throws Exception {
+        File source = folder.newFolder("keystores");
+        write(new File(source, "b.json"), "{\"address\":\"b\"}");
+        write(new File(source, "a.json"), "{\"address\":\"a\"}");
+        write(new File(source, ".hidden"), "{}");
+        new File(source, "nested").mkdir();
+
+        List<KeystoreFile> files = KeystoreFileReader.read(source);
+        assertEquals(2, files.size());
+        assertEquals("a.json", files.get(0).name);
+        assertEquals("{\"address\":\"a\"}", files.get(0).json);
+        assertEquals("b.json", files.get(1).name);
+    }
+
+    @Test
+    public void readsZipTopLevelEntries() throws Exception {
+        File archive = folder.newFile("keystores.zip");
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(archive))) {
+            putEntry(out, "a.json", "{\"address\":\"a\"}");
+            putEntry(out, "dir/b.json", "{\"address\":\"b\"}");
+            putEntry(out, "big.json", new String(new char[70 * 1024]).replace('\0', ' '));
+        }
+
+        List<KeystoreFile> files = KeystoreFileReader.read(archive);
+        assertEquals(1, files.size());
+        assertEquals("a.json", files.get(0).name);
+    }
+
+    private static void write(File file, String text) throws Exception {
+        try (Writer out = new FileWriter(file)) {
+            out.write(text);
+        }
+    }
+
+    private static void putEntry(ZipOutputStream out, String name, String text) throws Exception {
+        out.putNextEntry(new ZipEntry(name));
+        out.write(text.getBytes(Charset.forName("UTF-8")));
+        out.closeEntry();
+    }
+}
@@ -0,0 +1,56 @@
+package com.wallet.crypto.trustapp;
+
+import com.wallet.crypto.trustapp.entity.PortfolioSnapshot;
+import com.wallet.crypto.trustapp.entity.Token;
+import com.wallet.crypto.trustapp.entity.TokenInfo;
+import com.wallet.crypto.trustapp.entity.TokenTicker;
+import com.wallet.crypto.trustapp.entity.TransactionDisplay;
+import com.wallet.crypto.trustapp.repository.PortfolioSnapshotStore;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.math.BigDecimal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PortfolioSnapshotStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void keepsTransactionsAndTokens() throws Exception {
+        PortfolioSnapshotStore store = new PortfolioSnapshotStore(new File(folder.getRoot(), "snapshot"));
+        store.saveTransactions("0x1", "Ethereum", "ETH", "1.5", null, new TransactionDisplay[] {
+                new TransactionDisplay("0xaa", 1500000000L, true, false, "0x2", "-1.5 ETH")});
+        Token token = new Token(new TokenInfo("0x3", "Token", "TKN", 18, true), new BigDecimal("10"), 1L);
+        token.ticker = new TokenTicker("tkn", "0x3", "2.5", "-1", null);
+        store.saveTokens("0x1", new Token[] {token});
+
+        PortfolioSnapshot snapshot = store.read();
+        assertEquals("0x1", snapshot.wallet);
+        assertEquals("ETH", snapshot.symbol);
+        assertNull(snapshot.fiatBalance);
+        assertEquals("-1.5 ETH", snapshot.transactions[0].value);
+        assertTrue(snapshot.transactions[0].isSent);
+        assertEquals("0x1", snapshot.tokensWallet);
+        assertEquals(new BigDecimal("10"), snapshot.tokens[0].balance);
+        assertEquals("2.5", snapshot.tokens[0].ticker.price);
+        assertNull(snapshot.tokens[0].ticker.image);
+    }
+
+    @Test
+    public void ignoresBrokenFile() throws Exception {
+        File file = new File(folder.getRoot(), "snapshot");
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[] {0x50, 0x53, 0x4e, 0x31, 0, 0, 0, 9});
+        }
+        assertNull(new PortfolioSnapshotStore(file).read());
+    }
+}
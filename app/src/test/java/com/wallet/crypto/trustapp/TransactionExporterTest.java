@@ -0,0 +1,144 @@
+package com.wallet.crypto.trustapp;
+
+import com.wallet.crypto.trustapp.entity.Transaction;
+import com.wallet.crypto.trustapp.entity.TransactionContract;
+import com.wallet.crypto.trustapp.entity.TransactionOperation;
+import com.wallet.crypto.trustapp.service.TransactionExporter;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TransactionExporterTest {
+
+    private static final int HISTORY_SIZE = 100_000;
+    private static final long MAX_HEAP_GROWTH = 16 * 1024 * 1024;
+
+    @Test
+    public void exportsLargeHistoryWithBoundedHeap() throws Exception {
+        for (TransactionExporter.Format format : TransactionExporter.Format.values()) {
+            CountingWriter out = new CountingWriter();
+            long baseline = usedHeap();
+            long[] peak = {0};
+            int[] last = {0};
+            boolean isCompleted = new TransactionExporter(format).export(
+                    new SyntheticCursor(HISTORY_SIZE), out, (written, total) -> {
+                        assertEquals(HISTORY_SIZE, total);
+                        assertTrue(written > last[0]);
+                        last[0] = written;
+                        if (written % (TransactionExporter.CHUNK_SIZE * 20) == 0) {
+                            peak[0] = Math.max(peak[0], usedHeap());
+                        }
+                        return true;
+                    });
+
+            assertTrue(isCompleted);
+            assertEquals(HISTORY_SIZE, last[0]);
+            if (format == TransactionExporter.Format.CSV) {
+                assertEquals(HISTORY_SIZE + 1, out.lines);
+            }
+            assertTrue("Heap grew by " + (peak[0] - baseline), peak[0] - baseline < MAX_HEAP_GROWTH);
+        }
+    }
+
+    @Test
+    public void stopsWhenCancelled() throws Exception {
+        CountingWriter out = new CountingWriter();
+        int[] chunks = {0};
+        boolean isCompleted = new TransactionExporter(TransactionExporter.Format.CSV).export(
+                new SyntheticCursor(HISTORY_SIZE), out, (written, total) -> ++chunks[0] < 3);
+
+        assertFalse(isCompleted);
+        assertEquals(3, chunks[0]);
+        assertEquals(3 * TransactionExporter.CHUNK_SIZE + 1, out.lines);
+    }
+
+    @Test
+    public void escapesCsvValues() throws Exception {
+        Transaction transaction = new Transaction("0x1", "out of \"gas\", reverted", "1", 2, 3,
+                "0xa", "0xb", "10", "21000", "1", "0x", "21000", new TransactionOperation[0]);
+        StringWriter out = new StringWriter();
+        new TransactionExporter(TransactionExporter.Format.CSV).export(new TransactionExporter.Cursor() {
+            @Override
+            public int getCount() {
+                return 1;
+            }
+
+            @Override
+            public Transaction get(int position) {
+                return transaction;
+            }
+        }, out, (written, total) -> true);
+
+        String row = out.toString().split("\n")[1];
+        assertEquals("0x1,2,1,3,0xa,0xb,10,21000,1,21000,\"out of \"\"gas\"\", reverted\",,,,,,", row);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static class SyntheticCursor implements TransactionExporter.Cursor {
+        private final int count;
+
+        SyntheticCursor(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public Transaction get(int position) {
+            TransactionOperation operation = new TransactionOperation();
+            operation.from = "0x" + Integer.toHexString(position);
+            operation.to = "0x" + Integer.toHexString(position + 1);
+            operation.value = String.valueOf(position * 1000L);
+            operation.contract = new TransactionContract();
+            operation.contract.address = "0xcontract";
+            operation.contract.symbol = "TKN";
+            operation.contract.decimals = 18;
+            return new Transaction("0x" + position, null, String.valueOf(position), 1500000000L + position,
+                    position, "0xfrom", "0xto", "0", "21000", "1000000000", "0x", "21000",
+                    new TransactionOperation[] {operation});
+        }
+    }
+
+    private static class CountingWriter extends Writer {
+        int lines;
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            if (c == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.wallet.crypto.trustapp;
+
+import com.wallet.crypto.trustapp.entity.NetworkInfo;
+import com.wallet.crypto.trustapp.entity.Transaction;
+import com.wallet.crypto.trustapp.entity.TransactionRow;
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.repository.TransactionLocalSource;
+import com.wallet.crypto.trustapp.repository.TransactionMemoryCache;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+
+import static org.junit.Assert.assertEquals;
+
+public class TransactionMemoryCacheTest {
+
+    private final NetworkInfo network = new NetworkInfo("memory", "ETH", "", "", "", 1, false);
+
+    @Test
+    public void servesRecentWalletsFromMemory() {
+        FakeDiskSource disk = new FakeDiskSource();
+        TransactionMemoryCache cache = new TransactionMemoryCache(disk);
+        Wallet first = new Wallet("0x1");
+        Wallet second = new Wallet("0x2");
+        disk.put(first, 30);
+        disk.put(second, 30);
+
+        cache.fetchRows(network, first, 0, 20).blockingGet();
+        cache.fetchRows(network, second, 0, 20).blockingGet();
+        assertEquals(20, cache.fetchRows(network, first, 0, 20).blockingGet().length);
+        assertEquals(10, cache.fetchRows(network, second, 20, 20).blockingGet().length);
+
+        assertEquals(2, disk.reads);
+        assertEquals(0.5, cache.getStats().hitRatio(), 0.001);
+    }
+
+    @Test
+    public void writesThroughToDiskAndMemory() {
+        FakeDiskSource disk = new FakeDiskSource();
+        TransactionMemoryCache cache = new TransactionMemoryCache(disk);
+        Wallet wallet = new Wallet("0x1");
+        disk.put(wallet, 5);
+        cache.fetchRows(network, wallet, 0, 20).blockingGet();
+
+        Transaction transaction = TransactionFixtures.transaction(100, wallet.address);
+        cache.putTransactions(network, wallet, new Transaction[] {transaction}).blockingAwait();
+        TransactionRow[] rows = cache.fetchRows(network, wallet, 0, 20).blockingGet();
+
+        assertEquals(6, rows.length);
+        assertEquals(transaction.hash, rows[0].hash);
+        assertEquals(6, disk.get(wallet).size());
+        assertEquals(1, disk.reads);
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedWallet() {
+        FakeDiskSource disk = new FakeDiskSource();
+        Wallet[] wallets = {new Wallet("0x1"), new Wallet("0x2"), new Wallet("0x3")};
+        for (Wallet wallet : wallets) {
+            disk.put(wallet, 50);
+        }
+        long oneWallet = rowsBytes(50);
+        TransactionMemoryCache cache = new TransactionMemoryCache(disk, 2 * oneWallet + oneWallet / 2, Long.MAX_VALUE);
+
+        cache.fetchRows(network, wallets[0], 0, 50).blockingGet();
+        cache.fetchRows(network, wallets[1], 0, 50).blockingGet();
+        cache.fetchRows(network, wallets[0], 0, 50).blockingGet();
+        cache.fetchRows(network, wallets[2], 0, 50).blockingGet();
+        cache.fetchRows(network, wallets[0], 0, 50).blockingGet();
+        assertEquals(3, disk.reads);
+        cache.fetchRows(network, wallets[1], 0, 50).blockingGet();
+        assertEquals(4, disk.reads);
+        assertEquals(2, cache.getStats().evictions);
+    }
+
+    private long rowsBytes(int count) {
+        FakeDiskSource disk = new FakeDiskSource();
+        Wallet wallet = new Wallet("0x0");
+        disk.put(wallet, count);
+        TransactionMemoryCache probe = new TransactionMemoryCache(disk);
+        probe.fetchRows(network, wallet, 0, count).blockingGet();
+        return probe.getStats().bytes;
+    }
+
+    private static class FakeDiskSource implements TransactionLocalSource {
+        final Map<String, List<Transaction>> transactions = new HashMap<>();
+        int reads;
+
+        void put(Wallet wallet, int count) {
+            for (int i = 0; i < count; i++) {
+                get(wallet).add(TransactionFixtures.transaction(i, wallet.address));
+            }
+        }
+
+        List<Transaction> get(Wallet wallet) {
+            if (!transactions.containsKey(wallet.address)) {
+                transactions.put(wallet.address, new ArrayList<>());
+            }
+            return transactions.get(wallet.address);
+        }
+
+        @Override
+        public Single<Transaction[]> fetchTransaction(NetworkInfo networkInfo, Wallet wallet) {
+            return Single.fromCallable(() -> get(wallet).toArray(new Transaction[0]));
+        }
+
+        @Override
+        public Single<TransactionRow[]> fetchRows(NetworkInfo networkInfo, Wallet wallet, int offset, int limit) {
+            return Single.fromCallable(() -> {
+                reads++;
+                List<Transaction> sorted = new ArrayList<>(get(wallet));
+                Collections.sort(sorted, (left, right) -> Long.compare(right.timeStamp, left.timeStamp));
+                int from = Math.min(offset, sorted.size());
+                int to = Math.min(from + limit, sorted.size());
+                return TransactionRow.of(sorted.subList(from, to).toArray(new Transaction[0]));
+            });
+        }
+
+        @Override
+        public Completable putTransactions(NetworkInfo networkInfo, Wallet wallet, Transaction[] items) {
+            return Completable.fromAction(() -> get(wallet).addAll(Arrays.asList(items)));
+        }
+
+        @Override
+        public Single<Transaction> findLast(NetworkInfo networkInfo, Wallet wallet) {
+            return Single.fromCallable(() -> get(wallet).get(0));
+        }
+
+        @Override
+        public Maybe<Transaction> findTransaction(NetworkInfo networkInfo, Wallet wallet, String hash) {
+            return Maybe.empty();
+        }
+    }
+}
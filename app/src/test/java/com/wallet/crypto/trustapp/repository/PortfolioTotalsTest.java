@@ -0,0 +1,70 @@
+package com.wallet.crypto.trustapp.repository;
+
+import com.wallet.crypto.trustapp.entity.NetworkInfo;
+import com.wallet.crypto.trustapp.entity.Portfolio;
+import com.wallet.crypto.trustapp.entity.Token;
+import com.wallet.crypto.trustapp.entity.WalletPortfolio;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PortfolioTotalsTest {
+
+    private static final String FIRST = "0x00000000000000000000000000000000000000aa";
+    private static final String SECOND = "0x00000000000000000000000000000000000000bb";
+
+    private final NetworkInfo mainnet = new NetworkInfo("mainnet", "ETH", "", "", "", 1, true);
+    private final NetworkInfo classic = new NetworkInfo("classic", "ETC", "", "", "", 61, true);
+
+    @Test
+    public void addsNetworksAsTheyAnswer() {
+        PortfolioRepository.Totals totals = new PortfolioRepository.Totals(2);
+
+        Portfolio first = totals.add(Arrays.asList(item(mainnet, FIRST, "10"), item(mainnet, SECOND, "5")));
+        assertFalse(first.isComplete);
+        assertEquals(new BigDecimal("15"), first.total);
+
+        Portfolio second = totals.add(Collections.singletonList(item(classic, FIRST, "2.5")));
+        assertTrue(second.isComplete);
+        assertEquals(new BigDecimal("17.5"), second.total);
+        assertEquals(new BigDecimal("12.5"), second.valueOf(FIRST.toUpperCase()));
+        assertEquals(new BigDecimal("5"), second.valueOf(SECOND));
+        // Earlier results are not changed by later ones.
+        assertEquals(new BigDecimal("10"), first.valueOf(FIRST));
+    }
+
+    @Test
+    public void replacesEarlierValuesOfANetwork() {
+        PortfolioRepository.Totals totals = new PortfolioRepository.Totals(1);
+        totals.add(Collections.singletonList(item(mainnet, FIRST, "10")));
+
+        Portfolio portfolio = totals.add(Collections.singletonList(item(mainnet, FIRST, "4")));
+
+        assertEquals(new BigDecimal("4"), portfolio.total);
+        assertEquals(new BigDecimal("4"), portfolio.valueOf(FIRST));
+        assertNull(portfolio.valueOf(SECOND));
+    }
+
+    @Test
+    public void countsNetworksWithoutWallets() {
+        PortfolioRepository.Totals totals = new PortfolioRepository.Totals(2);
+        totals.add(Collections.emptyList());
+
+        Portfolio portfolio = totals.add(Collections.emptyList());
+
+        assertTrue(portfolio.isComplete);
+        assertEquals(BigDecimal.ZERO, portfolio.total);
+    }
+
+    private static WalletPortfolio item(NetworkInfo network, String wallet, String value) {
+        return new WalletPortfolio(wallet, network, new BigDecimal(value), new Token[0], new BigDecimal(value), 0);
+    }
+}
@@ -0,0 +1,91 @@
+package com.wallet.crypto.trustapp.repository;
+
+import com.wallet.crypto.trustapp.entity.Transaction;
+import com.wallet.crypto.trustapp.entity.TransactionOperation;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Locale;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TransactionLogTest {
+
+    private File file;
+    private TransactionLog log;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("transactions", ".txlog");
+        file.delete();
+        log = new TransactionLog(file);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        log.close();
+        file.delete();
+    }
+
+    @Test
+    public void keepsTimeOrderForOlderPages() throws Exception {
+        assertEquals(2, log.append(new Transaction[] {transaction(3, 300, null), transaction(4, 400, null)}));
+        assertEquals(2, log.append(new Transaction[] {transaction(1, 100, null), transaction(2, 200, null)}));
+
+        assertEquals(4, log.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals((i + 1) * 100, log.get(i).timeStamp);
+        }
+    }
+
+    @Test
+    public void supersedesChangedTransactions() throws Exception {
+        log.append(new Transaction[] {transaction(1, 100, null), transaction(2, 200, null)});
+
+        assertEquals(0, log.append(new Transaction[] {transaction(2, 200, null)}));
+        assertEquals(1, log.append(new Transaction[] {transaction(1, 300, "failed")}));
+
+        assertEquals(2, log.size());
+        assertEquals(hash(2), log.get(0).hash);
+        assertEquals("failed", log.get(1).error);
+        assertEquals("failed", log.find(hash(1)).error);
+        assertNull(log.find(hash(3)));
+    }
+
+    @Test
+    public void rebuildsIndexOnOpen() throws Exception {
+        log.append(new Transaction[] {transaction(2, 200, null), transaction(1, 100, null)});
+        log.append(new Transaction[] {transaction(2, 50, "failed")});
+        int[] records = log.snapshot();
+        log.close();
+        // Tail of an interrupted append.
+        try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+            out.seek(out.length());
+            out.write(new byte[] {0, 0, 1, 0, 1});
+        }
+
+        log = new TransactionLog(file);
+
+        assertEquals(2, log.size());
+        assertArrayEquals(records, log.snapshot());
+        assertEquals("failed", log.get(0).error);
+        assertEquals(hash(1), log.get(1).hash);
+    }
+
+    private static String hash(int index) {
+        return String.format(Locale.US, "0x%064x", index);
+    }
+
+    private static Transaction transaction(int index, long timeStamp, String error) {
+        return new Transaction(hash(index), error, String.valueOf(index), timeStamp, index,
+                "0x0000000000000000000000000000000000000001",
+                "0x0000000000000000000000000000000000000002",
+                "1000", "21000", "1000000000", "0x", "21000", new TransactionOperation[0]);
+    }
+}
@@ -0,0 +1,188 @@
+package com.wallet.crypto.trustapp.repository;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.wallet.crypto.trustapp.entity.NetworkInfo;
+import com.wallet.crypto.trustapp.entity.Ticker;
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
+import com.wallet.crypto.trustapp.service.BatchRpcClient;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.reactivex.Single;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class WatchOnlyMonitorTest {
+
+    private static final String FIRST = "0x00000000000000000000000000000000000000aa";
+    private static final String SECOND = "0x00000000000000000000000000000000000000bb";
+
+    private final FakeNode node = new FakeNode();
+    private final Gson gson = new Gson();
+    private WatchOnlyMonitor monitor;
+
+    @Before
+    public void setUp() {
+        WatchOnlyWalletSource source = new WatchOnlyWalletSource(new WatchOnlyWalletTest.FakePreferences());
+        source.add(FIRST);
+        source.add(SECOND);
+        OkHttpClient httpClient = new OkHttpClient.Builder().addInterceptor(node).build();
+        monitor = new WatchOnlyMonitor(source, new FakeNetworkRepository(), null, null,
+                new BatchRpcClient(httpClient, gson), gson, new AppSchedulers(1, 1, 1));
+    }
+
+    @Test
+    public void reportsChangedBalances() throws Exception {
+        node.block = 100;
+        node.balances.put(FIRST, "0x1");
+        node.balances.put(SECOND, "0x2");
+        assertTrue(monitor.poll().isEmpty());
+
+        node.balances.put(SECOND, "0x3");
+        List<Wallet> changed = monitor.poll();
+
+        assertEquals(1, changed.size());
+        assertEquals(SECOND, changed.get(0).address);
+        assertNull(node.logFilter);
+    }
+
+    @Test
+    public void filtersTransfersOfNewBlocks() throws Exception {
+        node.block = 100;
+        monitor.poll();
+
+        node.block = 105;
+        node.transferTo = FIRST;
+        List<Wallet> changed = monitor.poll();
+
+        assertEquals(1, changed.size());
+        assertEquals(FIRST, changed.get(0).address);
+        assertEquals("0x65", node.logFilter.get("fromBlock").getAsString());
+        assertEquals("0x69", node.logFilter.get("toBlock").getAsString());
+        JsonArray topics = node.logFilter.getAsJsonArray("topics");
+        assertEquals("0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef",
+                topics.get(0).getAsString());
+        assertTrue(topics.get(1).isJsonNull());
+        assertEquals("0x000000000000000000000000" + FIRST.substring(2),
+                topics.get(2).getAsJsonArray().get(0).getAsString());
+        assertEquals(66, topics.get(2).getAsJsonArray().get(1).getAsString().length());
+    }
+
+    @Test
+    public void capsBlockRange() throws Exception {
+        node.block = 100;
+        monitor.poll();
+
+        node.block = 5000;
+        monitor.poll();
+
+        // The last 1000 blocks only.
+        assertEquals("0xfa0", node.logFilter.get("fromBlock").getAsString());
+        assertEquals("0x1388", node.logFilter.get("toBlock").getAsString());
+    }
+
+    /**
+     * Answers batches of eth_blockNumber, eth_getBalance and eth_getLogs.
+     */
+    private static class FakeNode implements Interceptor {
+        final Map<String, String> balances = new HashMap<>();
+        long block;
+        String transferTo;
+        JsonObject logFilter;
+
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            Buffer body = new Buffer();
+            chain.request().body().writeTo(body);
+            JsonArray answers = new JsonArray();
+            for (JsonElement element : new JsonParser().parse(body.readUtf8()).getAsJsonArray()) {
+                JsonObject request = element.getAsJsonObject();
+                JsonObject answer = new JsonObject();
+                answer.add("id", request.get("id"));
+                answer.add("result", answer(request.get("method").getAsString(), request.getAsJsonArray("params")));
+                answers.add(answer);
+            }
+            return new Response.Builder()
+                    .request(chain.request())
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(200)
+                    .message("OK")
+                    .body(ResponseBody.create(MediaType.parse("application/json"), answers.toString()))
+                    .build();
+        }
+
+        private JsonElement answer(String method, JsonArray params) {
+            switch (method) {
+                case "eth_blockNumber":
+                    return new JsonParser().parse("\"0x" + Long.toHexString(block) + "\"");
+                case "eth_getBalance": {
+                    String balance = balances.get(params.get(0).getAsString());
+                    return new JsonParser().parse("\"" + (balance == null ? "0x0" : balance) + "\"");
+                }
+                case "eth_getLogs": {
+                    logFilter = params.get(0).getAsJsonObject();
+                    JsonArray logs = new JsonArray();
+                    if (transferTo != null) {
+                        JsonArray topics = new JsonArray();
+                        topics.add(logFilter.getAsJsonArray("topics").get(0));
+                        topics.add("0x000000000000000000000000" + SECOND.substring(2));
+                        topics.add("0x000000000000000000000000" + transferTo.substring(2));
+                        JsonObject log = new JsonObject();
+                        log.add("topics", topics);
+                        logs.add(log);
+                    }
+                    return logs;
+                }
+            }
+            throw new IllegalArgumentException(method);
+        }
+    }
+
+    private static class FakeNetworkRepository implements EthereumNetworkRepositoryType {
+        private final NetworkInfo network = new NetworkInfo(
+                "watch", "ETH", "http://node.test/", "", "", 1, false);
+
+        @Override
+        public NetworkInfo getDefaultNetwork() {
+            return network;
+        }
+
+        @Override
+        public void setDefaultNetworkInfo(NetworkInfo networkInfo) {
+        }
+
+        @Override
+        public NetworkInfo[] getAvailableNetworkList() {
+            return new NetworkInfo[] {network};
+        }
+
+        @Override
+        public void addOnChangeDefaultNetwork(OnNetworkChangeListener onNetworkChanged) {
+        }
+
+        @Override
+        public Single<Ticker> getTicker() {
+            return Single.never();
+        }
+    }
+}
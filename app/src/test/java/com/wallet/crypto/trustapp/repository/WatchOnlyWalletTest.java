@@ -0,0 +1,261 @@
+package com.wallet.crypto.trustapp.repository;
+
+import android.content.SharedPreferences;
+
+import com.wallet.crypto.trustapp.entity.KeystoreFile;
+import com.wallet.crypto.trustapp.entity.KeystoreImportStatus;
+import com.wallet.crypto.trustapp.entity.ServiceErrorException;
+import com.wallet.crypto.trustapp.entity.ServiceException;
+import com.wallet.crypto.trustapp.entity.Wallet;
+import com.wallet.crypto.trustapp.service.AccountKeystoreService;
+import com.wallet.crypto.trustapp.service.AppSchedulers;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import io.reactivex.functions.Function;
+import io.reactivex.observers.TestObserver;
+import okhttp3.OkHttpClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class WatchOnlyWalletTest {
+
+    private static final String ADDRESS = "0x00000000000000000000000000000000000000aa";
+    private static final String KEYSTORE_ADDRESS = "0x00000000000000000000000000000000000000bb";
+
+    private final WatchOnlyWalletSource source = new WatchOnlyWalletSource(new FakePreferences());
+    private final WalletRepository repository = new WalletRepository(
+            new OkHttpClient(), null, new FakeKeystore(), source, null, new AppSchedulers(1, 1, 1));
+
+    @Test
+    public void keepsAddressesInLowerCase() {
+        assertTrue(source.add(ADDRESS.toUpperCase().replace("0X", "0x")));
+        assertFalse(source.add(ADDRESS));
+
+        assertTrue(source.contains(ADDRESS.toUpperCase()));
+        Wallet[] wallets = source.fetch();
+        assertEquals(1, wallets.length);
+        assertEquals(ADDRESS, wallets[0].address);
+        assertTrue(wallets[0].isWatchOnly);
+
+        source.remove(ADDRESS);
+        assertEquals(0, source.fetch().length);
+    }
+
+    @Test
+    public void addsWatchOnlyWallet() {
+        Wallet wallet = repository.addWatchOnlyWallet(ADDRESS.substring(2)).blockingGet();
+
+        assertEquals(ADDRESS, wallet.address);
+        assertTrue(wallet.isWatchOnly);
+        assertTrue(source.contains(ADDRESS));
+        Wallet[] wallets = repository.fetchWallets().blockingGet();
+        assertEquals(2, wallets.length);
+        assertTrue(wallets[1].isWatchOnly);
+    }
+
+    @Test
+    public void rejectsInvalidAndKnownAddresses() {
+        TestObserver<Wallet> invalid = repository.addWatchOnlyWallet("0x1234").test();
+        invalid.awaitTerminalEvent();
+        invalid.assertError(ServiceException.class);
+
+        TestObserver<Wallet> known = repository.addWatchOnlyWallet(KEYSTORE_ADDRESS).test();
+        known.awaitTerminalEvent();
+        known.assertError(ServiceErrorException.class);
+
+        repository.addWatchOnlyWallet(ADDRESS).blockingGet();
+        TestObserver<Wallet> again = repository.addWatchOnlyWallet(ADDRESS).test();
+        again.awaitTerminalEvent();
+        again.assertError(ServiceErrorException.class);
+        assertEquals(1, source.fetch().length);
+    }
+
+    private static class FakeKeystore implements AccountKeystoreService {
+        @Override
+        public boolean hasAccount(String address) {
+            return KEYSTORE_ADDRESS.equalsIgnoreCase(address);
+        }
+
+        @Override
+        public Single<Wallet[]> fetchAccounts() {
+            return Single.just(new Wallet[] {new Wallet(KEYSTORE_ADDRESS)});
+        }
+
+        @Override
+        public Single<Wallet> createAccount(String password) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Single<Wallet> importKeystore(String store, String password, String newPassword) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Single<Wallet> importPrivateKey(String privateKey, String newPassword) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Flowable<KeystoreImportStatus> importKeystores(
+                List<KeystoreFile> files, Map<String, String> passwords,
+                String defaultPassword, Function<String, String> newPasswords) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Single<String> exportAccount(Wallet wallet, String password, String newPassword) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Completable deleteAccount(String address, String password) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Single<byte[]> signTransaction(
+                Wallet signer, String signerPassword, String toAddress, BigInteger amount,
+                BigInteger gasPrice, BigInteger gasLimit, long nonce, byte[] data, long chainId) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Keeps the string sets only, the source stores nothing else.
+     */
+    static class FakePreferences implements SharedPreferences {
+        private final Map<String, Set<String>> sets = new HashMap<>();
+
+        @Override
+        public synchronized Set<String> getStringSet(String key, Set<String> defValues) {
+            Set<String> values = sets.get(key);
+            return values == null ? defValues : new HashSet<>(values);
+        }
+
+        @Override
+        public synchronized boolean contains(String key) {
+            return sets.containsKey(key);
+        }
+
+        @Override
+        public Editor edit() {
+            Map<String, Set<String>> changes = new HashMap<>();
+            return new Editor() {
+                @Override
+                public Editor putStringSet(String key, Set<String> values) {
+                    changes.put(key, new HashSet<>(values));
+                    return this;
+                }
+
+                @Override
+                public Editor remove(String key) {
+                    changes.put(key, null);
+                    return this;
+                }
+
+                @Override
+                public boolean commit() {
+                    apply();
+                    return true;
+                }
+
+                @Override
+                public void apply() {
+                    synchronized (FakePreferences.this) {
+                        for (Map.Entry<String, Set<String>> change : changes.entrySet()) {
+                            if (change.getValue() == null) {
+                                sets.remove(change.getKey());
+                            } else {
+                                sets.put(change.getKey(), change.getValue());
+                            }
+                        }
+                    }
+                }
+
+                @Override
+                public Editor putString(String key, String value) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public Editor putInt(String key, int value) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public Editor putLong(String key, long value) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public Editor putFloat(String key, float value) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public Editor putBoolean(String key, boolean value) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public Editor clear() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public Map<String, ?> getAll() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getString(String key, String defValue) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getInt(String key, int defValue) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long getLong(String key, long defValue) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public float getFloat(String key, float defValue) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean getBoolean(String key, boolean defValue) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void registerOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void unregisterOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
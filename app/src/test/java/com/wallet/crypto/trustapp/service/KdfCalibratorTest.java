@@ -0,0 +1,42 @@
+package com.wallet.crypto.trustapp.service;
+
+import com.wallet.crypto.trustapp.entity.KdfCalibration;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class KdfCalibratorTest {
+
+    // geth's light parameters.
+    private static final int LIGHT_N = 1 << 12;
+    private static final int LIGHT_P = 6;
+
+    @Test
+    public void capsNAndMovesRestToP() {
+        // 40 ms per derivation: 12 times the probe fits the target, N stops at 2^14.
+        assertScaled(1 << 14, 3, 40);
+    }
+
+    @Test
+    public void capsPOnFastDevices() {
+        assertScaled(1 << 14, 16, 1);
+        assertScaled(1 << 14, 16, 0);
+    }
+
+    @Test
+    public void fallsBackToLightParameters() {
+        // Cheaper than N = 2^12, P = 6 would be, keep geth's light parameters.
+        assertScaled(LIGHT_N, LIGHT_P, 100);
+        assertScaled(LIGHT_N, LIGHT_P, 200);
+        assertScaled(LIGHT_N, LIGHT_P, 5000);
+    }
+
+    private static void assertScaled(int n, int p, long probeMillis) {
+        KdfCalibration calibration = KdfCalibrator.scale(probeMillis, LIGHT_N, LIGHT_P);
+        assertEquals(n, calibration.scryptN);
+        assertEquals(p, calibration.scryptP);
+        assertFalse(calibration.isMeasured());
+    }
+}
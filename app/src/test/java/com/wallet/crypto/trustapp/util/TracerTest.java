@@ -0,0 +1,87 @@
+package com.wallet.crypto.trustapp.util;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import io.reactivex.Single;
+import io.reactivex.plugins.RxJavaPlugins;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class TracerTest {
+
+    @Before
+    public void setUp() {
+        Tracer.install(4);
+    }
+
+    @After
+    public void tearDown() {
+        Tracer.uninstall();
+        RxJavaPlugins.reset();
+    }
+
+    @Test
+    public void nestsSpansAcrossSchedulers() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Single.fromCallable(() -> {
+                    Tracer.begin("inner").end();
+                    return 1;
+                })
+                .subscribeOn(Schedulers.from(executor))
+                .compose(Tracer.single("outer"))
+                .blockingGet();
+        // The outer span ends on the worker right after the value is delivered.
+        executor.submit(() -> {}).get();
+        executor.shutdown();
+        Tracer.begin("next").end();
+
+        JsonArray events = export();
+        JsonObject inner = find(events, "inner");
+        JsonObject outer = find(events, "outer");
+        JsonObject next = find(events, "next");
+        assertEquals("outer", inner.getAsJsonObject("args").get("parent").getAsString());
+        assertEquals(1, inner.getAsJsonObject("args").get("depth").getAsInt());
+        assertEquals(outer.getAsJsonObject("args").get("trace"), inner.getAsJsonObject("args").get("trace"));
+        assertNotEquals(outer.getAsJsonObject("args").get("trace"), next.getAsJsonObject("args").get("trace"));
+        assertNotEquals(outer.get("tid"), inner.get("tid"));
+    }
+
+    @Test
+    public void keepsLatestSpans() throws Exception {
+        for (int i = 0; i < 6; i++) {
+            Tracer.begin("span" + i).end();
+        }
+        JsonArray events = export();
+        assertEquals("span2", events.get(0).getAsJsonObject().get("name").getAsString());
+        assertEquals("span5", events.get(3).getAsJsonObject().get("name").getAsString());
+        assertEquals("M", events.get(4).getAsJsonObject().get("ph").getAsString());
+    }
+
+    private static JsonArray export() throws Exception {
+        StringWriter out = new StringWriter();
+        Tracer.export(out);
+        return new JsonParser().parse(out.toString()).getAsJsonObject().getAsJsonArray("traceEvents");
+    }
+
+    private static JsonObject find(JsonArray events, String name) {
+        for (int i = 0; i < events.size(); i++) {
+            JsonObject event = events.get(i).getAsJsonObject();
+            if (name.equals(event.get("name").getAsString())) {
+                return event;
+            }
+        }
+        throw new AssertionError(name + " not found");
+    }
+}